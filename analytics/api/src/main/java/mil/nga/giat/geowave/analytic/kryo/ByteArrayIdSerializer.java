@@ -0,0 +1,34 @@
+package mil.nga.giat.geowave.analytic.kryo;
+
+import mil.nga.giat.geowave.core.index.ByteArrayId;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.Serializer;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+/**
+ * Writes only the bytes of a ByteArrayId, so an ID that is a slice of a larger
+ * array is read back as an ID owning just those bytes.
+ */
+public class ByteArrayIdSerializer extends
+		Serializer<ByteArrayId>
+{
+	@Override
+	public ByteArrayId read(
+			final Kryo kryo,
+			final Input input,
+			final Class<ByteArrayId> type ) {
+		return new ByteArrayId(
+				input.readBytes(input.readInt()));
+	}
+
+	@Override
+	public void write(
+			final Kryo kryo,
+			final Output output,
+			final ByteArrayId id ) {
+		output.writeInt(id.getLength());
+		output.write(id.getBytes());
+	}
+}
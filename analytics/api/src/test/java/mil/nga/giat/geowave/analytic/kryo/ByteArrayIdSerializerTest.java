@@ -0,0 +1,62 @@
+package mil.nga.giat.geowave.analytic.kryo;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import mil.nga.giat.geowave.core.index.ByteArrayId;
+
+import org.junit.Test;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+public class ByteArrayIdSerializerTest
+{
+	@Test
+	public void testSliceRoundTrip() {
+		final Kryo kryo = new Kryo();
+		kryo.register(
+				ByteArrayId.class,
+				new ByteArrayIdSerializer());
+
+		final byte[] buffer = new byte[] {
+			5,
+			1,
+			2,
+			3,
+			-7,
+			9
+		};
+		final ByteArrayId slice = new ByteArrayId(
+				buffer,
+				2,
+				3);
+		final Output output = new Output(
+				64);
+		kryo.writeObject(
+				output,
+				slice);
+		final Input input = new Input(
+				output.toBytes());
+		final ByteArrayId deserialized = kryo.readObject(
+				input,
+				ByteArrayId.class);
+		assertEquals(
+				slice,
+				deserialized);
+		assertEquals(
+				3,
+				deserialized.getLength());
+		assertEquals(
+				slice.hashCode(),
+				deserialized.hashCode());
+		assertArrayEquals(
+				new byte[] {
+					2,
+					3,
+					-7
+				},
+				deserialized.getBytes());
+	}
+}
@@ -3,11 +3,14 @@ package mil.nga.giat.geowave.analytics.spark
 import org.apache.spark.serializer.KryoRegistrator
 import com.esotericsoftware.kryo.Kryo
 import mil.nga.giat.geowave.analytic.kryo.FeatureSerializer
+import mil.nga.giat.geowave.analytic.kryo.ByteArrayIdSerializer
+import mil.nga.giat.geowave.core.index.ByteArrayId
 import org.opengis.feature.simple.SimpleFeature
 import org.geotools.feature.simple.SimpleFeatureImpl
 
 class GeoWaveKryoRegistrator extends KryoRegistrator {
 	  override def registerClasses(kryo: Kryo) {
 	    kryo.register(classOf[SimpleFeatureImpl], new FeatureSerializer )
+	    kryo.register(classOf[ByteArrayId], new ByteArrayIdSerializer )
 	  }
 }
\ No newline at end of file
@@ -0,0 +1,66 @@
+package mil.nga.giat.geowave.core.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks once per thread count and writes machine-readable (JSON
+ * by default) results per thread count so that they can be tracked between
+ * releases. Any standard JMH command line options are honored, for example
+ * "-p dimensions=2" to restrict the parameters or "-rf csv" to change the
+ * result format. If "-t" is given the benchmarks only run with that thread
+ * count, otherwise each of the counts in the "geowave.benchmark.threads" system
+ * property (defaulting to 1,2,4,8) is used.
+ */
+public class BenchmarkRunner
+{
+	private static final String THREADS_PROPERTY = "geowave.benchmark.threads";
+	private static final String DEFAULT_THREADS = "1,2,4,8";
+	private static final String RESULT_FILE_PREFIX = "geowave-benchmarks";
+
+	public static void main(
+			final String[] args )
+			throws RunnerException,
+			CommandLineOptionException {
+		final CommandLineOptions commandLineOptions = new CommandLineOptions(
+				args);
+		final ResultFormatType resultFormat = commandLineOptions.getResultFormat().orElse(
+				ResultFormatType.JSON);
+		final int[] threadCounts;
+		if (commandLineOptions.getThreads().hasValue()) {
+			threadCounts = new int[] {
+				commandLineOptions.getThreads().get()
+			};
+		}
+		else {
+			final String[] threads = System.getProperty(
+					THREADS_PROPERTY,
+					DEFAULT_THREADS).split(
+					",");
+			threadCounts = new int[threads.length];
+			for (int i = 0; i < threads.length; i++) {
+				threadCounts[i] = Integer.parseInt(threads[i].trim());
+			}
+		}
+		for (final int threadCount : threadCounts) {
+			final ChainedOptionsBuilder options = new OptionsBuilder().parent(
+					commandLineOptions).threads(
+					threadCount).resultFormat(
+					resultFormat);
+			if (commandLineOptions.getIncludes().isEmpty()) {
+				options.include(BenchmarkRunner.class.getPackage().getName() + ".*");
+			}
+			if (!commandLineOptions.getResult().hasValue() || (threadCounts.length > 1)) {
+				options.result(RESULT_FILE_PREFIX + "-" + threadCount + "-threads."
+						+ resultFormat.toString().toLowerCase());
+			}
+			new Runner(
+					options.build()).run();
+		}
+	}
+}
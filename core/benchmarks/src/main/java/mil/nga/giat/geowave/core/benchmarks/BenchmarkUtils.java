@@ -0,0 +1,104 @@
+package mil.nga.giat.geowave.core.benchmarks;
+
+import java.util.Random;
+
+import mil.nga.giat.geowave.core.index.dimension.BasicDimensionDefinition;
+import mil.nga.giat.geowave.core.index.dimension.NumericDimensionDefinition;
+import mil.nga.giat.geowave.core.index.sfc.data.BasicNumericDataset;
+import mil.nga.giat.geowave.core.index.sfc.data.MultiDimensionalNumericData;
+import mil.nga.giat.geowave.core.index.sfc.data.NumericData;
+import mil.nga.giat.geowave.core.index.sfc.data.NumericRange;
+import mil.nga.giat.geowave.core.index.sfc.data.NumericValue;
+
+/**
+ * Generates the dimensions and the (deterministic) random data that the
+ * benchmarks operate on so that results are comparable between runs
+ */
+public class BenchmarkUtils
+{
+	public static final double DIMENSION_MIN = 0;
+	public static final double DIMENSION_MAX = 1000;
+	public static final int NUM_SAMPLES = 1024;
+	private static final long SEED = 42L;
+
+	public static NumericDimensionDefinition[] createDimensions(
+			final int dimensions ) {
+		final NumericDimensionDefinition[] definitions = new NumericDimensionDefinition[dimensions];
+		for (int d = 0; d < dimensions; d++) {
+			// compound index strategies match up dimensions by equality, so
+			// make sure each dimension definition is distinct
+			definitions[d] = new BasicDimensionDefinition(
+					DIMENSION_MIN - d,
+					DIMENSION_MAX);
+		}
+		return definitions;
+	}
+
+	public static int[] createBitsPerDimension(
+			final int dimensions,
+			final int bitsPerDimension ) {
+		final int[] bits = new int[dimensions];
+		for (int d = 0; d < dimensions; d++) {
+			bits[d] = bitsPerDimension;
+		}
+		return bits;
+	}
+
+	public static double[][] createPoints(
+			final int dimensions ) {
+		final Random random = new Random(
+				SEED);
+		final double[][] points = new double[NUM_SAMPLES][dimensions];
+		for (int i = 0; i < NUM_SAMPLES; i++) {
+			for (int d = 0; d < dimensions; d++) {
+				points[i][d] = DIMENSION_MIN + (random.nextDouble() * (DIMENSION_MAX - DIMENSION_MIN));
+			}
+		}
+		return points;
+	}
+
+	public static MultiDimensionalNumericData[] createPointData(
+			final int dimensions ) {
+		final double[][] points = createPoints(dimensions);
+		final MultiDimensionalNumericData[] data = new MultiDimensionalNumericData[points.length];
+		for (int i = 0; i < points.length; i++) {
+			final NumericData[] dataPerDimension = new NumericData[dimensions];
+			for (int d = 0; d < dimensions; d++) {
+				dataPerDimension[d] = new NumericValue(
+						points[i][d]);
+			}
+			data[i] = new BasicNumericDataset(
+					dataPerDimension);
+		}
+		return data;
+	}
+
+	/**
+	 * @param dimensions
+	 *            the number of dimensions of each box
+	 * @param boxFraction
+	 *            the width of the box in each dimension as a fraction of the
+	 *            full extent of the dimension
+	 * @return randomly placed boxes that are fully within the dimension bounds
+	 */
+	public static MultiDimensionalNumericData[] createBoxes(
+			final int dimensions,
+			final double boxFraction ) {
+		final Random random = new Random(
+				SEED);
+		final double width = (DIMENSION_MAX - DIMENSION_MIN) * boxFraction;
+		final MultiDimensionalNumericData[] boxes = new MultiDimensionalNumericData[NUM_SAMPLES];
+		for (int i = 0; i < NUM_SAMPLES; i++) {
+			final NumericData[] dataPerDimension = new NumericData[dimensions];
+			for (int d = 0; d < dimensions; d++) {
+				final double min = DIMENSION_MIN + (random.nextDouble() * ((DIMENSION_MAX - DIMENSION_MIN) - width));
+				dataPerDimension[d] = new NumericRange(
+						min,
+						min + width);
+			}
+			boxes[i] = new BasicNumericDataset(
+					dataPerDimension);
+		}
+		return boxes;
+	}
+}
@@ -0,0 +1,110 @@
+package mil.nga.giat.geowave.core.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import mil.nga.giat.geowave.core.index.ByteArrayId;
+import mil.nga.giat.geowave.core.index.NumericIndexStrategy;
+import mil.nga.giat.geowave.core.index.sfc.data.MultiDimensionalNumericData;
+import mil.nga.giat.geowave.core.index.sfc.tiered.TieredSFCIndexStrategy;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks insertion ID generation of the tiered and compound index
+ * strategies for points and for extended entries of varying size
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class IndexStrategyInsertionBenchmark
+{
+	@Param({
+		"TIERED",
+		"COMPOUND"
+	})
+	public IndexStrategyType indexStrategyType;
+
+	@Param({
+		"2",
+		"3"
+	})
+	public int dimensions;
+
+	@Param({
+		"16",
+		"20"
+	})
+	public int bitsPerDimension;
+
+	/**
+	 * the size of each entry as a fraction of the extent of each dimension, 0
+	 * will use points
+	 */
+	@Param({
+		"0",
+		"0.0001",
+		"0.01"
+	})
+	public double entryBoxFraction;
+
+	private NumericIndexStrategy indexStrategy;
+	private MultiDimensionalNumericData[] entries;
+	private List<MultiDimensionalNumericData> batch;
+
+	@Setup
+	public void setup() {
+		indexStrategy = indexStrategyType.createIndexStrategy(
+				dimensions,
+				bitsPerDimension);
+		if (entryBoxFraction > 0) {
+			entries = BenchmarkUtils.createBoxes(
+					dimensions,
+					entryBoxFraction);
+		}
+		else {
+			entries = BenchmarkUtils.createPointData(dimensions);
+		}
+		batch = Arrays.asList(entries);
+	}
+
+	@Benchmark
+	public List<ByteArrayId> getInsertionIds(
+			final SampleCursor cursor ) {
+		return indexStrategy.getInsertionIds(entries[cursor.next()]);
+	}
+
+	/**
+	 * computes insertion IDs for all of the samples, using the batch API when
+	 * the index strategy offers one
+	 */
+	@Benchmark
+	@OperationsPerInvocation(BenchmarkUtils.NUM_SAMPLES)
+	public List<List<ByteArrayId>> getInsertionIdsBatch() {
+		if (indexStrategy instanceof TieredSFCIndexStrategy) {
+			return ((TieredSFCIndexStrategy) indexStrategy).getInsertionIds(batch);
+		}
+		final List<List<ByteArrayId>> ids = new ArrayList<List<ByteArrayId>>(
+				entries.length);
+		for (final MultiDimensionalNumericData entry : entries) {
+			ids.add(indexStrategy.getInsertionIds(entry));
+		}
+		return ids;
+	}
+}
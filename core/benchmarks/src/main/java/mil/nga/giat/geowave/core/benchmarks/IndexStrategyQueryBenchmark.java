@@ -0,0 +1,85 @@
+package mil.nga.giat.geowave.core.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import mil.nga.giat.geowave.core.index.ByteArrayRange;
+import mil.nga.giat.geowave.core.index.NumericIndexStrategy;
+import mil.nga.giat.geowave.core.index.sfc.data.MultiDimensionalNumericData;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks query range decomposition of the tiered and compound index
+ * strategies for query boxes of varying size
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class IndexStrategyQueryBenchmark
+{
+	@Param({
+		"TIERED",
+		"COMPOUND"
+	})
+	public IndexStrategyType indexStrategyType;
+
+	@Param({
+		"2",
+		"3"
+	})
+	public int dimensions;
+
+	@Param({
+		"16",
+		"20"
+	})
+	public int bitsPerDimension;
+
+	@Param({
+		"0.001",
+		"0.01",
+		"0.1"
+	})
+	public double queryBoxFraction;
+
+	@Param({
+		"-1",
+		"100"
+	})
+	public int maxRanges;
+
+	private NumericIndexStrategy indexStrategy;
+	private MultiDimensionalNumericData[] queries;
+
+	@Setup
+	public void setup() {
+		indexStrategy = indexStrategyType.createIndexStrategy(
+				dimensions,
+				bitsPerDimension);
+		queries = BenchmarkUtils.createBoxes(
+				dimensions,
+				queryBoxFraction);
+	}
+
+	@Benchmark
+	public List<ByteArrayRange> getQueryRanges(
+			final SampleCursor cursor ) {
+		return indexStrategy.getQueryRanges(
+				queries[cursor.next()],
+				maxRanges);
+	}
+}
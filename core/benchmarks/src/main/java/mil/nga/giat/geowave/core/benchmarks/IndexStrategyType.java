@@ -0,0 +1,45 @@
+package mil.nga.giat.geowave.core.benchmarks;
+
+import mil.nga.giat.geowave.core.index.CompoundIndexStrategy;
+import mil.nga.giat.geowave.core.index.NumericIndexStrategy;
+import mil.nga.giat.geowave.core.index.sfc.SFCFactory.SFCType;
+import mil.nga.giat.geowave.core.index.sfc.tiered.TieredSFCIndexFactory;
+import mil.nga.giat.geowave.core.index.simple.RoundRobinKeyIndexStrategy;
+
+/**
+ * The index strategy configurations that are benchmarked
+ */
+public enum IndexStrategyType {
+	/**
+	 * a hilbert tiered index with a tier for every bit of precision
+	 */
+	TIERED,
+	/**
+	 * the tiered index prefixed by a round robin partition key, as used for
+	 * partitioned indices
+	 */
+	COMPOUND;
+
+	private static final int NUM_PARTITIONS = 4;
+
+	public NumericIndexStrategy createIndexStrategy(
+			final int dimensions,
+			final int bitsPerDimension ) {
+		final NumericIndexStrategy tieredStrategy = TieredSFCIndexFactory.createFullIncrementalTieredStrategy(
+				BenchmarkUtils.createDimensions(dimensions),
+				BenchmarkUtils.createBitsPerDimension(
+						dimensions,
+						bitsPerDimension),
+				SFCType.HILBERT);
+		switch (this) {
+			case COMPOUND:
+				return new CompoundIndexStrategy(
+						new RoundRobinKeyIndexStrategy(
+								NUM_PARTITIONS),
+						tieredStrategy);
+			case TIERED:
+			default:
+				return tieredStrategy;
+		}
+	}
+}
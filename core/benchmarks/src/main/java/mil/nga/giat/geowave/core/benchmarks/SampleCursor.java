@@ -0,0 +1,19 @@
+package mil.nga.giat.geowave.core.benchmarks;
+
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Cycles through the pre-generated samples, one cursor per benchmark thread so
+ * that threads do not contend on a shared counter
+ */
+@State(Scope.Thread)
+public class SampleCursor
+{
+	private int index = 0;
+
+	public int next() {
+		index = (index + 1) % BenchmarkUtils.NUM_SAMPLES;
+		return index;
+	}
+}
@@ -0,0 +1,78 @@
+package mil.nga.giat.geowave.core.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import mil.nga.giat.geowave.core.index.dimension.NumericDimensionDefinition;
+import mil.nga.giat.geowave.core.index.sfc.SFCDimensionDefinition;
+import mil.nga.giat.geowave.core.index.sfc.SFCFactory;
+import mil.nga.giat.geowave.core.index.sfc.SFCFactory.SFCType;
+import mil.nga.giat.geowave.core.index.sfc.SpaceFillingCurve;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks point encoding of the raw space filling curves (HilbertSFC and
+ * ZOrderSFC). Query range decomposition is benchmarked separately by
+ * {@link SpaceFillingCurveQueryBenchmark} so that encoding doesn't run once for
+ * every query parameter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class SpaceFillingCurveBenchmark
+{
+	@Param({
+		"HILBERT",
+		"ZORDER"
+	})
+	public SFCType sfcType;
+
+	@Param({
+		"2",
+		"3"
+	})
+	public int dimensions;
+
+	@Param({
+		"16",
+		"20"
+	})
+	public int bitsPerDimension;
+
+	private SpaceFillingCurve sfc;
+	private double[][] points;
+
+	@Setup
+	public void setup() {
+		final NumericDimensionDefinition[] definitions = BenchmarkUtils.createDimensions(dimensions);
+		final SFCDimensionDefinition[] sfcDimensions = new SFCDimensionDefinition[dimensions];
+		for (int d = 0; d < dimensions; d++) {
+			sfcDimensions[d] = new SFCDimensionDefinition(
+					definitions[d],
+					bitsPerDimension);
+		}
+		sfc = SFCFactory.createSpaceFillingCurve(
+				sfcDimensions,
+				sfcType);
+		points = BenchmarkUtils.createPoints(dimensions);
+	}
+
+	@Benchmark
+	public byte[] getId(
+			final SampleCursor cursor ) {
+		return sfc.getId(points[cursor.next()]);
+	}
+}
@@ -0,0 +1,96 @@
+package mil.nga.giat.geowave.core.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import mil.nga.giat.geowave.core.index.dimension.NumericDimensionDefinition;
+import mil.nga.giat.geowave.core.index.sfc.RangeDecomposition;
+import mil.nga.giat.geowave.core.index.sfc.SFCDimensionDefinition;
+import mil.nga.giat.geowave.core.index.sfc.SFCFactory;
+import mil.nga.giat.geowave.core.index.sfc.SFCFactory.SFCType;
+import mil.nga.giat.geowave.core.index.sfc.SpaceFillingCurve;
+import mil.nga.giat.geowave.core.index.sfc.data.MultiDimensionalNumericData;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks query range decomposition of the raw space filling curves
+ * (HilbertSFC and ZOrderSFC) for query boxes of varying size
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class SpaceFillingCurveQueryBenchmark
+{
+	@Param({
+		"HILBERT",
+		"ZORDER"
+	})
+	public SFCType sfcType;
+
+	@Param({
+		"2",
+		"3"
+	})
+	public int dimensions;
+
+	@Param({
+		"16",
+		"20"
+	})
+	public int bitsPerDimension;
+
+	@Param({
+		"0.001",
+		"0.01",
+		"0.1"
+	})
+	public double queryBoxFraction;
+
+	@Param({
+		"-1",
+		"100"
+	})
+	public int maxRanges;
+
+	private SpaceFillingCurve sfc;
+	private MultiDimensionalNumericData[] queries;
+
+	@Setup
+	public void setup() {
+		final NumericDimensionDefinition[] definitions = BenchmarkUtils.createDimensions(dimensions);
+		final SFCDimensionDefinition[] sfcDimensions = new SFCDimensionDefinition[dimensions];
+		for (int d = 0; d < dimensions; d++) {
+			sfcDimensions[d] = new SFCDimensionDefinition(
+					definitions[d],
+					bitsPerDimension);
+		}
+		sfc = SFCFactory.createSpaceFillingCurve(
+				sfcDimensions,
+				sfcType);
+		queries = BenchmarkUtils.createBoxes(
+				dimensions,
+				queryBoxFraction);
+	}
+
+	@Benchmark
+	public RangeDecomposition decomposeRange(
+			final SampleCursor cursor ) {
+		return sfc.decomposeRange(
+				queries[cursor.next()],
+				true,
+				maxRanges);
+	}
+}
@@ -0,0 +1,78 @@
+package mil.nga.giat.geowave.core.geotime;
+
+import mil.nga.giat.geowave.core.geotime.index.dimension.LatitudeDefinition;
+import mil.nga.giat.geowave.core.geotime.index.dimension.LongitudeDefinition;
+import mil.nga.giat.geowave.core.geotime.index.dimension.TemporalBinningStrategy;
+import mil.nga.giat.geowave.core.geotime.index.dimension.TimeDefinition;
+import mil.nga.giat.geowave.core.geotime.store.dimension.LatitudeField;
+import mil.nga.giat.geowave.core.geotime.store.dimension.LongitudeField;
+import mil.nga.giat.geowave.core.geotime.store.dimension.SpatialArrayField;
+import mil.nga.giat.geowave.core.geotime.store.dimension.Time;
+import mil.nga.giat.geowave.core.geotime.store.dimension.TimeArrayField;
+import mil.nga.giat.geowave.core.geotime.store.dimension.TimeField;
+import mil.nga.giat.geowave.core.geotime.store.filter.SpatialQueryFilter;
+import mil.nga.giat.geowave.core.geotime.store.query.SpatialQuery;
+import mil.nga.giat.geowave.core.geotime.store.query.SpatialTemporalQuery;
+import mil.nga.giat.geowave.core.geotime.store.query.TemporalQuery;
+import mil.nga.giat.geowave.core.index.PersistableRegistrySpi;
+
+/**
+ * Registers the persistables of the core geotime module with IDs from 200 to
+ * 299.
+ *
+ */
+public class GeoTimePersistableRegistry implements
+		PersistableRegistrySpi
+{
+
+	@Override
+	public PersistableIdAndClass[] getSupportedPersistables() {
+		return new PersistableIdAndClass[] {
+			new PersistableIdAndClass(
+					(short) 200,
+					LatitudeDefinition.class),
+			new PersistableIdAndClass(
+					(short) 201,
+					LongitudeDefinition.class),
+			new PersistableIdAndClass(
+					(short) 202,
+					TemporalBinningStrategy.class),
+			new PersistableIdAndClass(
+					(short) 203,
+					TimeDefinition.class),
+			new PersistableIdAndClass(
+					(short) 204,
+					LatitudeField.class),
+			new PersistableIdAndClass(
+					(short) 205,
+					LongitudeField.class),
+			new PersistableIdAndClass(
+					(short) 206,
+					SpatialArrayField.class),
+			new PersistableIdAndClass(
+					(short) 207,
+					Time.TimeRange.class),
+			new PersistableIdAndClass(
+					(short) 208,
+					Time.Timestamp.class),
+			new PersistableIdAndClass(
+					(short) 209,
+					TimeArrayField.class),
+			new PersistableIdAndClass(
+					(short) 210,
+					TimeField.class),
+			new PersistableIdAndClass(
+					(short) 211,
+					SpatialQueryFilter.class),
+			new PersistableIdAndClass(
+					(short) 212,
+					SpatialQuery.class),
+			new PersistableIdAndClass(
+					(short) 213,
+					SpatialTemporalQuery.class),
+			new PersistableIdAndClass(
+					(short) 214,
+					TemporalQuery.class)
+		};
+	}
+}
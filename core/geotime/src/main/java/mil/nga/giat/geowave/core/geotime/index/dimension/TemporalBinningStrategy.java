@@ -84,11 +84,17 @@ public class TemporalBinningStrategy implements
 	}
 
 	protected static final long MILLIS_PER_DAY = 86400000L;
-	private static final NumberFormat TWO_DIGIT_NUMBER = NumberFormat.getIntegerInstance();
-	{
-		TWO_DIGIT_NUMBER.setMinimumIntegerDigits(2);
-		TWO_DIGIT_NUMBER.setMaximumIntegerDigits(2);
-	}
+	// NumberFormat is not thread-safe and bin IDs are computed concurrently by
+	// ingest threads sharing an index, so keep one format per thread
+	private static final ThreadLocal<NumberFormat> TWO_DIGIT_NUMBER = new ThreadLocal<NumberFormat>() {
+		@Override
+		protected NumberFormat initialValue() {
+			final NumberFormat format = NumberFormat.getIntegerInstance();
+			format.setMinimumIntegerDigits(2);
+			format.setMaximumIntegerDigits(2);
+			return format;
+		}
+	};
 
 	private Unit unit;
 	private String timezone;
@@ -259,31 +265,32 @@ public class TemporalBinningStrategy implements
 			final Calendar value ) {
 		// this is assuming we want human-readable bin ID's but alternatively we
 		// could consider returning a more compressed representation
+		final NumberFormat twoDigitNumber = TWO_DIGIT_NUMBER.get();
 		switch (unit) {
 			case YEAR:
 			default:
 				return StringUtils.stringToBinary(Integer.toString(value.get(Calendar.YEAR)));
 			case MONTH:
-				return StringUtils.stringToBinary((Integer.toString(value.get(Calendar.YEAR)) + "_" + TWO_DIGIT_NUMBER
+				return StringUtils.stringToBinary((Integer.toString(value.get(Calendar.YEAR)) + "_" + twoDigitNumber
 						.format(value.get(Calendar.MONTH))));
 			case WEEK:
 				return StringUtils.stringToBinary(Integer.toString(value.get(Calendar.YEAR)) + "_"
-						+ TWO_DIGIT_NUMBER.format(value.get(Calendar.WEEK_OF_YEAR)));
+						+ twoDigitNumber.format(value.get(Calendar.WEEK_OF_YEAR)));
 			case DAY:
 				return StringUtils.stringToBinary((Integer.toString(value.get(Calendar.YEAR)) + "_"
-						+ TWO_DIGIT_NUMBER.format(value.get(Calendar.MONTH)) + "_" + TWO_DIGIT_NUMBER.format(value
+						+ twoDigitNumber.format(value.get(Calendar.MONTH)) + "_" + twoDigitNumber.format(value
 						.get(Calendar.DAY_OF_MONTH))));
 			case HOUR:
 				return StringUtils.stringToBinary((Integer.toString(value.get(Calendar.YEAR)) + "_"
-						+ TWO_DIGIT_NUMBER.format(value.get(Calendar.MONTH)) + "_"
-						+ TWO_DIGIT_NUMBER.format(value.get(Calendar.DAY_OF_MONTH)) + "_" + TWO_DIGIT_NUMBER
-						.format(value.get(Calendar.HOUR_OF_DAY))));
+						+ twoDigitNumber.format(value.get(Calendar.MONTH)) + "_"
+						+ twoDigitNumber.format(value.get(Calendar.DAY_OF_MONTH)) + "_" + twoDigitNumber.format(value
+						.get(Calendar.HOUR_OF_DAY))));
 			case MINUTE:
 				return StringUtils.stringToBinary((Integer.toString(value.get(Calendar.YEAR)) + "_"
-						+ TWO_DIGIT_NUMBER.format(value.get(Calendar.MONTH)) + "_"
-						+ TWO_DIGIT_NUMBER.format(value.get(Calendar.DAY_OF_MONTH)) + "_"
-						+ TWO_DIGIT_NUMBER.format(value.get(Calendar.HOUR_OF_DAY)) + "_" + TWO_DIGIT_NUMBER
-						.format(value.get(Calendar.MINUTE))));
+						+ twoDigitNumber.format(value.get(Calendar.MONTH)) + "_"
+						+ twoDigitNumber.format(value.get(Calendar.DAY_OF_MONTH)) + "_"
+						+ twoDigitNumber.format(value.get(Calendar.HOUR_OF_DAY)) + "_" + twoDigitNumber.format(value
+						.get(Calendar.MINUTE))));
 		}
 	}
 
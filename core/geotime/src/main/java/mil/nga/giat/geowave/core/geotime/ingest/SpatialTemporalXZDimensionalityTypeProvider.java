@@ -0,0 +1,144 @@
+package mil.nga.giat.geowave.core.geotime.ingest;
+
+import com.beust.jcommander.Parameter;
+
+import mil.nga.giat.geowave.core.geotime.index.dimension.LatitudeDefinition;
+import mil.nga.giat.geowave.core.geotime.index.dimension.LongitudeDefinition;
+import mil.nga.giat.geowave.core.geotime.index.dimension.TemporalBinningStrategy.Unit;
+import mil.nga.giat.geowave.core.geotime.index.dimension.TimeDefinition;
+import mil.nga.giat.geowave.core.geotime.ingest.SpatialTemporalDimensionalityTypeProvider.UnitConverter;
+import mil.nga.giat.geowave.core.geotime.store.dimension.GeometryWrapper;
+import mil.nga.giat.geowave.core.geotime.store.dimension.LatitudeField;
+import mil.nga.giat.geowave.core.geotime.store.dimension.LongitudeField;
+import mil.nga.giat.geowave.core.geotime.store.dimension.Time;
+import mil.nga.giat.geowave.core.geotime.store.dimension.TimeField;
+import mil.nga.giat.geowave.core.index.ByteArrayId;
+import mil.nga.giat.geowave.core.index.dimension.NumericDimensionDefinition;
+import mil.nga.giat.geowave.core.index.sfc.xz.XZOrderIndexStrategy;
+import mil.nga.giat.geowave.core.store.dimension.NumericDimensionField;
+import mil.nga.giat.geowave.core.store.index.BasicIndexModel;
+import mil.nga.giat.geowave.core.store.index.CommonIndexValue;
+import mil.nga.giat.geowave.core.store.index.CustomIdIndex;
+import mil.nga.giat.geowave.core.store.index.PrimaryIndex;
+import mil.nga.giat.geowave.core.store.spi.DimensionalityTypeOptions;
+import mil.nga.giat.geowave.core.store.spi.DimensionalityTypeProviderSpi;
+
+/**
+ * A spatial-temporal index that uses XZ-ordering so that each geometry and time
+ * range is stored in exactly one row per time bin.
+ */
+public class SpatialTemporalXZDimensionalityTypeProvider implements
+		DimensionalityTypeProviderSpi
+{
+	private final SpatialTemporalXZOptions options = new SpatialTemporalXZOptions();
+	private static final String DEFAULT_SPATIAL_TEMPORAL_XZ_ID_STR = "SPATIAL_TEMPORAL_XZ_IDX";
+	private static final int DEFAULT_RESOLUTION = 16;
+
+	public SpatialTemporalXZDimensionalityTypeProvider() {}
+
+	@Override
+	public String getDimensionalityTypeName() {
+		return "spatial_temporal_xz";
+	}
+
+	@Override
+	public String getDimensionalityTypeDescription() {
+		return "This dimensionality type matches all indices that only require Geometry and Time, each geometry and time range is stored in a single row per time bin using XZ-ordering.";
+	}
+
+	@Override
+	public int getPriority() {
+		// arbitrary - just lower than spatial XZ-ordering
+		return 0;
+	}
+
+	@Override
+	public DimensionalityTypeOptions getOptions() {
+		return options;
+	}
+
+	@Override
+	public PrimaryIndex createPrimaryIndex() {
+		return internalCreatePrimaryIndex(options);
+	}
+
+	private static PrimaryIndex internalCreatePrimaryIndex(
+			final SpatialTemporalXZOptions options ) {
+		final NumericDimensionField[] fields = new NumericDimensionField[] {
+			new LongitudeField(),
+			new LatitudeField(
+					true),
+			new TimeField(
+					options.periodicity)
+		};
+		final NumericDimensionDefinition[] dimensions = new NumericDimensionDefinition[] {
+			new LongitudeDefinition(),
+			new LatitudeDefinition(
+					true),
+			new TimeDefinition(
+					options.periodicity)
+		};
+		return new CustomIdIndex(
+				new XZOrderIndexStrategy(
+						dimensions,
+						options.resolution),
+				new BasicIndexModel(
+						fields),
+				new ByteArrayId(
+						DEFAULT_SPATIAL_TEMPORAL_XZ_ID_STR + "_" + options.resolution + "_" + options.periodicity));
+	}
+
+	@Override
+	public Class<? extends CommonIndexValue>[] getRequiredIndexTypes() {
+		return new Class[] {
+			GeometryWrapper.class,
+			Time.class
+		};
+	}
+
+	private static class SpatialTemporalXZOptions implements
+			DimensionalityTypeOptions
+	{
+		@Parameter(names = {
+			"--period"
+		}, required = false, description = "The periodicity of the temporal dimension.  Because time is continuous, it is binned at this interval.", converter = UnitConverter.class)
+		protected Unit periodicity = Unit.YEAR;
+
+		@Parameter(names = {
+			"--resolution"
+		}, required = false, description = "The maximum depth of the XZ-ordering (at most 19), the smallest entries are indexed to cells of 1/2^resolution of the extent of each dimension.")
+		protected int resolution = DEFAULT_RESOLUTION;
+	}
+
+	public static class SpatialTemporalXZIndexBuilder
+	{
+		private final SpatialTemporalXZOptions options;
+
+		public SpatialTemporalXZIndexBuilder() {
+			options = new SpatialTemporalXZOptions();
+		}
+
+		private SpatialTemporalXZIndexBuilder(
+				final SpatialTemporalXZOptions options ) {
+			this.options = options;
+		}
+
+		public SpatialTemporalXZIndexBuilder setPeriodicity(
+				final Unit periodicity ) {
+			options.periodicity = periodicity;
+			return new SpatialTemporalXZIndexBuilder(
+					options);
+		}
+
+		public SpatialTemporalXZIndexBuilder setResolution(
+				final int resolution ) {
+			options.resolution = resolution;
+			return new SpatialTemporalXZIndexBuilder(
+					options);
+		}
+
+		public PrimaryIndex createIndex() {
+			return internalCreatePrimaryIndex(options);
+		}
+	}
+}
@@ -0,0 +1,122 @@
+package mil.nga.giat.geowave.core.geotime.ingest;
+
+import com.beust.jcommander.Parameter;
+
+import mil.nga.giat.geowave.core.geotime.store.dimension.GeometryWrapper;
+import mil.nga.giat.geowave.core.index.ByteArrayId;
+import mil.nga.giat.geowave.core.index.sfc.xz.XZOrderIndexStrategy;
+import mil.nga.giat.geowave.core.store.index.BasicIndexModel;
+import mil.nga.giat.geowave.core.store.index.CommonIndexValue;
+import mil.nga.giat.geowave.core.store.index.CustomIdIndex;
+import mil.nga.giat.geowave.core.store.index.PrimaryIndex;
+import mil.nga.giat.geowave.core.store.spi.DimensionalityTypeOptions;
+import mil.nga.giat.geowave.core.store.spi.DimensionalityTypeProviderSpi;
+
+/**
+ * A spatial index that uses XZ-ordering so that each geometry, regardless of
+ * its extent, is stored in exactly one row. This is better suited than the
+ * default spatial index for data sets with many lines and polygons of varying
+ * size.
+ */
+public class SpatialXZDimensionalityTypeProvider implements
+		DimensionalityTypeProviderSpi
+{
+	private final SpatialXZOptions options = new SpatialXZOptions();
+	private static final String DEFAULT_SPATIAL_XZ_ID = "SPATIAL_XZ_IDX";
+	private static final int DEFAULT_RESOLUTION = 20;
+
+	public SpatialXZDimensionalityTypeProvider() {}
+
+	@Override
+	public String getDimensionalityTypeName() {
+		return "spatial_xz";
+	}
+
+	@Override
+	public String getDimensionalityTypeDescription() {
+		return "This dimensionality type matches all indices that only require Geometry, each geometry is stored in a single row using XZ-ordering.";
+	}
+
+	@Override
+	public int getPriority() {
+		// arbitrary - just lower than spatial and spatial-temporal so that
+		// XZ-ordering is never the default
+		return 1;
+	}
+
+	@Override
+	public DimensionalityTypeOptions getOptions() {
+		return options;
+	}
+
+	@Override
+	public PrimaryIndex createPrimaryIndex() {
+		return internalCreatePrimaryIndex(options);
+	}
+
+	private static PrimaryIndex internalCreatePrimaryIndex(
+			final SpatialXZOptions options ) {
+		return new CustomIdIndex(
+				new XZOrderIndexStrategy(
+						SpatialDimensionalityTypeProvider.SPATIAL_DIMENSIONS,
+						options.resolution),
+				new BasicIndexModel(
+						options.storeTime ? SpatialDimensionalityTypeProvider.SPATIAL_TEMPORAL_FIELDS
+								: SpatialDimensionalityTypeProvider.SPATIAL_FIELDS),
+				new ByteArrayId(
+						DEFAULT_SPATIAL_XZ_ID + "_" + options.resolution + (options.storeTime ? "_TIME" : "")));
+	}
+
+	private static class SpatialXZOptions implements
+			DimensionalityTypeOptions
+	{
+		@Parameter(names = {
+			"--storeTime"
+		}, required = false, description = "The index will store temporal values.  This allows it to slightly more efficiently run spatial-temporal queries although if spatial-temporal queries are a common use case, a separate spatial-temporal index is recommended.")
+		protected boolean storeTime = false;
+
+		@Parameter(names = {
+			"--resolution"
+		}, required = false, description = "The maximum depth of the XZ-ordering (at most 30), the smallest geometries are indexed to cells of 1/2^resolution of the extent of each dimension.")
+		protected int resolution = DEFAULT_RESOLUTION;
+	}
+
+	@Override
+	public Class<? extends CommonIndexValue>[] getRequiredIndexTypes() {
+		return new Class[] {
+			GeometryWrapper.class
+		};
+	}
+
+	public static class SpatialXZIndexBuilder
+	{
+		private final SpatialXZOptions options;
+
+		public SpatialXZIndexBuilder() {
+			options = new SpatialXZOptions();
+		}
+
+		private SpatialXZIndexBuilder(
+				final SpatialXZOptions options ) {
+			this.options = options;
+		}
+
+		public SpatialXZIndexBuilder setIncludeTimeInCommonIndexModel(
+				final boolean storeTime ) {
+			options.storeTime = storeTime;
+			return new SpatialXZIndexBuilder(
+					options);
+		}
+
+		public SpatialXZIndexBuilder setResolution(
+				final int resolution ) {
+			options.resolution = resolution;
+			return new SpatialXZIndexBuilder(
+					options);
+		}
+
+		public PrimaryIndex createIndex() {
+			return internalCreatePrimaryIndex(options);
+		}
+	}
+}
@@ -1,6 +1,12 @@
 package mil.nga.giat.geowave.core.geotime.index.sfc.hilbert;
 
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import mil.nga.giat.geowave.core.geotime.index.dimension.LatitudeDefinition;
 import mil.nga.giat.geowave.core.geotime.index.dimension.LongitudeDefinition;
@@ -275,5 +281,97 @@ public class HilbertSFCTest
 
 	}
 
+	@Test
+	public void testDecomposeQuery_2DSpatialConcurrentMatchesSerial()
+			throws Exception {
+
+		final int LATITUDE_BITS = 31;
+		final int LONGITUDE_BITS = 31;
+		final int NUM_THREADS = 8;
+		final int NUM_QUERIES = 64;
+
+		final SFCDimensionDefinition[] SPATIAL_DIMENSIONS = new SFCDimensionDefinition[] {
+			new SFCDimensionDefinition(
+					new LongitudeDefinition(),
+					LONGITUDE_BITS),
+			new SFCDimensionDefinition(
+					new LatitudeDefinition(),
+					LATITUDE_BITS)
+		};
+
+		final SpaceFillingCurve hilbertSFC = SFCFactory.createSpaceFillingCurve(
+				SPATIAL_DIMENSIONS,
+				SFCType.HILBERT);
+
+		final List<BasicNumericDataset> queries = new ArrayList<BasicNumericDataset>();
+		final List<RangeDecomposition> serialResults = new ArrayList<RangeDecomposition>();
+		final List<byte[]> serialIds = new ArrayList<byte[]>();
+		for (int i = 0; i < NUM_QUERIES; i++) {
+			final double minX = -170 + (i * 5);
+			final double minY = -80 + (i * 2.5);
+			final BasicNumericDataset query = new BasicNumericDataset(
+					new NumericData[] {
+						new NumericRange(
+								minX,
+								minX + 1 + (i % 7)),
+						new NumericRange(
+								minY,
+								minY + 1 + (i % 5))
+					});
+			queries.add(query);
+			serialResults.add(hilbertSFC.decomposeRange(
+					query,
+					true,
+					100));
+			serialIds.add(hilbertSFC.getId(new double[] {
+				minX,
+				minY
+			}));
+		}
+
+		final ExecutorService executor = Executors.newFixedThreadPool(NUM_THREADS);
+		try {
+			final List<Future<RangeDecomposition>> concurrentResults = new ArrayList<Future<RangeDecomposition>>();
+			final List<Future<byte[]>> concurrentIds = new ArrayList<Future<byte[]>>();
+			// submit each query several times so threads interleave on the
+			// same curve
+			for (int r = 0; r < NUM_THREADS; r++) {
+				for (final BasicNumericDataset query : queries) {
+					concurrentResults.add(executor.submit(new Callable<RangeDecomposition>() {
+						@Override
+						public RangeDecomposition call()
+								throws Exception {
+							return hilbertSFC.decomposeRange(
+									query,
+									true,
+									100);
+						}
+					}));
+					concurrentIds.add(executor.submit(new Callable<byte[]>() {
+						@Override
+						public byte[] call()
+								throws Exception {
+							return hilbertSFC.getId(query.getMinValuesPerDimension());
+						}
+					}));
+				}
+			}
+			for (int i = 0; i < concurrentResults.size(); i++) {
+				Assert.assertArrayEquals(
+						serialResults.get(
+								i % NUM_QUERIES).getRanges(),
+						concurrentResults.get(
+								i).get().getRanges());
+				Assert.assertArrayEquals(
+						serialIds.get(i % NUM_QUERIES),
+						concurrentIds.get(
+								i).get());
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
 	/* public void testDecomposeQuery_2DSpatialRanges() {} */
 }
@@ -2,6 +2,7 @@ package mil.nga.giat.geowave.core.geotime.index.sfc.hilbert;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 import mil.nga.giat.geowave.core.geotime.index.dimension.LatitudeDefinition;
 import mil.nga.giat.geowave.core.geotime.index.dimension.LongitudeDefinition;
@@ -10,7 +11,11 @@ import mil.nga.giat.geowave.core.index.dimension.NumericDimensionDefinition;
 import mil.nga.giat.geowave.core.index.sfc.RangeDecomposition;
 import mil.nga.giat.geowave.core.index.sfc.SFCDimensionDefinition;
 import mil.nga.giat.geowave.core.index.sfc.data.NumericData;
+import mil.nga.giat.geowave.core.index.sfc.data.MultiDimensionalNumericData;
 import mil.nga.giat.geowave.core.index.sfc.data.NumericRange;
+import mil.nga.giat.geowave.core.index.sfc.hilbert.HilbertSFC;
+import mil.nga.giat.geowave.core.index.sfc.hilbert.HilbertSFCOperations;
+import mil.nga.giat.geowave.core.index.sfc.hilbert.LongHilbertSFCOperations;
 import mil.nga.giat.geowave.core.index.sfc.hilbert.PrimitiveHilbertSFCOperations;
 import mil.nga.giat.geowave.core.index.sfc.hilbert.UnboundedHilbertSFCOperations;
 
@@ -394,4 +399,134 @@ public class PrimitiveHilbertSFCTest
 						sfcDimensions));
 
 	}
+
+	@Test
+	public void testLongOperationsMatchPrimitiveOperations() {
+		final int[][] bitsPerDimensionCases = new int[][] {
+			{
+				31,
+				31
+			},
+			{
+				8,
+				8
+			},
+			{
+				20,
+				12,
+				30
+			},
+			{
+				1,
+				20,
+				3,
+				7
+			},
+			{
+				12,
+				12,
+				12,
+				12,
+				12
+			},
+			{
+				48,
+				14
+			},
+			// dimensions of more than 48 bits must match the unbounded
+			// operations
+			{
+				50,
+				12
+			},
+			{
+				62
+			}
+		};
+		final Random random = new Random(
+				7L);
+		for (final int[] bitsPerDimensionCase : bitsPerDimensionCases) {
+			final SFCDimensionDefinition[] sfcDimensions = new SFCDimensionDefinition[bitsPerDimensionCase.length];
+			final List<Integer> bitsPerDimension = new ArrayList<Integer>();
+			for (int d = 0; d < sfcDimensions.length; d++) {
+				sfcDimensions[d] = new SFCDimensionDefinition(
+						new BasicDimensionDefinition(
+								-d,
+								1),
+						bitsPerDimensionCase[d]);
+				bitsPerDimension.add(bitsPerDimensionCase[d]);
+			}
+			final CompactHilbertCurve compactHilbertCurve = new CompactHilbertCurve(
+					new MultiDimensionalSpec(
+							bitsPerDimension));
+			boolean primitiveForGetId = true;
+			for (final int bits : bitsPerDimensionCase) {
+				if (bits > 48) {
+					primitiveForGetId = false;
+				}
+			}
+			final HilbertSFC sfc = new HilbertSFC(
+					sfcDimensions);
+			final HilbertSFCOperations testOperations = primitiveForGetId ? new LongHilbertSFCOperations()
+					: new UnboundedHilbertSFCOperations();
+			final HilbertSFCOperations expectedResultOperations = primitiveForGetId ? new PrimitiveHilbertSFCOperations()
+					: new UnboundedHilbertSFCOperations();
+			testOperations.init(sfcDimensions);
+			expectedResultOperations.init(sfcDimensions);
+			for (int i = 0; i < 1000; i++) {
+				final double[] values = new double[sfcDimensions.length];
+				for (int d = 0; d < values.length; d++) {
+					// include the edges of each dimension
+					if (i == 0) {
+						values[d] = -d;
+					}
+					else if (i == 1) {
+						values[d] = 1;
+					}
+					else {
+						values[d] = -d + (random.nextDouble() * (d + 1));
+					}
+				}
+				final byte[] expectedId = expectedResultOperations.convertToHilbert(
+						values,
+						compactHilbertCurve,
+						sfcDimensions);
+				final byte[] testId = testOperations.convertToHilbert(
+						values,
+						compactHilbertCurve,
+						sfcDimensions);
+				Assert.assertArrayEquals(
+						expectedId,
+						testId);
+				Assert.assertArrayEquals(
+						expectedId,
+						sfc.getId(values));
+				Assert.assertArrayEquals(
+						expectedResultOperations.indicesFromHilbert(
+								expectedId,
+								compactHilbertCurve,
+								sfcDimensions),
+						testOperations.indicesFromHilbert(
+								testId,
+								compactHilbertCurve,
+								sfcDimensions));
+				final MultiDimensionalNumericData expectedRanges = expectedResultOperations.convertFromHilbert(
+						expectedId,
+						compactHilbertCurve,
+						sfcDimensions);
+				final MultiDimensionalNumericData testRanges = testOperations.convertFromHilbert(
+						testId,
+						compactHilbertCurve,
+						sfcDimensions);
+				Assert.assertArrayEquals(
+						expectedRanges.getMinValuesPerDimension(),
+						testRanges.getMinValuesPerDimension(),
+						0);
+				Assert.assertArrayEquals(
+						expectedRanges.getMaxValuesPerDimension(),
+						testRanges.getMaxValuesPerDimension(),
+						0);
+			}
+		}
+	}
 }
@@ -6,6 +6,7 @@ import static org.junit.Assert.assertTrue;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.HashSet;
@@ -31,6 +32,7 @@ import mil.nga.giat.geowave.core.index.sfc.data.NumericData;
 import mil.nga.giat.geowave.core.index.sfc.data.NumericRange;
 import mil.nga.giat.geowave.core.index.sfc.data.NumericValue;
 import mil.nga.giat.geowave.core.index.sfc.tiered.TieredSFCIndexFactory;
+import mil.nga.giat.geowave.core.index.sfc.tiered.TieredSFCIndexStrategy;
 import mil.nga.giat.geowave.core.store.index.BasicIndexModel;
 import mil.nga.giat.geowave.core.store.index.CustomIdIndex;
 
@@ -296,6 +298,81 @@ public class TieredSFCIndexStrategyTest
 		}
 	}
 
+	@Test
+	public void testBatchInsertionIds() {
+		final TieredSFCIndexStrategy strategy = (TieredSFCIndexStrategy) new SpatialTemporalDimensionalityTypeProvider()
+				.createPrimaryIndex()
+				.getIndexStrategy();
+		final Calendar cal = Calendar.getInstance();
+		final List<MultiDimensionalNumericData> batch = new ArrayList<MultiDimensionalNumericData>();
+		for (int i = 0; i < 50; i++) {
+			cal.add(
+					Calendar.MONTH,
+					-i);
+			// mix points and ranges so that entries land in different tiers
+			// and bins
+			batch.add(new BasicNumericDataset(
+					new NumericData[] {
+						(i % 2) == 0 ? new NumericValue(
+								-170 + (i * 6)) : new NumericRange(
+								-170 + (i * 6),
+								-170 + (i * 6) + (i % 5)),
+						new NumericValue(
+								-80 + (i * 3)),
+						new NumericValue(
+								cal.getTimeInMillis())
+					}));
+		}
+		final List<List<ByteArrayId>> batchIds = strategy.getInsertionIds(batch);
+		assertEquals(
+				batch.size(),
+				batchIds.size());
+		for (int i = 0; i < batch.size(); i++) {
+			assertEquals(
+					strategy.getInsertionIds(batch.get(i)),
+					batchIds.get(i));
+		}
+	}
+
+	@Test
+	public void testParallelQueryDecomposition() {
+		final TieredSFCIndexStrategy strategy = (TieredSFCIndexStrategy) new SpatialTemporalDimensionalityTypeProvider()
+				.createPrimaryIndex()
+				.getIndexStrategy();
+		final Calendar cal = Calendar.getInstance();
+		final long end = cal.getTimeInMillis();
+		cal.add(
+				Calendar.YEAR,
+				-5);
+		// a multi-year query spans several bins in every tier
+		final MultiDimensionalNumericData query = new BasicNumericDataset(
+				new NumericData[] {
+					new NumericRange(
+							-10,
+							12),
+					new NumericRange(
+							20,
+							31),
+					new NumericRange(
+							cal.getTimeInMillis(),
+							end)
+				});
+		final List<ByteArrayRange> sequentialRanges = strategy.getQueryRanges(
+				query,
+				1000);
+		strategy.setParallelQueryDecomposition(true);
+		try {
+			assertEquals(
+					sequentialRanges,
+					strategy.getQueryRanges(
+							query,
+							1000));
+		}
+		finally {
+			strategy.setParallelQueryDecomposition(false);
+		}
+	}
+
 	@Test
 	public void testRegions()
 			throws ParseException {
@@ -1,5 +1,8 @@
 package mil.nga.giat.geowave.core.index;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.nio.ByteBuffer;
 import java.util.Arrays;
 
@@ -7,7 +10,10 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 /**
  * This class is a wrapper around a byte array to ensure equals and hashcode
- * operations use the values of the bytes rather than explicit object identity
+ * operations use the values of the bytes rather than explicit object identity.
+ * It can also be a view of a slice of a larger (shared) byte array, in which
+ * case equals, hashcode and compareTo operate on the slice directly and the
+ * slice is only copied if getBytes() is called. The hashcode is cached.
  */
 public class ByteArrayId implements
 		java.io.Serializable,
@@ -17,25 +23,130 @@ public class ByteArrayId implements
 	private final byte[] id;
 	@SuppressFBWarnings("SE_TRANSIENT_FIELD_NOT_RESTORED")
 	private transient String stringId;
+	// a slice is the bytes of id from offset to offset + length, it is only
+	// ever serialized as its own byte array so these are always restored to
+	// the full array
+	private transient int offset;
+	private transient int length;
+	@SuppressFBWarnings("SE_TRANSIENT_FIELD_NOT_RESTORED")
+	private transient byte[] sliceBytes;
+	@SuppressFBWarnings("SE_TRANSIENT_FIELD_NOT_RESTORED")
+	private transient int hashCode;
 
 	public ByteArrayId(
 			final byte[] id ) {
 		this.id = id;
+		offset = 0;
+		length = id == null ? 0 : id.length;
 	}
 
 	public ByteArrayId(
 			final String id ) {
 		this.id = StringUtils.stringToBinary(id);
+		offset = 0;
+		length = this.id.length;
 		stringId = id;
 	}
 
+	/**
+	 * Create a view of a slice of the given bytes without copying them, the
+	 * bytes must not be modified afterwards
+	 *
+	 * @param buffer
+	 *            the bytes to view
+	 * @param offset
+	 *            the start of the slice within the buffer
+	 * @param length
+	 *            the length of the slice
+	 */
+	public ByteArrayId(
+			final byte[] buffer,
+			final int offset,
+			final int length ) {
+		if ((offset < 0) || (length < 0) || ((offset + length) > buffer.length)) {
+			throw new IndexOutOfBoundsException(
+					"Slice [" + offset + ", " + (offset + length) + ") is out of bounds for length " + buffer.length);
+		}
+		id = buffer;
+		this.offset = offset;
+		this.length = length;
+	}
+
+	/**
+	 * @return the bytes of this ID, if this is a slice of a larger array the
+	 *         slice is copied the first time this is called
+	 */
 	public byte[] getBytes() {
-		return id;
+		if (!isSlice()) {
+			return id;
+		}
+		if (sliceBytes == null) {
+			sliceBytes = Arrays.copyOfRange(
+					id,
+					offset,
+					offset + length);
+		}
+		return sliceBytes;
+	}
+
+	/**
+	 * @return the number of bytes in this ID
+	 */
+	public int getLength() {
+		return length;
+	}
+
+	/**
+	 * Copy the bytes of this ID into the destination without allocating an
+	 * intermediate array
+	 *
+	 * @param destination
+	 *            the array to copy into
+	 * @param destinationOffset
+	 *            the position within the destination to start copying to
+	 */
+	public void copyTo(
+			final byte[] destination,
+			final int destinationOffset ) {
+		if (length == 0) {
+			return;
+		}
+		System.arraycopy(
+				id,
+				offset,
+				destination,
+				destinationOffset,
+				length);
+	}
+
+	private boolean isSlice() {
+		return (id != null) && ((offset != 0) || (length != id.length));
+	}
+
+	private void readObject(
+			final ObjectInputStream in )
+			throws IOException,
+			ClassNotFoundException {
+		in.defaultReadObject();
+		offset = 0;
+		length = id == null ? 0 : id.length;
+	}
+
+	private void writeObject(
+			final ObjectOutputStream out )
+			throws IOException {
+		// only the bytes of a slice are written, in the same form as an ID
+		// that owns its whole array
+		final ObjectOutputStream.PutField fields = out.putFields();
+		fields.put(
+				"id",
+				getBytes());
+		out.writeFields();
 	}
 
 	public String getString() {
 		if (stringId == null) {
-			stringId = StringUtils.stringFromBinary(id);
+			stringId = StringUtils.stringFromBinary(getBytes());
 		}
 		return stringId;
 	}
@@ -43,7 +154,7 @@ public class ByteArrayId implements
 	public String getHexString() {
 
 		StringBuffer str = new StringBuffer();
-		for (byte b : id) {
+		for (byte b : getBytes()) {
 			str.append(String.format(
 					"%02X ",
 					b));
@@ -58,9 +169,21 @@ public class ByteArrayId implements
 
 	@Override
 	public int hashCode() {
-		final int prime = 31;
-		int result = 1;
-		result = (prime * result) + Arrays.hashCode(id);
+		if (id == null) {
+			// Arrays.hashCode of null is 0
+			return 31;
+		}
+		int result = hashCode;
+		if (result == 0) {
+			// equivalent to 31 + Arrays.hashCode(bytes)
+			final int prime = 31;
+			int bytesHash = 1;
+			for (int i = offset; i < (offset + length); i++) {
+				bytesHash = (prime * bytesHash) + id[i];
+			}
+			result = prime + bytesHash;
+			hashCode = result;
+		}
 		return result;
 	}
 
@@ -77,22 +200,37 @@ public class ByteArrayId implements
 			return false;
 		}
 		final ByteArrayId other = (ByteArrayId) obj;
-		return Arrays.equals(
-				id,
-				other.id);
+		if ((id == null) || (other.id == null)) {
+			return (id == null) && (other.id == null);
+		}
+		if (length != other.length) {
+			return false;
+		}
+		if ((hashCode != 0) && (other.hashCode != 0) && (hashCode != other.hashCode)) {
+			return false;
+		}
+		for (int i = 0; i < length; i++) {
+			if (id[offset + i] != other.id[other.offset + i]) {
+				return false;
+			}
+		}
+		return true;
 	}
 
 	public static byte[] toBytes(
 			final ByteArrayId[] ids ) {
 		int len = 4;
 		for (ByteArrayId id : ids) {
-			len += (id.id.length + 4);
+			len += (id.length + 4);
 		}
 		final ByteBuffer buffer = ByteBuffer.allocate(len);
 		buffer.putInt(ids.length);
 		for (ByteArrayId id : ids) {
-			buffer.putInt(id.id.length);
-			buffer.put(id.id);
+			buffer.putInt(id.length);
+			buffer.put(
+					id.id,
+					id.offset,
+					id.length);
 		}
 		return buffer.array();
 	}
@@ -116,14 +254,14 @@ public class ByteArrayId implements
 	public int compareTo(
 			ByteArrayId o ) {
 
-		for (int i = 0, j = 0; i < id.length && j < o.id.length; i++, j++) {
-			int a = (id[i] & 0xff);
-			int b = (o.id[j] & 0xff);
+		for (int i = 0, j = 0; i < length && j < o.length; i++, j++) {
+			int a = (id[offset + i] & 0xff);
+			int b = (o.id[o.offset + j] & 0xff);
 			if (a != b) {
 				return a - b;
 			}
 		}
-		return id.length - o.id.length;
+		return length - o.length;
 
 	}
 }
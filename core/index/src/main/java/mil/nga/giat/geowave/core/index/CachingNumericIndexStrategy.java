@@ -0,0 +1,262 @@
+package mil.nga.giat.geowave.core.index;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import mil.nga.giat.geowave.core.index.sfc.data.MultiDimensionalNumericData;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * This wraps a numeric index strategy with a bounded cache of query range
+ * decompositions. Repeated queries for the same constraints (such as tile grids
+ * or periodically refreshed views) will reuse the ranges computed the first
+ * time rather than decomposing the space filling curves again. The cache is
+ * keyed on the min and max per dimension of the query, the max range
+ * decomposition and the index metadata hints, and entries are evicted when the
+ * cache is full (least recently used first) or after the configured time to
+ * live.
+ *
+ */
+public class CachingNumericIndexStrategy extends
+		NumericIndexStrategyWrapper
+{
+	public static final int DEFAULT_MAX_CACHED_QUERIES = 1000;
+	public static final long DEFAULT_TIME_TO_LIVE_MILLIS = 5 * 60 * 1000L;
+
+	private int maxCachedQueries;
+	private long timeToLiveMillis;
+	private Cache<QueryRangesKey, List<ByteArrayRange>> queryRangesCache;
+	private final AtomicLong hitCount = new AtomicLong();
+	private final AtomicLong missCount = new AtomicLong();
+
+	protected CachingNumericIndexStrategy() {}
+
+	public CachingNumericIndexStrategy(
+			final String id,
+			final NumericIndexStrategy indexStrategy ) {
+		this(
+				id,
+				indexStrategy,
+				DEFAULT_MAX_CACHED_QUERIES,
+				DEFAULT_TIME_TO_LIVE_MILLIS);
+	}
+
+	/**
+	 * @param id
+	 *            the ID of this index strategy
+	 * @param indexStrategy
+	 *            the index strategy to delegate to
+	 * @param maxCachedQueries
+	 *            the maximum number of query decompositions to keep
+	 * @param timeToLiveMillis
+	 *            how long a query decomposition is kept after it is computed,
+	 *            if <= 0 entries only expire when the cache is full
+	 */
+	public CachingNumericIndexStrategy(
+			final String id,
+			final NumericIndexStrategy indexStrategy,
+			final int maxCachedQueries,
+			final long timeToLiveMillis ) {
+		super(
+				id,
+				indexStrategy);
+		this.maxCachedQueries = maxCachedQueries;
+		this.timeToLiveMillis = timeToLiveMillis;
+		initCache();
+	}
+
+	private void initCache() {
+		final CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder().maximumSize(
+				maxCachedQueries);
+		if (timeToLiveMillis > 0) {
+			builder.expireAfterWrite(
+					timeToLiveMillis,
+					TimeUnit.MILLISECONDS);
+		}
+		queryRangesCache = builder.build();
+	}
+
+	@Override
+	public List<ByteArrayRange> getQueryRanges(
+			final MultiDimensionalNumericData indexedRange,
+			final IndexMetaData... hints ) {
+		final QueryRangesKey key = new QueryRangesKey(
+				indexedRange,
+				null,
+				hints);
+		List<ByteArrayRange> ranges = queryRangesCache.getIfPresent(key);
+		if (ranges == null) {
+			missCount.incrementAndGet();
+			ranges = super.getQueryRanges(
+					indexedRange,
+					hints);
+			queryRangesCache.put(
+					key,
+					ranges);
+		}
+		else {
+			hitCount.incrementAndGet();
+		}
+		// callers are free to modify the returned list
+		return new ArrayList<ByteArrayRange>(
+				ranges);
+	}
+
+	@Override
+	public List<ByteArrayRange> getQueryRanges(
+			final MultiDimensionalNumericData indexedRange,
+			final int maxRangeDecomposition,
+			final IndexMetaData... hints ) {
+		final QueryRangesKey key = new QueryRangesKey(
+				indexedRange,
+				maxRangeDecomposition,
+				hints);
+		List<ByteArrayRange> ranges = queryRangesCache.getIfPresent(key);
+		if (ranges == null) {
+			missCount.incrementAndGet();
+			ranges = super.getQueryRanges(
+					indexedRange,
+					maxRangeDecomposition,
+					hints);
+			queryRangesCache.put(
+					key,
+					ranges);
+		}
+		else {
+			hitCount.incrementAndGet();
+		}
+		// callers are free to modify the returned list
+		return new ArrayList<ByteArrayRange>(
+				ranges);
+	}
+
+	/**
+	 * Remove all cached query decompositions, the hit and miss counts are not
+	 * reset
+	 */
+	public void invalidateCache() {
+		queryRangesCache.invalidateAll();
+	}
+
+	public long getHitCount() {
+		return hitCount.get();
+	}
+
+	public long getMissCount() {
+		return missCount.get();
+	}
+
+	public long getCachedQueryCount() {
+		return queryRangesCache.size();
+	}
+
+	public int getMaxCachedQueries() {
+		return maxCachedQueries;
+	}
+
+	public long getTimeToLiveMillis() {
+		return timeToLiveMillis;
+	}
+
+	@Override
+	public byte[] toBinary() {
+		final byte[] delegateBinary = super.toBinary();
+		final ByteBuffer buf = ByteBuffer.allocate(12 + delegateBinary.length);
+		buf.putInt(maxCachedQueries);
+		buf.putLong(timeToLiveMillis);
+		buf.put(delegateBinary);
+		return buf.array();
+	}
+
+	@Override
+	public void fromBinary(
+			final byte[] bytes ) {
+		final ByteBuffer buf = ByteBuffer.wrap(bytes);
+		maxCachedQueries = buf.getInt();
+		timeToLiveMillis = buf.getLong();
+		final byte[] delegateBinary = new byte[bytes.length - 12];
+		buf.get(delegateBinary);
+		super.fromBinary(delegateBinary);
+		initCache();
+	}
+
+	private static class QueryRangesKey
+	{
+		private final double[] minValuesPerDimension;
+		private final double[] maxValuesPerDimension;
+		private final Integer maxRangeDecomposition;
+		private final byte[][] hints;
+		private final int hashCode;
+
+		public QueryRangesKey(
+				final MultiDimensionalNumericData indexedRange,
+				final Integer maxRangeDecomposition,
+				final IndexMetaData[] hints ) {
+			// use the min and max per dimension so that equivalent constraints
+			// share a key regardless of how the numeric data is represented
+			minValuesPerDimension = indexedRange.getMinValuesPerDimension();
+			maxValuesPerDimension = indexedRange.getMaxValuesPerDimension();
+			this.maxRangeDecomposition = maxRangeDecomposition;
+			if (hints == null) {
+				this.hints = new byte[0][];
+			}
+			else {
+				this.hints = new byte[hints.length][];
+				for (int i = 0; i < hints.length; i++) {
+					this.hints[i] = (hints[i] == null) ? null : hints[i].toBinary();
+				}
+			}
+			final int prime = 31;
+			int result = 1;
+			result = (prime * result) + Arrays.hashCode(minValuesPerDimension);
+			result = (prime * result) + Arrays.hashCode(maxValuesPerDimension);
+			result = (prime * result) + ((maxRangeDecomposition == null) ? 0 : maxRangeDecomposition.hashCode());
+			result = (prime * result) + Arrays.deepHashCode(this.hints);
+			hashCode = result;
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(
+				final Object obj ) {
+			if (this == obj) {
+				return true;
+			}
+			if (obj == null) {
+				return false;
+			}
+			if (getClass() != obj.getClass()) {
+				return false;
+			}
+			final QueryRangesKey other = (QueryRangesKey) obj;
+			if (hashCode != other.hashCode) {
+				return false;
+			}
+			if (maxRangeDecomposition == null) {
+				if (other.maxRangeDecomposition != null) {
+					return false;
+				}
+			}
+			else if (!maxRangeDecomposition.equals(other.maxRangeDecomposition)) {
+				return false;
+			}
+			return Arrays.equals(
+					minValuesPerDimension,
+					other.minValuesPerDimension) && Arrays.equals(
+					maxValuesPerDimension,
+					other.maxValuesPerDimension) && Arrays.deepEquals(
+					hints,
+					other.hints);
+		}
+	}
+}
@@ -128,11 +128,20 @@ public class CompoundIndexStrategy implements
 	public ByteArrayId composeByteArrayId(
 			final ByteArrayId id1,
 			final ByteArrayId id2 ) {
-		final byte[] bytes = new byte[id1.getBytes().length + id2.getBytes().length + 4];
-		final ByteBuffer buf = ByteBuffer.wrap(bytes);
-		buf.put(id1.getBytes());
-		buf.put(id2.getBytes());
-		buf.putInt(id1.getBytes().length);
+		final int id1Length = id1.getLength();
+		final int id2Length = id2.getLength();
+		final byte[] bytes = new byte[id1Length + id2Length + 4];
+		// copy directly from the IDs so that slices are not copied twice
+		id1.copyTo(
+				bytes,
+				0);
+		id2.copyTo(
+				bytes,
+				id1Length);
+		ByteBuffer.wrap(
+				bytes).putInt(
+				id1Length + id2Length,
+				id1Length);
 		return new ByteArrayId(
 				bytes);
 	}
@@ -147,17 +156,20 @@ public class CompoundIndexStrategy implements
 	 */
 	public ByteArrayId[] decomposeByteArrayId(
 			final ByteArrayId id ) {
-		final ByteBuffer buf = ByteBuffer.wrap(id.getBytes());
-		final int id1Length = buf.getInt(id.getBytes().length - 4);
-		final byte[] bytes1 = new byte[id1Length];
-		final byte[] bytes2 = new byte[id.getBytes().length - id1Length - 4];
-		buf.get(bytes1);
-		buf.get(bytes2);
+		// the sub-strategy IDs are views of the compound ID rather than copies
+		final byte[] bytes = id.getBytes();
+		final int id1Length = ByteBuffer.wrap(
+				bytes).getInt(
+				bytes.length - 4);
 		return new ByteArrayId[] {
 			new ByteArrayId(
-					bytes1),
+					bytes,
+					0,
+					id1Length),
 			new ByteArrayId(
-					bytes2)
+					bytes,
+					id1Length,
+					bytes.length - id1Length - 4)
 		};
 	}
 
@@ -533,24 +545,21 @@ public class CompoundIndexStrategy implements
 	public static ByteArrayId extractByteArrayId(
 			final ByteArrayId id,
 			final int index ) {
-		final ByteBuffer buf = ByteBuffer.wrap(id.getBytes());
-		final int id1Length = buf.getInt(id.getBytes().length - 4);
+		final byte[] bytes = id.getBytes();
+		final int id1Length = ByteBuffer.wrap(
+				bytes).getInt(
+				bytes.length - 4);
 
 		if (index == 0) {
-			final byte[] bytes1 = new byte[id1Length];
-			buf.get(bytes1);
 			return new ByteArrayId(
-					bytes1);
-		}
-
-		final byte[] bytes2 = new byte[id.getBytes().length - id1Length - 4];
-		if (id1Length < 0) {
-			System.err.println("Crap");
+					bytes,
+					0,
+					id1Length);
 		}
-		buf.position(id1Length);
-		buf.get(bytes2);
 		return new ByteArrayId(
-				bytes2);
+				bytes,
+				id1Length,
+				bytes.length - id1Length - 4);
 
 	}
 
@@ -0,0 +1,97 @@
+package mil.nga.giat.geowave.core.index;
+
+import mil.nga.giat.geowave.core.index.dimension.BasicDimensionDefinition;
+import mil.nga.giat.geowave.core.index.dimension.UnboundedDimensionDefinition;
+import mil.nga.giat.geowave.core.index.sfc.SFCDimensionDefinition;
+import mil.nga.giat.geowave.core.index.sfc.data.BasicNumericDataset;
+import mil.nga.giat.geowave.core.index.sfc.data.BinnedNumericDataset;
+import mil.nga.giat.geowave.core.index.sfc.data.NumericRange;
+import mil.nga.giat.geowave.core.index.sfc.data.NumericValue;
+import mil.nga.giat.geowave.core.index.sfc.hilbert.HilbertSFC;
+import mil.nga.giat.geowave.core.index.sfc.tiered.SingleTierSubStrategy;
+import mil.nga.giat.geowave.core.index.sfc.tiered.TieredSFCIndexStrategy;
+import mil.nga.giat.geowave.core.index.sfc.xz.XZOrderIndexStrategy;
+import mil.nga.giat.geowave.core.index.sfc.zorder.ZOrderSFC;
+import mil.nga.giat.geowave.core.index.simple.HashKeyIndexStrategy;
+import mil.nga.giat.geowave.core.index.simple.RoundRobinKeyIndexStrategy;
+import mil.nga.giat.geowave.core.index.simple.SimpleIntegerIndexStrategy;
+import mil.nga.giat.geowave.core.index.simple.SimpleLongIndexStrategy;
+import mil.nga.giat.geowave.core.index.simple.SimpleShortIndexStrategy;
+
+/**
+ * Registers the persistables of the core index module with IDs from 1 to 99.
+ *
+ */
+public class IndexPersistableRegistry implements
+		PersistableRegistrySpi
+{
+
+	@Override
+	public PersistableIdAndClass[] getSupportedPersistables() {
+		return new PersistableIdAndClass[] {
+			new PersistableIdAndClass(
+					(short) 1,
+					CachingNumericIndexStrategy.class),
+			new PersistableIdAndClass(
+					(short) 2,
+					CompoundIndexStrategy.class),
+			new PersistableIdAndClass(
+					(short) 3,
+					NullNumericIndexStrategy.class),
+			new PersistableIdAndClass(
+					(short) 4,
+					NumericIndexStrategyWrapper.class),
+			new PersistableIdAndClass(
+					(short) 5,
+					BasicDimensionDefinition.class),
+			new PersistableIdAndClass(
+					(short) 6,
+					UnboundedDimensionDefinition.class),
+			new PersistableIdAndClass(
+					(short) 7,
+					SFCDimensionDefinition.class),
+			new PersistableIdAndClass(
+					(short) 8,
+					BasicNumericDataset.class),
+			new PersistableIdAndClass(
+					(short) 9,
+					BinnedNumericDataset.class),
+			new PersistableIdAndClass(
+					(short) 10,
+					NumericRange.class),
+			new PersistableIdAndClass(
+					(short) 11,
+					NumericValue.class),
+			new PersistableIdAndClass(
+					(short) 12,
+					HilbertSFC.class),
+			new PersistableIdAndClass(
+					(short) 13,
+					SingleTierSubStrategy.class),
+			new PersistableIdAndClass(
+					(short) 14,
+					TieredSFCIndexStrategy.class),
+			new PersistableIdAndClass(
+					(short) 15,
+					XZOrderIndexStrategy.class),
+			new PersistableIdAndClass(
+					(short) 16,
+					ZOrderSFC.class),
+			new PersistableIdAndClass(
+					(short) 17,
+					HashKeyIndexStrategy.class),
+			new PersistableIdAndClass(
+					(short) 18,
+					RoundRobinKeyIndexStrategy.class),
+			new PersistableIdAndClass(
+					(short) 19,
+					SimpleIntegerIndexStrategy.class),
+			new PersistableIdAndClass(
+					(short) 20,
+					SimpleLongIndexStrategy.class),
+			new PersistableIdAndClass(
+					(short) 21,
+					SimpleShortIndexStrategy.class)
+		};
+	}
+}
@@ -0,0 +1,184 @@
+package mil.nga.giat.geowave.core.index;
+
+import java.lang.reflect.Constructor;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.log4j.Logger;
+
+import mil.nga.giat.geowave.core.index.PersistableRegistrySpi.PersistableIdAndClass;
+
+/**
+ * This maintains the persistable IDs registered through PersistableRegistrySpi
+ * and caches the no-arg constructors of persistable classes so that
+ * deserialization does not need to look up classes and constructors
+ * reflectively each time.
+ *
+ */
+class PersistableRegistry
+{
+	private final static Logger LOGGER = Logger.getLogger(PersistableRegistry.class);
+	private static volatile Map<Class<?>, Short> classToIdRegistry = null;
+	private static volatile Map<Short, Class<?>> idToClassRegistry = null;
+	private static final Map<String, Constructor<?>> CONSTRUCTORS_BY_CLASS_NAME = new ConcurrentHashMap<String, Constructor<?>>();
+	private static final Map<Class<?>, Constructor<?>> CONSTRUCTORS_BY_CLASS = new ConcurrentHashMap<Class<?>, Constructor<?>>();
+
+	private static synchronized void initRegistry() {
+		if (classToIdRegistry != null) {
+			return;
+		}
+		final Map<Class<?>, Short> classToId = new HashMap<Class<?>, Short>();
+		final Map<Short, Class<?>> idToClass = new HashMap<Short, Class<?>>();
+		for (final PersistableRegistrySpi registry : loadRegistries()) {
+			for (final PersistableIdAndClass persistable : registry.getSupportedPersistables()) {
+				final short id = persistable.getPersistableId();
+				final Class<?> persistableClass = persistable.getPersistableClass();
+				if (id <= 0) {
+					LOGGER.warn("Persistable ID must be positive; not able to register " + persistableClass.getName()
+							+ " with ID " + id);
+				}
+				else if (idToClass.containsKey(id)) {
+					LOGGER.warn("Persistable ID " + id + " already registered for " + idToClass.get(
+							id).getName() + "; not able to add " + persistableClass.getName());
+				}
+				else if (classToId.containsKey(persistableClass)) {
+					LOGGER.warn("Persistable " + persistableClass.getName() + " already registered with ID "
+							+ classToId.get(persistableClass) + "; not able to add ID " + id);
+				}
+				else {
+					idToClass.put(
+							id,
+							persistableClass);
+					classToId.put(
+							persistableClass,
+							id);
+				}
+			}
+		}
+		idToClassRegistry = idToClass;
+		classToIdRegistry = classToId;
+	}
+
+	/**
+	 * The thread context classloader alone does not discover the registries on
+	 * Accumulo tablet servers (VFS classloader) or HBase region servers, so the
+	 * classloader of this class and the system classloader are searched as well
+	 */
+	private static Collection<PersistableRegistrySpi> loadRegistries() {
+		final Set<ClassLoader> classLoaders = new LinkedHashSet<ClassLoader>();
+		try {
+			classLoaders.add(PersistableRegistry.class.getClassLoader());
+			classLoaders.add(Thread.currentThread().getContextClassLoader());
+			classLoaders.add(ClassLoader.getSystemClassLoader());
+		}
+		catch (final SecurityException e) {
+			LOGGER.warn(
+					"Unable to access classloader to load persistable registries",
+					e);
+		}
+		// the same registry is often visible from several classloaders
+		final Map<String, PersistableRegistrySpi> registries = new LinkedHashMap<String, PersistableRegistrySpi>();
+		for (final ClassLoader classLoader : classLoaders) {
+			if (classLoader == null) {
+				continue;
+			}
+			final Iterator<PersistableRegistrySpi> it = ServiceLoader.load(
+					PersistableRegistrySpi.class,
+					classLoader).iterator();
+			while (it.hasNext()) {
+				try {
+					final PersistableRegistrySpi registry = it.next();
+					if (!registries.containsKey(registry.getClass().getName())) {
+						registries.put(
+								registry.getClass().getName(),
+								registry);
+					}
+				}
+				catch (final ServiceConfigurationError e) {
+					LOGGER.warn(
+							"Unable to load persistable registry",
+							e);
+				}
+			}
+		}
+		return registries.values();
+	}
+
+	private static Map<Class<?>, Short> getClassToIdRegistry() {
+		if (classToIdRegistry == null) {
+			initRegistry();
+		}
+		return classToIdRegistry;
+	}
+
+	private static Map<Short, Class<?>> getIdToClassRegistry() {
+		if (idToClassRegistry == null) {
+			initRegistry();
+		}
+		return idToClassRegistry;
+	}
+
+	/**
+	 * @return the registered ID of the class or null if it is not registered
+	 */
+	public static Short getPersistableId(
+			final Class<?> persistableClass ) {
+		return getClassToIdRegistry().get(
+				persistableClass);
+	}
+
+	/**
+	 * @return the class registered with the ID or null if it is not registered
+	 */
+	public static Class<?> getPersistableClass(
+			final short persistableId ) {
+		return getIdToClassRegistry().get(
+				persistableId);
+	}
+
+	/**
+	 * Looks up the accessible no-arg constructor of the class with the given
+	 * name, after the first lookup the constructor is cached
+	 *
+	 * @throws ClassNotFoundException
+	 *             if the class cannot be found
+	 * @throws NoSuchMethodException
+	 *             if the class does not have a no-arg constructor
+	 */
+	public static Constructor<?> getNoArgConstructor(
+			final String className )
+			throws ClassNotFoundException,
+			NoSuchMethodException {
+		Constructor<?> constructor = CONSTRUCTORS_BY_CLASS_NAME.get(className);
+		if (constructor == null) {
+			constructor = getNoArgConstructor(Class.forName(className));
+			CONSTRUCTORS_BY_CLASS_NAME.put(
+					className,
+					constructor);
+		}
+		return constructor;
+	}
+
+	public static Constructor<?> getNoArgConstructor(
+			final Class<?> persistableClass )
+			throws NoSuchMethodException {
+		Constructor<?> constructor = CONSTRUCTORS_BY_CLASS.get(persistableClass);
+		if (constructor == null) {
+			// use the no arg constructor and make sure its accessible
+			constructor = persistableClass.getDeclaredConstructor();
+			constructor.setAccessible(true);
+			CONSTRUCTORS_BY_CLASS.put(
+					persistableClass,
+					constructor);
+		}
+		return constructor;
+	}
+}
@@ -0,0 +1,36 @@
+package mil.nga.giat.geowave.core.index;
+
+/**
+ *
+ * Registers persistable classes with a short numeric ID so that
+ * PersistenceUtils can write the ID rather than the full class name. The IDs
+ * are persisted, so once an ID is assigned to a class it must never be reused
+ * for another class. Each module should use its own range of IDs, the IDs must
+ * be positive.
+ *
+ */
+public interface PersistableRegistrySpi
+{
+	public PersistableIdAndClass[] getSupportedPersistables();
+
+	public static class PersistableIdAndClass
+	{
+		private final short persistableId;
+		private final Class<? extends Persistable> persistableClass;
+
+		public PersistableIdAndClass(
+				final short persistableId,
+				final Class<? extends Persistable> persistableClass ) {
+			this.persistableId = persistableId;
+			this.persistableClass = persistableClass;
+		}
+
+		public short getPersistableId() {
+			return persistableId;
+		}
+
+		public Class<? extends Persistable> getPersistableClass() {
+			return persistableClass;
+		}
+	}
+}
@@ -10,7 +10,13 @@ import org.apache.log4j.Logger;
 
 /**
  * A set of convenience methods for serializing and deserializing persistable
- * objects
+ * objects. Classes registered through PersistableRegistrySpi are identified by
+ * a short ID, any other class is identified by its class name.
+ * 
+ * The short ID encoding is a one-way format change: binaries written with class
+ * names are still read, but binaries written with short IDs cannot be read by
+ * versions that predate the registry, so clients and servers (tablet servers,
+ * region servers and MapReduce tasks) must be upgraded together.
  * 
  */
 public class PersistenceUtils
@@ -44,10 +50,20 @@ public class PersistenceUtils
 		if (persistable == null) {
 			return new byte[0];
 		}
+		final byte[] persistableBinary = persistable.toBinary();
+		final Short persistableId = PersistableRegistry.getPersistableId(persistable.getClass());
+		if (persistableId != null) {
+			// preface the payload with the negated registered ID, a class
+			// name length is never negative so this is distinguishable from
+			// the class name
+			final ByteBuffer buf = ByteBuffer.allocate(2 + persistableBinary.length);
+			buf.putShort((short) -persistableId);
+			buf.put(persistableBinary);
+			return buf.array();
+		}
 		// preface the payload with the class name and a length of the class
 		// name
 		final byte[] className = StringUtils.stringToBinary(persistable.getClass().getName());
-		final byte[] persistableBinary = persistable.toBinary();
 		final int classNameLength = className.length;
 		final ByteBuffer buf = ByteBuffer.allocate(4 + classNameLength + persistableBinary.length);
 		buf.putInt(classNameLength);
@@ -80,46 +96,98 @@ public class PersistenceUtils
 			final byte[] bytes,
 			final Class<T> expectedType ) {
 		final ByteBuffer buf = ByteBuffer.wrap(bytes);
-		final int classNameLength = buf.getInt();
-		final byte[] classNameBinary = new byte[classNameLength];
-		final byte[] persistableBinary = new byte[bytes.length - classNameLength - 4];
-		buf.get(classNameBinary);
+		final short persistableId = buf.getShort(0);
+		final T retVal;
+		if (persistableId < 0) {
+			final Class<?> persistableClass = PersistableRegistry.getPersistableClass((short) -persistableId);
+			if (persistableClass == null) {
+				// the ID was written by a registry that isn't on this
+				// classpath, most likely because the writer is a newer version
+				// or uses a plugin that this JVM (for instance a tablet server,
+				// region server or MapReduce task) does not have
+				LOGGER
+						.error("error creating class: no PersistableRegistrySpi on the classpath registers persistable ID "
+								+ -persistableId
+								+ ", the binary was written by a version or plugin that is not available here; "
+								+ "ensure the same GeoWave version and plugins are deployed to every client and server");
+				return null;
+			}
+			if (LOGGER.isTraceEnabled()) LOGGER.trace("Loading class " + persistableClass.getName());
+			retVal = classFactory(
+					persistableClass,
+					expectedType);
+			buf.position(2);
+		}
+		else {
+			final int classNameLength = buf.getInt();
+			final byte[] classNameBinary = new byte[classNameLength];
+			buf.get(classNameBinary);
 
-		final String className = StringUtils.stringFromBinary(classNameBinary);
+			final String className = StringUtils.stringFromBinary(classNameBinary);
 
-		if (LOGGER.isTraceEnabled()) LOGGER.trace("Loading class " + className);
-		final T retVal = classFactory(
-				className,
-				expectedType);
+			if (LOGGER.isTraceEnabled()) LOGGER.trace("Loading class " + className);
+			retVal = classFactory(
+					className,
+					expectedType);
+		}
 		if (retVal != null) {
+			final byte[] persistableBinary = new byte[buf.remaining()];
 			buf.get(persistableBinary);
 			retVal.fromBinary(persistableBinary);
 		}
 		return retVal;
 	}
 
-	@SuppressWarnings("unchecked")
 	public static <T> T classFactory(
 			final String className,
 			final Class<T> expectedType ) {
-		Class<?> factoryType = null;
+		Constructor<?> noArgConstructor = null;
+		try {
+			noArgConstructor = PersistableRegistry.getNoArgConstructor(className);
+		}
+		catch (final ClassNotFoundException e) {
+			LOGGER.warn(
+					"error creating class: could not find class " + className,
+					e);
+		}
+		catch (final Throwable e) {
+			LOGGER.warn(
+					"error creating class: could not create class " + className,
+					e);
+		}
+		return newInstance(
+				noArgConstructor,
+				className,
+				expectedType);
+	}
 
+	public static <T> T classFactory(
+			final Class<?> factoryType,
+			final Class<T> expectedType ) {
+		Constructor<?> noArgConstructor = null;
 		try {
-			factoryType = Class.forName(className);
+			noArgConstructor = PersistableRegistry.getNoArgConstructor(factoryType);
 		}
 		catch (final Throwable e) {
 			LOGGER.warn(
-					"error creating class: could not find class " + className,
+					"error creating class: could not create class " + factoryType.getName(),
 					e);
 		}
+		return newInstance(
+				noArgConstructor,
+				factoryType.getName(),
+				expectedType);
+	}
 
-		if (factoryType != null) {
+	@SuppressWarnings("unchecked")
+	private static <T> T newInstance(
+			final Constructor<?> noArgConstructor,
+			final String className,
+			final Class<T> expectedType ) {
+		if (noArgConstructor != null) {
 			Object factoryClassInst = null;
 
 			try {
-				// use the no arg constructor and make sure its accessible
-				final Constructor<?> noArgConstructor = factoryType.getDeclaredConstructor();
-				noArgConstructor.setAccessible(true);
 				factoryClassInst = noArgConstructor.newInstance();
 			}
 			catch (final Throwable e) {
@@ -0,0 +1,182 @@
+package mil.nga.giat.geowave.core.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A reusable buffer for assembling row keys from their parts (such as a tier
+ * byte, a bin ID and a space filling curve ID) without allocating an
+ * intermediate array per part. Several keys can be assembled one after the
+ * other, they are then returned as ByteArrayId slices of a single shared array.
+ * A builder is not thread-safe, getThreadLocalBuilder() provides one per
+ * thread.
+ *
+ */
+public class RowKeyBuilder
+{
+	private static final int DEFAULT_INITIAL_CAPACITY = 64;
+	private static final ThreadLocal<RowKeyBuilder> THREAD_LOCAL_BUILDER = new ThreadLocal<RowKeyBuilder>() {
+		@Override
+		protected RowKeyBuilder initialValue() {
+			return new RowKeyBuilder();
+		}
+	};
+
+	private byte[] buffer;
+	private int length = 0;
+	private int keyStart = 0;
+	private int[] keyEnds = new int[8];
+	private int keyCount = 0;
+
+	public RowKeyBuilder() {
+		this(
+				DEFAULT_INITIAL_CAPACITY);
+	}
+
+	public RowKeyBuilder(
+			final int initialCapacity ) {
+		buffer = new byte[Math.max(
+				1,
+				initialCapacity)];
+	}
+
+	/**
+	 * @return a builder for the current thread that has been reset, it must not
+	 *         be used after calling any other method that may use the thread
+	 *         local builder
+	 */
+	public static RowKeyBuilder getThreadLocalBuilder() {
+		return THREAD_LOCAL_BUILDER.get().reset();
+	}
+
+	/**
+	 * Discard all keys and parts appended so far
+	 */
+	public RowKeyBuilder reset() {
+		length = 0;
+		keyStart = 0;
+		keyCount = 0;
+		return this;
+	}
+
+	public RowKeyBuilder append(
+			final byte value ) {
+		ensureCapacity(1);
+		buffer[length++] = value;
+		return this;
+	}
+
+	public RowKeyBuilder append(
+			final byte[] bytes ) {
+		if (bytes == null) {
+			// consistent with ByteArrayUtils.combineArrays, a null part is
+			// treated as empty
+			return this;
+		}
+		return append(
+				bytes,
+				0,
+				bytes.length);
+	}
+
+	public RowKeyBuilder append(
+			final byte[] bytes,
+			final int offset,
+			final int count ) {
+		ensureCapacity(count);
+		System.arraycopy(
+				bytes,
+				offset,
+				buffer,
+				length,
+				count);
+		length += count;
+		return this;
+	}
+
+	public RowKeyBuilder append(
+			final ByteArrayId id ) {
+		ensureCapacity(id.getLength());
+		id.copyTo(
+				buffer,
+				length);
+		length += id.getLength();
+		return this;
+	}
+
+	/**
+	 * @return the length of the key currently being assembled
+	 */
+	public int getKeyLength() {
+		return length - keyStart;
+	}
+
+	/**
+	 * @return a copy of the key currently being assembled
+	 */
+	public byte[] toBytes() {
+		return Arrays.copyOfRange(
+				buffer,
+				keyStart,
+				length);
+	}
+
+	/**
+	 * @return a copy of the key currently being assembled
+	 */
+	public ByteArrayId toByteArrayId() {
+		return new ByteArrayId(
+				toBytes());
+	}
+
+	/**
+	 * Complete the key currently being assembled, subsequent appends start the
+	 * next key
+	 */
+	public RowKeyBuilder endKey() {
+		if (keyCount == keyEnds.length) {
+			keyEnds = Arrays.copyOf(
+					keyEnds,
+					keyEnds.length * 2);
+		}
+		keyEnds[keyCount++] = length;
+		keyStart = length;
+		return this;
+	}
+
+	/**
+	 * @return every completed key as a slice of a single copy of the assembled
+	 *         bytes, the builder can be reused afterwards
+	 */
+	public List<ByteArrayId> toByteArrayIds() {
+		final List<ByteArrayId> ids = new ArrayList<ByteArrayId>(
+				keyCount);
+		if (keyCount == 0) {
+			return ids;
+		}
+		final byte[] keys = Arrays.copyOf(
+				buffer,
+				keyEnds[keyCount - 1]);
+		int start = 0;
+		for (int i = 0; i < keyCount; i++) {
+			ids.add(new ByteArrayId(
+					keys,
+					start,
+					keyEnds[i] - start));
+			start = keyEnds[i];
+		}
+		return ids;
+	}
+
+	private void ensureCapacity(
+			final int additional ) {
+		if ((length + additional) > buffer.length) {
+			buffer = Arrays.copyOf(
+					buffer,
+					Math.max(
+							buffer.length * 2,
+							length + additional));
+		}
+	}
+}
@@ -23,7 +23,12 @@ import com.google.uzaygezen.core.MultiDimensionalSpec;
 public class HilbertSFC implements
 		SpaceFillingCurve
 {
-	protected CompactHilbertCurve compactHilbertCurve;
+	/**
+	 * The compact hilbert curve keeps mutable scratch state while indexing and
+	 * traversing, so rather than sharing a single curve under a lock each
+	 * thread lazily gets its own curve for the same spec
+	 */
+	protected ThreadLocal<CompactHilbertCurve> compactHilbertCurve;
 	protected SFCDimensionDefinition[] dimensionDefinitions;
 	protected int totalPrecision;
 
@@ -54,9 +59,15 @@ public class HilbertSFC implements
 			totalPrecision += dimension.getBitsOfPrecision();
 		}
 
-		compactHilbertCurve = new CompactHilbertCurve(
-				new MultiDimensionalSpec(
-						bitsPerDimension));
+		final MultiDimensionalSpec spec = new MultiDimensionalSpec(
+				bitsPerDimension);
+		compactHilbertCurve = new ThreadLocal<CompactHilbertCurve>() {
+			@Override
+			protected CompactHilbertCurve initialValue() {
+				return new CompactHilbertCurve(
+						spec);
+			}
+		};
 
 		dimensionDefinitions = dimensionDefs;
 		setOptimalOperations(
@@ -79,31 +90,35 @@ public class HilbertSFC implements
 				break;
 			}
 		}
-		if (primitiveForGetId) {
-			final PrimitiveHilbertSFCOperations primitiveOps = new PrimitiveHilbertSFCOperations();
-			primitiveOps.init(dimensionDefs);
-			getIdOperations = primitiveOps;
-			if (primitiveForQueryDecomposition) {
-				decomposeQueryOperations = primitiveOps;
-			}
-			else {
-				final UnboundedHilbertSFCOperations unboundedOps = new UnboundedHilbertSFCOperations();
-				unboundedOps.init(dimensionDefs);
-				decomposeQueryOperations = unboundedOps;
+		UnboundedHilbertSFCOperations unboundedOps = null;
+		if (primitiveForQueryDecomposition) {
+			// the whole compact hilbert index fits in a long, so it can be
+			// computed without any uzaygezen bit vectors
+			final LongHilbertSFCOperations longOps = new LongHilbertSFCOperations();
+			longOps.init(dimensionDefs);
+			decomposeQueryOperations = longOps;
+			if (primitiveForGetId) {
+				getIdOperations = longOps;
 			}
 		}
 		else {
-			final UnboundedHilbertSFCOperations unboundedOps = new UnboundedHilbertSFCOperations();
+			unboundedOps = new UnboundedHilbertSFCOperations();
 			unboundedOps.init(dimensionDefs);
-			getIdOperations = unboundedOps;
-			if (primitiveForQueryDecomposition) {
+			decomposeQueryOperations = unboundedOps;
+			if (primitiveForGetId) {
 				final PrimitiveHilbertSFCOperations primitiveOps = new PrimitiveHilbertSFCOperations();
 				primitiveOps.init(dimensionDefs);
-				decomposeQueryOperations = primitiveOps;
+				getIdOperations = primitiveOps;
 			}
-			else {
-				decomposeQueryOperations = unboundedOps;
+		}
+		if (!primitiveForGetId) {
+			// IDs must be normalized using bigdecimals, otherwise the IDs of
+			// existing data would change
+			if (unboundedOps == null) {
+				unboundedOps = new UnboundedHilbertSFCOperations();
+				unboundedOps.init(dimensionDefs);
 			}
+			getIdOperations = unboundedOps;
 		}
 	}
 
@@ -115,7 +130,7 @@ public class HilbertSFC implements
 			final double[] values ) {
 		return getIdOperations.convertToHilbert(
 				values,
-				compactHilbertCurve,
+				compactHilbertCurve.get(),
 				dimensionDefinitions);
 	}
 
@@ -145,7 +160,7 @@ public class HilbertSFC implements
 		}
 		return decomposeQueryOperations.decomposeRange(
 				query.getDataPerDimension(),
-				compactHilbertCurve,
+				compactHilbertCurve.get(),
 				dimensionDefinitions,
 				totalPrecision,
 				maxFilteredIndexedRanges,
@@ -272,7 +287,7 @@ public class HilbertSFC implements
 			final byte[] id ) {
 		return getIdOperations.convertFromHilbert(
 				id,
-				compactHilbertCurve,
+				compactHilbertCurve.get(),
 				dimensionDefinitions);
 	}
 
@@ -281,7 +296,7 @@ public class HilbertSFC implements
 			final byte[] id ) {
 		return getIdOperations.indicesFromHilbert(
 				id,
-				compactHilbertCurve,
+				compactHilbertCurve.get(),
 				dimensionDefinitions);
 	}
 
@@ -16,6 +16,10 @@ import com.google.uzaygezen.core.CompactHilbertCurve;
  * adequately represented by primitives) and non-primitive based operations for
  * unbounded bits of precision.
  * 
+ * The compact hilbert curve passed into these operations is not thread-safe,
+ * implementations assume it is not shared with any other thread for the
+ * duration of the call.
+ * 
  */
 public interface HilbertSFCOperations
 {
@@ -0,0 +1,302 @@
+package mil.nga.giat.geowave.core.index.sfc.hilbert;
+
+import mil.nga.giat.geowave.core.index.sfc.SFCDimensionDefinition;
+import mil.nga.giat.geowave.core.index.sfc.data.BasicNumericDataset;
+import mil.nga.giat.geowave.core.index.sfc.data.MultiDimensionalNumericData;
+import mil.nga.giat.geowave.core.index.sfc.data.NumericRange;
+
+import com.google.uzaygezen.core.CompactHilbertCurve;
+
+/**
+ * This computes Compact Hilbert indices (and their inverse) entirely with
+ * primitive long arithmetic rather than through uzaygezen BitVectors, which
+ * avoids allocating several objects per point. It follows the same algorithm as
+ * uzaygezen's CompactHilbertCurve (entry point, intra-subhypercube direction,
+ * gray code rank with the per level free bit masks) so that the resulting IDs
+ * are identical bit for bit. The compact hilbert index for all dimensions must
+ * fit within a single long so it is only used if the total precision is <= 62
+ * bits, query decomposition still uses the uzaygezen curve as implemented by
+ * the primitive operations.
+ *
+ */
+public class LongHilbertSFCOperations extends
+		PrimitiveHilbertSFCOperations
+{
+	private int dimensionCount;
+	private int maxBitsPerDimension;
+	private int totalPrecision;
+	private long dimensionMask;
+	private long[] freeBitMasks;
+	private int[] freeBitCounts;
+
+	@Override
+	public void init(
+			final SFCDimensionDefinition[] dimensionDefs ) {
+		super.init(dimensionDefs);
+		dimensionCount = dimensionDefs.length;
+		maxBitsPerDimension = 0;
+		totalPrecision = 0;
+		for (final SFCDimensionDefinition dimension : dimensionDefs) {
+			maxBitsPerDimension = Math.max(
+					maxBitsPerDimension,
+					dimension.getBitsOfPrecision());
+			totalPrecision += dimension.getBitsOfPrecision();
+		}
+		if (totalPrecision > 62) {
+			throw new IllegalArgumentException(
+					"Total precision (" + totalPrecision + ") must be <= 62 bits");
+		}
+		dimensionMask = (1L << dimensionCount) - 1;
+		// for each level the mask has a bit set for each dimension that still
+		// has precision at that level, dimension 0 being the most significant
+		freeBitMasks = new long[maxBitsPerDimension];
+		freeBitCounts = new int[maxBitsPerDimension];
+		for (int i = 0; i < maxBitsPerDimension; i++) {
+			for (int j = 0; j < dimensionCount; j++) {
+				if (dimensionDefs[dimensionCount - j - 1].getBitsOfPrecision() > i) {
+					freeBitMasks[i] |= (1L << j);
+					freeBitCounts[i]++;
+				}
+			}
+		}
+	}
+
+	@Override
+	public byte[] convertToHilbert(
+			final double[] values,
+			final CompactHilbertCurve compactHilbertCurve,
+			final SFCDimensionDefinition[] dimensionDefinitions ) {
+		// Compare the number of dimensions to the number of values sent in
+		if (dimensionDefinitions.length != values.length) {
+			throw new ArrayIndexOutOfBoundsException(
+					"Number of dimensions supplied (" + values.length + ") is different than initialized ("
+							+ dimensionDefinitions.length + ").");
+		}
+		final long[] normalizedValues = new long[values.length];
+		for (int i = 0; i < dimensionDefinitions.length; i++) {
+			normalizedValues[i] = normalizeDimension(
+					dimensionDefinitions[i],
+					values[i],
+					binsPerDimension[i],
+					false,
+					false);
+		}
+		return toBigEndian(index(normalizedValues));
+	}
+
+	@Override
+	public long[] indicesFromHilbert(
+			final byte[] hilbertValue,
+			final CompactHilbertCurve compactHilbertCurve,
+			final SFCDimensionDefinition[] dimensionDefinitions ) {
+		return indexInverse(fromBigEndian(hilbertValue));
+	}
+
+	@Override
+	public MultiDimensionalNumericData convertFromHilbert(
+			final byte[] hilbertValue,
+			final CompactHilbertCurve compactHilbertCurve,
+			final SFCDimensionDefinition[] dimensionDefinitions ) {
+		final long[] coordinates = indexInverse(fromBigEndian(hilbertValue));
+		final NumericRange[] retVal = new NumericRange[dimensionDefinitions.length];
+		for (int i = 0; i < retVal.length; i++) {
+			retVal[i] = denormalizeDimension(
+					dimensionDefinitions[i],
+					coordinates[i],
+					binsPerDimension[i]);
+		}
+		return new BasicNumericDataset(
+				retVal);
+	}
+
+	/**
+	 * Computes the compact hilbert index of a point, each value must fit within
+	 * the bits of precision of its dimension
+	 *
+	 * @param point
+	 *            the normalized value per dimension
+	 * @return the compact hilbert index
+	 */
+	protected long index(
+			final long[] point ) {
+		long index = 0;
+		long entryPoint = 0;
+		int direction = 0;
+		for (int i = maxBitsPerDimension - 1; i >= 0; i--) {
+			final long freeBits = rotateRight(
+					freeBitMasks[i],
+					direction);
+			long w = 0;
+			for (int j = 0; j < dimensionCount; j++) {
+				if (((point[dimensionCount - j - 1] >>> i) & 1L) != 0) {
+					w |= (1L << j);
+				}
+			}
+			w = grayCodeInverse(rotateRight(
+					w ^ entryPoint,
+					direction));
+			index = (index << freeBitCounts[i]) | grayCodeRank(
+					freeBits,
+					w);
+			final int previousDirection = direction;
+			direction = (direction + lowestDifferentBit(w) + 1) % dimensionCount;
+			entryPoint ^= rotateRight(
+					smallerEvenAndGrayCode(w),
+					-previousDirection);
+		}
+		return index;
+	}
+
+	/**
+	 * Computes the point with the given compact hilbert index
+	 *
+	 * @param index
+	 *            the compact hilbert index
+	 * @return the normalized value per dimension
+	 */
+	protected long[] indexInverse(
+			final long index ) {
+		final long[] point = new long[dimensionCount];
+		long entryPoint = 0;
+		int direction = 0;
+		int offset = totalPrecision;
+		for (int i = maxBitsPerDimension - 1; i >= 0; i--) {
+			final long freeBits = rotateRight(
+					freeBitMasks[i],
+					direction);
+			offset -= freeBitCounts[i];
+			final long rank = (index >>> offset) & ((1L << freeBitCounts[i]) - 1);
+			final long w = grayCodeRankInverse(
+					freeBits,
+					rotateRight(
+							entryPoint,
+							direction) & ~freeBits,
+					rank);
+			final long t = rotateRight(
+					w ^ (w >>> 1),
+					-direction) ^ entryPoint;
+			for (int j = 0; j < dimensionCount; j++) {
+				if (((t >>> j) & 1L) != 0) {
+					point[dimensionCount - j - 1] |= (1L << i);
+				}
+			}
+			final int previousDirection = direction;
+			direction = (direction + lowestDifferentBit(w) + 1) % dimensionCount;
+			entryPoint ^= rotateRight(
+					smallerEvenAndGrayCode(w),
+					-previousDirection);
+		}
+		return point;
+	}
+
+	private long rotateRight(
+			final long value,
+			int count ) {
+		count %= dimensionCount;
+		if (count > 0) {
+			return ((value >>> count) | (value << (dimensionCount - count))) & dimensionMask;
+		}
+		return ((value >>> (dimensionCount + count)) | (value << -count)) & dimensionMask;
+	}
+
+	private int lowestDifferentBit(
+			final long value ) {
+		if ((value & 1L) == 0) {
+			return value == 0 ? 0 : Long.numberOfTrailingZeros(value);
+		}
+		return value == dimensionMask ? 0 : Long.numberOfTrailingZeros(~value);
+	}
+
+	private static long grayCodeInverse(
+			long value ) {
+		value ^= value >>> 1;
+		value ^= value >>> 2;
+		value ^= value >>> 4;
+		value ^= value >>> 8;
+		value ^= value >>> 16;
+		value ^= value >>> 32;
+		return value;
+	}
+
+	private static long smallerEvenAndGrayCode(
+			final long value ) {
+		if ((value & 1L) == 1L) {
+			return value ^ (value >>> 1) ^ 1L;
+		}
+		if (value != 0) {
+			final long smallerEven = value - 2;
+			return smallerEven ^ (smallerEven >>> 1);
+		}
+		return 0;
+	}
+
+	/**
+	 * Packs the bits of value that are set in the free bit mask into the low
+	 * order bits of the result
+	 */
+	private static long grayCodeRank(
+			final long freeBits,
+			final long value ) {
+		long rank = 0;
+		long rankBit = 1L;
+		for (long bits = freeBits; bits != 0; bits &= bits - 1) {
+			if ((value & Long.lowestOneBit(bits)) != 0) {
+				rank |= rankBit;
+			}
+			rankBit <<= 1;
+		}
+		return rank;
+	}
+
+	/**
+	 * Spreads the rank back into the bits set in the free bit mask and derives
+	 * the remaining bits from the known bits of the gray code
+	 */
+	private long grayCodeRankInverse(
+			final long freeBits,
+			final long knownBits,
+			final long rank ) {
+		long value = 0;
+		long rankBit = 1L;
+		for (long bits = freeBits; bits != 0; bits &= bits - 1) {
+			if ((rank & rankBit) != 0) {
+				value |= Long.lowestOneBit(bits);
+			}
+			rankBit <<= 1;
+		}
+		for (int k = dimensionCount - 1; k >= 0; k--) {
+			final long bit = 1L << k;
+			if (((freeBits & bit) == 0) && (((knownBits & bit) ^ ((value >>> 1) & bit)) != 0)) {
+				value |= bit;
+			}
+		}
+		return value;
+	}
+
+	private byte[] toBigEndian(
+			long value ) {
+		final byte[] bytes = new byte[(totalPrecision + 7) / 8];
+		for (int i = bytes.length - 1; i >= 0; i--) {
+			bytes[i] = (byte) (value & 0xFF);
+			value >>>= 8;
+		}
+		return bytes;
+	}
+
+	private long fromBigEndian(
+			final byte[] bytes ) {
+		if (bytes.length != ((totalPrecision + 7) / 8)) {
+			throw new IllegalArgumentException(
+					"Hilbert value must be " + ((totalPrecision + 7) / 8) + " bytes");
+		}
+		long value = 0;
+		for (final byte b : bytes) {
+			value = (value << 8) | (b & 0xFF);
+		}
+		if ((value >>> totalPrecision) != 0) {
+			throw new IllegalArgumentException(
+					"Hilbert value is larger than the total precision (" + totalPrecision + " bits)");
+		}
+		return value;
+	}
+}
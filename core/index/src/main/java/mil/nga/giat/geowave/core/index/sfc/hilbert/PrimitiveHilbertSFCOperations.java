@@ -39,6 +39,9 @@ import com.google.uzaygezen.core.ranges.LongRangeHome;
  * for query decomposition it is currently used if the total precision is <= 62
  * bits.
  * 
+ * These operations hold no mutable state of their own and do not lock the
+ * compact hilbert curve, callers are expected to pass a curve that is confined
+ * to the calling thread (HilbertSFC keeps one curve per thread).
  * 
  */
 public class PrimitiveHilbertSFCOperations implements
@@ -129,12 +132,10 @@ public class PrimitiveHilbertSFCOperations implements
 			bitVectors[i] = BitVectorFactories.OPTIMAL.apply(dimensionDefinitions[i].getBitsOfPrecision());
 			bitVectors[i].copyFrom(values.get(i));
 		}
-		synchronized (compactHilbertCurve) {
-			compactHilbertCurve.index(
-					bitVectors,
-					0,
-					hilbertBitVector);
-		}
+		compactHilbertCurve.index(
+				bitVectors,
+				0,
+				hilbertBitVector);
 		return hilbertBitVector;
 	}
 
@@ -200,11 +201,9 @@ public class PrimitiveHilbertSFCOperations implements
 			perDimensionBitVectors[i] = BitVectorFactories.OPTIMAL.apply(dimensionDefinitions[i].getBitsOfPrecision());
 		}
 
-		synchronized (compactHilbertCurve) {
-			compactHilbertCurve.indexInverse(
-					hilbertBitVector,
-					perDimensionBitVectors);
-		}
+		compactHilbertCurve.indexInverse(
+				hilbertBitVector,
+				perDimensionBitVectors);
 		return perDimensionBitVectors;
 	}
 
@@ -229,7 +228,7 @@ public class PrimitiveHilbertSFCOperations implements
 	 *             thrown when the value passed doesn't fit with in the
 	 *             dimension definition provided
 	 */
-	private long normalizeDimension(
+	protected long normalizeDimension(
 			final SFCDimensionDefinition boundedDimensionDefinition,
 			final double value,
 			final long bins,
@@ -279,7 +278,7 @@ public class PrimitiveHilbertSFCOperations implements
 	 *             thrown when the value passed doesn't fit with in the hilbert
 	 *             SFC for the dimension definition provided
 	 */
-	private NumericRange denormalizeDimension(
+	protected NumericRange denormalizeDimension(
 			final SFCDimensionDefinition boundedDimensionDefinition,
 			final long value,
 			final long bins )
@@ -374,11 +373,9 @@ public class PrimitiveHilbertSFCOperations implements
 				removeVacuum,
 				LongRangeHome.INSTANCE,
 				zero);
-		synchronized (compactHilbertCurve) {
-			compactHilbertCurve.accept(new ZoomingSpaceVisitorAdapter(
-					compactHilbertCurve,
-					queryBuilder));
-		}
+		compactHilbertCurve.accept(new ZoomingSpaceVisitorAdapter(
+				compactHilbertCurve,
+				queryBuilder));
 		final List<FilteredIndexRange<LongRange, LongRange>> hilbertRanges = queryBuilder
 				.get()
 				.getFilteredIndexRanges();
@@ -11,11 +11,17 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.log4j.Logger;
 
 import com.google.common.collect.ImmutableBiMap;
 import com.google.common.collect.ImmutableBiMap.Builder;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import mil.nga.giat.geowave.core.index.ByteArrayId;
 import mil.nga.giat.geowave.core.index.ByteArrayRange;
@@ -24,6 +30,7 @@ import mil.nga.giat.geowave.core.index.HierarchicalNumericIndexStrategy;
 import mil.nga.giat.geowave.core.index.IndexMetaData;
 import mil.nga.giat.geowave.core.index.Mergeable;
 import mil.nga.giat.geowave.core.index.PersistenceUtils;
+import mil.nga.giat.geowave.core.index.RowKeyBuilder;
 import mil.nga.giat.geowave.core.index.StringUtils;
 import mil.nga.giat.geowave.core.index.dimension.NumericDimensionDefinition;
 import mil.nga.giat.geowave.core.index.dimension.bin.BinRange;
@@ -51,6 +58,10 @@ public class TieredSFCIndexStrategy implements
 	private NumericDimensionDefinition[] baseDefinitions;
 	private long maxEstimatedDuplicateIds;
 	private BigInteger maxEstimatedDuplicateIdsBigInteger;
+	// not persisted, query decomposition is sequential unless this is set
+	private ExecutorService queryDecompositionExecutor = null;
+
+	private static ExecutorService sharedQueryDecompositionExecutor = null;
 
 	protected TieredSFCIndexStrategy() {}
 
@@ -94,6 +105,14 @@ public class TieredSFCIndexStrategy implements
 		final TierIndexMetaData metaData = ((hints.length > 0) && (hints[0] != null) && (hints[0] instanceof TierIndexMetaData)) ? (TierIndexMetaData) hints[0]
 				: null;
 
+		final ExecutorService executor = queryDecompositionExecutor;
+		if ((executor != null) && ((orderedSfcs.length * binnedQueries.length) > 1)) {
+			return getQueryRangesInParallel(
+					binnedQueries,
+					maxRangeDecompositionPerSfc,
+					metaData,
+					executor);
+		}
 		for (int sfcIndex = orderedSfcs.length - 1; sfcIndex >= 0; sfcIndex--) {
 			if ((metaData != null) && (metaData.tierCounts[sfcIndex] == 0)) {
 				continue;
@@ -109,6 +128,87 @@ public class TieredSFCIndexStrategy implements
 		return queryRanges;
 	}
 
+	/**
+	 * Each tier and bin combination is decomposed independently of the others
+	 * so they are submitted to the executor as separate tasks, the results are
+	 * concatenated in the same order as the sequential decomposition.
+	 */
+	private List<ByteArrayRange> getQueryRangesInParallel(
+			final BinnedNumericDataset[] binnedQueries,
+			final int maxRangeDecompositionPerSfc,
+			final TierIndexMetaData metaData,
+			final ExecutorService executor ) {
+		final int maxRangeDecompositionPerBin = getMaxRangeDecompositionPerBin(
+				maxRangeDecompositionPerSfc,
+				binnedQueries.length);
+		final List<Callable<List<ByteArrayRange>>> tasks = new ArrayList<Callable<List<ByteArrayRange>>>();
+		for (int sfcIndex = orderedSfcs.length - 1; sfcIndex >= 0; sfcIndex--) {
+			if ((metaData != null) && (metaData.tierCounts[sfcIndex] == 0)) {
+				continue;
+			}
+			final SpaceFillingCurve sfc = orderedSfcs[sfcIndex];
+			final byte tier = orderedSfcIndexToTierId.get(sfcIndex);
+			for (final BinnedNumericDataset binnedQuery : binnedQueries) {
+				tasks.add(new Callable<List<ByteArrayRange>>() {
+					@Override
+					public List<ByteArrayRange> call() {
+						return getQueryRanges(
+								binnedQuery,
+								sfc,
+								maxRangeDecompositionPerBin,
+								tier);
+					}
+				});
+			}
+		}
+		final List<ByteArrayRange> queryRanges = new ArrayList<ByteArrayRange>();
+		if (tasks.isEmpty()) {
+			return queryRanges;
+		}
+		final List<Future<List<ByteArrayRange>>> futures = new ArrayList<Future<List<ByteArrayRange>>>(
+				tasks.size() - 1);
+		// the calling thread decomposes the first tier and bin itself rather
+		// than waiting idle
+		for (int i = 1; i < tasks.size(); i++) {
+			futures.add(executor.submit(tasks.get(i)));
+		}
+		try {
+			queryRanges.addAll(tasks.get(
+					0).call());
+			for (final Future<List<ByteArrayRange>> future : futures) {
+				queryRanges.addAll(future.get());
+			}
+		}
+		catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(
+					"Interrupted while decomposing query ranges",
+					e);
+		}
+		catch (final ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new RuntimeException(
+					"Unable to decompose query ranges",
+					e.getCause());
+		}
+		catch (final Exception e) {
+			if (e instanceof RuntimeException) {
+				throw (RuntimeException) e;
+			}
+			throw new RuntimeException(
+					"Unable to decompose query ranges",
+					e);
+		}
+		finally {
+			for (final Future<List<ByteArrayRange>> future : futures) {
+				future.cancel(true);
+			}
+		}
+		return queryRanges;
+	}
+
 	protected static List<ByteArrayRange> getQueryRanges(
 			final BinnedNumericDataset[] binnedQueries,
 			final SpaceFillingCurve sfc,
@@ -116,46 +216,75 @@ public class TieredSFCIndexStrategy implements
 			final byte tier ) {
 		final List<ByteArrayRange> queryRanges = new ArrayList<ByteArrayRange>();
 
-		int maxRangeDecompositionPerBin = maxRanges;
-		if ((maxRanges > 1) && (binnedQueries.length > 1)) {
-			maxRangeDecompositionPerBin = (int) Math.ceil((double) maxRanges / (double) binnedQueries.length);
-		}
+		final int maxRangeDecompositionPerBin = getMaxRangeDecompositionPerBin(
+				maxRanges,
+				binnedQueries.length);
 		for (final BinnedNumericDataset binnedQuery : binnedQueries) {
-			final RangeDecomposition rangeDecomp;
-			if (binnedQuery.isFullExtent()) {
-				rangeDecomp = new RangeDecomposition(
-						new ByteArrayRange[] {
-							new ByteArrayRange(
-									new ByteArrayId(
-											new byte[] {}),
-									new ByteArrayId(
-											new byte[] {}))
-						});
-			}
-			else {
-				rangeDecomp = sfc.decomposeRange(
-						binnedQuery,
-						true,
-						maxRangeDecompositionPerBin);
-			}
-			final byte[] tierAndBinId = ByteArrayUtils.combineArrays(
-					new byte[] {
-						tier
-					// we're assuming tiers only go to 127 (the max byte
-					// value)
-					},
-					binnedQuery.getBinId());
-			for (final ByteArrayRange range : rangeDecomp.getRanges()) {
-				queryRanges.add(new ByteArrayRange(
-						new ByteArrayId(
-								ByteArrayUtils.combineArrays(
-										tierAndBinId,
-										range.getStart().getBytes())),
-						new ByteArrayId(
-								ByteArrayUtils.combineArrays(
-										tierAndBinId,
-										range.getEnd().getBytes()))));
-			}
+			queryRanges.addAll(getQueryRanges(
+					binnedQuery,
+					sfc,
+					maxRangeDecompositionPerBin,
+					tier));
+		}
+		return queryRanges;
+	}
+
+	private static int getMaxRangeDecompositionPerBin(
+			final int maxRanges,
+			final int binCount ) {
+		if ((maxRanges > 1) && (binCount > 1)) {
+			return (int) Math.ceil((double) maxRanges / (double) binCount);
+		}
+		return maxRanges;
+	}
+
+	private static List<ByteArrayRange> getQueryRanges(
+			final BinnedNumericDataset binnedQuery,
+			final SpaceFillingCurve sfc,
+			final int maxRangeDecompositionPerBin,
+			final byte tier ) {
+		final RangeDecomposition rangeDecomp;
+		if (binnedQuery.isFullExtent()) {
+			rangeDecomp = new RangeDecomposition(
+					new ByteArrayRange[] {
+						new ByteArrayRange(
+								new ByteArrayId(
+										new byte[] {}),
+								new ByteArrayId(
+										new byte[] {}))
+					});
+		}
+		else {
+			rangeDecomp = sfc.decomposeRange(
+					binnedQuery,
+					true,
+					maxRangeDecompositionPerBin);
+		}
+		final byte[] tierAndBinId = ByteArrayUtils.combineArrays(
+				new byte[] {
+					tier
+				// we're assuming tiers only go to 127 (the max byte
+				// value)
+				},
+				binnedQuery.getBinId());
+		// the start and end of every range are assembled as slices of a single
+		// array rather than allocating an array for each
+		final RowKeyBuilder rowKeyBuilder = RowKeyBuilder.getThreadLocalBuilder();
+		for (final ByteArrayRange range : rangeDecomp.getRanges()) {
+			rowKeyBuilder.append(
+					tierAndBinId).append(
+					range.getStart()).endKey();
+			rowKeyBuilder.append(
+					tierAndBinId).append(
+					range.getEnd()).endKey();
+		}
+		final List<ByteArrayId> rangeIds = rowKeyBuilder.toByteArrayIds();
+		final List<ByteArrayRange> queryRanges = new ArrayList<ByteArrayRange>(
+				rangeDecomp.getRanges().length);
+		for (int i = 0; i < rangeIds.size(); i += 2) {
+			queryRanges.add(new ByteArrayRange(
+					rangeIds.get(i),
+					rangeIds.get(i + 1)));
 		}
 		return queryRanges;
 	}
@@ -201,9 +330,43 @@ public class TieredSFCIndexStrategy implements
 				BigInteger.valueOf(maxDuplicateInsertionIds));
 	}
 
+	/**
+	 * Returns the insertion IDs for a batch of entries in a single call. The
+	 * tier and bin prefixes are computed once and shared by every entry in the
+	 * batch that falls into the same tier and bin.
+	 *
+	 * @param indexedData
+	 *            the numeric data of each entry to be indexed
+	 * @return a list of insertion IDs per entry, in the same order as the given
+	 *         entries
+	 */
+	public List<List<ByteArrayId>> getInsertionIds(
+			final List<MultiDimensionalNumericData> indexedData ) {
+		final List<List<ByteArrayId>> insertionIds = new ArrayList<List<ByteArrayId>>(
+				indexedData.size());
+		final Map<ByteArrayId, byte[][]> tierAndBinIdCache = new HashMap<ByteArrayId, byte[][]>();
+		for (final MultiDimensionalNumericData data : indexedData) {
+			insertionIds.add(internalGetInsertionIds(
+					data,
+					maxEstimatedDuplicateIdsBigInteger,
+					tierAndBinIdCache));
+		}
+		return insertionIds;
+	}
+
 	private List<ByteArrayId> internalGetInsertionIds(
 			final MultiDimensionalNumericData indexedData,
 			final BigInteger maxDuplicateInsertionIds ) {
+		return internalGetInsertionIds(
+				indexedData,
+				maxDuplicateInsertionIds,
+				null);
+	}
+
+	private List<ByteArrayId> internalGetInsertionIds(
+			final MultiDimensionalNumericData indexedData,
+			final BigInteger maxDuplicateInsertionIds,
+			final Map<ByteArrayId, byte[][]> tierAndBinIdCache ) {
 		final BinnedNumericDataset[] ranges = BinnedNumericDataset.applyBins(
 				indexedData,
 				baseDefinitions);
@@ -214,7 +377,8 @@ public class TieredSFCIndexStrategy implements
 		for (final BinnedNumericDataset range : ranges) {
 			rowIds.addAll(getRowIds(
 					range,
-					maxDuplicateInsertionIds));
+					maxDuplicateInsertionIds,
+					tierAndBinIdCache));
 		}
 		return rowIds;
 	}
@@ -360,22 +524,35 @@ public class TieredSFCIndexStrategy implements
 		return baseDefinitions;
 	}
 
-	synchronized private List<ByteArrayId> getRowIds(
+	private List<ByteArrayId> getRowIds(
 			final BinnedNumericDataset index,
-			final BigInteger maxEstimatedDuplicateIds ) {
+			final BigInteger maxEstimatedDuplicateIds,
+			final Map<ByteArrayId, byte[][]> tierAndBinIdCache ) {
 		// most times this should be a single row ID, but if the lowest
 		// precision tier does not have a single SFC value for this data, it
 		// will be multiple row IDs
 
+		// this only reads immutable state and the SFCs are safe to use
+		// concurrently, so ingest threads sharing this strategy do not need
+		// to be serialized here
+		final byte[][] tierAndBinIds = getTierAndBinIds(
+				index.getBinId(),
+				tierAndBinIdCache);
+
 		// what tier does this entry belong in?
 		for (int sfcIndex = orderedSfcs.length - 1; sfcIndex >= 0; sfcIndex--) {
 			final SpaceFillingCurve sfc = orderedSfcs[sfcIndex];
 			// loop through space filling curves and stop when both the min and
 			// max of the ranges fit the same row ID
 			final byte tierId = orderedSfcIndexToTierId.get(sfcIndex);
+			if (tierAndBinIds[sfcIndex] == null) {
+				tierAndBinIds[sfcIndex] = getTierAndBinId(
+						tierId,
+						index.getBinId());
+			}
 			final List<ByteArrayId> rowIdsAtTier = getRowIdsAtTier(
 					index,
-					tierId,
+					tierAndBinIds[sfcIndex],
 					sfc,
 					maxEstimatedDuplicateIds,
 					sfcIndex);
@@ -388,20 +565,61 @@ public class TieredSFCIndexStrategy implements
 		return new ArrayList<ByteArrayId>();
 	}
 
+	private byte[][] getTierAndBinIds(
+			final byte[] binId,
+			final Map<ByteArrayId, byte[][]> tierAndBinIdCache ) {
+		if (tierAndBinIdCache == null) {
+			return new byte[orderedSfcs.length][];
+		}
+		final ByteArrayId key = new ByteArrayId(
+				binId);
+		byte[][] tierAndBinIds = tierAndBinIdCache.get(key);
+		if (tierAndBinIds == null) {
+			tierAndBinIds = new byte[orderedSfcs.length][];
+			tierAndBinIdCache.put(
+					key,
+					tierAndBinIds);
+		}
+		return tierAndBinIds;
+	}
+
+	private static byte[] getTierAndBinId(
+			final byte tierId,
+			final byte[] binId ) {
+		return ByteArrayUtils.combineArrays(
+				new byte[] {
+					tierId
+				// we're assuming tiers only go to 127 (the max byte
+				// value)
+				},
+				binId);
+	}
+
 	protected static List<ByteArrayId> getRowIdsAtTier(
 			final BinnedNumericDataset index,
 			final byte tierId,
 			final SpaceFillingCurve sfc,
 			final BigInteger maxEstimatedDuplicateIds,
 			final int sfcIndex ) {
+		return getRowIdsAtTier(
+				index,
+				getTierAndBinId(
+						tierId,
+						index.getBinId()),
+				sfc,
+				maxEstimatedDuplicateIds,
+				sfcIndex);
+	}
+
+	private static List<ByteArrayId> getRowIdsAtTier(
+			final BinnedNumericDataset index,
+			final byte[] tierAndBinId,
+			final SpaceFillingCurve sfc,
+			final BigInteger maxEstimatedDuplicateIds,
+			final int sfcIndex ) {
 		final List<ByteArrayId> retVal = new ArrayList<ByteArrayId>();
 		final BigInteger rowCount = sfc.getEstimatedIdCount(index);
 		if (rowCount.equals(BigInteger.ONE)) {
-			final byte[] tierAndBinId = ByteArrayUtils.combineArrays(
-					new byte[] {
-						tierId
-					},
-					index.getBinId());
 			final double[] maxValues = index.getMaxValuesPerDimension();
 			retVal.add(new ByteArrayId(
 					ByteArrayUtils.combineArrays(
@@ -413,7 +631,7 @@ public class TieredSFCIndexStrategy implements
 				|| (sfcIndex == 0)) {
 			return decomposeRangesForEntry(
 					index,
-					tierId,
+					tierAndBinId,
 					sfc);
 		}
 		return null;
@@ -423,36 +641,43 @@ public class TieredSFCIndexStrategy implements
 			final BinnedNumericDataset index,
 			final byte tierId,
 			final SpaceFillingCurve sfc ) {
-		final List<ByteArrayId> retVal = new ArrayList<ByteArrayId>();
-		final byte[] tierAndBinId = ByteArrayUtils.combineArrays(
-				new byte[] {
-					tierId
-				},
-				index.getBinId());
+		return decomposeRangesForEntry(
+				index,
+				getTierAndBinId(
+						tierId,
+						index.getBinId()),
+				sfc);
+	}
+
+	private static List<ByteArrayId> decomposeRangesForEntry(
+			final BinnedNumericDataset index,
+			final byte[] tierAndBinId,
+			final SpaceFillingCurve sfc ) {
 		final RangeDecomposition rangeDecomp = sfc.decomposeRange(
 				index,
 				false,
 				DEFAULT_MAX_RANGES);
+		// the row IDs are assembled in a reusable buffer and returned as
+		// slices of a single array rather than allocating an array per row ID
+		final RowKeyBuilder rowKeyBuilder = RowKeyBuilder.getThreadLocalBuilder();
 		// this range does not fit into a single row ID at the lowest
 		// tier, decompose it
 		for (final ByteArrayRange range : rangeDecomp.getRanges()) {
 			final byte[] currentRowId = Arrays.copyOf(
 					range.getStart().getBytes(),
 					range.getStart().getBytes().length);
-			retVal.add(new ByteArrayId(
-					ByteArrayUtils.combineArrays(
-							tierAndBinId,
-							currentRowId)));
+			rowKeyBuilder.append(
+					tierAndBinId).append(
+					currentRowId).endKey();
 			while (!Arrays.equals(
 					currentRowId,
 					range.getEnd().getBytes())) {
 				// increment until we reach the end row ID
 				boolean overflow = !ByteArrayUtils.increment(currentRowId);
 				if (!overflow) {
-					retVal.add(new ByteArrayId(
-							ByteArrayUtils.combineArrays(
-									tierAndBinId,
-									currentRowId)));
+					rowKeyBuilder.append(
+							tierAndBinId).append(
+							currentRowId).endKey();
 				}
 				else {
 					// the increment caused an overflow which shouldn't
@@ -465,7 +690,7 @@ public class TieredSFCIndexStrategy implements
 				}
 			}
 		}
-		return retVal;
+		return rowKeyBuilder.toByteArrayIds();
 	}
 
 	@Override
@@ -610,6 +835,43 @@ public class TieredSFCIndexStrategy implements
 		}
 	}
 
+	/**
+	 * Decompose the tiers and bins of a query concurrently using the given
+	 * executor. This is not persisted with the index strategy.
+	 *
+	 * @param queryDecompositionExecutor
+	 *            the executor to decompose query ranges with, or null to
+	 *            decompose query ranges in the calling thread (the default)
+	 */
+	public void setQueryDecompositionExecutor(
+			final ExecutorService queryDecompositionExecutor ) {
+		this.queryDecompositionExecutor = queryDecompositionExecutor;
+	}
+
+	/**
+	 * Decompose the tiers and bins of a query concurrently using an executor
+	 * that is shared by all index strategies, bounded by the number of
+	 * available processors.
+	 *
+	 * @param parallelQueryDecomposition
+	 *            whether to decompose query ranges concurrently
+	 */
+	public void setParallelQueryDecomposition(
+			final boolean parallelQueryDecomposition ) {
+		setQueryDecompositionExecutor(parallelQueryDecomposition ? getSharedQueryDecompositionExecutor() : null);
+	}
+
+	private static synchronized ExecutorService getSharedQueryDecompositionExecutor() {
+		if (sharedQueryDecompositionExecutor == null) {
+			sharedQueryDecompositionExecutor = Executors.newFixedThreadPool(
+					Runtime.getRuntime().availableProcessors(),
+					new ThreadFactoryBuilder().setDaemon(
+							true).setNameFormat(
+							"tiered-query-decomposition-%d").build());
+		}
+		return sharedQueryDecompositionExecutor;
+	}
+
 	public void setMaxEstimatedDuplicateIds(
 			final int maxEstimatedDuplicateIds ) {
 		this.maxEstimatedDuplicateIds = maxEstimatedDuplicateIds;
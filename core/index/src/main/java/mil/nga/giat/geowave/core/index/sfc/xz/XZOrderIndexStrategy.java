@@ -0,0 +1,338 @@
+package mil.nga.giat.geowave.core.index.sfc.xz;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import mil.nga.giat.geowave.core.index.ByteArrayId;
+import mil.nga.giat.geowave.core.index.ByteArrayRange;
+import mil.nga.giat.geowave.core.index.ByteArrayUtils;
+import mil.nga.giat.geowave.core.index.IndexMetaData;
+import mil.nga.giat.geowave.core.index.NumericIndexStrategy;
+import mil.nga.giat.geowave.core.index.PersistenceUtils;
+import mil.nga.giat.geowave.core.index.StringUtils;
+import mil.nga.giat.geowave.core.index.dimension.NumericDimensionDefinition;
+import mil.nga.giat.geowave.core.index.dimension.bin.BinRange;
+import mil.nga.giat.geowave.core.index.sfc.data.BasicNumericDataset;
+import mil.nga.giat.geowave.core.index.sfc.data.BinnedNumericDataset;
+import mil.nga.giat.geowave.core.index.sfc.data.MultiDimensionalNumericData;
+import mil.nga.giat.geowave.core.index.sfc.data.NumericData;
+import mil.nga.giat.geowave.core.index.sfc.data.NumericRange;
+
+/**
+ * This index strategy uses XZ-ordering to assign every entry, regardless of its
+ * extent, to exactly one row ID (per bin, for binned dimensions such as time).
+ * Unlike the tiered strategy, extended geometries are neither duplicated across
+ * several row IDs nor spread across tiers, the size of the entry is instead
+ * encoded in the length of its XZ sequence code. The row ID is the bin IDs of
+ * the binned dimensions followed by a fixed length big-endian sequence code.
+ *
+ */
+public class XZOrderIndexStrategy implements
+		NumericIndexStrategy
+{
+	protected static final int DEFAULT_MAX_RANGES = -1;
+	private NumericDimensionDefinition[] baseDefinitions;
+	private int resolution;
+	private XZOrderSFC sfc;
+	private int sequenceCodeByteCount;
+
+	protected XZOrderIndexStrategy() {}
+
+	/**
+	 * @param baseDefinitions
+	 *            the dimensions of the index
+	 * @param resolution
+	 *            the maximum depth of the XZ tree, the smallest elements are
+	 *            1/2^resolution of the range of each dimension
+	 */
+	public XZOrderIndexStrategy(
+			final NumericDimensionDefinition[] baseDefinitions,
+			final int resolution ) {
+		this.baseDefinitions = baseDefinitions;
+		this.resolution = resolution;
+		init();
+	}
+
+	private void init() {
+		sfc = new XZOrderSFC(
+				baseDefinitions.length,
+				resolution);
+		final int bits = 64 - Long.numberOfLeadingZeros(sfc.getMaxSequenceCode());
+		sequenceCodeByteCount = Math.max(
+				1,
+				(bits + 7) / 8);
+	}
+
+	public int getResolution() {
+		return resolution;
+	}
+
+	@Override
+	public List<ByteArrayRange> getQueryRanges(
+			final MultiDimensionalNumericData indexedRange,
+			final IndexMetaData... hints ) {
+		return getQueryRanges(
+				indexedRange,
+				DEFAULT_MAX_RANGES,
+				hints);
+	}
+
+	@Override
+	public List<ByteArrayRange> getQueryRanges(
+			final MultiDimensionalNumericData indexedRange,
+			final int maxRangeDecomposition,
+			final IndexMetaData... hints ) {
+		final BinnedNumericDataset[] binnedQueries = BinnedNumericDataset.applyBins(
+				indexedRange,
+				baseDefinitions);
+		final List<ByteArrayRange> queryRanges = new ArrayList<ByteArrayRange>();
+		// split the range decomposition between the binned queries
+		final int maxRangesPerBin = (maxRangeDecomposition > 0) && (binnedQueries.length > 0) ? Math.max(
+				1,
+				maxRangeDecomposition / binnedQueries.length) : maxRangeDecomposition;
+		for (final BinnedNumericDataset binnedQuery : binnedQueries) {
+			final List<long[]> sequenceCodeRanges = sfc.decomposeRange(
+					normalize(binnedQuery.getMinValuesPerDimension()),
+					normalize(binnedQuery.getMaxValuesPerDimension()),
+					maxRangesPerBin);
+			for (final long[] sequenceCodeRange : sequenceCodeRanges) {
+				queryRanges.add(new ByteArrayRange(
+						new ByteArrayId(
+								getRowId(
+										binnedQuery.getBinId(),
+										sequenceCodeRange[0])),
+						new ByteArrayId(
+								getRowId(
+										binnedQuery.getBinId(),
+										sequenceCodeRange[1]))));
+			}
+		}
+		return queryRanges;
+	}
+
+	@Override
+	public List<ByteArrayId> getInsertionIds(
+			final MultiDimensionalNumericData indexedData ) {
+		return getInsertionIds(
+				indexedData,
+				1);
+	}
+
+	@Override
+	public List<ByteArrayId> getInsertionIds(
+			final MultiDimensionalNumericData indexedData,
+			final int maxDuplicateInsertionIds ) {
+		// we need to duplicate per bin so we can't adhere to max duplication
+		// anyways
+		final BinnedNumericDataset[] ranges = BinnedNumericDataset.applyBins(
+				indexedData,
+				baseDefinitions);
+		final List<ByteArrayId> rowIds = new ArrayList<ByteArrayId>(
+				ranges.length);
+		for (final BinnedNumericDataset range : ranges) {
+			rowIds.add(new ByteArrayId(
+					getRowId(
+							range.getBinId(),
+							sfc.getSequenceCode(
+									normalize(range.getMinValuesPerDimension()),
+									normalize(range.getMaxValuesPerDimension())))));
+		}
+		return rowIds;
+	}
+
+	@Override
+	public MultiDimensionalNumericData getRangeForId(
+			final ByteArrayId insertionId ) {
+		final byte[] rowId = insertionId.getBytes();
+		final double[][] bounds = sfc.getElementBounds(getSequenceCode(rowId));
+		final NumericData[] data = new NumericData[baseDefinitions.length];
+		int binOffset = 0;
+		for (int d = 0; d < baseDefinitions.length; d++) {
+			final double min = baseDefinitions[d].denormalize(bounds[0][d]);
+			final double max = baseDefinitions[d].denormalize(bounds[1][d]);
+			final int binSize = baseDefinitions[d].getFixedBinIdSize();
+			if (binSize > 0) {
+				// unapply the bin to get the range in the native bounds
+				data[d] = baseDefinitions[d].getDenormalizedRange(new BinRange(
+						Arrays.copyOfRange(
+								rowId,
+								binOffset,
+								binOffset + binSize),
+						min,
+						max,
+						false));
+				binOffset += binSize;
+			}
+			else {
+				data[d] = new NumericRange(
+						min,
+						max);
+			}
+		}
+		return new BasicNumericDataset(
+				data);
+	}
+
+	@Override
+	public long[] getCoordinatesPerDimension(
+			final ByteArrayId insertionId ) {
+		// the coordinate of the element's cell at the full resolution
+		final double[][] bounds = sfc.getElementBounds(getSequenceCode(insertionId.getBytes()));
+		final long[] coordinates = new long[baseDefinitions.length];
+		for (int d = 0; d < coordinates.length; d++) {
+			coordinates[d] = (long) (bounds[0][d] * (1L << resolution));
+		}
+		return coordinates;
+	}
+
+	private double[] normalize(
+			final double[] values ) {
+		final double[] normalizedValues = new double[values.length];
+		for (int d = 0; d < values.length; d++) {
+			normalizedValues[d] = Math.max(
+					0,
+					Math.min(
+							1,
+							baseDefinitions[d].normalize(values[d])));
+		}
+		return normalizedValues;
+	}
+
+	private byte[] getRowId(
+			final byte[] binId,
+			final long sequenceCode ) {
+		final byte[] sequenceCodeBytes = new byte[sequenceCodeByteCount];
+		long value = sequenceCode;
+		for (int i = sequenceCodeByteCount - 1; i >= 0; i--) {
+			sequenceCodeBytes[i] = (byte) (value & 0xFF);
+			value >>>= 8;
+		}
+		if ((binId == null) || (binId.length == 0)) {
+			return sequenceCodeBytes;
+		}
+		return ByteArrayUtils.combineArrays(
+				binId,
+				sequenceCodeBytes);
+	}
+
+	private long getSequenceCode(
+			final byte[] rowId ) {
+		long sequenceCode = 0;
+		for (int i = getByteOffsetFromDimensionalIndex(); i < rowId.length; i++) {
+			sequenceCode = (sequenceCode << 8) | (rowId[i] & 0xFF);
+		}
+		return sequenceCode;
+	}
+
+	@Override
+	public NumericDimensionDefinition[] getOrderedDimensionDefinitions() {
+		return baseDefinitions;
+	}
+
+	@Override
+	public double[] getHighestPrecisionIdRangePerDimension() {
+		final double[] retVal = new double[baseDefinitions.length];
+		for (int d = 0; d < baseDefinitions.length; d++) {
+			retVal[d] = baseDefinitions[d].getRange() / (1L << resolution);
+		}
+		return retVal;
+	}
+
+	@Override
+	public int getByteOffsetFromDimensionalIndex() {
+		int rowIdOffset = 0;
+		for (int dimensionIdx = 0; dimensionIdx < baseDefinitions.length; dimensionIdx++) {
+			final int binSize = baseDefinitions[dimensionIdx].getFixedBinIdSize();
+			if (binSize > 0) {
+				rowIdOffset += binSize;
+			}
+		}
+		return rowIdOffset;
+	}
+
+	@Override
+	public String getId() {
+		return StringUtils.intToString(hashCode());
+	}
+
+	@Override
+	public Set<ByteArrayId> getNaturalSplits() {
+		return null;
+	}
+
+	@Override
+	public List<IndexMetaData> createMetaData() {
+		return Collections.<IndexMetaData> emptyList();
+	}
+
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = (prime * result) + Arrays.hashCode(baseDefinitions);
+		result = (prime * result) + resolution;
+		return result;
+	}
+
+	@Override
+	public boolean equals(
+			final Object obj ) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null) {
+			return false;
+		}
+		if (getClass() != obj.getClass()) {
+			return false;
+		}
+		final XZOrderIndexStrategy other = (XZOrderIndexStrategy) obj;
+		if (!Arrays.equals(
+				baseDefinitions,
+				other.baseDefinitions)) {
+			return false;
+		}
+		return resolution == other.resolution;
+	}
+
+	@Override
+	public byte[] toBinary() {
+		int byteBufferLength = 8;
+		final List<byte[]> dimensionBinaries = new ArrayList<byte[]>(
+				baseDefinitions.length);
+		for (final NumericDimensionDefinition dimension : baseDefinitions) {
+			final byte[] dimensionBinary = PersistenceUtils.toBinary(dimension);
+			byteBufferLength += (4 + dimensionBinary.length);
+			dimensionBinaries.add(dimensionBinary);
+		}
+		final ByteBuffer buf = ByteBuffer.allocate(byteBufferLength);
+		buf.putInt(resolution);
+		buf.putInt(baseDefinitions.length);
+		for (final byte[] dimensionBinary : dimensionBinaries) {
+			buf.putInt(dimensionBinary.length);
+			buf.put(dimensionBinary);
+		}
+		return buf.array();
+	}
+
+	@Override
+	public void fromBinary(
+			final byte[] bytes ) {
+		final ByteBuffer buf = ByteBuffer.wrap(bytes);
+		resolution = buf.getInt();
+		final int numDimensions = buf.getInt();
+		baseDefinitions = new NumericDimensionDefinition[numDimensions];
+		for (int i = 0; i < numDimensions; i++) {
+			final byte[] dim = new byte[buf.getInt()];
+			buf.get(dim);
+			baseDefinitions[i] = PersistenceUtils.fromBinary(
+					dim,
+					NumericDimensionDefinition.class);
+		}
+		init();
+	}
+}
@@ -0,0 +1,337 @@
+package mil.nga.giat.geowave.core.index.sfc.xz;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * XZ-ordering (Böhm, Klump and Kriegel, "XZ-Ordering: A Space-Filling Curve for
+ * Objects with Spatial Extension") over normalized dimensions, each with the
+ * range [0, 1]. Each object is assigned a single sequence code for the smallest
+ * element of a 2^n-ary tree that fully encloses it, where an element is a cell
+ * of the tree enlarged to twice its width in every dimension. The sequence
+ * codes enumerate the tree in depth-first order so that every element and all
+ * of its descendants form a single contiguous range of codes.
+ *
+ */
+public class XZOrderSFC
+{
+	private static final int DISJOINT = 0;
+	private static final int OVERLAPS = 1;
+	private static final int CONTAINED = 2;
+
+	private final int dimensions;
+	private final int resolution;
+	private final int childCount;
+	// the number of sequence codes in the sub-tree of an element at each level
+	private final long[] subtreeSizePerLevel;
+
+	/**
+	 * @param dimensions
+	 *            the number of dimensions
+	 * @param resolution
+	 *            the maximum depth of the tree, (resolution + 1) * dimensions
+	 *            must be at most 62 so that sequence codes fit within a long
+	 */
+	public XZOrderSFC(
+			final int dimensions,
+			final int resolution ) {
+		if ((dimensions < 1) || (resolution < 0) || (((resolution + 1) * dimensions) > 62)) {
+			throw new IllegalArgumentException(
+					"XZ-ordering of " + dimensions + " dimensions at resolution " + resolution
+							+ " cannot be represented by a long");
+		}
+		this.dimensions = dimensions;
+		this.resolution = resolution;
+		childCount = 1 << dimensions;
+		subtreeSizePerLevel = new long[resolution + 2];
+		subtreeSizePerLevel[resolution + 1] = 0;
+		for (int level = resolution; level >= 0; level--) {
+			subtreeSizePerLevel[level] = 1 + (childCount * subtreeSizePerLevel[level + 1]);
+		}
+	}
+
+	public int getDimensions() {
+		return dimensions;
+	}
+
+	public int getResolution() {
+		return resolution;
+	}
+
+	/**
+	 * @return the largest sequence code
+	 */
+	public long getMaxSequenceCode() {
+		return subtreeSizePerLevel[0] - 1;
+	}
+
+	/**
+	 * @param mins
+	 *            the normalized minimum per dimension
+	 * @param maxes
+	 *            the normalized maximum per dimension
+	 * @return the sequence code for the smallest enlarged element that fully
+	 *         encloses the given extent
+	 */
+	public long getSequenceCode(
+			final double[] mins,
+			final double[] maxes ) {
+		double maxExtent = 0;
+		for (int d = 0; d < dimensions; d++) {
+			maxExtent = Math.max(
+					maxExtent,
+					maxes[d] - mins[d]);
+		}
+		int length;
+		if (maxExtent <= 0) {
+			length = resolution;
+		}
+		else {
+			// the deepest level whose cells are at least as wide as the
+			// extent, the enlarged element at this level always fits
+			length = (int) Math.floor(Math.log(maxExtent) / Math.log(0.5));
+			if (length >= resolution) {
+				length = resolution;
+			}
+			else {
+				// the next level down may still fit, depending on where the
+				// extent falls relative to the cell boundaries
+				final double width = Math.pow(
+						0.5,
+						length + 1);
+				boolean fits = true;
+				for (int d = 0; d < dimensions; d++) {
+					if (maxes[d] > ((Math.floor(mins[d] / width) * width) + (2 * width))) {
+						fits = false;
+						break;
+					}
+				}
+				if (fits) {
+					length++;
+				}
+			}
+		}
+		return getSequenceCode(
+				mins,
+				length);
+	}
+
+	private long getSequenceCode(
+			final double[] point,
+			final int length ) {
+		final double[] cellMins = new double[dimensions];
+		double width = 1;
+		long sequenceCode = 0;
+		for (int level = 0; level < length; level++) {
+			width /= 2;
+			int child = 0;
+			for (int d = 0; d < dimensions; d++) {
+				if (point[d] >= (cellMins[d] + width)) {
+					child |= (1 << d);
+					cellMins[d] += width;
+				}
+			}
+			sequenceCode += 1 + (child * subtreeSizePerLevel[level + 1]);
+		}
+		return sequenceCode;
+	}
+
+	/**
+	 * @param sequenceCode
+	 *            the sequence code of an element
+	 * @return the normalized minimum and maximum of the enlarged element per
+	 *         dimension, any object with this sequence code is within these
+	 *         bounds
+	 */
+	public double[][] getElementBounds(
+			final long sequenceCode ) {
+		final double[] mins = new double[dimensions];
+		final double[] maxes = new double[dimensions];
+		double width = 1;
+		long remaining = sequenceCode;
+		int level = 0;
+		while (remaining > 0) {
+			remaining--;
+			width /= 2;
+			level++;
+			final int child = (int) (remaining / subtreeSizePerLevel[level]);
+			remaining %= subtreeSizePerLevel[level];
+			for (int d = 0; d < dimensions; d++) {
+				if ((child & (1 << d)) != 0) {
+					mins[d] += width;
+				}
+			}
+		}
+		for (int d = 0; d < dimensions; d++) {
+			maxes[d] = Math.min(
+					mins[d] + (2 * width),
+					1);
+		}
+		return new double[][] {
+			mins,
+			maxes
+		};
+	}
+
+	/**
+	 * @param sequenceCode
+	 *            the sequence code of an element
+	 * @return the level of the element within the tree, 0 being the root
+	 */
+	public int getLevel(
+			final long sequenceCode ) {
+		long remaining = sequenceCode;
+		int level = 0;
+		while (remaining > 0) {
+			remaining--;
+			level++;
+			remaining %= subtreeSizePerLevel[level];
+		}
+		return level;
+	}
+
+	/**
+	 * Decompose a query into ranges of sequence codes. Elements whose enlarged
+	 * bounds are contained by the query contribute all of their descendants as
+	 * a single range, elements that only overlap the query contribute their own
+	 * sequence code and are decomposed further.
+	 *
+	 * @param mins
+	 *            the normalized minimum of the query per dimension
+	 * @param maxes
+	 *            the normalized maximum of the query per dimension
+	 * @param maxRanges
+	 *            the maximum number of ranges, this is a best attempt and not a
+	 *            guarantee, if <= 0 the decomposition goes to the full
+	 *            resolution
+	 * @return sorted, non-overlapping, inclusive ranges of sequence codes
+	 */
+	public List<long[]> decomposeRange(
+			final double[] mins,
+			final double[] maxes,
+			final int maxRanges ) {
+		final List<long[]> ranges = new ArrayList<long[]>();
+		LinkedList<Element> remaining = new LinkedList<Element>();
+		remaining.add(new Element(
+				new double[dimensions],
+				1,
+				0));
+		for (int level = 0; (level <= resolution) && !remaining.isEmpty(); level++) {
+			final boolean decompose = (maxRanges <= 0) || ((ranges.size() + remaining.size()) < maxRanges);
+			final LinkedList<Element> nextLevel = new LinkedList<Element>();
+			for (final Element element : remaining) {
+				final int relation = getRelation(
+						element,
+						mins,
+						maxes);
+				if (relation == DISJOINT) {
+					continue;
+				}
+				if ((relation == CONTAINED) || (level == resolution) || !decompose) {
+					// every descendant of this element is within the query (or
+					// is treated as such when the decomposition stops early)
+					ranges.add(new long[] {
+						element.sequenceCode,
+						(element.sequenceCode + subtreeSizePerLevel[level]) - 1
+					});
+				}
+				else {
+					ranges.add(new long[] {
+						element.sequenceCode,
+						element.sequenceCode
+					});
+					final double childWidth = element.width / 2;
+					for (int child = 0; child < childCount; child++) {
+						final double[] childMins = new double[dimensions];
+						for (int d = 0; d < dimensions; d++) {
+							childMins[d] = element.mins[d] + ((child & (1 << d)) != 0 ? childWidth : 0);
+						}
+						nextLevel.add(new Element(
+								childMins,
+								childWidth,
+								element.sequenceCode + 1 + (child * subtreeSizePerLevel[level + 1])));
+					}
+				}
+			}
+			remaining = nextLevel;
+		}
+		return mergeRanges(ranges);
+	}
+
+	private static List<long[]> mergeRanges(
+			final List<long[]> ranges ) {
+		if (ranges.size() < 2) {
+			return ranges;
+		}
+		Collections.sort(
+				ranges,
+				new Comparator<long[]>() {
+					@Override
+					public int compare(
+							final long[] range1,
+							final long[] range2 ) {
+						return Long.compare(
+								range1[0],
+								range2[0]);
+					}
+				});
+		final List<long[]> merged = new ArrayList<long[]>();
+		long[] current = ranges.get(0);
+		for (int i = 1; i < ranges.size(); i++) {
+			final long[] next = ranges.get(i);
+			if (next[0] <= (current[1] + 1)) {
+				current = new long[] {
+					current[0],
+					Math.max(
+							current[1],
+							next[1])
+				};
+			}
+			else {
+				merged.add(current);
+				current = next;
+			}
+		}
+		merged.add(current);
+		return merged;
+	}
+
+	private int getRelation(
+			final Element element,
+			final double[] mins,
+			final double[] maxes ) {
+		int relation = CONTAINED;
+		for (int d = 0; d < dimensions; d++) {
+			final double elementMin = element.mins[d];
+			final double elementMax = Math.min(
+					elementMin + (2 * element.width),
+					1);
+			if ((mins[d] > elementMax) || (maxes[d] < elementMin)) {
+				return DISJOINT;
+			}
+			if ((mins[d] > elementMin) || (maxes[d] < elementMax)) {
+				relation = OVERLAPS;
+			}
+		}
+		return relation;
+	}
+
+	private static class Element
+	{
+		private final double[] mins;
+		private final double width;
+		private final long sequenceCode;
+
+		private Element(
+				final double[] mins,
+				final double width,
+				final long sequenceCode ) {
+			this.mins = mins;
+			this.width = width;
+			this.sequenceCode = sequenceCode;
+		}
+	}
+}
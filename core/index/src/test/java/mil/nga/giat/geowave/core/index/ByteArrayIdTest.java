@@ -0,0 +1,151 @@
+package mil.nga.giat.geowave.core.index;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ByteArrayIdTest
+{
+	private static final byte[] BUFFER = new byte[] {
+		5,
+		1,
+		2,
+		3,
+		-7,
+		9
+	};
+
+	@Test
+	public void testSliceMatchesCopy() {
+		final ByteArrayId slice = new ByteArrayId(
+				BUFFER,
+				1,
+				4);
+		final ByteArrayId copy = new ByteArrayId(
+				Arrays.copyOfRange(
+						BUFFER,
+						1,
+						5));
+		Assert.assertEquals(
+				copy,
+				slice);
+		Assert.assertEquals(
+				slice,
+				copy);
+		Assert.assertEquals(
+				copy.hashCode(),
+				slice.hashCode());
+		Assert.assertEquals(
+				31 + Arrays.hashCode(copy.getBytes()),
+				slice.hashCode());
+		Assert.assertEquals(
+				0,
+				slice.compareTo(copy));
+		Assert.assertEquals(
+				4,
+				slice.getLength());
+		Assert.assertArrayEquals(
+				copy.getBytes(),
+				slice.getBytes());
+		Assert.assertTrue(new ByteArrayId(
+				BUFFER,
+				0,
+				3).compareTo(slice) > 0);
+		Assert.assertTrue(new ByteArrayId(
+				BUFFER,
+				1,
+				3).compareTo(slice) < 0);
+	}
+
+	@Test
+	public void testSliceSerialization()
+			throws Exception {
+		final ByteArrayId slice = new ByteArrayId(
+				BUFFER,
+				2,
+				3);
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		final ObjectOutputStream out = new ObjectOutputStream(
+				bytes);
+		out.writeObject(slice);
+		out.close();
+		final ByteArrayId deserialized = (ByteArrayId) new ObjectInputStream(
+				new ByteArrayInputStream(
+						bytes.toByteArray())).readObject();
+		Assert.assertEquals(
+				slice,
+				deserialized);
+		Assert.assertEquals(
+				3,
+				deserialized.getBytes().length);
+		Assert.assertEquals(
+				3,
+				deserialized.getLength());
+		Assert.assertEquals(
+				slice.hashCode(),
+				deserialized.hashCode());
+		Assert.assertEquals(
+				0,
+				deserialized.compareTo(slice));
+
+		// the rest of the shared buffer is not written
+		final ByteArrayOutputStream wholeBytes = new ByteArrayOutputStream();
+		final ObjectOutputStream wholeOut = new ObjectOutputStream(
+				wholeBytes);
+		wholeOut.writeObject(new ByteArrayId(
+				BUFFER));
+		wholeOut.close();
+		Assert.assertEquals(
+				wholeBytes.size() - (BUFFER.length - 3),
+				bytes.size());
+	}
+
+	@Test
+	public void testRowKeyBuilder() {
+		final RowKeyBuilder builder = new RowKeyBuilder(
+				2);
+		final byte[] binId = new byte[] {
+			10,
+			11
+		};
+		for (int i = 0; i < 20; i++) {
+			builder.append(
+					(byte) 3).append(
+					binId).append(
+					new ByteArrayId(
+							BUFFER,
+							i % 3,
+							2)).endKey();
+		}
+		final List<ByteArrayId> ids = builder.toByteArrayIds();
+		Assert.assertEquals(
+				20,
+				ids.size());
+		for (int i = 0; i < 20; i++) {
+			Assert.assertEquals(
+					new ByteArrayId(
+							ByteArrayUtils.combineArrays(
+									new byte[] {
+										3,
+										10,
+										11
+									},
+									Arrays.copyOfRange(
+											BUFFER,
+											i % 3,
+											(i % 3) + 2))),
+					ids.get(i));
+		}
+		// the builder can be reused once the keys are returned
+		Assert.assertArrayEquals(
+				binId,
+				builder.reset().append(
+						binId).toBytes());
+	}
+}
@@ -0,0 +1,161 @@
+package mil.nga.giat.geowave.core.index;
+
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import mil.nga.giat.geowave.core.index.dimension.BasicDimensionDefinition;
+import mil.nga.giat.geowave.core.index.dimension.NumericDimensionDefinition;
+import mil.nga.giat.geowave.core.index.sfc.SFCFactory.SFCType;
+import mil.nga.giat.geowave.core.index.sfc.data.BasicNumericDataset;
+import mil.nga.giat.geowave.core.index.sfc.data.MultiDimensionalNumericData;
+import mil.nga.giat.geowave.core.index.sfc.data.NumericData;
+import mil.nga.giat.geowave.core.index.sfc.data.NumericRange;
+import mil.nga.giat.geowave.core.index.sfc.tiered.TieredSFCIndexFactory;
+
+public class CachingNumericIndexStrategyTest
+{
+	private static final NumericDimensionDefinition[] SPATIAL_DIMENSIONS = new NumericDimensionDefinition[] {
+		new BasicDimensionDefinition(
+				-180,
+				180),
+		new BasicDimensionDefinition(
+				-90,
+				90)
+	};
+
+	private static final NumericIndexStrategy sfcIndexStrategy = TieredSFCIndexFactory.createSingleTierStrategy(
+			SPATIAL_DIMENSIONS,
+			new int[] {
+				16,
+				16
+			},
+			SFCType.HILBERT);
+
+	private static final MultiDimensionalNumericData indexedRange = new BasicNumericDataset(
+			new NumericData[] {
+				new NumericRange(
+						50.0,
+						50.025),
+				new NumericRange(
+						-20.5,
+						-20.455)
+			});
+
+	@Test
+	public void testCachedQueryRanges() {
+		final CachingNumericIndexStrategy cachingStrategy = new CachingNumericIndexStrategy(
+				"caching",
+				sfcIndexStrategy);
+		final List<ByteArrayRange> expectedRanges = sfcIndexStrategy.getQueryRanges(
+				indexedRange,
+				8);
+		Assert.assertEquals(
+				expectedRanges,
+				cachingStrategy.getQueryRanges(
+						indexedRange,
+						8));
+		Assert.assertEquals(
+				0,
+				cachingStrategy.getHitCount());
+		Assert.assertEquals(
+				1,
+				cachingStrategy.getMissCount());
+
+		// an equivalent query constraint should hit the cache
+		final List<ByteArrayRange> cachedRanges = cachingStrategy.getQueryRanges(
+				new BasicNumericDataset(
+						new NumericData[] {
+							new NumericRange(
+									50.0,
+									50.025),
+							new NumericRange(
+									-20.5,
+									-20.455)
+						}),
+				8);
+		Assert.assertEquals(
+				expectedRanges,
+				cachedRanges);
+		Assert.assertEquals(
+				1,
+				cachingStrategy.getHitCount());
+
+		// modifying the returned ranges must not affect the cache
+		cachedRanges.clear();
+		Assert.assertEquals(
+				expectedRanges,
+				cachingStrategy.getQueryRanges(
+						indexedRange,
+						8));
+		Assert.assertEquals(
+				2,
+				cachingStrategy.getHitCount());
+
+		// a different max range decomposition is a different entry
+		Assert.assertEquals(
+				sfcIndexStrategy.getQueryRanges(indexedRange),
+				cachingStrategy.getQueryRanges(indexedRange));
+		Assert.assertEquals(
+				2,
+				cachingStrategy.getMissCount());
+		Assert.assertEquals(
+				2,
+				cachingStrategy.getCachedQueryCount());
+
+		cachingStrategy.invalidateCache();
+		Assert.assertEquals(
+				0,
+				cachingStrategy.getCachedQueryCount());
+	}
+
+	@Test
+	public void testBoundedCacheSize() {
+		final CachingNumericIndexStrategy cachingStrategy = new CachingNumericIndexStrategy(
+				"caching",
+				sfcIndexStrategy,
+				2,
+				-1);
+		for (int i = 0; i < 10; i++) {
+			cachingStrategy.getQueryRanges(new BasicNumericDataset(
+					new NumericData[] {
+						new NumericRange(
+								i,
+								i + 1),
+						new NumericRange(
+								i,
+								i + 1)
+					}));
+		}
+		Assert.assertTrue(cachingStrategy.getCachedQueryCount() <= 2);
+		Assert.assertEquals(
+				10,
+				cachingStrategy.getMissCount());
+	}
+
+	@Test
+	public void testBinaryEncoding() {
+		final CachingNumericIndexStrategy cachingStrategy = new CachingNumericIndexStrategy(
+				"caching",
+				sfcIndexStrategy,
+				50,
+				1000L);
+		final byte[] bytes = PersistenceUtils.toBinary(cachingStrategy);
+		final CachingNumericIndexStrategy deserializedStrategy = PersistenceUtils.fromBinary(
+				bytes,
+				CachingNumericIndexStrategy.class);
+		Assert.assertEquals(
+				50,
+				deserializedStrategy.getMaxCachedQueries());
+		Assert.assertEquals(
+				1000L,
+				deserializedStrategy.getTimeToLiveMillis());
+		Assert.assertEquals(
+				"caching",
+				deserializedStrategy.getId());
+		Assert.assertArrayEquals(
+				bytes,
+				PersistenceUtils.toBinary(deserializedStrategy));
+	}
+}
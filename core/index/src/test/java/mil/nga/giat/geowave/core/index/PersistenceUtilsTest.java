@@ -1,5 +1,6 @@
 package mil.nga.giat.geowave.core.index;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -7,6 +8,8 @@ import java.util.Collections;
 import org.junit.Assert;
 import org.junit.Test;
 
+import mil.nga.giat.geowave.core.index.dimension.BasicDimensionDefinition;
+
 public class PersistenceUtilsTest
 {
 
@@ -52,4 +55,62 @@ public class PersistenceUtilsTest
 					persistable
 				}))).size() == 2);
 	}
+
+	@Test
+	public void testRegisteredPersistable() {
+		final BasicDimensionDefinition definition = new BasicDimensionDefinition(
+				-10,
+				20);
+		final byte[] binary = PersistenceUtils.toBinary(definition);
+		// the registered ID replaces the class name
+		Assert.assertEquals(
+				2 + definition.toBinary().length,
+				binary.length);
+		Assert.assertEquals(
+				definition,
+				PersistenceUtils.fromBinary(
+						binary,
+						BasicDimensionDefinition.class));
+	}
+
+	@Test
+	public void testClassNameFormatIsReadable() {
+		final BasicDimensionDefinition definition = new BasicDimensionDefinition(
+				-10,
+				20);
+		// persistables written before the registry was introduced are
+		// prefaced by the class name
+		final byte[] className = StringUtils.stringToBinary(BasicDimensionDefinition.class.getName());
+		final byte[] persistableBinary = definition.toBinary();
+		final ByteBuffer buf = ByteBuffer.allocate(4 + className.length + persistableBinary.length);
+		buf.putInt(className.length);
+		buf.put(className);
+		buf.put(persistableBinary);
+		Assert.assertEquals(
+				definition,
+				PersistenceUtils.fromBinary(
+						buf.array(),
+						BasicDimensionDefinition.class));
+
+		// unregistered classes still use the class name
+		final byte[] unregisteredBinary = PersistenceUtils.toBinary(new APersistable());
+		Assert.assertEquals(
+				APersistable.class.getName(),
+				StringUtils.stringFromBinary(Arrays.copyOfRange(
+						unregisteredBinary,
+						4,
+						4 + ByteBuffer.wrap(
+								unregisteredBinary).getInt())));
+	}
+
+	@Test
+	public void testUnregisteredId() {
+		// an ID no registry on the classpath knows about is not read
+		final ByteBuffer buf = ByteBuffer.allocate(6);
+		buf.putShort((short) -Short.MAX_VALUE);
+		buf.putInt(1);
+		Assert.assertNull(PersistenceUtils.fromBinary(
+				buf.array(),
+				Persistable.class));
+	}
 }
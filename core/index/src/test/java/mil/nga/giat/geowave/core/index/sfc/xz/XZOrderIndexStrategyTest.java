@@ -0,0 +1,169 @@
+package mil.nga.giat.geowave.core.index.sfc.xz;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+
+import mil.nga.giat.geowave.core.index.ByteArrayId;
+import mil.nga.giat.geowave.core.index.ByteArrayRange;
+import mil.nga.giat.geowave.core.index.PersistenceUtils;
+import mil.nga.giat.geowave.core.index.dimension.BasicDimensionDefinition;
+import mil.nga.giat.geowave.core.index.dimension.NumericDimensionDefinition;
+import mil.nga.giat.geowave.core.index.sfc.data.BasicNumericDataset;
+import mil.nga.giat.geowave.core.index.sfc.data.MultiDimensionalNumericData;
+import mil.nga.giat.geowave.core.index.sfc.data.NumericData;
+import mil.nga.giat.geowave.core.index.sfc.data.NumericRange;
+
+import org.junit.Test;
+
+public class XZOrderIndexStrategyTest
+{
+	private static final NumericDimensionDefinition[] DIMENSIONS = new NumericDimensionDefinition[] {
+		new BasicDimensionDefinition(
+				-180,
+				180),
+		new BasicDimensionDefinition(
+				-90,
+				90)
+	};
+
+	private static MultiDimensionalNumericData box(
+			final double minX,
+			final double minY,
+			final double maxX,
+			final double maxY ) {
+		return new BasicNumericDataset(
+				new NumericData[] {
+					new NumericRange(
+							minX,
+							maxX),
+					new NumericRange(
+							minY,
+							maxY)
+				});
+	}
+
+	private static MultiDimensionalNumericData randomBox(
+			final Random random ) {
+		final double x = (random.nextDouble() * 360) - 180;
+		final double y = (random.nextDouble() * 180) - 90;
+		// a mix of points, small and very large boxes
+		final double size = Math.pow(
+				10,
+				(random.nextDouble() * 5) - 3);
+		return box(
+				x,
+				y,
+				Math.min(
+						180,
+						x + (size * random.nextDouble())),
+				Math.min(
+						90,
+						y + (size * random.nextDouble())));
+	}
+
+	private static boolean intersects(
+			final MultiDimensionalNumericData data1,
+			final MultiDimensionalNumericData data2 ) {
+		for (int d = 0; d < data1.getDimensionCount(); d++) {
+			if ((data1.getMinValuesPerDimension()[d] > data2.getMaxValuesPerDimension()[d])
+					|| (data1.getMaxValuesPerDimension()[d] < data2.getMinValuesPerDimension()[d])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean inRanges(
+			final ByteArrayId rowId,
+			final List<ByteArrayRange> ranges ) {
+		for (final ByteArrayRange range : ranges) {
+			if ((rowId.compareTo(range.getStart()) >= 0) && (rowId.compareTo(range.getEnd()) <= 0)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Test
+	public void testSingleRowPerEntry() {
+		final XZOrderIndexStrategy strategy = new XZOrderIndexStrategy(
+				DIMENSIONS,
+				16);
+		final Random random = new Random(
+				3579);
+		for (int i = 0; i < 1000; i++) {
+			final MultiDimensionalNumericData entry = randomBox(random);
+			final List<ByteArrayId> rowIds = strategy.getInsertionIds(entry);
+			assertEquals(
+					1,
+					rowIds.size());
+			// the element of the row ID must enclose the entry
+			final MultiDimensionalNumericData element = strategy.getRangeForId(rowIds.get(0));
+			for (int d = 0; d < DIMENSIONS.length; d++) {
+				assertTrue(element.getMinValuesPerDimension()[d] <= (entry.getMinValuesPerDimension()[d] + 1e-9));
+				assertTrue(element.getMaxValuesPerDimension()[d] >= (entry.getMaxValuesPerDimension()[d] - 1e-9));
+			}
+		}
+	}
+
+	@Test
+	public void testQueryRangesContainIntersectingEntries() {
+		final XZOrderIndexStrategy strategy = new XZOrderIndexStrategy(
+				DIMENSIONS,
+				16);
+		final Random random = new Random(
+				2468);
+		final MultiDimensionalNumericData[] entries = new MultiDimensionalNumericData[500];
+		final ByteArrayId[] rowIds = new ByteArrayId[entries.length];
+		for (int i = 0; i < entries.length; i++) {
+			entries[i] = randomBox(random);
+			rowIds[i] = strategy.getInsertionIds(
+					entries[i]).get(
+					0);
+		}
+		for (int q = 0; q < 50; q++) {
+			final MultiDimensionalNumericData query = randomBox(random);
+			for (final int maxRanges : new int[] {
+				-1,
+				16
+			}) {
+				final List<ByteArrayRange> ranges = strategy.getQueryRanges(
+						query,
+						maxRanges);
+				for (int i = 0; i < entries.length; i++) {
+					if (intersects(
+							query,
+							entries[i])) {
+						assertTrue(inRanges(
+								rowIds[i],
+								ranges));
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testPersistence() {
+		final XZOrderIndexStrategy strategy = new XZOrderIndexStrategy(
+				DIMENSIONS,
+				12);
+		final XZOrderIndexStrategy copy = PersistenceUtils.fromBinary(
+				PersistenceUtils.toBinary(strategy),
+				XZOrderIndexStrategy.class);
+		assertEquals(
+				strategy,
+				copy);
+		final MultiDimensionalNumericData entry = box(
+				10,
+				10,
+				12,
+				11);
+		assertEquals(
+				strategy.getInsertionIds(entry),
+				copy.getInsertionIds(entry));
+	}
+}
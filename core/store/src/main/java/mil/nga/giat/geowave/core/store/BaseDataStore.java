@@ -22,6 +22,7 @@ import mil.nga.giat.geowave.core.store.adapter.DataAdapter;
 import mil.nga.giat.geowave.core.store.adapter.IndexDependentDataAdapter;
 import mil.nga.giat.geowave.core.store.adapter.WritableDataAdapter;
 import mil.nga.giat.geowave.core.store.adapter.exceptions.MismatchedIndexToAdapterMapping;
+import mil.nga.giat.geowave.core.store.adapter.statistics.CountDataStatistics;
 import mil.nga.giat.geowave.core.store.adapter.statistics.DataStatistics;
 import mil.nga.giat.geowave.core.store.adapter.statistics.DataStatisticsStore;
 import mil.nga.giat.geowave.core.store.data.visibility.UniformVisibilityWriter;
@@ -29,13 +30,16 @@ import mil.nga.giat.geowave.core.store.filter.DedupeFilter;
 import mil.nga.giat.geowave.core.store.index.IndexMetaDataSet;
 import mil.nga.giat.geowave.core.store.index.IndexStore;
 import mil.nga.giat.geowave.core.store.index.PrimaryIndex;
+import mil.nga.giat.geowave.core.store.index.SecondaryIndexDataAdapter;
 import mil.nga.giat.geowave.core.store.index.SecondaryIndexDataStore;
 import mil.nga.giat.geowave.core.store.memory.DataStoreUtils;
 import mil.nga.giat.geowave.core.store.memory.MemoryAdapterStore;
+import mil.nga.giat.geowave.core.store.metadata.AbstractGeowavePersistence;
 import mil.nga.giat.geowave.core.store.query.DataIdQuery;
 import mil.nga.giat.geowave.core.store.query.EverythingQuery;
 import mil.nga.giat.geowave.core.store.query.PrefixIdQuery;
 import mil.nga.giat.geowave.core.store.query.Query;
+import mil.nga.giat.geowave.core.store.query.QueryMetrics;
 import mil.nga.giat.geowave.core.store.query.QueryOptions;
 import mil.nga.giat.geowave.core.store.query.RowIdQuery;
 
@@ -69,6 +73,14 @@ public abstract class BaseDataStore
 
 		baseOperations = operations;
 		baseOptions = options;
+		if (options.isPreloadMetadata()) {
+			if (indexStore instanceof AbstractGeowavePersistence) {
+				((AbstractGeowavePersistence<?>) indexStore).preload();
+			}
+			if (adapterStore instanceof AbstractGeowavePersistence) {
+				((AbstractGeowavePersistence<?>) adapterStore).preload();
+			}
+		}
 	}
 
 	public void store(
@@ -172,7 +184,13 @@ public abstract class BaseDataStore
 		final QueryOptions sanitizedQueryOptions = (queryOptions == null) ? new QueryOptions() : queryOptions;
 		final Query sanitizedQuery = (query == null) ? new EverythingQuery() : query;
 
-		final DedupeFilter filter = new DedupeFilter();
+		final DedupeFilter filter = new DedupeFilter(
+				sanitizedQueryOptions.getMaxDedupeMemoryBytes());
+		final QueryMetrics queryMetrics = sanitizedQueryOptions.getQueryMetrics();
+		if (queryMetrics != null) {
+			queryMetrics.queryStarted();
+			filter.setQueryMetrics(queryMetrics);
+		}
 		MemoryAdapterStore tempAdapterStore;
 		try {
 			tempAdapterStore = new MemoryAdapterStore(
@@ -244,18 +262,38 @@ public abstract class BaseDataStore
 					"Failed to resolve adapter or index for query",
 					e1);
 		}
-		return new CloseableIteratorWrapper<T>(
-				new Closeable() {
-					@Override
-					public void close()
-							throws IOException {
-						for (final CloseableIterator<Object> result : results) {
-							result.close();
+		final CloseableIterator<T> resultsIt;
+		if ((sanitizedQueryOptions.getMaxParallelSubQueries() > 1) && (results.size() > 1)) {
+			// the dedupe filter is shared by the sub-queries and is
+			// thread-safe
+			resultsIt = (CloseableIterator<T>) new ParallelMergeIterator<Object>(
+					results,
+					sanitizedQueryOptions.getMaxParallelSubQueries(),
+					sanitizedQueryOptions.getSubQueryQueueSize(),
+					sanitizedQueryOptions.getLimit());
+		}
+		else {
+			resultsIt = new CloseableIteratorWrapper<T>(
+					new Closeable() {
+						@Override
+						public void close()
+								throws IOException {
+							for (final CloseableIterator<Object> result : results) {
+								result.close();
+							}
 						}
-					}
-				},
-				Iterators.concat(new CastIterator<T>(
-						results.iterator())));
+					},
+					Iterators.concat(new CastIterator<T>(
+							results.iterator())));
+		}
+		if (queryMetrics != null) {
+			queryMetrics.subQueriesStarted(results.size());
+			return new QueryMetricsIterator<T>(
+					resultsIt,
+					queryMetrics,
+					filter);
+		}
+		return resultsIt;
 	}
 
 	@SuppressWarnings("unchecked")
@@ -369,10 +407,11 @@ public abstract class BaseDataStore
 
 				for (final DataAdapter<Object> adapter : indexAdapterPair.getRight()) {
 
+					final boolean captureAdapterStats = queriedAdapters.add(adapter.getAdapterId());
 					final DataStoreCallbackManager callbackCache = new DataStoreCallbackManager(
 							statisticsStore,
 							secondaryIndexDataStore,
-							queriedAdapters.add(adapter.getAdapterId()));
+							captureAdapterStats);
 
 					callbackCache.setPersistStats(baseOptions.isPersistDataStatistics());
 
@@ -384,6 +423,25 @@ public abstract class BaseDataStore
 						continue;
 					}
 
+					if (baseOptions.isServerSideDelete() && (altIdxDelete == null) && isServerSideDeleteSupported(
+							adapter,
+							query)) {
+						final long deletedCount = deleteConstraints(
+								adapter,
+								index,
+								query,
+								queryOptions);
+						if (deletedCount >= 0) {
+							if (captureAdapterStats && baseOptions.isPersistDataStatistics()) {
+								countDeletedEntries(
+										adapter,
+										deletedCount,
+										queryOptions.getAuthorizations());
+							}
+							continue;
+						}
+					}
+
 					final ScanCallback<Object> callback = new ScanCallback<Object>() {
 						@Override
 						public void entryScanned(
@@ -520,6 +578,60 @@ public abstract class BaseDataStore
 		}
 	}
 
+	/**
+	 * Entries can only be deleted in place if they are not referenced by
+	 * anything other than the primary index, queries by row or data ID are
+	 * narrow enough to be deleted entry by entry
+	 */
+	private boolean isServerSideDeleteSupported(
+			final DataAdapter<Object> adapter,
+			final Query query ) {
+		if ((query instanceof RowIdQuery) || (query instanceof DataIdQuery) || (query instanceof PrefixIdQuery)) {
+			return false;
+		}
+		return !(adapter instanceof SecondaryIndexDataAdapter)
+				|| ((SecondaryIndexDataAdapter<?>) adapter).getSupportedSecondaryIndices().isEmpty();
+	}
+
+	/**
+	 * Rather than decrementing the count statistic for each entry, the number
+	 * of entries deleted in place is applied to the statistic at once. The
+	 * other statistics that support deletion are left as they were, all of them
+	 * err on the side of over-counting so queries remain correct.
+	 */
+	private void countDeletedEntries(
+			final DataAdapter<Object> adapter,
+			final long deletedCount,
+			final String... authorizations ) {
+		if ((deletedCount == 0) || (statisticsStore.getDataStatistics(
+				adapter.getAdapterId(),
+				CountDataStatistics.STATS_ID,
+				authorizations) == null)) {
+			return;
+		}
+		final CountDataStatistics<Object> deletedStats = new CountDataStatistics<Object>(
+				adapter.getAdapterId());
+		deletedStats.entriesDeleted(deletedCount);
+		statisticsStore.incorporateStatistics(deletedStats);
+	}
+
+	/**
+	 * Delete the entries of an adapter that match a query without returning
+	 * them to the client, with the query constraints and filters applied by the
+	 * data store. This is used instead of scanning and deleting each entry when
+	 * server side delete is enabled in the data store options.
+	 *
+	 * @return the number of entries deleted, or -1 if the data store is not
+	 *         able to delete this query in place and nothing was deleted
+	 */
+	protected long deleteConstraints(
+			final DataAdapter<Object> adapter,
+			final PrimaryIndex index,
+			final Query query,
+			final QueryOptions queryOptions ) {
+		return -1;
+	}
+
 	protected abstract boolean deleteAll(
 			final String tableName,
 			final String columnFamily,
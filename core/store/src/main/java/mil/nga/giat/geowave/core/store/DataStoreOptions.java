@@ -11,4 +11,17 @@ public interface DataStoreOptions
 
 	public boolean isPersistDataStatistics();
 
+	/**
+	 * @return true if the index and adapter metadata should be read into the
+	 *         metadata caches when the data store is created
+	 */
+	public boolean isPreloadMetadata();
+
+	/**
+	 * @return true if deletes by query constraints should be performed in place
+	 *         by the data store when it is able to, rather than scanning each
+	 *         entry back to the client to delete it
+	 */
+	public boolean isServerSideDelete();
+
 }
@@ -0,0 +1,266 @@
+package mil.nga.giat.geowave.core.store;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.log4j.Logger;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Drains several iterators concurrently into a bounded queue and returns their
+ * results as they arrive. Producers block while the queue is full, so a slow
+ * consumer applies backpressure to the underlying scans rather than having
+ * their results buffered in memory. The order of results across iterators is
+ * not defined.
+ *
+ * The underlying iterators are consumed on other threads, so any filter or
+ * callback shared between them must be thread-safe. Closing this iterator stops
+ * the producers and closes every underlying iterator.
+ *
+ * @param <T>
+ *            The type to iterate on
+ */
+public class ParallelMergeIterator<T> implements
+		CloseableIterator<T>
+{
+	private final static Logger LOGGER = Logger.getLogger(ParallelMergeIterator.class);
+	private static final Object END_OF_RESULTS = new Object();
+	private static final long OFFER_TIMEOUT_MILLIS = 100;
+	private static ExecutorService sharedExecutor;
+
+	private final List<CloseableIterator<T>> iterators;
+	private final BlockingQueue<Object> queue;
+	private final List<Future<?>> producers;
+	private final AtomicInteger nextIteratorIndex = new AtomicInteger();
+	private final AtomicReference<Throwable> producerError = new AtomicReference<Throwable>();
+	private final int limit;
+	private volatile boolean stopped = false;
+	// set once the consumer no longer reads from the queue
+	private volatile boolean consumerDone = false;
+	private boolean closed = false;
+	private int activeProducers;
+	private int count = 0;
+	private T nextValue = null;
+
+	/**
+	 *
+	 * @param iterators
+	 *            the iterators to merge
+	 * @param parallelism
+	 *            the maximum number of iterators consumed at once
+	 * @param queueSize
+	 *            the maximum number of results buffered ahead of the consumer
+	 * @param limit
+	 *            a value <= 0 or null indicates no limit, otherwise the total
+	 *            number of results returned across all iterators
+	 */
+	public ParallelMergeIterator(
+			final List<CloseableIterator<T>> iterators,
+			final int parallelism,
+			final int queueSize,
+			final Integer limit ) {
+		this.iterators = new ArrayList<CloseableIterator<T>>(
+				iterators);
+		this.limit = (limit == null) ? -1 : limit;
+		queue = new LinkedBlockingQueue<Object>(
+				Math.max(
+						1,
+						queueSize));
+		activeProducers = Math.max(
+				1,
+				Math.min(
+						parallelism,
+						iterators.size()));
+		producers = new ArrayList<Future<?>>(
+				activeProducers);
+		final ExecutorService executor = getSharedExecutor();
+		for (int i = 0; i < activeProducers; i++) {
+			producers.add(executor.submit(new Producer()));
+		}
+	}
+
+	private static synchronized ExecutorService getSharedExecutor() {
+		if (sharedExecutor == null) {
+			// producers spend most of their time blocked on the queue or
+			// waiting on the data store, so threads are not bounded by the
+			// number of processors
+			sharedExecutor = Executors.newCachedThreadPool(new ThreadFactoryBuilder().setDaemon(
+					true).setNameFormat(
+					"parallel-merge-%d").build());
+		}
+		return sharedExecutor;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public boolean hasNext() {
+		if (nextValue != null) {
+			return true;
+		}
+		if (closed || ((limit > 0) && (count >= limit))) {
+			return false;
+		}
+		while (activeProducers > 0) {
+			final Object value;
+			try {
+				value = queue.take();
+			}
+			catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException(
+						"Interrupted while waiting for query results",
+						e);
+			}
+			if (value == END_OF_RESULTS) {
+				activeProducers--;
+				continue;
+			}
+			nextValue = (T) value;
+			return true;
+		}
+		final Throwable error = producerError.get();
+		if (error != null) {
+			throw new IllegalStateException(
+					"Unable to retrieve query results",
+					error);
+		}
+		return false;
+	}
+
+	@Override
+	public T next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		final T value = nextValue;
+		nextValue = null;
+		count++;
+		if ((limit > 0) && (count >= limit)) {
+			// the limit is reached, no more results are needed
+			stopped = true;
+			consumerDone = true;
+			queue.clear();
+		}
+		return value;
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException(
+				"Remove is not supported on a merged iterator");
+	}
+
+	@Override
+	public void close()
+			throws IOException {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		stopped = true;
+		consumerDone = true;
+		queue.clear();
+		// the producers check for a stop between results, wait for them so
+		// that no iterator is closed while another thread is consuming it
+		for (final Future<?> producer : producers) {
+			try {
+				producer.get();
+			}
+			catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				break;
+			}
+			catch (final ExecutionException e) {
+				LOGGER.warn(
+						"Unable to complete query",
+						e);
+			}
+		}
+		for (final CloseableIterator<T> iterator : iterators) {
+			try {
+				iterator.close();
+			}
+			catch (final IOException e) {
+				LOGGER.warn(
+						"Unable to close iterator",
+						e);
+			}
+		}
+	}
+
+	private boolean enqueue(
+			final Object value )
+			throws InterruptedException {
+		while (!stopped) {
+			if (queue.offer(
+					value,
+					OFFER_TIMEOUT_MILLIS,
+					TimeUnit.MILLISECONDS)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private class Producer implements
+			Runnable
+	{
+		@Override
+		public void run() {
+			try {
+				int i;
+				while (!stopped && ((i = nextIteratorIndex.getAndIncrement()) < iterators.size())) {
+					final CloseableIterator<T> iterator = iterators.get(i);
+					while (!stopped && iterator.hasNext()) {
+						if (!enqueue(iterator.next())) {
+							break;
+						}
+					}
+				}
+			}
+			catch (final InterruptedException e) {
+				producerError.compareAndSet(
+						null,
+						e);
+				stopped = true;
+				Thread.currentThread().interrupt();
+			}
+			catch (final Throwable e) {
+				producerError.compareAndSet(
+						null,
+						e);
+				stopped = true;
+			}
+			finally {
+				// the consumer counts the end markers, the marker must be
+				// delivered unless the consumer is done
+				while (!consumerDone) {
+					try {
+						if (queue.offer(
+								END_OF_RESULTS,
+								OFFER_TIMEOUT_MILLIS,
+								TimeUnit.MILLISECONDS)) {
+							break;
+						}
+					}
+					catch (final InterruptedException e) {
+						Thread.currentThread().interrupt();
+						break;
+					}
+				}
+			}
+		}
+	}
+}
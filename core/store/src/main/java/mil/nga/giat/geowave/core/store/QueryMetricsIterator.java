@@ -0,0 +1,64 @@
+package mil.nga.giat.geowave.core.store;
+
+import java.io.IOException;
+
+import mil.nga.giat.geowave.core.store.filter.DedupeFilter;
+import mil.nga.giat.geowave.core.store.query.QueryMetrics;
+
+/**
+ * Counts the results returned to the caller of a query and finishes the query
+ * metrics when the results are closed, including the memory and accuracy of the
+ * query's de-duplication
+ *
+ * @param <T>
+ *            the type of the results
+ */
+public class QueryMetricsIterator<T> implements
+		CloseableIterator<T>
+{
+	private final CloseableIterator<T> delegate;
+	private final QueryMetrics queryMetrics;
+	private final DedupeFilter dedupeFilter;
+
+	public QueryMetricsIterator(
+			final CloseableIterator<T> delegate,
+			final QueryMetrics queryMetrics,
+			final DedupeFilter dedupeFilter ) {
+		this.delegate = delegate;
+		this.queryMetrics = queryMetrics;
+		this.dedupeFilter = dedupeFilter;
+	}
+
+	@Override
+	public boolean hasNext() {
+		return delegate.hasNext();
+	}
+
+	@Override
+	public T next() {
+		final T next = delegate.next();
+		queryMetrics.rowReturned();
+		return next;
+	}
+
+	@Override
+	public void remove() {
+		delegate.remove();
+	}
+
+	@Override
+	public void close()
+			throws IOException {
+		try {
+			delegate.close();
+		}
+		finally {
+			if (dedupeFilter != null) {
+				queryMetrics.deduplicationFinished(
+						dedupeFilter.getMemoryUsage(),
+						dedupeFilter.getFalsePositiveProbability());
+			}
+			queryMetrics.queryFinished();
+		}
+	}
+}
@@ -0,0 +1,125 @@
+package mil.nga.giat.geowave.core.store;
+
+import mil.nga.giat.geowave.core.index.PersistableRegistrySpi;
+import mil.nga.giat.geowave.core.store.adapter.statistics.CountDataStatistics;
+import mil.nga.giat.geowave.core.store.adapter.statistics.DuplicateEntryCount;
+import mil.nga.giat.geowave.core.store.adapter.statistics.MaxDuplicatesStatistics;
+import mil.nga.giat.geowave.core.store.adapter.statistics.RowRangeDataStatistics;
+import mil.nga.giat.geowave.core.store.adapter.statistics.RowRangeHistogramStatistics;
+import mil.nga.giat.geowave.core.store.data.visibility.DifferingFieldVisibilityEntryCount;
+import mil.nga.giat.geowave.core.store.data.visibility.FieldVisibilityCount;
+import mil.nga.giat.geowave.core.store.filter.AdapterIdQueryFilter;
+import mil.nga.giat.geowave.core.store.filter.BasicQueryFilter;
+import mil.nga.giat.geowave.core.store.filter.DataIdQueryFilter;
+import mil.nga.giat.geowave.core.store.filter.DedupeFilter;
+import mil.nga.giat.geowave.core.store.filter.DistributableFilterList;
+import mil.nga.giat.geowave.core.store.filter.PrefixIdQueryFilter;
+import mil.nga.giat.geowave.core.store.filter.RowIdQueryFilter;
+import mil.nga.giat.geowave.core.store.index.BasicIndexModel;
+import mil.nga.giat.geowave.core.store.index.CustomIdIndex;
+import mil.nga.giat.geowave.core.store.index.IndexMetaDataSet;
+import mil.nga.giat.geowave.core.store.index.NullIndex;
+import mil.nga.giat.geowave.core.store.index.PrimaryIndex;
+import mil.nga.giat.geowave.core.store.index.numeric.NumberRangeFilter;
+import mil.nga.giat.geowave.core.store.index.temporal.DateRangeFilter;
+import mil.nga.giat.geowave.core.store.index.text.LikeFilter;
+import mil.nga.giat.geowave.core.store.index.text.TextRangeFilter;
+import mil.nga.giat.geowave.core.store.query.BasicQuery;
+import mil.nga.giat.geowave.core.store.query.QueryOptions;
+import mil.nga.giat.geowave.core.store.query.aggregate.CountResult;
+
+/**
+ * Registers the persistables of the core store module with IDs from 100 to 199.
+ *
+ */
+public class StorePersistableRegistry implements
+		PersistableRegistrySpi
+{
+
+	@Override
+	public PersistableIdAndClass[] getSupportedPersistables() {
+		return new PersistableIdAndClass[] {
+			new PersistableIdAndClass(
+					(short) 100,
+					AdapterToIndexMapping.class),
+			new PersistableIdAndClass(
+					(short) 101,
+					CountDataStatistics.class),
+			new PersistableIdAndClass(
+					(short) 102,
+					DuplicateEntryCount.class),
+			new PersistableIdAndClass(
+					(short) 103,
+					MaxDuplicatesStatistics.class),
+			new PersistableIdAndClass(
+					(short) 104,
+					RowRangeDataStatistics.class),
+			new PersistableIdAndClass(
+					(short) 105,
+					RowRangeHistogramStatistics.class),
+			new PersistableIdAndClass(
+					(short) 106,
+					DifferingFieldVisibilityEntryCount.class),
+			new PersistableIdAndClass(
+					(short) 107,
+					FieldVisibilityCount.class),
+			new PersistableIdAndClass(
+					(short) 108,
+					AdapterIdQueryFilter.class),
+			new PersistableIdAndClass(
+					(short) 109,
+					BasicQueryFilter.class),
+			new PersistableIdAndClass(
+					(short) 110,
+					DataIdQueryFilter.class),
+			new PersistableIdAndClass(
+					(short) 111,
+					DedupeFilter.class),
+			new PersistableIdAndClass(
+					(short) 112,
+					DistributableFilterList.class),
+			new PersistableIdAndClass(
+					(short) 113,
+					PrefixIdQueryFilter.class),
+			new PersistableIdAndClass(
+					(short) 114,
+					RowIdQueryFilter.class),
+			new PersistableIdAndClass(
+					(short) 115,
+					BasicIndexModel.class),
+			new PersistableIdAndClass(
+					(short) 116,
+					CustomIdIndex.class),
+			new PersistableIdAndClass(
+					(short) 117,
+					IndexMetaDataSet.class),
+			new PersistableIdAndClass(
+					(short) 118,
+					NullIndex.class),
+			new PersistableIdAndClass(
+					(short) 119,
+					PrimaryIndex.class),
+			new PersistableIdAndClass(
+					(short) 120,
+					NumberRangeFilter.class),
+			new PersistableIdAndClass(
+					(short) 121,
+					DateRangeFilter.class),
+			new PersistableIdAndClass(
+					(short) 122,
+					LikeFilter.class),
+			new PersistableIdAndClass(
+					(short) 123,
+					TextRangeFilter.class),
+			new PersistableIdAndClass(
+					(short) 124,
+					BasicQuery.class),
+			new PersistableIdAndClass(
+					(short) 125,
+					QueryOptions.class),
+			new PersistableIdAndClass(
+					(short) 126,
+					CountResult.class)
+		};
+	}
+}
@@ -3,6 +3,7 @@ package mil.nga.giat.geowave.core.store.adapter;
 import java.util.List;
 
 import mil.nga.giat.geowave.core.index.ByteArrayId;
+import mil.nga.giat.geowave.core.store.data.LazyPersistentValue;
 import mil.nga.giat.geowave.core.store.data.PersistentDataset;
 import mil.nga.giat.geowave.core.store.data.PersistentValue;
 import mil.nga.giat.geowave.core.store.data.field.FieldReader;
@@ -44,10 +45,11 @@ public class IndexedAdapterPersistenceEncoding extends
 		final List<PersistentValue<byte[]>> unknownDataValues = getUnknownData().getValues();
 		for (final PersistentValue<byte[]> v : unknownDataValues) {
 			final FieldReader<Object> reader = adapter.getReader(v.getId());
-			final Object value = reader.readField(v.getValue());
-			adapterExtendedData.addValue(new PersistentValue<Object>(
+			// the value is only deserialized when it is first read
+			adapterExtendedData.addValue(new LazyPersistentValue<Object>(
 					v.getId(),
-					value));
+					v.getValue(),
+					reader));
 		}
 	}
 }
\ No newline at end of file
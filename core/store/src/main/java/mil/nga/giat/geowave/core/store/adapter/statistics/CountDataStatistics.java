@@ -104,6 +104,21 @@ public class CountDataStatistics<T> extends
 
 	}
 
+	/**
+	 * Decrement the count by a number of entries that were deleted together,
+	 * without each entry being passed to this statistic
+	 *
+	 * @param deletedCount
+	 *            the number of distinct entries deleted
+	 */
+	public void entriesDeleted(
+			final long deletedCount ) {
+		if (!isSet()) {
+			count = 0;
+		}
+		count -= deletedCount;
+	}
+
 	public String toString() {
 		StringBuffer buffer = new StringBuffer();
 		buffer.append(
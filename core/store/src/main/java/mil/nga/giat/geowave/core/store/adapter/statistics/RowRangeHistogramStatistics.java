@@ -1,14 +1,17 @@
 package mil.nga.giat.geowave.core.store.adapter.statistics;
 
 import java.nio.ByteBuffer;
+import java.util.List;
 
 import mil.nga.giat.geowave.core.index.ByteArrayId;
 import mil.nga.giat.geowave.core.index.Mergeable;
+import mil.nga.giat.geowave.core.index.PersistenceUtils;
 import mil.nga.giat.geowave.core.store.DataStoreEntryInfo;
 import mil.nga.giat.geowave.core.store.adapter.statistics.histogram.ByteUtils;
 import mil.nga.giat.geowave.core.store.adapter.statistics.histogram.NumericHistogram;
 import mil.nga.giat.geowave.core.store.adapter.statistics.histogram.NumericHistogramFactory;
 import mil.nga.giat.geowave.core.store.adapter.statistics.histogram.MinimalBinDistanceHistogram.MinimalBinDistanceHistogramFactory;
+import mil.nga.giat.geowave.core.store.index.PrimaryIndex;
 
 import org.apache.commons.lang3.ArrayUtils;
 
@@ -190,6 +193,44 @@ public class RowRangeHistogramStatistics<T> extends
 				num);
 	}
 
+	/**
+	 * @return the row range histogram for the index combined across all of the
+	 *         adapters, or null if any of the adapters has no histogram
+	 */
+	public static RowRangeHistogramStatistics<?> getRangeStats(
+			final PrimaryIndex index,
+			final List<ByteArrayId> adapterIdsToQuery,
+			final DataStatisticsStore statisticsStore,
+			final String... authorizations ) {
+		RowRangeHistogramStatistics<?> combinedRangeStats = null;
+		boolean copied = false;
+		for (final ByteArrayId adapterId : adapterIdsToQuery) {
+			final RowRangeHistogramStatistics<?> adapterRangeStats = (RowRangeHistogramStatistics<?>) statisticsStore
+					.getDataStatistics(
+							adapterId,
+							composeId(index.getId()),
+							authorizations);
+			if (adapterRangeStats == null) {
+				return null;
+			}
+			if (combinedRangeStats == null) {
+				combinedRangeStats = adapterRangeStats;
+			}
+			else {
+				if (!copied) {
+					// the statistics store may cache the instance it returns,
+					// so merge into a copy
+					combinedRangeStats = PersistenceUtils.fromBinary(
+							PersistenceUtils.toBinary(combinedRangeStats),
+							RowRangeHistogramStatistics.class);
+					copied = true;
+				}
+				combinedRangeStats.merge(adapterRangeStats);
+			}
+		}
+		return combinedRangeStats;
+	}
+
 	public String toString() {
 		StringBuffer buffer = new StringBuffer();
 		buffer.append(
@@ -4,7 +4,9 @@ import java.io.Closeable;
 import java.io.Flushable;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.log4j.Logger;
 
@@ -20,6 +22,11 @@ import mil.nga.giat.geowave.core.store.ScanCallback;
  * null or the provided data adapter does not implement
  * {@link DataStatisticsStore}.
  * 
+ * Each thread accumulates statistics separately so that concurrent writers do
+ * not contend on a single lock, the statistics of all threads are merged when
+ * they are flushed. A flush retires the partials it merged, so a thread that is
+ * no longer writing does not keep its partial referenced by this tool.
+ * 
  * @param <T>
  *            Entry type
  */
@@ -34,9 +41,13 @@ public class StatsCompositionTool<T> implements
 	private final static Logger LOGGER = Logger.getLogger(StatsCompositionTool.class);
 	public static final int FLUSH_STATS_THRESHOLD = 16384;
 
-	int updateCount = 0;
 	DataStatisticsStore statisticsStore;
-	List<DataStatisticsBuilder<T>> statisticsBuilders = null;
+	StatisticsProvider<T> statisticsProvider = null;
+	ByteArrayId[] statisticsIds = null;
+	// every thread accumulates statistics into its own partial, all partials
+	// are merged on flush
+	final List<StatsPartial> partials = new ArrayList<StatsPartial>();
+	final ThreadLocal<StatsPartial> threadPartial = new ThreadLocal<StatsPartial>();
 	final Object MUTEX = new Object();
 	protected boolean skipFlush = false;
 
@@ -59,14 +70,8 @@ public class StatsCompositionTool<T> implements
 
 	private void init(
 			final StatisticsProvider<T> statisticsProvider ) {
-		final ByteArrayId[] statisticsIds = statisticsProvider.getSupportedStatisticsIds();
-		statisticsBuilders = new ArrayList<DataStatisticsBuilder<T>>(
-				statisticsIds.length);
-		for (final ByteArrayId id : statisticsIds) {
-			statisticsBuilders.add(new DataStatisticsBuilder<T>(
-					statisticsProvider,
-					id));
-		}
+		this.statisticsProvider = statisticsProvider;
+		statisticsIds = statisticsProvider.getSupportedStatisticsIds();
 		try {
 			final Object v = System.getProperty("StatsCompositionTool.skipFlush");
 			skipFlush = ((v != null) && v.toString().equalsIgnoreCase(
@@ -79,21 +84,42 @@ public class StatsCompositionTool<T> implements
 		}
 	}
 
+	private StatsPartial getThreadPartial() {
+		StatsPartial partial = threadPartial.get();
+		if ((partial == null) || partial.retired) {
+			partial = new StatsPartial();
+			synchronized (MUTEX) {
+				partials.add(partial);
+			}
+			threadPartial.set(partial);
+		}
+		return partial;
+	}
+
 	@Override
 	public void entryDeleted(
 			final DataStoreEntryInfo entryInfo,
 			final T entry ) {
-		if (statisticsBuilders == null) {
+		if (statisticsProvider == null) {
 			return;
 		}
-		synchronized (MUTEX) {
-			for (final DataStatisticsBuilder<T> builder : statisticsBuilders) {
-				builder.entryDeleted(
-						entryInfo,
-						entry);
+		while (true) {
+			final StatsPartial partial = getThreadPartial();
+			// only contended while the partial is being flushed
+			synchronized (partial) {
+				if (partial.retired) {
+					// flushed since it was looked up, use a new partial
+					continue;
+				}
+				for (final DataStatisticsBuilder<T> builder : partial.builders) {
+					builder.entryDeleted(
+							entryInfo,
+							entry);
+				}
+				partial.updateCount++;
+				checkStats(partial);
+				return;
 			}
-			updateCount++;
-			checkStats();
 		}
 
 	}
@@ -102,18 +128,25 @@ public class StatsCompositionTool<T> implements
 	public void entryScanned(
 			final DataStoreEntryInfo entryInfo,
 			final T entry ) {
-		if (statisticsBuilders == null) {
+		if (statisticsProvider == null) {
 			return;
 		}
-
-		synchronized (MUTEX) {
-			for (final DataStatisticsBuilder<T> builder : statisticsBuilders) {
-				builder.entryScanned(
-						entryInfo,
-						entry);
+		while (true) {
+			final StatsPartial partial = getThreadPartial();
+			synchronized (partial) {
+				if (partial.retired) {
+					// flushed since it was looked up, use a new partial
+					continue;
+				}
+				for (final DataStatisticsBuilder<T> builder : partial.builders) {
+					builder.entryScanned(
+							entryInfo,
+							entry);
+				}
+				partial.updateCount++;
+				checkStats(partial);
+				return;
 			}
-			updateCount++;
-			checkStats();
 		}
 
 	}
@@ -123,17 +156,52 @@ public class StatsCompositionTool<T> implements
 	 */
 	@Override
 	public void flush() {
-		if (statisticsBuilders == null) {
+		if (statisticsProvider == null) {
 			return;
 		}
 
 		synchronized (MUTEX) {
-			for (final DataStatisticsBuilder<T> builder : statisticsBuilders) {
-				final Collection<DataStatistics<T>> statistics = builder.getStatistics();
-				for (final DataStatistics<T> s : statistics) {
+			// merge the statistics of every thread by visibility so that the
+			// store incorporates each statistic once
+			final List<Map<ByteArrayId, DataStatistics<T>>> mergedStatistics = new ArrayList<Map<ByteArrayId, DataStatistics<T>>>(
+					statisticsIds.length);
+			for (int i = 0; i < statisticsIds.length; i++) {
+				mergedStatistics.add(new LinkedHashMap<ByteArrayId, DataStatistics<T>>());
+			}
+			for (final StatsPartial partial : partials) {
+				// a partial is merged and retired at once so that no update
+				// is made to it after it is merged, the threads that keep
+				// writing start new partials
+				synchronized (partial) {
+					for (int i = 0; i < statisticsIds.length; i++) {
+						final Collection<DataStatistics<T>> statistics = partial.builders.get(
+								i).getStatistics();
+						for (final DataStatistics<T> s : statistics) {
+							final ByteArrayId visibility = new ByteArrayId(
+									s.getVisibility());
+							final DataStatistics<T> merged = mergedStatistics.get(
+									i).get(
+									visibility);
+							if (merged == null) {
+								mergedStatistics.get(
+										i).put(
+										visibility,
+										s);
+							}
+							else {
+								merged.merge(s);
+							}
+						}
+						statistics.clear();
+					}
+					partial.retired = true;
+				}
+			}
+			partials.clear();
+			for (final Map<ByteArrayId, DataStatistics<T>> statistics : mergedStatistics) {
+				for (final DataStatistics<T> s : statistics.values()) {
 					statisticsStore.incorporateStatistics(s);
 				}
-				statistics.clear();
 			}
 		}
 	}
@@ -142,14 +210,18 @@ public class StatsCompositionTool<T> implements
 	 * Reset statistics, losing and updates since last flush
 	 */
 	public void reset() {
-		if (statisticsBuilders == null) {
+		if (statisticsProvider == null) {
 			return;
 		}
 
 		synchronized (MUTEX) {
-			for (final DataStatisticsBuilder<T> builder : statisticsBuilders) {
-				final Collection<DataStatistics<T>> statistics = builder.getStatistics();
-				statistics.clear();
+			for (final StatsPartial partial : partials) {
+				synchronized (partial) {
+					for (final DataStatisticsBuilder<T> builder : partial.builders) {
+						final Collection<DataStatistics<T>> statistics = builder.getStatistics();
+						statistics.clear();
+					}
+				}
 			}
 		}
 	}
@@ -158,24 +230,32 @@ public class StatsCompositionTool<T> implements
 	public void entryIngested(
 			final DataStoreEntryInfo entryInfo,
 			final T entry ) {
-		if (statisticsBuilders == null) {
+		if (statisticsProvider == null) {
 			return;
 		}
-
-		synchronized (MUTEX) {
-			for (final DataStatisticsBuilder<T> builder : statisticsBuilders) {
-				builder.entryIngested(
-						entryInfo,
-						entry);
+		while (true) {
+			final StatsPartial partial = getThreadPartial();
+			synchronized (partial) {
+				if (partial.retired) {
+					// flushed since it was looked up, use a new partial
+					continue;
+				}
+				for (final DataStatisticsBuilder<T> builder : partial.builders) {
+					builder.entryIngested(
+							entryInfo,
+							entry);
+				}
+				partial.updateCount++;
+				checkStats(partial);
+				return;
 			}
-			updateCount++;
-			checkStats();
 		}
 	}
 
 	@Override
 	public void close() {
 		flush();
+		threadPartial.remove();
 	}
 
 	public void setStatisticsStore(
@@ -183,9 +263,31 @@ public class StatsCompositionTool<T> implements
 		this.statisticsStore = statisticsStore;
 	}
 
-	private void checkStats() {
-		if (!skipFlush && (updateCount > FLUSH_STATS_THRESHOLD)) {
-			updateCount = 0;
+	private void checkStats(
+			final StatsPartial partial ) {
+		if (!skipFlush && (partial.updateCount > FLUSH_STATS_THRESHOLD)) {
+			partial.updateCount = 0;
+		}
+	}
+
+	/**
+	 * The statistics accumulated by a single thread since the last flush
+	 */
+	private class StatsPartial
+	{
+		private final List<DataStatisticsBuilder<T>> builders;
+		private int updateCount = 0;
+		// set once the partial has been flushed and removed from the partials
+		private boolean retired = false;
+
+		private StatsPartial() {
+			builders = new ArrayList<DataStatisticsBuilder<T>>(
+					statisticsIds.length);
+			for (final ByteArrayId id : statisticsIds) {
+				builders.add(new DataStatisticsBuilder<T>(
+						statisticsProvider,
+						id));
+			}
 		}
 	}
 
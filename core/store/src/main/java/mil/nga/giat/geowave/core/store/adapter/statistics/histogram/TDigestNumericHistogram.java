@@ -0,0 +1,533 @@
+package mil.nga.giat.geowave.core.store.adapter.statistics.histogram;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * A merging t-digest, based on Ted Dunning and Otmar Ertl,
+ * "Computing Extremely Accurate Quantiles Using t-Digests".
+ *
+ * Values are appended to a buffer and folded into the sorted centroids only
+ * when the buffer is full, so an add costs a share of sorting the buffer rather
+ * than a search and insert into the bins. The size a centroid may grow to
+ * shrinks towards the tails of the distribution, which keeps the quantile
+ * estimates there accurate. Merging two digests simply adds the centroids of
+ * one to the buffer of the other.
+ *
+ * The compression controls the trade off between size and accuracy, the digest
+ * keeps a little over half as many centroids as the compression.
+ */
+public class TDigestNumericHistogram implements
+		NumericHistogram
+{
+	private static final double DEFAULT_COMPRESSION = 100;
+	// the number of values buffered per unit of compression
+	private static final int BUFFER_FACTOR = 5;
+
+	private double compression;
+	private double[] means;
+	private double[] weights;
+	private int centroidCount = 0;
+	private double[] bufferMeans;
+	private double[] bufferWeights;
+	private int bufferCount = 0;
+	private boolean bufferWeighted = false;
+	// scratch space to merge the buffer into the centroids
+	private double[] mergeMeans;
+	private double[] mergeWeights;
+	private long totalCount = 0;
+	private double minValue = Double.POSITIVE_INFINITY;
+	private double maxValue = Double.NEGATIVE_INFINITY;
+
+	public TDigestNumericHistogram() {
+		this(
+				DEFAULT_COMPRESSION);
+	}
+
+	/**
+	 * @param compression
+	 *            the number of centroids is kept to a little over half this
+	 *            value
+	 */
+	public TDigestNumericHistogram(
+			final double compression ) {
+		init(compression);
+	}
+
+	private void init(
+			final double compression ) {
+		this.compression = Math.max(
+				compression,
+				10);
+		final int maxCentroids = (int) Math.ceil(this.compression) + 10;
+		means = new double[maxCentroids];
+		weights = new double[maxCentroids];
+		final int bufferSize = (int) Math.ceil(this.compression * BUFFER_FACTOR);
+		bufferMeans = new double[bufferSize];
+		bufferWeights = new double[bufferSize];
+		mergeMeans = new double[maxCentroids + bufferSize];
+		mergeWeights = new double[maxCentroids + bufferSize];
+		centroidCount = 0;
+		bufferCount = 0;
+		bufferWeighted = false;
+	}
+
+	@Override
+	public long getTotalCount() {
+		return totalCount;
+	}
+
+	@Override
+	public int getNumBins() {
+		compress();
+		return centroidCount;
+	}
+
+	@Override
+	public void merge(
+			final NumericHistogram other ) {
+		if (other == null) {
+			return;
+		}
+		final TDigestNumericHistogram otherDigest = (TDigestNumericHistogram) other;
+		otherDigest.compress();
+		for (int i = 0; i < otherDigest.centroidCount; i++) {
+			addToBuffer(
+					otherDigest.weights[i],
+					otherDigest.means[i]);
+		}
+		totalCount += otherDigest.totalCount;
+		minValue = Math.min(
+				minValue,
+				otherDigest.minValue);
+		maxValue = Math.max(
+				maxValue,
+				otherDigest.maxValue);
+	}
+
+	@Override
+	public void add(
+			final double v ) {
+		add(
+				1,
+				v);
+	}
+
+	@Override
+	public void add(
+			final long count,
+			final double v ) {
+		if (Double.isNaN(v) || (count <= 0)) {
+			return;
+		}
+		addToBuffer(
+				count,
+				v);
+		totalCount += count;
+		minValue = Math.min(
+				minValue,
+				v);
+		maxValue = Math.max(
+				maxValue,
+				v);
+	}
+
+	private void addToBuffer(
+			final double weight,
+			final double mean ) {
+		if (bufferCount == bufferMeans.length) {
+			compress();
+		}
+		bufferMeans[bufferCount] = mean;
+		bufferWeights[bufferCount] = weight;
+		if (weight != 1) {
+			bufferWeighted = true;
+		}
+		bufferCount++;
+	}
+
+	/**
+	 * Folds the buffered values into the centroids. The centroids are walked in
+	 * order and neighbours are merged for as long as the merged centroid spans
+	 * at most one unit of the scale function k(q) = compression / (2 * pi) *
+	 * asin(2q - 1), which is steep at the tails and flat in the middle.
+	 */
+	private void compress() {
+		if (bufferCount == 0) {
+			return;
+		}
+		if (bufferWeighted) {
+			sort(
+					bufferMeans,
+					bufferWeights,
+					0,
+					bufferCount - 1);
+			bufferWeighted = false;
+		}
+		else {
+			// every weight is one so only the means need to be sorted
+			Arrays.sort(
+					bufferMeans,
+					0,
+					bufferCount);
+		}
+		final int count = centroidCount + bufferCount;
+		if (mergeMeans.length < count) {
+			mergeMeans = new double[count];
+			mergeWeights = new double[count];
+		}
+		// the centroids are already sorted so only the buffer needs sorting
+		double total = 0;
+		for (int i = 0, c = 0, b = 0; i < count; i++) {
+			if ((b == bufferCount) || ((c < centroidCount) && (means[c] <= bufferMeans[b]))) {
+				mergeMeans[i] = means[c];
+				mergeWeights[i] = weights[c++];
+			}
+			else {
+				mergeMeans[i] = bufferMeans[b];
+				mergeWeights[i] = bufferWeights[b++];
+			}
+			total += mergeWeights[i];
+		}
+		bufferCount = 0;
+
+		final double normalizer = compression / (2 * Math.PI);
+		int last = 0;
+		means[0] = mergeMeans[0];
+		weights[0] = mergeWeights[0];
+		double weightSoFar = 0;
+		double weightLimit = total * getQuantile(
+				getScale(
+						0,
+						normalizer) + 1,
+				normalizer);
+		for (int i = 1; i < count; i++) {
+			final double proposedWeight = weights[last] + mergeWeights[i];
+			if ((weightSoFar + proposedWeight) <= weightLimit) {
+				weights[last] = proposedWeight;
+				means[last] += ((mergeMeans[i] - means[last]) * mergeWeights[i]) / proposedWeight;
+			}
+			else {
+				weightSoFar += weights[last];
+				weightLimit = total * getQuantile(
+						getScale(
+								weightSoFar / total,
+								normalizer) + 1,
+						normalizer);
+				last++;
+				if (last == means.length) {
+					growCentroids();
+				}
+				means[last] = mergeMeans[i];
+				weights[last] = mergeWeights[i];
+			}
+		}
+		centroidCount = last + 1;
+	}
+
+	private static double getScale(
+			final double q,
+			final double normalizer ) {
+		return normalizer * Math.asin((2 * q) - 1);
+	}
+
+	private static double getQuantile(
+			final double k,
+			final double normalizer ) {
+		return (Math.sin(Math.min(
+				k / normalizer,
+				Math.PI / 2)) + 1) / 2;
+	}
+
+	private void growCentroids() {
+		final double[] newMeans = new double[means.length * 2];
+		final double[] newWeights = new double[weights.length * 2];
+		System.arraycopy(
+				means,
+				0,
+				newMeans,
+				0,
+				means.length);
+		System.arraycopy(
+				weights,
+				0,
+				newWeights,
+				0,
+				weights.length);
+		means = newMeans;
+		weights = newWeights;
+	}
+
+	/**
+	 * sorts the means, and the weights along with them, in place
+	 */
+	private static void sort(
+			final double[] values,
+			final double[] payload,
+			int low,
+			int high ) {
+		while (low < high) {
+			if ((high - low) < 16) {
+				for (int i = low + 1; i <= high; i++) {
+					final double value = values[i];
+					final double weight = payload[i];
+					int j = i - 1;
+					while ((j >= low) && (values[j] > value)) {
+						values[j + 1] = values[j];
+						payload[j + 1] = payload[j];
+						j--;
+					}
+					values[j + 1] = value;
+					payload[j + 1] = weight;
+				}
+				return;
+			}
+			final double pivot = values[(low + high) >>> 1];
+			int i = low;
+			int j = high;
+			while (i <= j) {
+				while (values[i] < pivot) {
+					i++;
+				}
+				while (values[j] > pivot) {
+					j--;
+				}
+				if (i <= j) {
+					swap(
+							values,
+							payload,
+							i++,
+							j--);
+				}
+			}
+			// recurse into the smaller partition to bound the stack depth
+			if ((j - low) < (high - i)) {
+				sort(
+						values,
+						payload,
+						low,
+						j);
+				low = i;
+			}
+			else {
+				sort(
+						values,
+						payload,
+						i,
+						high);
+				high = j;
+			}
+		}
+	}
+
+	private static void swap(
+			final double[] values,
+			final double[] payload,
+			final int i,
+			final int j ) {
+		final double value = values[i];
+		values[i] = values[j];
+		values[j] = value;
+		final double weight = payload[i];
+		payload[i] = payload[j];
+		payload[j] = weight;
+	}
+
+	@Override
+	public double[] quantile(
+			final int bins ) {
+		final double increment = 1.0 / bins;
+		final double[] result = new double[bins];
+		double val = increment;
+		for (int i = 0; i < bins; i++, val += increment) {
+			result[i] = quantile(val);
+		}
+		return result;
+	}
+
+	/**
+	 * Each centroid is treated as having half of its weight either side of its
+	 * mean, the quantile is interpolated between the neighbouring centroids and
+	 * between the outer centroids and the minimum and maximum values.
+	 */
+	@Override
+	public double quantile(
+			final double q ) {
+		compress();
+		if (centroidCount == 0) {
+			return 0.0;
+		}
+		if (centroidCount == 1) {
+			return means[0];
+		}
+		final double index = Math.max(
+				0,
+				Math.min(
+						1,
+						q)) * totalCount;
+		if (index < (weights[0] / 2)) {
+			return minValue + (((means[0] - minValue) * index) / (weights[0] / 2));
+		}
+		double weightSoFar = weights[0] / 2;
+		for (int i = 0; i < (centroidCount - 1); i++) {
+			final double deltaWeight = (weights[i] + weights[i + 1]) / 2;
+			if ((weightSoFar + deltaWeight) > index) {
+				final double fraction = (index - weightSoFar) / deltaWeight;
+				return means[i] + (fraction * (means[i + 1] - means[i]));
+			}
+			weightSoFar += deltaWeight;
+		}
+		final int last = centroidCount - 1;
+		final double remaining = Math.min(
+				1,
+				(index - weightSoFar) / (weights[last] / 2));
+		return means[last] + (remaining * (maxValue - means[last]));
+	}
+
+	/**
+	 * Estimate number of values consumed up to provided value.
+	 *
+	 * @param val
+	 * @return the number of estimated points
+	 */
+	@Override
+	public double sum(
+			final double val,
+			final boolean inclusive ) {
+		compress();
+		if (centroidCount == 0) {
+			return 0.0;
+		}
+		if ((val > maxValue) || (inclusive && (val == maxValue))) {
+			return totalCount;
+		}
+		if ((val < minValue) || (!inclusive && (val == minValue))) {
+			return 0.0;
+		}
+		if (centroidCount == 1) {
+			return (maxValue > minValue) ? (totalCount * (val - minValue)) / (maxValue - minValue) : totalCount;
+		}
+		if (val < means[0]) {
+			return ((val - minValue) * (weights[0] / 2)) / (means[0] - minValue);
+		}
+		double weightSoFar = weights[0] / 2;
+		for (int i = 0; i < (centroidCount - 1); i++) {
+			final double deltaWeight = (weights[i] + weights[i + 1]) / 2;
+			if (val < means[i + 1]) {
+				return weightSoFar + (((val - means[i]) * deltaWeight) / (means[i + 1] - means[i]));
+			}
+			weightSoFar += deltaWeight;
+		}
+		final int last = centroidCount - 1;
+		if (maxValue <= means[last]) {
+			return weightSoFar;
+		}
+		return weightSoFar + (((val - means[last]) * (weights[last] / 2)) / (maxValue - means[last]));
+	}
+
+	@Override
+	public double cdf(
+			final double val ) {
+		if (totalCount == 0) {
+			return 0.0;
+		}
+		return sum(
+				val,
+				false) / totalCount;
+	}
+
+	@Override
+	public long[] count(
+			final int bins ) {
+		final long[] result = new long[bins];
+		double start = getMinValue();
+		final double range = getMaxValue() - start;
+		final double increment = range / bins;
+		start += increment;
+		long last = 0;
+		for (int bin = 0; bin < bins; bin++, start += increment) {
+			final long aggSum = (long) Math.ceil(sum(
+					start,
+					bin == (bins - 1)));
+			result[bin] = aggSum - last;
+			last = aggSum;
+		}
+		return result;
+	}
+
+	@Override
+	public int bufferSize() {
+		compress();
+		// 8 bytes each for total count, min, max and compression, 4 bytes for
+		// the number of centroids
+		return (centroidCount * 16) + 36;
+	}
+
+	@Override
+	public void toBinary(
+			final ByteBuffer buffer ) {
+		compress();
+		buffer.putLong(totalCount);
+		buffer.putDouble(minValue);
+		buffer.putDouble(maxValue);
+		buffer.putDouble(compression);
+		buffer.putInt(centroidCount);
+		for (int i = 0; i < centroidCount; i++) {
+			buffer.putDouble(means[i]);
+			buffer.putDouble(weights[i]);
+		}
+	}
+
+	@Override
+	public void fromBinary(
+			final ByteBuffer buffer ) {
+		totalCount = buffer.getLong();
+		minValue = buffer.getDouble();
+		maxValue = buffer.getDouble();
+		init(buffer.getDouble());
+		final int count = buffer.getInt();
+		while (means.length < count) {
+			growCentroids();
+		}
+		for (int i = 0; i < count; i++) {
+			means[i] = buffer.getDouble();
+			weights[i] = buffer.getDouble();
+		}
+		centroidCount = count;
+	}
+
+	@Override
+	public double getMaxValue() {
+		return (totalCount > 0) ? maxValue : 0.0;
+	}
+
+	@Override
+	public double getMinValue() {
+		return (totalCount > 0) ? minValue : 0.0;
+	}
+
+	public static class TDigestNumericHistogramFactory implements
+			NumericHistogramFactory
+	{
+		/**
+		 * the compression is chosen to keep about the given number of centroids
+		 */
+		@Override
+		public NumericHistogram create(
+				final int bins ) {
+			return new TDigestNumericHistogram(
+					bins * 2);
+		}
+
+		/**
+		 * the digest adapts to the range of the values so the range is not used
+		 */
+		@Override
+		public NumericHistogram create(
+				final int bins,
+				final double minValue,
+				final double maxValue ) {
+			return create(bins);
+		}
+	}
+}
@@ -0,0 +1,56 @@
+package mil.nga.giat.geowave.core.store.data;
+
+import mil.nga.giat.geowave.core.index.ByteArrayId;
+import mil.nga.giat.geowave.core.store.data.field.FieldReader;
+
+/**
+ * This is a persistent value that holds on to the binary serialization of the
+ * field and only deserializes it the first time the value is requested. Rows
+ * that are rejected by a filter, or fields that are never read, skip the cost
+ * of deserialization entirely.
+ *
+ * @param <T>
+ *            The binding class for this value
+ */
+public class LazyPersistentValue<T> extends
+		PersistentValue<T>
+{
+	private byte[] fieldData;
+	private FieldReader<? extends T> reader;
+	private T value;
+
+	public LazyPersistentValue(
+			final ByteArrayId id,
+			final byte[] fieldData,
+			final FieldReader<? extends T> reader ) {
+		super(
+				id,
+				null);
+		this.fieldData = fieldData;
+		this.reader = reader;
+	}
+
+	/**
+	 * Deserialize the value if it has not already been, the reader and binary
+	 * are released after the first read
+	 *
+	 * @return the value
+	 */
+	@Override
+	public T getValue() {
+		if (reader != null) {
+			value = reader.readField(fieldData);
+			reader = null;
+			fieldData = null;
+		}
+		return value;
+	}
+
+	/**
+	 *
+	 * @return true if the value has already been deserialized
+	 */
+	public boolean isDecoded() {
+		return reader == null;
+	}
+}
@@ -13,6 +13,9 @@ import mil.nga.giat.geowave.core.index.ByteArrayId;
  * sense can be to either the data adapter or the common index, depending on
  * whether it is in the common index or is an extended field.
  * 
+ * Values added as a {@link LazyPersistentValue} are kept in their binary form
+ * until they are first requested by field ID.
+ * 
  * @param <T>
  *            The most specific generalization for the type for all of the
  *            values in this dataset.
@@ -20,6 +23,7 @@ import mil.nga.giat.geowave.core.index.ByteArrayId;
 public class PersistentDataset<T>
 {
 	private final Map<ByteArrayId, T> fieldIdToValueMap;
+	private Map<ByteArrayId, LazyPersistentValue<T>> fieldIdToLazyValueMap = null;
 
 	public PersistentDataset() {
 		fieldIdToValueMap = new HashMap<ByteArrayId, T>();
@@ -44,6 +48,19 @@ public class PersistentDataset<T>
 	 */
 	public void addValue(
 			final PersistentValue<T> value ) {
+		if ((value instanceof LazyPersistentValue) && !((LazyPersistentValue<T>) value).isDecoded()) {
+			if (fieldIdToLazyValueMap == null) {
+				fieldIdToLazyValueMap = new HashMap<ByteArrayId, LazyPersistentValue<T>>();
+			}
+			fieldIdToValueMap.remove(value.getId());
+			fieldIdToLazyValueMap.put(
+					value.getId(),
+					(LazyPersistentValue<T>) value);
+			return;
+		}
+		if (fieldIdToLazyValueMap != null) {
+			fieldIdToLazyValueMap.remove(value.getId());
+		}
 		fieldIdToValueMap.put(
 				value.getId(),
 				value.getValue());
@@ -59,22 +76,37 @@ public class PersistentDataset<T>
 	 */
 	public T getValue(
 			final ByteArrayId fieldId ) {
+		if (fieldIdToLazyValueMap != null) {
+			final LazyPersistentValue<T> lazyValue = fieldIdToLazyValueMap.remove(fieldId);
+			if (lazyValue != null) {
+				final T value = lazyValue.getValue();
+				fieldIdToValueMap.put(
+						fieldId,
+						value);
+				return value;
+			}
+		}
 		return fieldIdToValueMap.get(fieldId);
 	}
 
 	/**
-	 * Get all of the values from this persistent data set
+	 * Get all of the values from this persistent data set, values that have not
+	 * been read yet are returned without being deserialized
 	 * 
 	 * @return all of the value
 	 */
 	public List<PersistentValue<T>> getValues() {
+		final int lazyCount = (fieldIdToLazyValueMap == null) ? 0 : fieldIdToLazyValueMap.size();
 		final List<PersistentValue<T>> values = new ArrayList<PersistentValue<T>>(
-				fieldIdToValueMap.size());
+				fieldIdToValueMap.size() + lazyCount);
 		for (final Entry<ByteArrayId, T> entry : fieldIdToValueMap.entrySet()) {
 			values.add(new PersistentValue<T>(
 					entry.getKey(),
 					entry.getValue()));
 		}
+		if (lazyCount > 0) {
+			values.addAll(fieldIdToLazyValueMap.values());
+		}
 		return values;
 	}
 }
@@ -0,0 +1,172 @@
+package mil.nga.giat.geowave.core.store.filter;
+
+import org.apache.log4j.Logger;
+
+/**
+ * A set of 64-bit fingerprints that never uses more than a fixed amount of
+ * memory. Fingerprints are kept in an open-addressing hash table until the
+ * table would outgrow the memory budget, at which point the table is replaced
+ * by a Bloom filter using the whole budget. Until then a fingerprint is only
+ * mistaken for another on a 64-bit hash collision, afterwards the false
+ * positive probability grows with the number of fingerprints added.
+ *
+ */
+class BoundedFingerprintSet
+{
+	private final static Logger LOGGER = Logger.getLogger(BoundedFingerprintSet.class);
+	private static final int INITIAL_CAPACITY = 1024;
+	private static final int MIN_CAPACITY = 16;
+	private static final int MAX_BLOOM_HASHES = 16;
+	// the table is resized when it is three quarters full
+	private static final int MAX_LOAD_NUMERATOR = 3;
+	private static final int MAX_LOAD_DENOMINATOR = 4;
+
+	private final long maxMemoryBytes;
+	private long[] table;
+	private int tableSize = 0;
+	private long[] bloomBits = null;
+	private int bloomHashes;
+	private long bloomEntries = 0;
+
+	public BoundedFingerprintSet(
+			final long maxMemoryBytes ) {
+		this.maxMemoryBytes = maxMemoryBytes;
+		int capacity = INITIAL_CAPACITY;
+		while ((capacity > MIN_CAPACITY) && ((capacity * 8L) > maxMemoryBytes)) {
+			capacity >>= 1;
+		}
+		table = new long[capacity];
+	}
+
+	/**
+	 * @return true if the fingerprint was not already in the set
+	 */
+	public synchronized boolean add(
+			final long fingerprint ) {
+		// zero marks an empty slot of the table
+		final long value = (fingerprint == 0) ? 1 : fingerprint;
+		if (bloomBits != null) {
+			return addToBloomFilter(value);
+		}
+		final int mask = table.length - 1;
+		int slot = (int) mix(value) & mask;
+		while (table[slot] != 0) {
+			if (table[slot] == value) {
+				return false;
+			}
+			slot = (slot + 1) & mask;
+		}
+		table[slot] = value;
+		tableSize++;
+		if ((tableSize * (long) MAX_LOAD_DENOMINATOR) > (table.length * (long) MAX_LOAD_NUMERATOR)) {
+			resize();
+		}
+		return true;
+	}
+
+	/**
+	 * @return the number of bytes used to hold the fingerprints
+	 */
+	public synchronized long getMemoryUsage() {
+		return (bloomBits != null) ? bloomBits.length * 8L : table.length * 8L;
+	}
+
+	/**
+	 * @return the probability that a fingerprint that has not been added is
+	 *         reported as already in the set
+	 */
+	public synchronized double getFalsePositiveProbability() {
+		if (bloomBits == null) {
+			return tableSize / Math.pow(
+					2,
+					64);
+		}
+		final double bitCount = bloomBits.length * 64.0;
+		return Math.pow(
+				1 - Math.exp((-bloomHashes * (double) bloomEntries) / bitCount),
+				bloomHashes);
+	}
+
+	private void resize() {
+		final long newCapacity = table.length * 2L;
+		if (((newCapacity * 8L) > maxMemoryBytes) || (newCapacity > (1 << 30))) {
+			convertToBloomFilter();
+			return;
+		}
+		final long[] oldTable = table;
+		table = new long[(int) newCapacity];
+		final int mask = table.length - 1;
+		for (final long value : oldTable) {
+			if (value != 0) {
+				int slot = (int) mix(value) & mask;
+				while (table[slot] != 0) {
+					slot = (slot + 1) & mask;
+				}
+				table[slot] = value;
+			}
+		}
+	}
+
+	private void convertToBloomFilter() {
+		final long words = Math.max(
+				table.length,
+				Math.min(
+						maxMemoryBytes / 8,
+						Integer.MAX_VALUE - 8));
+		final double bitCount = words * 64.0;
+		// the number of hashes that is optimal once the filter holds sixteen
+		// times as many fingerprints as the table did, so that the false
+		// positive probability degrades gradually as the result set grows
+		bloomHashes = (int) Math.max(
+				1,
+				Math.min(
+						MAX_BLOOM_HASHES,
+						Math.round((Math.log(2) * bitCount) / (16.0 * tableSize))));
+		LOGGER.warn("Deduplication exceeded its memory budget of " + maxMemoryBytes + " bytes after " + tableSize
+				+ " entries, further deduplication is approximate");
+		bloomBits = new long[(int) words];
+		final long[] oldTable = table;
+		table = null;
+		for (final long value : oldTable) {
+			if (value != 0) {
+				addToBloomFilter(value);
+			}
+		}
+	}
+
+	private boolean addToBloomFilter(
+			final long value ) {
+		// derive the bit positions from two hashes of the fingerprint
+		final long hash1 = mix(value);
+		final long hash2 = mix(hash1 ^ value) | 1;
+		final long bitCount = bloomBits.length * 64L;
+		boolean added = false;
+		for (int i = 0; i < bloomHashes; i++) {
+			final long bit = ((hash1 + (i * hash2)) & Long.MAX_VALUE) % bitCount;
+			final int word = (int) (bit >>> 6);
+			final long mask = 1L << (bit & 63);
+			if ((bloomBits[word] & mask) == 0) {
+				bloomBits[word] |= mask;
+				added = true;
+			}
+		}
+		if (added) {
+			bloomEntries++;
+		}
+		return added;
+	}
+
+	/**
+	 * the finalizer of MurmurHash3, it spreads the bits of the fingerprint so
+	 * that nearby fingerprints do not cluster in the table
+	 */
+	private static long mix(
+			long value ) {
+		value ^= value >>> 33;
+		value *= 0xff51afd7ed558ccdL;
+		value ^= value >>> 33;
+		value *= 0xc4ceb9fe1a85ec53L;
+		value ^= value >>> 33;
+		return value;
+	}
+}
@@ -1,29 +1,69 @@
 package mil.nga.giat.geowave.core.store.filter;
 
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
+import java.util.Collections;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
 
 import mil.nga.giat.geowave.core.index.ByteArrayId;
 import mil.nga.giat.geowave.core.store.data.IndexedPersistenceEncoding;
 import mil.nga.giat.geowave.core.store.index.CommonIndexModel;
+import mil.nga.giat.geowave.core.store.query.QueryMetrics;
 
 /**
  * This filter will perform de-duplication using the combination of data adapter
  * ID and data ID to determine uniqueness. It can be performed client-side
- * and/or distributed.
+ * and/or distributed. The filter is thread-safe so that it can be shared by
+ * sub-queries that are consumed concurrently.
+ * 
+ * By default every visited data ID is kept for the life of the filter. Given a
+ * memory budget, 64-bit fingerprints of the adapter and data IDs are kept
+ * instead, and once those outgrow the budget a Bloom filter of the budget's
+ * size is used, trading a growing chance of wrongly dropping an entry for a
+ * bounded amount of memory.
  * 
  */
 public class DedupeFilter implements
 		DistributableQueryFilter
 {
-	private final Map<ByteArrayId, Set<ByteArrayId>> adapterIdToVisitedDataIdMap;
+	// a rough estimate of the bytes held per visited data ID beyond the ID
+	// itself, accounting for the ByteArrayId, its array and the set entry
+	private static final int ESTIMATED_ENTRY_OVERHEAD = 96;
+	private static final HashFunction FINGERPRINT_FUNCTION = Hashing.murmur3_128();
+
+	private final ConcurrentMap<ByteArrayId, Set<ByteArrayId>> adapterIdToVisitedDataIdMap;
+	private final BoundedFingerprintSet visitedFingerprints;
+	private final AtomicLong estimatedMemoryUsage = new AtomicLong();
 
 	private boolean dedupAcrossIndices = false;
+	private QueryMetrics queryMetrics = null;
 
 	public DedupeFilter() {
-		adapterIdToVisitedDataIdMap = new HashMap<ByteArrayId, Set<ByteArrayId>>();
+		this(
+				-1);
+	}
+
+	/**
+	 * 
+	 * @param maxMemoryBytes
+	 *            a value <= 0 keeps every visited data ID, otherwise the
+	 *            maximum number of bytes used to track visited entries
+	 */
+	public DedupeFilter(
+			final long maxMemoryBytes ) {
+		if (maxMemoryBytes > 0) {
+			adapterIdToVisitedDataIdMap = null;
+			visitedFingerprints = new BoundedFingerprintSet(
+					maxMemoryBytes);
+		}
+		else {
+			adapterIdToVisitedDataIdMap = new ConcurrentHashMap<ByteArrayId, Set<ByteArrayId>>();
+			visitedFingerprints = null;
+		}
 	}
 
 	@Override
@@ -44,18 +84,80 @@ public class DedupeFilter implements
 		}
 		final ByteArrayId adapterId = persistenceEncoding.getAdapterId();
 		final ByteArrayId dataId = persistenceEncoding.getDataId();
+		if (visitedFingerprints != null) {
+			return visited(visitedFingerprints.add(getFingerprint(
+					adapterId,
+					dataId)));
+		}
 		Set<ByteArrayId> visitedDataIds = adapterIdToVisitedDataIdMap.get(adapterId);
 		if (visitedDataIds == null) {
-			visitedDataIds = new HashSet<ByteArrayId>();
-			adapterIdToVisitedDataIdMap.put(
+			visitedDataIds = Collections.newSetFromMap(new ConcurrentHashMap<ByteArrayId, Boolean>());
+			final Set<ByteArrayId> existingDataIds = adapterIdToVisitedDataIdMap.putIfAbsent(
 					adapterId,
 					visitedDataIds);
+			if (existingDataIds != null) {
+				visitedDataIds = existingDataIds;
+			}
 		}
-		else if (visitedDataIds.contains(dataId)) {
-			return false;
+		// only the first to add the data ID accepts the entry
+		if (visitedDataIds.add(dataId)) {
+			estimatedMemoryUsage.addAndGet(ESTIMATED_ENTRY_OVERHEAD + dataId.getBytes().length);
+			return true;
+		}
+		return visited(false);
+	}
+
+	private boolean visited(
+			final boolean firstVisit ) {
+		if (!firstVisit && (queryMetrics != null)) {
+			queryMetrics.duplicateRemoved();
+		}
+		return firstVisit;
+	}
+
+	/**
+	 * 
+	 * @param queryMetrics
+	 *            the metrics to count the removed duplicates in, this is only
+	 *            used client-side
+	 */
+	public void setQueryMetrics(
+			final QueryMetrics queryMetrics ) {
+		this.queryMetrics = queryMetrics;
+	}
+
+	private static long getFingerprint(
+			final ByteArrayId adapterId,
+			final ByteArrayId dataId ) {
+		final byte[] adapterIdBytes = adapterId.getBytes();
+		return FINGERPRINT_FUNCTION.newHasher().putInt(
+				adapterIdBytes.length).putBytes(
+				adapterIdBytes).putBytes(
+				dataId.getBytes()).hash().asLong();
+	}
+
+	/**
+	 * 
+	 * @return the number of bytes used to track visited entries, without a
+	 *         memory budget this is an estimate
+	 */
+	public long getMemoryUsage() {
+		if (visitedFingerprints != null) {
+			return visitedFingerprints.getMemoryUsage();
+		}
+		return estimatedMemoryUsage.get();
+	}
+
+	/**
+	 * 
+	 * @return the probability that an entry that has not been visited is
+	 *         rejected as a duplicate
+	 */
+	public double getFalsePositiveProbability() {
+		if (visitedFingerprints != null) {
+			return visitedFingerprints.getFalsePositiveProbability();
 		}
-		visitedDataIds.add(dataId);
-		return true;
+		return 0;
 	}
 
 	public void setDedupAcrossIndices(
@@ -113,7 +113,11 @@ public class EntryRowID implements
 
 	}
 
-	private static final int compare(
+	/**
+	 * compares the bytes as unsigned values so that rows sort the same as row
+	 * IDs in a distributed data store and the query ranges of index strategies
+	 */
+	static final int compare(
 			final byte[] a,
 			final byte[] b ) {
 		int j = 0;
@@ -121,7 +125,7 @@ public class EntryRowID implements
 			if (b.length <= j) {
 				break;
 			}
-			final int val = aByte - b[j];
+			final int val = (aByte & 0xFF) - (b[j] & 0xFF);
 			if (val != 0) {
 				return val;
 			}
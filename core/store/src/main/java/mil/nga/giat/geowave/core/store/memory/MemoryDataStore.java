@@ -3,14 +3,18 @@ package mil.nga.giat.geowave.core.store.memory;
 import java.io.Closeable;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
-import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.log4j.Logger;
@@ -18,6 +22,8 @@ import org.apache.log4j.Logger;
 import com.google.common.collect.Iterators;
 
 import mil.nga.giat.geowave.core.index.ByteArrayId;
+import mil.nga.giat.geowave.core.index.ByteArrayRange;
+import mil.nga.giat.geowave.core.index.sfc.data.MultiDimensionalNumericData;
 import mil.nga.giat.geowave.core.store.AdapterToIndexMapping;
 import mil.nga.giat.geowave.core.store.CloseableIterator;
 import mil.nga.giat.geowave.core.store.CloseableIteratorWrapper;
@@ -27,6 +33,7 @@ import mil.nga.giat.geowave.core.store.IndexCompositeWriter;
 import mil.nga.giat.geowave.core.store.DataStoreEntryInfo.FieldInfo;
 import mil.nga.giat.geowave.core.store.IndexWriter;
 import mil.nga.giat.geowave.core.store.IngestCallback;
+import mil.nga.giat.geowave.core.store.QueryMetricsIterator;
 import mil.nga.giat.geowave.core.store.ScanCallback;
 import mil.nga.giat.geowave.core.store.adapter.AdapterIndexMappingStore;
 import mil.nga.giat.geowave.core.store.adapter.AdapterStore;
@@ -42,15 +49,26 @@ import mil.nga.giat.geowave.core.store.index.CommonIndexModel;
 import mil.nga.giat.geowave.core.store.index.IndexStore;
 import mil.nga.giat.geowave.core.store.index.PrimaryIndex;
 import mil.nga.giat.geowave.core.store.index.SecondaryIndexDataStore;
+import mil.nga.giat.geowave.core.store.query.ConstraintsQuery;
 import mil.nga.giat.geowave.core.store.query.Query;
+import mil.nga.giat.geowave.core.store.query.QueryMetrics;
 import mil.nga.giat.geowave.core.store.query.QueryOptions;
 
+/**
+ * An in-process data store. The rows of each index are kept in a concurrent
+ * sorted map ordered the same way as the row IDs of a distributed data store,
+ * so writers do not block each other or readers and queries only scan the query
+ * ranges of the index strategy. Each row is stamped with the sequence number of
+ * its write, queries skip rows written after the query started, so concurrent
+ * inserts do not show up part way through a query without having to copy the
+ * rows of the index.
+ */
 public class MemoryDataStore implements
 		DataStore
 {
 	private final static Logger LOGGER = Logger.getLogger(MemoryDataStore.class);
-	private final Map<ByteArrayId, TreeSet<EntryRow>> storeData = Collections
-			.synchronizedMap(new HashMap<ByteArrayId, TreeSet<EntryRow>>());
+	private final ConcurrentMap<ByteArrayId, ConcurrentNavigableMap<EntryRowID, StoredRow>> storeData = new ConcurrentHashMap<ByteArrayId, ConcurrentNavigableMap<EntryRowID, StoredRow>>();
+	private final AtomicLong writeSequence = new AtomicLong();
 	private final AdapterStore adapterStore;
 	private final IndexStore indexStore;
 	private final DataStatisticsStore statsStore;
@@ -158,15 +176,15 @@ public class MemoryDataStore implements
 					entry,
 					callback,
 					fieldVisibilityWriter);
+			final ConcurrentNavigableMap<EntryRowID, StoredRow> indexRows = getRowsForIndex(index.getId());
 			for (final EntryRow row : rows) {
 				ids.add(row.getRowId());
-				final TreeSet<EntryRow> rowTreeSet = getRowsForIndex(index.getId());
-				if (rowTreeSet.contains(row)) {
-					rowTreeSet.remove(row);
-				}
-				if (!rowTreeSet.add(row)) {
-					LOGGER.warn("Unable to add new entry");
-				}
+				// replaces any existing row with the same row ID
+				indexRows.put(
+						row.getTableRowId(),
+						new StoredRow(
+								row,
+								writeSequence.incrementAndGet()));
 			}
 
 			return ids;
@@ -193,16 +211,19 @@ public class MemoryDataStore implements
 
 	}
 
-	private TreeSet<EntryRow> getRowsForIndex(
+	private ConcurrentNavigableMap<EntryRowID, StoredRow> getRowsForIndex(
 			final ByteArrayId id ) {
-		TreeSet<EntryRow> set = storeData.get(id);
-		if (set == null) {
-			set = new TreeSet<EntryRow>();
-			storeData.put(
+		ConcurrentNavigableMap<EntryRowID, StoredRow> rows = storeData.get(id);
+		if (rows == null) {
+			rows = new ConcurrentSkipListMap<EntryRowID, StoredRow>();
+			final ConcurrentNavigableMap<EntryRowID, StoredRow> existingRows = storeData.putIfAbsent(
 					id,
-					set);
+					rows);
+			if (existingRows != null) {
+				rows = existingRows;
+			}
 		}
-		return set;
+		return rows;
 	}
 
 	@Override
@@ -259,8 +280,14 @@ public class MemoryDataStore implements
 			final QueryOptions queryOptions,
 			final Query query,
 			final boolean isDelete ) {
-		final DedupeFilter filter = new DedupeFilter();
+		final DedupeFilter filter = new DedupeFilter(
+				queryOptions.getMaxDedupeMemoryBytes());
 		filter.setDedupAcrossIndices(false);
+		final QueryMetrics queryMetrics = queryOptions.getQueryMetrics();
+		if (queryMetrics != null) {
+			queryMetrics.queryStarted();
+			filter.setQueryMetrics(queryMetrics);
+		}
 		try {
 			// keep a list of adapters that have been queried, to only low an
 			// adapter to be queried
@@ -294,7 +321,7 @@ public class MemoryDataStore implements
 							callbackManager);
 				}
 			}
-			return new CloseableIteratorWrapper<T>(
+			final CloseableIterator<T> resultsIt = new CloseableIteratorWrapper<T>(
 					new Closeable() {
 						@Override
 						public void close()
@@ -306,6 +333,14 @@ public class MemoryDataStore implements
 					},
 					Iterators.concat(results.iterator()),
 					queryOptions.getLimit());
+			if (queryMetrics != null) {
+				queryMetrics.subQueriesStarted(results.size());
+				return new QueryMetricsIterator<T>(
+						resultsIt,
+						queryMetrics,
+						filter);
+			}
+			return resultsIt;
 
 		}
 		catch (final IOException e)
@@ -328,33 +363,47 @@ public class MemoryDataStore implements
 			final QueryOptions queryOptions,
 			final boolean isDelete,
 			final DataStoreCallbackManager callbackCache ) {
-		final TreeSet<EntryRow> set = getRowsForIndex(index.getId());
-		final Iterator<EntryRow> rowIt = ((TreeSet<EntryRow>) set.clone()).iterator();
+		final ConcurrentNavigableMap<EntryRowID, StoredRow> indexRows = getRowsForIndex(index.getId());
+		final long snapshotSequence = writeSequence.get();
+		final QueryMetrics queryMetrics = queryOptions.getQueryMetrics();
+		final long planStartTime = System.nanoTime();
+		final List<byte[][]> scanRanges = getScanRanges(
+				index,
+				query);
+		if (queryMetrics != null) {
+			queryMetrics.rangesDecomposed(
+					scanRanges.size(),
+					System.nanoTime() - planStartTime);
+		}
+		final Iterator<StoredRow> rowIt = getRowsInRanges(
+				indexRows,
+				scanRanges);
+		final byte[] adapterIdBytes = adapter.getAdapterId().getBytes();
 		final List<QueryFilter> filters = (query == null) ? new ArrayList<QueryFilter>() : new ArrayList<QueryFilter>(
 				query.createFilters(index.getIndexModel()));
-		filters.add(new QueryFilter() {
-			@Override
-			public boolean accept(
-					final CommonIndexModel indexModel,
-					final IndexedPersistenceEncoding persistenceEncoding ) {
-				if (adapter.getAdapterId().equals(
-						persistenceEncoding.getAdapterId())) {
-					return true;
-				}
-				return false;
-			}
-		});
 		if (filter != null) filters.add(filter);
 		results.add(new CloseableIterator<T>() {
+			StoredRow nextStoredRow = null;
 			EntryRow nextRow = null;
+			StoredRow currentStoredRow = null;
 			EntryRow currentRow = null;
 			IndexedPersistenceEncoding encoding = null;
 
 			private boolean getNext() {
 				while ((nextRow == null) && rowIt.hasNext()) {
-					final EntryRow row = rowIt.next();
-					final DataAdapter<?> adapter = adapterStore.getAdapter(new ByteArrayId(
-							row.getTableRowId().getAdapterId()));
+					final StoredRow storedRow = rowIt.next();
+					if (storedRow.sequence > snapshotSequence) {
+						// written after this query started
+						continue;
+					}
+					final EntryRow row = storedRow.row;
+					// only decode the rows of the queried adapter
+					if (!Arrays.equals(
+							adapterIdBytes,
+							row.getTableRowId().getAdapterId())) {
+						continue;
+					}
+					final long decodeStartTime = (queryMetrics != null) ? System.nanoTime() : 0;
 					encoding = DataStoreUtils.getEncoding(
 							index.getIndexModel(),
 							adapter,
@@ -371,7 +420,13 @@ public class MemoryDataStore implements
 					ok &= isAuthorized(
 							row,
 							queryOptions.getAuthorizations());
+					if (queryMetrics != null) {
+						queryMetrics.rowScanned(
+								ok,
+								System.nanoTime() - decodeStartTime);
+					}
 					if (ok) {
+						nextStoredRow = storedRow;
 						nextRow = row;
 						break;
 					}
@@ -386,28 +441,31 @@ public class MemoryDataStore implements
 
 			@Override
 			public T next() {
+				currentStoredRow = nextStoredRow;
 				currentRow = nextRow;
-				if (isDelete) {
-					final DataAdapter<T> adapter = (DataAdapter<T>) adapterStore.getAdapter(encoding.getAdapterId());
-					if (adapter instanceof WritableDataAdapter) {
-						callbackCache.getDeleteCallback(
-								(WritableDataAdapter<T>) adapter,
-								index).entryDeleted(
-								currentRow.getInfo(),
-								(T) currentRow.entry);
-					}
-				}
 				((ScanCallback<T>) queryOptions.getScanCallback()).entryScanned(
 						currentRow.getInfo(),
 						(T) currentRow.entry);
+				nextStoredRow = null;
 				nextRow = null;
 				return (T) currentRow.entry;
 			}
 
 			@Override
 			public void remove() {
-				if (currentRow != null) {
-					set.remove(currentRow);
+				if (currentRow == null) {
+					return;
+				}
+				// only the row that was read is removed, if it has since been
+				// replaced by a concurrent write the newer row is kept
+				if (indexRows.remove(
+						currentRow.getTableRowId(),
+						currentStoredRow) && isDelete && (adapter instanceof WritableDataAdapter)) {
+					callbackCache.getDeleteCallback(
+							(WritableDataAdapter<T>) adapter,
+							index).entryDeleted(
+							currentRow.getInfo(),
+							(T) currentRow.entry);
 				}
 			}
 
@@ -423,6 +481,166 @@ public class MemoryDataStore implements
 
 	}
 
+	/**
+	 * @return the query ranges of the index strategy as inclusive start and
+	 *         exclusive end row IDs, sorted and without overlaps, or a single
+	 *         unbounded range if the query is not constrained
+	 */
+	private static List<byte[][]> getScanRanges(
+			final PrimaryIndex index,
+			final Query query ) {
+		final List<byte[][]> fullScan = Collections.singletonList(new byte[][] {
+			null,
+			null
+		});
+		if ((query == null) || !query.isSupported(index)) {
+			return fullScan;
+		}
+		final List<MultiDimensionalNumericData> constraints = query.getIndexConstraints(index.getIndexStrategy());
+		if ((constraints == null) || constraints.isEmpty()) {
+			return fullScan;
+		}
+		final List<ByteArrayRange> ranges = new ArrayList<ByteArrayRange>();
+		for (final MultiDimensionalNumericData constraint : constraints) {
+			final List<ByteArrayRange> constraintRanges = index.getIndexStrategy().getQueryRanges(
+					constraint,
+					ConstraintsQuery.MAX_RANGE_DECOMPOSITION);
+			if (constraintRanges == null) {
+				// the index strategy is unable to decompose the constraints,
+				// the query filters are still applied to every row
+				return fullScan;
+			}
+			ranges.addAll(constraintRanges);
+		}
+		if (ranges.isEmpty()) {
+			// consistent with the other data stores, no ranges is unbounded
+			return fullScan;
+		}
+		final List<byte[][]> scanRanges = new ArrayList<byte[][]>(
+				ranges.size());
+		for (final ByteArrayRange range : ranges) {
+			// the end of a query range is inclusive of every row ID it
+			// prefixes
+			scanRanges.add(new byte[][] {
+				range.getStart().getBytes(),
+				getNextPrefix(range.getEnd().getBytes())
+			});
+		}
+		Collections.sort(
+				scanRanges,
+				new Comparator<byte[][]>() {
+					@Override
+					public int compare(
+							final byte[][] range1,
+							final byte[][] range2 ) {
+						return EntryRowID.compare(
+								range1[0],
+								range2[0]);
+					}
+				});
+		final List<byte[][]> mergedRanges = new ArrayList<byte[][]>(
+				scanRanges.size());
+		byte[][] current = scanRanges.get(0);
+		for (int i = 1; i < scanRanges.size(); i++) {
+			final byte[][] next = scanRanges.get(i);
+			if ((current[1] == null) || (EntryRowID.compare(
+					next[0],
+					current[1]) <= 0)) {
+				// overlapping or adjacent, extend the current range
+				if ((current[1] != null) && ((next[1] == null) || (EntryRowID.compare(
+						next[1],
+						current[1]) > 0))) {
+					current = new byte[][] {
+						current[0],
+						next[1]
+					};
+				}
+			}
+			else {
+				mergedRanges.add(current);
+				current = next;
+			}
+		}
+		mergedRanges.add(current);
+		return mergedRanges;
+	}
+
+	private static Iterator<StoredRow> getRowsInRanges(
+			final ConcurrentNavigableMap<EntryRowID, StoredRow> indexRows,
+			final List<byte[][]> scanRanges ) {
+		// the sub map views are not iterated until the preceding range is
+		// exhausted
+		final List<Iterator<StoredRow>> rowIterators = new ArrayList<Iterator<StoredRow>>(
+				scanRanges.size());
+		for (final byte[][] scanRange : scanRanges) {
+			final EntryRowID start = scanRange[0] == null ? null : toSeekKey(scanRange[0]);
+			final EntryRowID end = scanRange[1] == null ? null : toSeekKey(scanRange[1]);
+			if (start == null) {
+				rowIterators.add(end == null ? indexRows.values().iterator() : indexRows.headMap(
+						end).values().iterator());
+			}
+			else if (end == null) {
+				rowIterators.add(indexRows.tailMap(
+						start).values().iterator());
+			}
+			else {
+				rowIterators.add(indexRows.subMap(
+						start,
+						end).values().iterator());
+			}
+		}
+		return Iterators.concat(rowIterators.iterator());
+	}
+
+	/**
+	 * @return a row ID that sorts before every row with the given insertion ID
+	 *         (or any insertion ID it prefixes)
+	 */
+	private static EntryRowID toSeekKey(
+			final byte[] insertionId ) {
+		return new EntryRowID(
+				insertionId,
+				new byte[0],
+				new byte[0],
+				Integer.MIN_VALUE);
+	}
+
+	/**
+	 * @return the smallest row ID that is greater than every row ID with the
+	 *         given prefix, or null if there is none
+	 */
+	private static byte[] getNextPrefix(
+			final byte[] prefix ) {
+		int offset = prefix.length;
+		while (offset > 0) {
+			if (prefix[offset - 1] != (byte) 0xFF) {
+				break;
+			}
+			offset--;
+		}
+		if (offset == 0) {
+			return null;
+		}
+		final byte[] nextPrefix = Arrays.copyOf(
+				prefix,
+				offset);
+		nextPrefix[offset - 1]++;
+		return nextPrefix;
+	}
+
+	private static class StoredRow
+	{
+		private final EntryRow row;
+		private final long sequence;
+
+		private StoredRow(
+				final EntryRow row,
+				final long sequence ) {
+			this.row = row;
+			this.sequence = sequence;
+		}
+	}
+
 	private boolean isAuthorized(
 			final EntryRow row,
 			final String... authorizations ) {
@@ -1,14 +1,23 @@
 package mil.nga.giat.geowave.core.store.metadata;
 
+import java.io.IOException;
 import java.nio.charset.Charset;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.LinkedHashMap;
-import java.util.Map;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.log4j.Logger;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 import mil.nga.giat.geowave.core.index.ByteArrayId;
 import mil.nga.giat.geowave.core.index.Persistable;
+import mil.nga.giat.geowave.core.store.CloseableIterator;
 import mil.nga.giat.geowave.core.store.DataStoreOperations;
 
 /**
@@ -20,6 +29,16 @@ import mil.nga.giat.geowave.core.store.DataStoreOperations;
  * updates is not practical - it assumes the objects are not updated often or at
  * all. The objects are stored in their own table.
  *
+ * The cache is safe for concurrent lookups without a global lock. Its size, the
+ * time to live of cached objects and the time to live of cached misses (objects
+ * looked up that do not exist) can be configured per store with
+ * configureCache() or for every store with the system properties
+ * AbstractGeowavePersistence.cacheSize,
+ * AbstractGeowavePersistence.cacheTimeToLiveMillis and
+ * AbstractGeowavePersistence.negativeCacheTimeToLiveMillis. Misses are cached
+ * per set of authorizations, they are not cached by default because an object
+ * added by another process is not seen until a cached miss expires.
+ *
  * @param <T>
  *            The type of persistable object that this stores
  */
@@ -35,24 +54,143 @@ public abstract class AbstractGeowavePersistence<T extends Persistable>
 	public final static String METADATA_TABLE = "GEOWAVE_METADATA";
 	private final DataStoreOperations operations;
 
-	protected final Map<ByteArrayId, T> cache = Collections.synchronizedMap(new LinkedHashMap<ByteArrayId, T>(
-			MAX_ENTRIES + 1,
-			.75F,
-			true) {
-		private static final long serialVersionUID = 1L;
-
-		@Override
-		public boolean removeEldestEntry(
-				final Map.Entry<ByteArrayId, T> eldest ) {
-			return size() > MAX_ENTRIES;
-		}
-	});
+	private volatile Cache<ByteArrayId, T> cache;
+	private volatile Cache<MissingObjectKey, Boolean> missingObjectCache;
+	private final AtomicLong hitCount = new AtomicLong();
+	private final AtomicLong missCount = new AtomicLong();
+	private final AtomicLong loadCount = new AtomicLong();
+	private final AtomicLong totalLoadTimeNanos = new AtomicLong();
 
 	public AbstractGeowavePersistence(
 			final DataStoreOperations operations ) {
 		this.operations = operations;
+		configureCache(
+				getLongProperty(
+						"AbstractGeowavePersistence.cacheSize",
+						MAX_ENTRIES),
+				getLongProperty(
+						"AbstractGeowavePersistence.cacheTimeToLiveMillis",
+						0),
+				getLongProperty(
+						"AbstractGeowavePersistence.negativeCacheTimeToLiveMillis",
+						0));
+	}
+
+	private static long getLongProperty(
+			final String name,
+			final long defaultValue ) {
+		final String value = System.getProperty(name);
+		if (value != null) {
+			try {
+				return Long.parseLong(value.trim());
+			}
+			catch (final NumberFormatException e) {
+				LOGGER.warn(
+						"Unable to parse property " + name + ", using " + defaultValue,
+						e);
+			}
+		}
+		return defaultValue;
+	}
+
+	/**
+	 * Replaces the cache of this store, discarding any cached objects
+	 *
+	 * @param maxEntries
+	 *            the maximum number of objects cached
+	 * @param timeToLiveMillis
+	 *            how long an object is cached after it is loaded, if <= 0
+	 *            objects are only evicted when the cache is full
+	 * @param negativeTimeToLiveMillis
+	 *            how long a lookup of an object that does not exist is cached,
+	 *            if <= 0 misses are not cached
+	 */
+	public synchronized void configureCache(
+			final long maxEntries,
+			final long timeToLiveMillis,
+			final long negativeTimeToLiveMillis ) {
+		final CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder().maximumSize(
+				maxEntries);
+		if (timeToLiveMillis > 0) {
+			builder.expireAfterWrite(
+					timeToLiveMillis,
+					TimeUnit.MILLISECONDS);
+		}
+		cache = builder.build();
+		if (negativeTimeToLiveMillis > 0) {
+			missingObjectCache = CacheBuilder.newBuilder().maximumSize(
+					maxEntries).expireAfterWrite(
+					negativeTimeToLiveMillis,
+					TimeUnit.MILLISECONDS).build();
+		}
+		else {
+			missingObjectCache = null;
+		}
+	}
+
+	/**
+	 * Loads every object this store can read with the given authorizations into
+	 * the cache, so that subsequent lookups do not need to go to the data store
+	 */
+	public void preload(
+			final String... authorizations ) {
+		final long startTime = System.nanoTime();
+		int count = 0;
+		try (CloseableIterator<T> it = getObjects(authorizations)) {
+			while (it.hasNext()) {
+				// reading the object adds it to the cache
+				if (it.next() != null) {
+					count++;
+				}
+			}
+		}
+		catch (final IOException e) {
+			LOGGER.warn(
+					"Unable to preload " + getPersistenceTypeName() + " cache",
+					e);
+		}
+		recordCacheLoad(System.nanoTime() - startTime);
+		LOGGER.debug("Preloaded " + count + " objects into the " + getPersistenceTypeName() + " cache");
+	}
+
+	/**
+	 * @return the number of lookups answered by the cache, including cached
+	 *         misses
+	 */
+	public long getCacheHitCount() {
+		return hitCount.get();
+	}
+
+	/**
+	 * @return the number of lookups that had to go to the data store
+	 */
+	public long getCacheMissCount() {
+		return missCount.get();
+	}
+
+	/**
+	 * @return the number of times objects were loaded from the data store
+	 */
+	public long getCacheLoadCount() {
+		return loadCount.get();
 	}
 
+	/**
+	 * @return the total time spent loading objects from the data store
+	 */
+	public long getCacheTotalLoadTimeNanos() {
+		return totalLoadTimeNanos.get();
+	}
+
+	protected void recordCacheLoad(
+			final long loadTimeNanos ) {
+		loadCount.incrementAndGet();
+		totalLoadTimeNanos.addAndGet(loadTimeNanos);
+	}
+
+	abstract protected CloseableIterator<T> getObjects(
+			final String... authorizations );
+
 	abstract protected String getPersistenceTypeName();
 
 	protected ByteArrayId getSecondaryId(
@@ -70,7 +208,10 @@ public abstract class AbstractGeowavePersistence<T extends Persistable>
 	}
 
 	public void removeAll() {
-		cache.clear();
+		cache.invalidateAll();
+		if (missingObjectCache != null) {
+			missingObjectCache.invalidateAll();
+		}
 	}
 
 	protected ByteArrayId getCombinedId(
@@ -91,6 +232,10 @@ public abstract class AbstractGeowavePersistence<T extends Persistable>
 		final ByteArrayId combinedId = getCombinedId(
 				primaryId,
 				secondaryId);
+		removeMissingObjectFromCache(combinedId);
+		if (object == null) {
+			return;
+		}
 		cache.put(
 				combinedId,
 				object);
@@ -102,7 +247,11 @@ public abstract class AbstractGeowavePersistence<T extends Persistable>
 		final ByteArrayId combinedId = getCombinedId(
 				primaryId,
 				secondaryId);
-		return cache.get(combinedId);
+		final T object = cache.getIfPresent(combinedId);
+		if (object != null) {
+			hitCount.incrementAndGet();
+		}
+		return object;
 	}
 
 	protected boolean deleteObjectFromCache(
@@ -111,7 +260,106 @@ public abstract class AbstractGeowavePersistence<T extends Persistable>
 		final ByteArrayId combinedId = getCombinedId(
 				primaryId,
 				secondaryId);
-		return (cache.remove(combinedId) != null);
+		final boolean cached = cache.getIfPresent(combinedId) != null;
+		cache.invalidate(combinedId);
+		return cached;
+	}
+
+	/**
+	 * Record that an object does not exist in the data store for the given
+	 * authorizations, if misses are cached further lookups of it will not go to
+	 * the data store until the cached miss expires or the object is added
+	 */
+	protected void addMissingObjectToCache(
+			final ByteArrayId primaryId,
+			final ByteArrayId secondaryId,
+			final String... authorizations ) {
+		final Cache<MissingObjectKey, Boolean> missingObjects = missingObjectCache;
+		if (missingObjects != null) {
+			missingObjects.put(
+					new MissingObjectKey(
+							getCombinedId(
+									primaryId,
+									secondaryId),
+							authorizations),
+					Boolean.TRUE);
+		}
+	}
+
+	/**
+	 * @return true if the object is known not to exist for the given
+	 *         authorizations, otherwise the lookup is counted as a cache miss
+	 */
+	protected boolean isObjectMissingFromCache(
+			final ByteArrayId primaryId,
+			final ByteArrayId secondaryId,
+			final String... authorizations ) {
+		final Cache<MissingObjectKey, Boolean> missingObjects = missingObjectCache;
+		if ((missingObjects != null) && (missingObjects.getIfPresent(new MissingObjectKey(
+				getCombinedId(
+						primaryId,
+						secondaryId),
+				authorizations)) != null)) {
+			hitCount.incrementAndGet();
+			return true;
+		}
+		missCount.incrementAndGet();
+		return false;
+	}
+
+	protected void removeMissingObjectFromCache(
+			final ByteArrayId primaryId,
+			final ByteArrayId secondaryId ) {
+		removeMissingObjectFromCache(getCombinedId(
+				primaryId,
+				secondaryId));
+	}
+
+	private void removeMissingObjectFromCache(
+			final ByteArrayId combinedId ) {
+		final Cache<MissingObjectKey, Boolean> missingObjects = missingObjectCache;
+		if (missingObjects != null) {
+			// the object may have been cached as missing for several sets of
+			// authorizations
+			final Iterator<MissingObjectKey> it = missingObjects.asMap().keySet().iterator();
+			while (it.hasNext()) {
+				if (it.next().id.equals(combinedId)) {
+					it.remove();
+				}
+			}
+		}
+	}
+
+	private static class MissingObjectKey
+	{
+		private final ByteArrayId id;
+		private final Set<String> authorizations;
+
+		private MissingObjectKey(
+				final ByteArrayId id,
+				final String[] authorizations ) {
+			this.id = id;
+			this.authorizations = (authorizations == null) ? Collections.<String> emptySet() : new HashSet<String>(
+					Arrays.asList(authorizations));
+		}
+
+		@Override
+		public int hashCode() {
+			return (31 * id.hashCode()) + authorizations.hashCode();
+		}
+
+		@Override
+		public boolean equals(
+				final Object obj ) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof MissingObjectKey)) {
+				return false;
+			}
+			final MissingObjectKey other = (MissingObjectKey) obj;
+			return id.equals(other.id) && authorizations.equals(other.authorizations);
+		}
 	}
 
 	public void remove(
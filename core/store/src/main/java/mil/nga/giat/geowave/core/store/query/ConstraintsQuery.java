@@ -11,6 +11,7 @@ import mil.nga.giat.geowave.core.index.IndexMetaData;
 import mil.nga.giat.geowave.core.index.sfc.data.MultiDimensionalNumericData;
 import mil.nga.giat.geowave.core.store.adapter.DataAdapter;
 import mil.nga.giat.geowave.core.store.adapter.statistics.DuplicateEntryCount;
+import mil.nga.giat.geowave.core.store.adapter.statistics.RowRangeHistogramStatistics;
 import mil.nga.giat.geowave.core.store.filter.DedupeFilter;
 import mil.nga.giat.geowave.core.store.filter.DistributableQueryFilter;
 import mil.nga.giat.geowave.core.store.filter.QueryFilter;
@@ -21,6 +22,7 @@ import mil.nga.giat.geowave.core.store.query.aggregate.Aggregation;
 public class ConstraintsQuery
 {
 	public static final int MAX_RANGE_DECOMPOSITION = 5000;
+	public static final int DEFAULT_MAX_SCAN_RANGES = 1000;
 
 	public final Pair<DataAdapter<?>, Aggregation<?, ?, ?>> aggregation;
 	public final List<MultiDimensionalNumericData> constraints;
@@ -28,6 +30,8 @@ public class ConstraintsQuery
 
 	private final IndexMetaData[] indexMetaData;
 	private final PrimaryIndex index;
+	private final RowRangeHistogramStatistics<?> rangeStatistics;
+	private int maxScanRanges = DEFAULT_MAX_SCAN_RANGES;
 
 	public ConstraintsQuery(
 			final List<MultiDimensionalNumericData> constraints,
@@ -37,11 +41,13 @@ public class ConstraintsQuery
 			final List<QueryFilter> queryFilters,
 			DedupeFilter clientDedupeFilter,
 			final DuplicateEntryCount duplicateCounts,
+			final RowRangeHistogramStatistics<?> rangeStatistics,
 			final FilteredIndexQuery parentQuery ) {
 		this.constraints = constraints;
 		this.aggregation = aggregation;
 		this.indexMetaData = indexMetaData != null ? indexMetaData : new IndexMetaData[] {};
 		this.index = index;
+		this.rangeStatistics = rangeStatistics;
 		final SplitFilterLists lists = splitList(queryFilters);
 		final List<QueryFilter> clientFilters = lists.clientFilters;
 		if ((duplicateCounts != null) && !duplicateCounts.isAnyEntryHaveDuplicates()) {
@@ -64,6 +70,16 @@ public class ConstraintsQuery
 		}
 	}
 
+	/**
+	 * @param maxScanRanges
+	 *            the maximum number of ranges to scan, if <= 0 the number of
+	 *            ranges is not bounded
+	 */
+	public void setMaxScanRanges(
+			final int maxScanRanges ) {
+		this.maxScanRanges = maxScanRanges;
+	}
+
 	public boolean isAggregation() {
 		return ((aggregation != null) && (aggregation.getLeft() != null) && (aggregation.getRight() != null));
 	}
@@ -98,11 +114,16 @@ public class ConstraintsQuery
 			return retVal;
 		}
 		else {
-			return DataStoreUtils.constraintsToByteArrayRanges(
+			// rather than relying solely on the space filling curve
+			// decomposition to limit the number of ranges, coalesce the ranges
+			// where the row range histogram estimates the least over-read
+			return new RangeCoalescer(
+					maxScanRanges,
+					rangeStatistics).coalesce(DataStoreUtils.constraintsToByteArrayRanges(
 					constraints,
 					index.getIndexStrategy(),
 					MAX_RANGE_DECOMPOSITION,
-					indexMetaData);
+					indexMetaData));
 		}
 	}
 
@@ -0,0 +1,223 @@
+package mil.nga.giat.geowave.core.store.query;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects plan and execution metrics for a single query. Attach an instance to
+ * the QueryOptions of a query and the data store, the query and the client side
+ * filtering report into it as the results are read. Once the results are closed
+ * the metrics are added to the totals of the {@link QueryMetricsRegistry} and
+ * {@link #explain()} summarizes where the time went.
+ *
+ * Every metric is a counter, so collecting them costs a few atomic increments
+ * per row and is cheap enough to leave on.
+ */
+public class QueryMetrics
+{
+	private final AtomicLong subQueryCount = new AtomicLong();
+	private final AtomicLong rangeCount = new AtomicLong();
+	private final AtomicLong rangeDecompositionNanos = new AtomicLong();
+	private final AtomicLong rowsScanned = new AtomicLong();
+	private final AtomicLong rowsFiltered = new AtomicLong();
+	private final AtomicLong duplicatesRemoved = new AtomicLong();
+	private final AtomicLong rowsReturned = new AtomicLong();
+	private final AtomicLong decodeNanos = new AtomicLong();
+	private volatile long dedupeMemoryBytes = 0;
+	private volatile double dedupeFalsePositiveProbability = 0;
+	private final AtomicBoolean finished = new AtomicBoolean(
+			false);
+	private volatile long startNanos = System.nanoTime();
+	private volatile long elapsedNanos = -1;
+
+	public void queryStarted() {
+		startNanos = System.nanoTime();
+	}
+
+	/**
+	 * Records the elapsed time of the query and publishes the metrics to the
+	 * registry, only the first call has any effect
+	 */
+	public void queryFinished() {
+		if (finished.compareAndSet(
+				false,
+				true)) {
+			elapsedNanos = System.nanoTime() - startNanos;
+			QueryMetricsRegistry.getInstance().record(
+					this);
+		}
+	}
+
+	public void subQueriesStarted(
+			final int count ) {
+		subQueryCount.addAndGet(count);
+	}
+
+	/**
+	 * @param ranges
+	 *            the number of ranges the query was decomposed into
+	 * @param nanos
+	 *            the time taken to decompose the query
+	 */
+	public void rangesDecomposed(
+			final int ranges,
+			final long nanos ) {
+		rangeCount.addAndGet(ranges);
+		rangeDecompositionNanos.addAndGet(nanos);
+	}
+
+	/**
+	 * @param accepted
+	 *            false if the row was rejected by the client side filters
+	 * @param nanos
+	 *            the time taken to decode and filter the row
+	 */
+	public void rowScanned(
+			final boolean accepted,
+			final long nanos ) {
+		rowsScanned.incrementAndGet();
+		if (!accepted) {
+			rowsFiltered.incrementAndGet();
+		}
+		decodeNanos.addAndGet(nanos);
+	}
+
+	public void duplicateRemoved() {
+		duplicatesRemoved.incrementAndGet();
+	}
+
+	public void rowReturned() {
+		rowsReturned.incrementAndGet();
+	}
+
+	/**
+	 * @param memoryBytes
+	 *            the number of bytes the client side de-duplication used to
+	 *            track visited entries
+	 * @param falsePositiveProbability
+	 *            the probability that the de-duplication rejected an entry that
+	 *            had not been visited
+	 */
+	public void deduplicationFinished(
+			final long memoryBytes,
+			final double falsePositiveProbability ) {
+		dedupeMemoryBytes = memoryBytes;
+		dedupeFalsePositiveProbability = falsePositiveProbability;
+	}
+
+	public long getSubQueryCount() {
+		return subQueryCount.get();
+	}
+
+	public long getRangeCount() {
+		return rangeCount.get();
+	}
+
+	public long getRangeDecompositionNanos() {
+		return rangeDecompositionNanos.get();
+	}
+
+	/**
+	 * @return the number of rows read from the data store, after any server
+	 *         side filtering
+	 */
+	public long getRowsScanned() {
+		return rowsScanned.get();
+	}
+
+	/**
+	 * @return the number of scanned rows rejected by the client side filters,
+	 *         including duplicates
+	 */
+	public long getRowsFiltered() {
+		return rowsFiltered.get();
+	}
+
+	public long getDuplicatesRemoved() {
+		return duplicatesRemoved.get();
+	}
+
+	public long getRowsReturned() {
+		return rowsReturned.get();
+	}
+
+	/**
+	 * @return the number of bytes used to track visited entries for
+	 *         de-duplication, once the results are closed
+	 */
+	public long getDedupeMemoryBytes() {
+		return dedupeMemoryBytes;
+	}
+
+	/**
+	 * @return the probability that an entry was wrongly rejected as a
+	 *         duplicate, once the results are closed
+	 */
+	public double getDedupeFalsePositiveProbability() {
+		return dedupeFalsePositiveProbability;
+	}
+
+	public long getDecodeNanos() {
+		return decodeNanos.get();
+	}
+
+	/**
+	 * @return the time from the start of the query until its results were
+	 *         closed, or until now if they are still open
+	 */
+	public long getElapsedNanos() {
+		final long elapsed = elapsedNanos;
+		return (elapsed >= 0) ? elapsed : System.nanoTime() - startNanos;
+	}
+
+	/**
+	 * @return a summary of the plan and execution of the query
+	 */
+	public String explain() {
+		final StringBuilder builder = new StringBuilder();
+		builder.append(
+				"query: ").append(
+				toMillis(getElapsedNanos())).append(
+				" ms elapsed, ").append(
+				getSubQueryCount()).append(
+				" sub-queries\n");
+		builder.append(
+				"  plan: ").append(
+				getRangeCount()).append(
+				" ranges decomposed in ").append(
+				toMillis(getRangeDecompositionNanos())).append(
+				" ms\n");
+		builder.append(
+				"  scan: ").append(
+				getRowsScanned()).append(
+				" rows scanned, ").append(
+				getRowsFiltered()).append(
+				" rejected client side (").append(
+				getDuplicatesRemoved()).append(
+				" duplicates), ").append(
+				getRowsReturned()).append(
+				" returned\n");
+		builder.append(
+				"  dedupe: ").append(
+				getDedupeMemoryBytes()).append(
+				" bytes tracking visited entries, ").append(
+				getDedupeFalsePositiveProbability()).append(
+				" false positive probability\n");
+		builder.append(
+				"  decode: ").append(
+				toMillis(getDecodeNanos())).append(
+				" ms decoding and filtering rows");
+		return builder.toString();
+	}
+
+	private static double toMillis(
+			final long nanos ) {
+		return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+	}
+
+	@Override
+	public String toString() {
+		return explain();
+	}
+}
@@ -0,0 +1,137 @@
+package mil.nga.giat.geowave.core.store.query;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.log4j.Logger;
+
+/**
+ * Keeps running totals of the metrics of every finished query that collected
+ * {@link QueryMetrics}, and publishes them as the JMX MBean
+ * mil.nga.giat.geowave:type=QueryMetrics.
+ */
+public class QueryMetricsRegistry implements
+		QueryMetricsRegistryMBean
+{
+	private final static Logger LOGGER = Logger.getLogger(QueryMetricsRegistry.class);
+	public static final String OBJECT_NAME = "mil.nga.giat.geowave:type=QueryMetrics";
+	private static final QueryMetricsRegistry INSTANCE = new QueryMetricsRegistry();
+
+	static {
+		try {
+			final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			final ObjectName name = new ObjectName(
+					OBJECT_NAME);
+			if (!server.isRegistered(name)) {
+				server.registerMBean(
+						INSTANCE,
+						name);
+			}
+		}
+		catch (final JMException e) {
+			LOGGER.warn(
+					"Unable to register query metrics with JMX",
+					e);
+		}
+	}
+
+	private final AtomicLong queryCount = new AtomicLong();
+	private final AtomicLong subQueryCount = new AtomicLong();
+	private final AtomicLong rangeCount = new AtomicLong();
+	private final AtomicLong rangeDecompositionNanos = new AtomicLong();
+	private final AtomicLong rowsScanned = new AtomicLong();
+	private final AtomicLong rowsFiltered = new AtomicLong();
+	private final AtomicLong duplicatesRemoved = new AtomicLong();
+	private final AtomicLong rowsReturned = new AtomicLong();
+	private final AtomicLong decodeNanos = new AtomicLong();
+	private final AtomicLong queryNanos = new AtomicLong();
+
+	protected QueryMetricsRegistry() {}
+
+	public static QueryMetricsRegistry getInstance() {
+		return INSTANCE;
+	}
+
+	public void record(
+			final QueryMetrics metrics ) {
+		queryCount.incrementAndGet();
+		subQueryCount.addAndGet(metrics.getSubQueryCount());
+		rangeCount.addAndGet(metrics.getRangeCount());
+		rangeDecompositionNanos.addAndGet(metrics.getRangeDecompositionNanos());
+		rowsScanned.addAndGet(metrics.getRowsScanned());
+		rowsFiltered.addAndGet(metrics.getRowsFiltered());
+		duplicatesRemoved.addAndGet(metrics.getDuplicatesRemoved());
+		rowsReturned.addAndGet(metrics.getRowsReturned());
+		decodeNanos.addAndGet(metrics.getDecodeNanos());
+		queryNanos.addAndGet(metrics.getElapsedNanos());
+	}
+
+	@Override
+	public long getQueryCount() {
+		return queryCount.get();
+	}
+
+	@Override
+	public long getSubQueryCount() {
+		return subQueryCount.get();
+	}
+
+	@Override
+	public long getRangeCount() {
+		return rangeCount.get();
+	}
+
+	@Override
+	public long getRangeDecompositionTimeMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(rangeDecompositionNanos.get());
+	}
+
+	@Override
+	public long getRowsScanned() {
+		return rowsScanned.get();
+	}
+
+	@Override
+	public long getRowsFiltered() {
+		return rowsFiltered.get();
+	}
+
+	@Override
+	public long getDuplicatesRemoved() {
+		return duplicatesRemoved.get();
+	}
+
+	@Override
+	public long getRowsReturned() {
+		return rowsReturned.get();
+	}
+
+	@Override
+	public long getDecodeTimeMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(decodeNanos.get());
+	}
+
+	@Override
+	public long getQueryTimeMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(queryNanos.get());
+	}
+
+	@Override
+	public void reset() {
+		queryCount.set(0);
+		subQueryCount.set(0);
+		rangeCount.set(0);
+		rangeDecompositionNanos.set(0);
+		rowsScanned.set(0);
+		rowsFiltered.set(0);
+		duplicatesRemoved.set(0);
+		rowsReturned.set(0);
+		decodeNanos.set(0);
+		queryNanos.set(0);
+	}
+}
@@ -0,0 +1,29 @@
+package mil.nga.giat.geowave.core.store.query;
+
+/**
+ * The totals of the query metrics published through JMX
+ */
+public interface QueryMetricsRegistryMBean
+{
+	public long getQueryCount();
+
+	public long getSubQueryCount();
+
+	public long getRangeCount();
+
+	public long getRangeDecompositionTimeMillis();
+
+	public long getRowsScanned();
+
+	public long getRowsFiltered();
+
+	public long getDuplicatesRemoved();
+
+	public long getRowsReturned();
+
+	public long getDecodeTimeMillis();
+
+	public long getQueryTimeMillis();
+
+	public void reset();
+}
@@ -66,6 +66,8 @@ public class QueryOptions implements
 	 */
 	private static final long serialVersionUID = 544085046847603371L;
 
+	public static final int DEFAULT_SUB_QUERY_QUEUE_SIZE = 1000;
+
 	private static ScanCallback<Object> DEFAULT_CALLBACK = new ScanCallback<Object>() {
 		@Override
 		public void entryScanned(
@@ -90,6 +92,14 @@ public class QueryOptions implements
 	private transient ScanCallback<?> scanCallback = DEFAULT_CALLBACK;
 	private String[] authorizations = new String[0];
 	private Pair<List<String>, DataAdapter<?>> fieldIdsAdapterPair;
+	private int maxParallelSubQueries = 1;
+	private int subQueryQueueSize = DEFAULT_SUB_QUERY_QUEUE_SIZE;
+	private long maxDedupeMemoryBytes = -1;
+	private int maxScanRanges = ConstraintsQuery.DEFAULT_MAX_SCAN_RANGES;
+	@edu.umd.cs.findbugs.annotations.SuppressFBWarnings(value = {
+		"SE_TRANSIENT_FIELD_NOT_RESTORED"
+	})
+	private transient QueryMetrics queryMetrics = null;
 
 	public QueryOptions(
 			final ByteArrayId adapterId,
@@ -148,6 +158,11 @@ public class QueryOptions implements
 		adapters = options.adapters;
 		index = options.index;
 		aggregationAdapterPair = options.aggregationAdapterPair;
+		maxParallelSubQueries = options.maxParallelSubQueries;
+		subQueryQueueSize = options.subQueryQueueSize;
+		maxDedupeMemoryBytes = options.maxDedupeMemoryBytes;
+		maxScanRanges = options.maxScanRanges;
+		queryMetrics = options.queryMetrics;
 	}
 
 	/**
@@ -303,6 +318,114 @@ public class QueryOptions implements
 		this.limit = limit;
 	}
 
+	/**
+	 * 
+	 * @return the maximum number of sub-queries (one per index and adapter
+	 *         combination) that are consumed concurrently
+	 */
+	public int getMaxParallelSubQueries() {
+		return maxParallelSubQueries;
+	}
+
+	/**
+	 * A value > 1 consumes the sub-queries of a query that spans several
+	 * indices or adapters concurrently, the results are returned in no
+	 * particular order and the limit applies to the total number of results.
+	 * Any scan callback must then be thread-safe. This is a client-side option
+	 * and is not persisted.
+	 * 
+	 * @param maxParallelSubQueries
+	 *            a value <= 1 consumes the sub-queries one after another
+	 */
+	public void setMaxParallelSubQueries(
+			final int maxParallelSubQueries ) {
+		this.maxParallelSubQueries = maxParallelSubQueries;
+	}
+
+	/**
+	 * 
+	 * @return the maximum number of results buffered ahead of the consumer when
+	 *         sub-queries are consumed concurrently
+	 */
+	public int getSubQueryQueueSize() {
+		return subQueryQueueSize;
+	}
+
+	public void setSubQueryQueueSize(
+			final int subQueryQueueSize ) {
+		this.subQueryQueueSize = subQueryQueueSize;
+	}
+
+	/**
+	 * 
+	 * @return the maximum number of bytes the client uses to de-duplicate
+	 *         results, a value <= 0 indicates no limit
+	 */
+	public long getMaxDedupeMemoryBytes() {
+		return maxDedupeMemoryBytes;
+	}
+
+	/**
+	 * Bound the memory used to de-duplicate the results of a query. Once the
+	 * visited entries outgrow the budget de-duplication becomes approximate and
+	 * an entry may occasionally be dropped as a duplicate when it is not, the
+	 * DedupeFilter reports the probability of this. This is a client-side
+	 * option and is not persisted.
+	 * 
+	 * @param maxDedupeMemoryBytes
+	 *            a value <= 0 keeps every visited data ID
+	 */
+	public void setMaxDedupeMemoryBytes(
+			final long maxDedupeMemoryBytes ) {
+		this.maxDedupeMemoryBytes = maxDedupeMemoryBytes;
+	}
+
+	/**
+	 * 
+	 * @return the maximum number of ranges a constraints query scans for each
+	 *         index, a value <= 0 indicates no limit
+	 */
+	public int getMaxScanRanges() {
+		return maxScanRanges;
+	}
+
+	/**
+	 * Bound the number of ranges the data store scans for a constraints query.
+	 * The ranges are coalesced where the row range histogram estimates the
+	 * fewest rows are over-read, so fewer ranges trade reading extra rows for
+	 * fewer seeks. This is a client-side option and is not persisted.
+	 * 
+	 * @param maxScanRanges
+	 *            a value <= 0 only merges overlapping and empty gaps between
+	 *            ranges
+	 */
+	public void setMaxScanRanges(
+			final int maxScanRanges ) {
+		this.maxScanRanges = maxScanRanges;
+	}
+
+	/**
+	 * 
+	 * @return the metrics collected for the query, or null if none are
+	 *         collected
+	 */
+	public QueryMetrics getQueryMetrics() {
+		return queryMetrics;
+	}
+
+	/**
+	 * Collect plan and execution metrics for the query into the given instance,
+	 * use an instance per query. This is a client-side option and is not
+	 * persisted.
+	 * 
+	 * @param queryMetrics
+	 *            null to collect no metrics
+	 */
+	public void setQueryMetrics(
+			final QueryMetrics queryMetrics ) {
+		this.queryMetrics = queryMetrics;
+	}
+
 	public boolean isAllAdapters() {
 		return ((adapterIds == null) || adapterIds.isEmpty());
 	}
@@ -0,0 +1,137 @@
+package mil.nga.giat.geowave.core.store.query;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import mil.nga.giat.geowave.core.index.ByteArrayRange;
+import mil.nga.giat.geowave.core.index.ByteArrayRange.MergeOperation;
+import mil.nga.giat.geowave.core.store.adapter.statistics.RowRangeHistogramStatistics;
+
+/**
+ * This coalesces the ranges of a query so that the data store scans a bounded
+ * number of ranges. Overlapping ranges are always merged, gaps between ranges
+ * that are estimated to contain no rows are merged for free, and then the
+ * cheapest remaining gaps are merged until there are at most the maximum number
+ * of ranges. The cost of a gap is the number of rows that merging it would
+ * over-read as estimated by the row range histogram, or if there are no
+ * statistics the distance between the row IDs on either side of the gap.
+ *
+ */
+public class RangeCoalescer
+{
+	/**
+	 * gaps estimated to have fewer rows than this are merged regardless of the
+	 * number of ranges
+	 */
+	private static final double EMPTY_GAP_ROWS = 1.0;
+
+	private final int maxRanges;
+	private final RowRangeHistogramStatistics<?> rangeStatistics;
+
+	/**
+	 * @param maxRanges
+	 *            the maximum number of ranges to return, if <= 0 the number of
+	 *            ranges is not bounded
+	 * @param rangeStatistics
+	 *            the row range histogram for the index, can be null
+	 */
+	public RangeCoalescer(
+			final int maxRanges,
+			final RowRangeHistogramStatistics<?> rangeStatistics ) {
+		this.maxRanges = maxRanges;
+		this.rangeStatistics = rangeStatistics;
+	}
+
+	public List<ByteArrayRange> coalesce(
+			final List<ByteArrayRange> ranges ) {
+		if ((ranges == null) || (ranges.size() < 2)) {
+			return ranges;
+		}
+		final List<ByteArrayRange> sortedRanges = ByteArrayRange.mergeIntersections(
+				new ArrayList<ByteArrayRange>(
+						ranges),
+				MergeOperation.UNION);
+		final int gapCount = sortedRanges.size() - 1;
+		final boolean bounded = (maxRanges > 0) && (sortedRanges.size() > maxRanges);
+		if (!bounded && (rangeStatistics == null)) {
+			return sortedRanges;
+		}
+		final double[] gapCosts = new double[gapCount];
+		final Integer[] gapsByCost = new Integer[gapCount];
+		for (int i = 0; i < gapCount; i++) {
+			gapCosts[i] = getGapCost(
+					sortedRanges.get(i),
+					sortedRanges.get(i + 1));
+			gapsByCost[i] = i;
+		}
+		Arrays.sort(
+				gapsByCost,
+				new Comparator<Integer>() {
+					@Override
+					public int compare(
+							final Integer gap1,
+							final Integer gap2 ) {
+						return Double.compare(
+								gapCosts[gap1],
+								gapCosts[gap2]);
+					}
+				});
+		// merge the cheapest gaps first, always merging those that are
+		// estimated to be empty
+		final boolean[] mergeGap = new boolean[gapCount];
+		final int requiredMerges = bounded ? sortedRanges.size() - maxRanges : 0;
+		for (int i = 0; i < gapCount; i++) {
+			final int gap = gapsByCost[i];
+			if ((i < requiredMerges) || ((rangeStatistics != null) && (gapCosts[gap] < EMPTY_GAP_ROWS))) {
+				mergeGap[gap] = true;
+			}
+			else {
+				break;
+			}
+		}
+		final List<ByteArrayRange> retVal = new ArrayList<ByteArrayRange>();
+		ByteArrayRange current = sortedRanges.get(0);
+		for (int i = 0; i < gapCount; i++) {
+			final ByteArrayRange next = sortedRanges.get(i + 1);
+			if (mergeGap[i]) {
+				current = new ByteArrayRange(
+						current.getStart(),
+						next.getEnd());
+			}
+			else {
+				retVal.add(current);
+				current = next;
+			}
+		}
+		retVal.add(current);
+		return retVal;
+	}
+
+	private double getGapCost(
+			final ByteArrayRange range,
+			final ByteArrayRange nextRange ) {
+		if (rangeStatistics != null) {
+			return Math.max(
+					0,
+					rangeStatistics.cardinality(
+							range.getEnd().getBytes(),
+							nextRange.getStart().getBytes()));
+		}
+		return toUnsignedDouble(nextRange.getStart().getBytes()) - toUnsignedDouble(range.getEnd().getBytes());
+	}
+
+	/**
+	 * treat the first 8 bytes of a row ID as an unsigned number so that the
+	 * distance between row IDs preserves their lexicographic order
+	 */
+	private static double toUnsignedDouble(
+			final byte[] bytes ) {
+		double value = 0;
+		for (int i = 0; i < 8; i++) {
+			value = (value * 256) + (i < bytes.length ? (bytes[i] & 0xFF) : 0);
+		}
+		return value;
+	}
+}
@@ -3,19 +3,27 @@ package mil.nga.giat.geowave.core.store.query.aggregate;
 import mil.nga.giat.geowave.core.index.PersistenceUtils;
 import mil.nga.giat.geowave.core.store.adapter.statistics.DataStatistics;
 
+/**
+ * Computes any data statistic over the results of a query. The statistic given
+ * as the parameters is used as the empty starting point of the result, so that
+ * the aggregation can be recreated by class name and run server side.
+ *
+ * @param <T>
+ *            The type of the entries aggregated
+ */
 public class DataStatisticsAggregation<T> implements
 		Aggregation<DataStatistics<T>, DataStatistics<T>, T>
 {
 	private DataStatistics<T> statisticsParam;
 
 	private DataStatistics<T> statisticsResult;
-	private final byte[] defaultResultBinary;
+	private byte[] defaultResultBinary;
+
+	protected DataStatisticsAggregation() {}
 
 	public DataStatisticsAggregation(
 			final DataStatistics<T> statistics ) {
-		this.statisticsResult = statistics;
-		this.defaultResultBinary = PersistenceUtils.toBinary(statisticsResult);
-		this.statisticsParam = statistics;
+		setParameters(statistics);
 	}
 
 	@Override
@@ -35,6 +43,8 @@ public class DataStatisticsAggregation<T> implements
 	public void setParameters(
 			final DataStatistics<T> parameters ) {
 		this.statisticsParam = parameters;
+		this.defaultResultBinary = PersistenceUtils.toBinary(parameters);
+		clearResult();
 	}
 
 	@Override
@@ -7,6 +7,7 @@ import mil.nga.giat.geowave.core.store.ScanCallback;
 import mil.nga.giat.geowave.core.store.adapter.AdapterStore;
 import mil.nga.giat.geowave.core.store.filter.QueryFilter;
 import mil.nga.giat.geowave.core.store.index.PrimaryIndex;
+import mil.nga.giat.geowave.core.store.query.QueryMetrics;
 
 /**
  * This is used internally to translate DataStore rows into native objects
@@ -26,6 +27,7 @@ public abstract class EntryIteratorWrapper<T> implements
 	private final QueryFilter clientFilter;
 	protected final ScanCallback<T> scanCallback;
 	private final boolean wholeRowEncoding;
+	private QueryMetrics queryMetrics = null;
 
 	private T nextValue;
 
@@ -47,11 +49,17 @@ public abstract class EntryIteratorWrapper<T> implements
 	private void findNext() {
 		while ((nextValue == null) && scannerIt.hasNext()) {
 			final Object row = scannerIt.next();
+			final long startTime = (queryMetrics != null) ? System.nanoTime() : 0;
 			final T decodedValue = decodeRow(
 					row,
 					clientFilter,
 					index,
 					wholeRowEncoding);
+			if (queryMetrics != null) {
+				queryMetrics.rowScanned(
+						decodedValue != null,
+						System.nanoTime() - startTime);
+			}
 			if (decodedValue != null) {
 				nextValue = decodedValue;
 				return;
@@ -59,6 +67,16 @@ public abstract class EntryIteratorWrapper<T> implements
 		}
 	}
 
+	/**
+	 * 
+	 * @param queryMetrics
+	 *            the metrics to count the scanned rows and decode time in
+	 */
+	public void setQueryMetrics(
+			final QueryMetrics queryMetrics ) {
+		this.queryMetrics = queryMetrics;
+	}
+
 	protected abstract T decodeRow(
 			final Object row,
 			final QueryFilter clientFilter,
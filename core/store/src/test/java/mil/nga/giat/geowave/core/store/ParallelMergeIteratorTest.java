@@ -0,0 +1,142 @@
+package mil.nga.giat.geowave.core.store;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class ParallelMergeIteratorTest
+{
+	@Test
+	public void testMergesAllResults()
+			throws IOException {
+		final AtomicInteger closeCount = new AtomicInteger();
+		final List<CloseableIterator<Integer>> iterators = new ArrayList<CloseableIterator<Integer>>();
+		for (int i = 0; i < 5; i++) {
+			iterators.add(createIterator(
+					i * 1000,
+					1000,
+					closeCount));
+		}
+		final Set<Integer> results = new HashSet<Integer>();
+		try (final CloseableIterator<Integer> it = new ParallelMergeIterator<Integer>(
+				iterators,
+				3,
+				10,
+				-1)) {
+			while (it.hasNext()) {
+				assertTrue(results.add(it.next()));
+			}
+		}
+		assertEquals(
+				5000,
+				results.size());
+		assertEquals(
+				5,
+				closeCount.get());
+	}
+
+	@Test
+	public void testLimit()
+			throws IOException {
+		final AtomicInteger closeCount = new AtomicInteger();
+		final List<CloseableIterator<Integer>> iterators = new ArrayList<CloseableIterator<Integer>>();
+		for (int i = 0; i < 4; i++) {
+			iterators.add(createIterator(
+					i * 1000,
+					1000,
+					closeCount));
+		}
+		int count = 0;
+		try (final CloseableIterator<Integer> it = new ParallelMergeIterator<Integer>(
+				iterators,
+				4,
+				2,
+				25)) {
+			while (it.hasNext()) {
+				it.next();
+				count++;
+			}
+			assertFalse(it.hasNext());
+		}
+		assertEquals(
+				25,
+				count);
+		assertEquals(
+				4,
+				closeCount.get());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testProducerFailure()
+			throws IOException {
+		final List<CloseableIterator<Integer>> iterators = new ArrayList<CloseableIterator<Integer>>();
+		iterators.add(createIterator(
+				0,
+				10,
+				new AtomicInteger()));
+		iterators.add(new CloseableIterator.Wrapper<Integer>(
+				new FailingIterator()));
+		try (final CloseableIterator<Integer> it = new ParallelMergeIterator<Integer>(
+				iterators,
+				2,
+				10,
+				-1)) {
+			while (it.hasNext()) {
+				it.next();
+			}
+		}
+	}
+
+	private static CloseableIterator<Integer> createIterator(
+			final int start,
+			final int count,
+			final AtomicInteger closeCount ) {
+		final List<Integer> values = new ArrayList<Integer>();
+		for (int i = start; i < (start + count); i++) {
+			values.add(i);
+		}
+		return new CloseableIteratorWrapper<Integer>(
+				new Closeable() {
+					boolean closed = false;
+
+					@Override
+					public void close()
+							throws IOException {
+						if (!closed) {
+							closed = true;
+							closeCount.incrementAndGet();
+						}
+					}
+				},
+				values.iterator());
+	}
+
+	private static class FailingIterator implements
+			Iterator<Integer>
+	{
+		@Override
+		public boolean hasNext() {
+			return true;
+		}
+
+		@Override
+		public Integer next() {
+			throw new IllegalArgumentException(
+					"failed to read");
+		}
+
+		@Override
+		public void remove() {}
+	}
+}
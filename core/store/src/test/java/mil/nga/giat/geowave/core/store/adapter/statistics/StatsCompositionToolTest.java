@@ -0,0 +1,174 @@
+package mil.nga.giat.geowave.core.store.adapter.statistics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import mil.nga.giat.geowave.core.index.ByteArrayId;
+import mil.nga.giat.geowave.core.index.StringUtils;
+import mil.nga.giat.geowave.core.store.DataStoreEntryInfo;
+import mil.nga.giat.geowave.core.store.DataStoreEntryInfo.FieldInfo;
+import mil.nga.giat.geowave.core.store.EntryVisibilityHandler;
+import mil.nga.giat.geowave.core.store.memory.MemoryDataStatisticsStore;
+
+public class StatsCompositionToolTest
+{
+	private static final ByteArrayId ADAPTER_ID = new ByteArrayId(
+			"adapter");
+
+	@Test
+	public void testConcurrentIngest()
+			throws InterruptedException {
+		final MemoryDataStatisticsStore statisticsStore = new MemoryDataStatisticsStore();
+		final StatsCompositionTool<Integer> tool = new StatsCompositionTool<Integer>(
+				new CountProvider(),
+				statisticsStore);
+		final int threadCount = 4;
+		final int entriesPerThread = 10000;
+		final DataStoreEntryInfo entryInfo = new DataStoreEntryInfo(
+				StringUtils.stringToBinary("id"),
+				Collections.<ByteArrayId> emptyList(),
+				Collections.<ByteArrayId> emptyList(),
+				Collections.<FieldInfo<?>> emptyList());
+		final List<Thread> threads = new ArrayList<Thread>();
+		for (int t = 0; t < threadCount; t++) {
+			threads.add(new Thread(
+					new Runnable() {
+						@Override
+						public void run() {
+							for (int i = 0; i < entriesPerThread; i++) {
+								tool.entryIngested(
+										entryInfo,
+										i);
+							}
+						}
+					}));
+		}
+		for (final Thread thread : threads) {
+			thread.start();
+		}
+		for (final Thread thread : threads) {
+			thread.join();
+		}
+		tool.flush();
+		assertEquals(
+				threadCount * entriesPerThread,
+				((CountDataStatistics<?>) statisticsStore.getDataStatistics(
+						ADAPTER_ID,
+						CountDataStatistics.STATS_ID)).getCount());
+
+		// statistics already flushed are not incorporated again
+		tool.entryIngested(
+				entryInfo,
+				1);
+		tool.close();
+		assertEquals(
+				(threadCount * entriesPerThread) + 1,
+				((CountDataStatistics<?>) statisticsStore.getDataStatistics(
+						ADAPTER_ID,
+						CountDataStatistics.STATS_ID)).getCount());
+	}
+
+	@Test
+	public void testFlushDuringIngest()
+			throws InterruptedException {
+		final MemoryDataStatisticsStore statisticsStore = new MemoryDataStatisticsStore();
+		final StatsCompositionTool<Integer> tool = new StatsCompositionTool<Integer>(
+				new CountProvider(),
+				statisticsStore);
+		final int threadCount = 4;
+		final int entriesPerThread = 20000;
+		final DataStoreEntryInfo entryInfo = new DataStoreEntryInfo(
+				StringUtils.stringToBinary("id"),
+				Collections.<ByteArrayId> emptyList(),
+				Collections.<ByteArrayId> emptyList(),
+				Collections.<FieldInfo<?>> emptyList());
+		final List<Thread> threads = new ArrayList<Thread>();
+		for (int t = 0; t < threadCount; t++) {
+			threads.add(new Thread(
+					new Runnable() {
+						@Override
+						public void run() {
+							for (int i = 0; i < entriesPerThread; i++) {
+								tool.entryIngested(
+										entryInfo,
+										i);
+							}
+						}
+					}));
+		}
+		for (final Thread thread : threads) {
+			thread.start();
+		}
+		// the partials are retired by flushes while they are being updated
+		boolean running = true;
+		while (running) {
+			tool.flush();
+			running = false;
+			for (final Thread thread : threads) {
+				running |= thread.isAlive();
+			}
+		}
+		for (final Thread thread : threads) {
+			thread.join();
+		}
+		tool.close();
+		assertEquals(
+				threadCount * entriesPerThread,
+				((CountDataStatistics<?>) statisticsStore.getDataStatistics(
+						ADAPTER_ID,
+						CountDataStatistics.STATS_ID)).getCount());
+
+		// the partials of the threads that stopped writing are dropped
+		assertTrue(tool.partials.isEmpty());
+		tool.entryIngested(
+				entryInfo,
+				1);
+		assertEquals(
+				1,
+				tool.partials.size());
+		tool.close();
+		assertTrue(tool.partials.isEmpty());
+		assertEquals(
+				(threadCount * entriesPerThread) + 1,
+				((CountDataStatistics<?>) statisticsStore.getDataStatistics(
+						ADAPTER_ID,
+						CountDataStatistics.STATS_ID)).getCount());
+	}
+
+	private static class CountProvider implements
+			StatisticsProvider<Integer>
+	{
+		@Override
+		public ByteArrayId[] getSupportedStatisticsIds() {
+			return new ByteArrayId[] {
+				CountDataStatistics.STATS_ID
+			};
+		}
+
+		@Override
+		public DataStatistics<Integer> createDataStatistics(
+				final ByteArrayId statisticsId ) {
+			return new CountDataStatistics<Integer>(
+					ADAPTER_ID);
+		}
+
+		@Override
+		public EntryVisibilityHandler<Integer> getVisibilityHandler(
+				final ByteArrayId statisticsId ) {
+			return new EntryVisibilityHandler<Integer>() {
+				@Override
+				public byte[] getVisibility(
+						final DataStoreEntryInfo entryInfo,
+						final Integer entry ) {
+					return new byte[0];
+				}
+			};
+		}
+	}
+}
@@ -1,7 +1,9 @@
 package mil.nga.giat.geowave.core.store.adapter.statistics.histogram;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
+import java.nio.ByteBuffer;
 import java.util.Random;
 
 import mil.nga.giat.geowave.core.store.adapter.statistics.histogram.MinimalBinDistanceHistogram;
@@ -16,6 +18,7 @@ public class NumericHistogramTest
 
 	MinimalBinDistanceHistogram stats = new MinimalBinDistanceHistogram();
 	FixedBinNumericHistogram stats2 = new FixedBinNumericHistogram();
+	TDigestNumericHistogram stats3 = new TDigestNumericHistogram();
 
 	@Test
 	public void testIngest() {
@@ -24,6 +27,7 @@ public class NumericHistogramTest
 			double v = 2500 + (r.nextDouble() * 99998.0);
 			stats.add(v);
 			stats2.add(v);
+			stats3.add(v);
 		}
 
 		assertEquals(
@@ -73,5 +77,78 @@ public class NumericHistogramTest
 				81,
 				stats2.quantile(0.75) / 1000.0,
 				0.1);
+
+		assertEquals(
+				0,
+				stats3.cdf(2500),
+				0.001);
+		assertEquals(
+				1.0,
+				stats3.cdf(102500),
+				0.001);
+		assertEquals(
+				stats.cdf(52500),
+				stats3.cdf(52500),
+				0.01);
+		assertEquals(
+				stats.quantile(0.25) / 1000.0,
+				stats3.quantile(0.25) / 1000.0,
+				1.0);
+		assertEquals(
+				stats.quantile(0.5) / 1000.0,
+				stats3.quantile(0.5) / 1000.0,
+				1.0);
+		assertEquals(
+				stats.quantile(0.75) / 1000.0,
+				stats3.quantile(0.75) / 1000.0,
+				1.0);
+	}
+
+	@Test
+	public void testTDigestMergeAndSerialize() {
+		final TDigestNumericHistogram first = new TDigestNumericHistogram();
+		final TDigestNumericHistogram second = new TDigestNumericHistogram();
+		for (int i = 0; i < 100000; i++) {
+			first.add(i);
+			second.add(
+					2,
+					100000 + i);
+		}
+		first.merge(second);
+		assertEquals(
+				300000,
+				first.getTotalCount());
+		assertTrue(first.getNumBins() <= 100);
+
+		final ByteBuffer buffer = ByteBuffer.allocate(first.bufferSize());
+		first.toBinary(buffer);
+		buffer.rewind();
+		final TDigestNumericHistogram copy = new TDigestNumericHistogram();
+		copy.fromBinary(buffer);
+		assertEquals(
+				300000,
+				copy.getTotalCount());
+		assertEquals(
+				0,
+				copy.getMinValue(),
+				0);
+		assertEquals(
+				199999,
+				copy.getMaxValue(),
+				0);
+		// a third of the values are below 100000
+		assertEquals(
+				1.0 / 3,
+				copy.cdf(100000),
+				0.005);
+		assertEquals(
+				100000,
+				copy.quantile(1.0 / 3),
+				1000);
+		// the values above 100000 were added twice each
+		assertEquals(
+				199250,
+				copy.quantile(0.995),
+				100);
 	}
 }
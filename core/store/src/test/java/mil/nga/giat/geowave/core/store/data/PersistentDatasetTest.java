@@ -0,0 +1,88 @@
+package mil.nga.giat.geowave.core.store.data;
+
+import java.util.List;
+
+import mil.nga.giat.geowave.core.index.ByteArrayId;
+import mil.nga.giat.geowave.core.index.StringUtils;
+import mil.nga.giat.geowave.core.store.data.field.FieldReader;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PersistentDatasetTest
+{
+	private static class CountingReader implements
+			FieldReader<Object>
+	{
+		private int reads = 0;
+
+		@Override
+		public Object readField(
+				final byte[] fieldData ) {
+			reads++;
+			return StringUtils.stringFromBinary(fieldData);
+		}
+	}
+
+	@Test
+	public void testLazyValues() {
+		final CountingReader reader = new CountingReader();
+		final ByteArrayId id1 = new ByteArrayId(
+				"one");
+		final ByteArrayId id2 = new ByteArrayId(
+				"two");
+		final PersistentDataset<Object> dataset = new PersistentDataset<Object>();
+		dataset.addValue(new LazyPersistentValue<Object>(
+				id1,
+				StringUtils.stringToBinary("a"),
+				reader));
+		dataset.addValue(new LazyPersistentValue<Object>(
+				id2,
+				StringUtils.stringToBinary("b"),
+				reader));
+		Assert.assertEquals(
+				0,
+				reader.reads);
+
+		Assert.assertEquals(
+				"a",
+				dataset.getValue(id1));
+		Assert.assertEquals(
+				"a",
+				dataset.getValue(id1));
+		Assert.assertEquals(
+				1,
+				reader.reads);
+
+		// listing the values does not read them
+		final List<PersistentValue<Object>> values = dataset.getValues();
+		Assert.assertEquals(
+				2,
+				values.size());
+		Assert.assertEquals(
+				1,
+				reader.reads);
+		for (final PersistentValue<Object> value : values) {
+			if (value.getId().equals(
+					id2)) {
+				Assert.assertEquals(
+						"b",
+						value.getValue());
+			}
+		}
+		Assert.assertEquals(
+				2,
+				reader.reads);
+
+		// a decoded value replaces a lazy value for the same field
+		dataset.addValue(new PersistentValue<Object>(
+				id2,
+				"c"));
+		Assert.assertEquals(
+				"c",
+				dataset.getValue(id2));
+		Assert.assertEquals(
+				2,
+				dataset.getValues().size());
+	}
+}
@@ -0,0 +1,128 @@
+package mil.nga.giat.geowave.core.store.filter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+
+import org.junit.Test;
+
+import mil.nga.giat.geowave.core.index.ByteArrayId;
+import mil.nga.giat.geowave.core.index.StringUtils;
+import mil.nga.giat.geowave.core.store.CloseableIterator;
+import mil.nga.giat.geowave.core.store.QueryMetricsIterator;
+import mil.nga.giat.geowave.core.store.data.IndexedPersistenceEncoding;
+import mil.nga.giat.geowave.core.store.query.QueryMetrics;
+
+public class DedupeFilterTest
+{
+	private static final ByteArrayId ADAPTER_ID = new ByteArrayId(
+			"adapter");
+
+	@Test
+	public void testWithinMemoryBudget() {
+		final DedupeFilter filter = new DedupeFilter(
+				1024 * 1024);
+		for (int i = 0; i < 10000; i++) {
+			assertTrue(filter.accept(
+					null,
+					createEncoding(i)));
+		}
+		for (int i = 0; i < 10000; i++) {
+			assertFalse(filter.accept(
+					null,
+					createEncoding(i)));
+		}
+		assertTrue(filter.getMemoryUsage() <= (1024 * 1024));
+		assertTrue(filter.getFalsePositiveProbability() < 1e-9);
+	}
+
+	@Test
+	public void testExceedingMemoryBudget() {
+		final long maxMemoryBytes = 16 * 1024;
+		final DedupeFilter filter = new DedupeFilter(
+				maxMemoryBytes);
+		final int entryCount = 20000;
+		int accepted = 0;
+		for (int i = 0; i < entryCount; i++) {
+			if (filter.accept(
+					null,
+					createEncoding(i))) {
+				accepted++;
+			}
+		}
+		// duplicates are still always rejected
+		for (int i = 0; i < entryCount; i++) {
+			assertFalse(filter.accept(
+					null,
+					createEncoding(i)));
+		}
+		assertTrue(filter.getMemoryUsage() <= maxMemoryBytes);
+		final double falsePositiveProbability = filter.getFalsePositiveProbability();
+		assertTrue(falsePositiveProbability > 0);
+		assertTrue(falsePositiveProbability < 0.1);
+		// the entries wrongly rejected are in line with the reported rate
+		assertTrue((entryCount - accepted) < (entryCount * falsePositiveProbability * 2 + 10));
+	}
+
+	@Test
+	public void testUnbounded() {
+		final DedupeFilter filter = new DedupeFilter();
+		assertTrue(filter.accept(
+				null,
+				createEncoding(1)));
+		assertFalse(filter.accept(
+				null,
+				createEncoding(1)));
+		assertTrue(filter.getMemoryUsage() > 0);
+		assertEquals(
+				0,
+				filter.getFalsePositiveProbability(),
+				0);
+	}
+
+	@Test
+	public void testReportedToQueryMetrics()
+			throws IOException {
+		final QueryMetrics metrics = new QueryMetrics();
+		final DedupeFilter filter = new DedupeFilter(
+				16 * 1024);
+		filter.setQueryMetrics(metrics);
+		for (int i = 0; i < 20000; i++) {
+			filter.accept(
+					null,
+					createEncoding(i));
+		}
+		filter.accept(
+				null,
+				createEncoding(0));
+		new QueryMetricsIterator<Object>(
+				new CloseableIterator.Empty<Object>(),
+				metrics,
+				filter).close();
+		assertTrue(metrics.getDuplicatesRemoved() > 0);
+		assertEquals(
+				filter.getMemoryUsage(),
+				metrics.getDedupeMemoryBytes());
+		assertTrue(metrics.getDedupeFalsePositiveProbability() > 0);
+		assertEquals(
+				filter.getFalsePositiveProbability(),
+				metrics.getDedupeFalsePositiveProbability(),
+				0);
+		assertTrue(metrics.explain().contains(
+				metrics.getDedupeMemoryBytes() + " bytes tracking visited entries"));
+	}
+
+	private static IndexedPersistenceEncoding<Object> createEncoding(
+			final int id ) {
+		return new IndexedPersistenceEncoding<Object>(
+				ADAPTER_ID,
+				new ByteArrayId(
+						StringUtils.stringToBinary("data" + id)),
+				null,
+				1,
+				null,
+				null);
+	}
+}
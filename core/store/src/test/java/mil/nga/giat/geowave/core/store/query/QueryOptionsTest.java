@@ -48,6 +48,20 @@ public class QueryOptionsTest
 				"34"));
 	}
 
+	@Test
+	public void testMaxScanRanges() {
+		final QueryOptions ops = new QueryOptions();
+		assertEquals(
+				ConstraintsQuery.DEFAULT_MAX_SCAN_RANGES,
+				ops.getMaxScanRanges());
+		ops.setMaxScanRanges(50);
+		// the option is kept when the options are copied
+		assertEquals(
+				50,
+				new QueryOptions(
+						ops).getMaxScanRanges());
+	}
+
 	@Test
 	public void testGetAdaptersWithMinimalSetOfIndices()
 			throws IOException {
@@ -0,0 +1,160 @@
+package mil.nga.giat.geowave.core.store.query;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import mil.nga.giat.geowave.core.index.ByteArrayId;
+import mil.nga.giat.geowave.core.index.ByteArrayRange;
+import mil.nga.giat.geowave.core.store.DataStoreEntryInfo;
+import mil.nga.giat.geowave.core.store.DataStoreEntryInfo.FieldInfo;
+import mil.nga.giat.geowave.core.store.adapter.statistics.RowRangeHistogramStatistics;
+
+import org.junit.Test;
+
+public class RangeCoalescerTest
+{
+	private static ByteArrayRange range(
+			final int start,
+			final int end ) {
+		return new ByteArrayRange(
+				new ByteArrayId(
+						new byte[] {
+							(byte) start
+						}),
+				new ByteArrayId(
+						new byte[] {
+							(byte) end
+						}));
+	}
+
+	@Test
+	public void testOverlappingRangesAreMerged() {
+		final List<ByteArrayRange> ranges = new ArrayList<ByteArrayRange>();
+		ranges.add(range(
+				20,
+				30));
+		ranges.add(range(
+				1,
+				5));
+		ranges.add(range(
+				25,
+				40));
+		final List<ByteArrayRange> result = new RangeCoalescer(
+				-1,
+				null).coalesce(ranges);
+		assertEquals(
+				2,
+				result.size());
+		assertEquals(
+				range(
+						1,
+						5),
+				result.get(0));
+		assertEquals(
+				range(
+						20,
+						40),
+				result.get(1));
+	}
+
+	@Test
+	public void testSmallestGapsMergedWithoutStatistics() {
+		final List<ByteArrayRange> ranges = new ArrayList<ByteArrayRange>();
+		ranges.add(range(
+				0,
+				10));
+		ranges.add(range(
+				12,
+				20));
+		ranges.add(range(
+				60,
+				70));
+		ranges.add(range(
+				71,
+				80));
+		ranges.add(range(
+				120,
+				125));
+		final List<ByteArrayRange> result = new RangeCoalescer(
+				3,
+				null).coalesce(ranges);
+		assertEquals(
+				3,
+				result.size());
+		assertEquals(
+				range(
+						0,
+						20),
+				result.get(0));
+		assertEquals(
+				range(
+						60,
+						80),
+				result.get(1));
+		assertEquals(
+				range(
+						120,
+						125),
+				result.get(2));
+	}
+
+	@Test
+	public void testGapCostFromStatistics() {
+		final RowRangeHistogramStatistics<Integer> stats = new RowRangeHistogramStatistics<Integer>(
+				new ByteArrayId(
+						"adapter"),
+				new ByteArrayId(
+						"index"));
+		// the rows are densely packed between 40 and 50, elsewhere there is
+		// no data
+		final List<ByteArrayId> rowIds = new ArrayList<ByteArrayId>();
+		for (int i = 0; i < 1000; i++) {
+			rowIds.add(new ByteArrayId(
+					new byte[] {
+						(byte) (40 + (i % 10))
+					}));
+		}
+		stats.entryIngested(
+				new DataStoreEntryInfo(
+						"id".getBytes(),
+						rowIds,
+						rowIds,
+						Collections.<FieldInfo<?>> emptyList()),
+				1);
+		final List<ByteArrayRange> ranges = new ArrayList<ByteArrayRange>();
+		ranges.add(range(
+				0,
+				1));
+		ranges.add(range(
+				30,
+				41));
+		ranges.add(range(
+				48,
+				50));
+		ranges.add(range(
+				100,
+				101));
+
+		// the key distance alone would merge the closest ranges, which have
+		// the most data in between them
+		final List<ByteArrayRange> result = new RangeCoalescer(
+				3,
+				stats).coalesce(ranges);
+		assertEquals(
+				2,
+				result.size());
+		assertEquals(
+				range(
+						0,
+						41),
+				result.get(0));
+		assertEquals(
+				range(
+						48,
+						101),
+				result.get(1));
+	}
+}
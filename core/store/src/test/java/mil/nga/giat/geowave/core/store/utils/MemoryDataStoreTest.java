@@ -5,6 +5,7 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
@@ -45,6 +46,8 @@ import mil.nga.giat.geowave.core.store.memory.MemoryRequiredOptions;
 import mil.nga.giat.geowave.core.store.memory.MemoryStoreFactoryFamily;
 import mil.nga.giat.geowave.core.store.query.DataIdQuery;
 import mil.nga.giat.geowave.core.store.query.Query;
+import mil.nga.giat.geowave.core.store.query.QueryMetrics;
+import mil.nga.giat.geowave.core.store.query.QueryMetricsRegistry;
 import mil.nga.giat.geowave.core.store.query.QueryOptions;
 
 public class MemoryDataStoreTest
@@ -444,6 +447,265 @@ public class MemoryDataStoreTest
 
 	}
 
+	@Test
+	public void testQuerySnapshot()
+			throws IOException {
+		final PrimaryIndex index = new PrimaryIndex(
+				new MockComponents.MockIndexStrategy(),
+				new MockComponents.TestIndexModel());
+		final MemoryRequiredOptions reqOptions = new MemoryRequiredOptions();
+		reqOptions.setGeowaveNamespace("test_snapshot_" + getClass().getName());
+		final DataStore dataStore = new MemoryStoreFactoryFamily().getDataStoreFactory().createStore(
+				reqOptions);
+		final WritableDataAdapter<Integer> adapter = new MockComponents.MockAbstractDataAdapter();
+		try (final IndexWriter indexWriter = dataStore.createWriter(
+				adapter,
+				index)) {
+			indexWriter.write(new Integer(
+					25));
+			try (CloseableIterator<?> itemIt = dataStore.query(
+					new QueryOptions(
+							adapter,
+							index),
+					new TestQuery(
+							23,
+							36))) {
+				// written after the query started, so it is not visible to it
+				indexWriter.write(new Integer(
+						35));
+				assertTrue(itemIt.hasNext());
+				assertEquals(
+						new Integer(
+								25),
+						itemIt.next());
+				assertFalse(itemIt.hasNext());
+			}
+		}
+		try (CloseableIterator<?> itemIt = dataStore.query(
+				new QueryOptions(
+						adapter,
+						index),
+				new TestQuery(
+						23,
+						36))) {
+			assertTrue(itemIt.hasNext());
+			assertEquals(
+					new Integer(
+							25),
+					itemIt.next());
+			assertTrue(itemIt.hasNext());
+			assertEquals(
+					new Integer(
+							35),
+					itemIt.next());
+			assertFalse(itemIt.hasNext());
+		}
+	}
+
+	@Test
+	public void testConcurrentMutation()
+			throws Exception {
+		final PrimaryIndex index = new PrimaryIndex(
+				new MockComponents.MockIndexStrategy(),
+				new MockComponents.TestIndexModel());
+		final MemoryRequiredOptions reqOptions = new MemoryRequiredOptions();
+		reqOptions.setGeowaveNamespace("test_mutation_" + getClass().getName());
+		final DataStore dataStore = new MemoryStoreFactoryFamily().getDataStoreFactory().createStore(
+				reqOptions);
+		final WritableDataAdapter<Integer> adapter = new MockComponents.MockAbstractDataAdapter();
+		try (final IndexWriter indexWriter = dataStore.createWriter(
+				adapter,
+				index)) {
+			indexWriter.write(new Integer(
+					25));
+			try (CloseableIterator<?> itemIt = dataStore.query(
+					new QueryOptions(
+							adapter,
+							index),
+					new TestQuery(
+							23,
+							26))) {
+				assertEquals(
+						new Integer(
+								25),
+						itemIt.next());
+				// the row is replaced between reading and removing it
+				indexWriter.write(new Integer(
+						25));
+				itemIt.remove();
+			}
+		}
+		// the newer row is not removed
+		assertEquals(
+				1,
+				count(
+						dataStore,
+						adapter,
+						index,
+						23,
+						26));
+
+		final List<Thread> threads = new ArrayList<Thread>();
+		final List<Throwable> failures = Collections.synchronizedList(new ArrayList<Throwable>());
+		for (int t = 0; t < 4; t++) {
+			final boolean writer = (t % 2) == 0;
+			threads.add(new Thread(
+					new Runnable() {
+						@Override
+						public void run() {
+							try {
+								for (int i = 0; i < 200; i++) {
+									if (writer) {
+										try (final IndexWriter indexWriter = dataStore.createWriter(
+												adapter,
+												index)) {
+											for (int value = 30; value < 40; value++) {
+												indexWriter.write(new Integer(
+														value));
+											}
+										}
+									}
+									else {
+										dataStore.delete(
+												new QueryOptions(
+														adapter,
+														index),
+												new TestQuery(
+														29,
+														41));
+									}
+								}
+							}
+							catch (final Throwable e) {
+								failures.add(e);
+							}
+						}
+					}));
+		}
+		for (final Thread thread : threads) {
+			thread.start();
+		}
+		for (final Thread thread : threads) {
+			thread.join();
+		}
+		assertTrue(
+				failures.toString(),
+				failures.isEmpty());
+
+		// every value is in a single row, so rewriting them leaves no
+		// duplicates behind
+		try (final IndexWriter indexWriter = dataStore.createWriter(
+				adapter,
+				index)) {
+			for (int value = 30; value < 40; value++) {
+				indexWriter.write(new Integer(
+						value));
+			}
+		}
+		assertEquals(
+				10,
+				count(
+						dataStore,
+						adapter,
+						index,
+						29,
+						41));
+		assertTrue(dataStore.delete(
+				new QueryOptions(
+						adapter,
+						index),
+				new TestQuery(
+						29,
+						41)));
+		assertEquals(
+				0,
+				count(
+						dataStore,
+						adapter,
+						index,
+						29,
+						41));
+	}
+
+	private int count(
+			final DataStore dataStore,
+			final WritableDataAdapter<Integer> adapter,
+			final PrimaryIndex index,
+			final int min,
+			final int max )
+			throws IOException {
+		int count = 0;
+		try (CloseableIterator<?> itemIt = dataStore.query(
+				new QueryOptions(
+						adapter,
+						index),
+				new TestQuery(
+						min,
+						max))) {
+			while (itemIt.hasNext()) {
+				itemIt.next();
+				count++;
+			}
+		}
+		return count;
+	}
+
+	@Test
+	public void testQueryMetrics()
+			throws IOException {
+		final PrimaryIndex index = new PrimaryIndex(
+				new MockComponents.MockIndexStrategy(),
+				new MockComponents.TestIndexModel());
+		final MemoryRequiredOptions reqOptions = new MemoryRequiredOptions();
+		reqOptions.setGeowaveNamespace("test_metrics_" + getClass().getName());
+		final DataStore dataStore = new MemoryStoreFactoryFamily().getDataStoreFactory().createStore(
+				reqOptions);
+		final WritableDataAdapter<Integer> adapter = new MockComponents.MockAbstractDataAdapter();
+		try (final IndexWriter indexWriter = dataStore.createWriter(
+				adapter,
+				index)) {
+			indexWriter.write(new Integer(
+					25));
+			indexWriter.write(new Integer(
+					35));
+			indexWriter.write(new Integer(
+					45));
+		}
+		final long queryCount = QueryMetricsRegistry.getInstance().getQueryCount();
+		final QueryMetrics metrics = new QueryMetrics();
+		final QueryOptions queryOptions = new QueryOptions(
+				adapter,
+				index);
+		queryOptions.setQueryMetrics(metrics);
+		try (CloseableIterator<?> itemIt = dataStore.query(
+				queryOptions,
+				new TestQuery(
+						23,
+						36))) {
+			while (itemIt.hasNext()) {
+				itemIt.next();
+			}
+		}
+		assertEquals(
+				1,
+				metrics.getSubQueryCount());
+		assertEquals(
+				1,
+				metrics.getRangeCount());
+		assertEquals(
+				3,
+				metrics.getRowsScanned());
+		assertEquals(
+				1,
+				metrics.getRowsFiltered());
+		assertEquals(
+				2,
+				metrics.getRowsReturned());
+		assertTrue(metrics.explain().contains(
+				"2 returned"));
+		assertTrue(QueryMetricsRegistry.getInstance().getQueryCount() > queryCount);
+	}
+
 	private boolean checkStats(
 			final Iterator<DataStatistics<?>> statIt,
 			final int count,
@@ -14,9 +14,14 @@ import mil.nga.giat.geowave.adapter.vector.stats.FeatureTimeRangeStatistics;
 import mil.nga.giat.geowave.core.geotime.store.query.TemporalConstraintsSet;
 import mil.nga.giat.geowave.core.geotime.store.statistics.BoundingBoxDataStatistics;
 import mil.nga.giat.geowave.core.index.ByteArrayId;
+import mil.nga.giat.geowave.core.index.Mergeable;
 import mil.nga.giat.geowave.core.store.CloseableIterator;
 import mil.nga.giat.geowave.core.store.adapter.statistics.CountDataStatistics;
 import mil.nga.giat.geowave.core.store.adapter.statistics.DataStatistics;
+import mil.nga.giat.geowave.core.store.query.aggregate.Aggregation;
+import mil.nga.giat.geowave.core.store.query.aggregate.CountAggregation;
+import mil.nga.giat.geowave.core.store.query.aggregate.CountResult;
+import mil.nga.giat.geowave.core.store.query.aggregate.DataStatisticsAggregation;
 
 import org.apache.log4j.Logger;
 import org.geotools.data.DataUtilities;
@@ -95,7 +100,14 @@ public class GeoWaveFeatureCollection extends
 			return 0;
 		}
 
-		// fallback
+		// count within the data store, this is only done when no feature is
+		// stored in more than one row
+		final Mergeable result = aggregate(new CountAggregation<SimpleFeature>());
+		if (result instanceof CountResult) {
+			return (int) ((CountResult) result).getCount();
+		}
+
+		// fallback, duplicate rows are removed while iterating
 		int count = 0;
 		try {
 			final Iterator<SimpleFeature> iterator = openIterator();
@@ -122,10 +134,8 @@ public class GeoWaveFeatureCollection extends
 			final Map<ByteArrayId, DataStatistics<SimpleFeature>> statsMap = reader
 					.getTransaction()
 					.getDataStatistics();
-			final ByteArrayId statId = FeatureBoundingBoxStatistics.composeId(reader
-					.getFeatureType()
-					.getGeometryDescriptor()
-					.getLocalName());
+			final String geometryName = reader.getFeatureType().getGeometryDescriptor().getLocalName();
+			final ByteArrayId statId = FeatureBoundingBoxStatistics.composeId(geometryName);
 			if (statsMap.containsKey(statId)) {
 				final BoundingBoxDataStatistics<SimpleFeature> stats = (BoundingBoxDataStatistics<SimpleFeature>) statsMap
 						.get(statId);
@@ -136,6 +146,23 @@ public class GeoWaveFeatureCollection extends
 						stats.getMaxY(),
 						GeoWaveGTDataStore.DEFAULT_CRS);
 			}
+			// compute the bounds within the data store
+			final Mergeable result = aggregate(new DataStatisticsAggregation<SimpleFeature>(
+					new FeatureBoundingBoxStatistics(
+							reader.getComponents().getAdapter().getAdapterId(),
+							geometryName)));
+			if (result instanceof BoundingBoxDataStatistics) {
+				final BoundingBoxDataStatistics<SimpleFeature> stats = (BoundingBoxDataStatistics<SimpleFeature>) result;
+				if (!stats.isSet()) {
+					return null;
+				}
+				return new ReferencedEnvelope(
+						stats.getMinX(),
+						stats.getMaxX(),
+						stats.getMinY(),
+						stats.getMaxY(),
+						GeoWaveGTDataStore.DEFAULT_CRS);
+			}
 			final Iterator<SimpleFeature> iterator = openIterator();
 			if (!iterator.hasNext()) {
 				return null;
@@ -178,6 +205,38 @@ public class GeoWaveFeatureCollection extends
 
 	}
 
+	/**
+	 * Runs the aggregation within the data store when the query is a plain
+	 * query over flushed data, so that only the result is returned
+	 * 
+	 * @return the result, or null if the aggregation could not be used
+	 */
+	private Mergeable aggregate(
+			final Aggregation<?, ?, SimpleFeature> aggregation ) {
+		if (!reader.getTransaction().isEmpty() || isDistributedRenderQuery() || (getStatsQueryName() != null)
+				|| (getLimit(query) != null) || ((getStartIndex(query) != null) && (getStartIndex(query) > 0))
+				|| query.getHints().containsKey(
+						DecimationProcess.OUTPUT_BBOX)) {
+			return null;
+		}
+		try {
+			final ReferencedEnvelope referencedEnvelope = getEnvelope(query);
+			return reader.aggregate(
+					getBBox(
+							query,
+							referencedEnvelope),
+					getBoundedTime(query),
+					getFilter(query),
+					aggregation);
+		}
+		catch (TransformException | FactoryException e) {
+			LOGGER.warn(
+					"Unable to transform geometry",
+					e);
+		}
+		return null;
+	}
+
 	@Override
 	public SimpleFeatureType getSchema() {
 		if (isDistributedRenderQuery()) {
@@ -45,6 +45,7 @@ import com.vividsolutions.jts.geom.Geometry;
 import mil.nga.giat.geowave.adapter.vector.plugin.transaction.GeoWaveTransaction;
 import mil.nga.giat.geowave.adapter.vector.query.cql.CQLQuery;
 import mil.nga.giat.geowave.adapter.vector.render.DistributableRenderer;
+import mil.nga.giat.geowave.adapter.vector.stats.FeatureHyperLogLogStatistics;
 import mil.nga.giat.geowave.adapter.vector.stats.FeatureStatistic;
 import mil.nga.giat.geowave.adapter.vector.util.QueryIndexHelper;
 import mil.nga.giat.geowave.core.geotime.GeometryUtils.GeoConstraintsWrapper;
@@ -52,18 +53,25 @@ import mil.nga.giat.geowave.core.geotime.index.dimension.LatitudeDefinition;
 import mil.nga.giat.geowave.core.geotime.index.dimension.TimeDefinition;
 import mil.nga.giat.geowave.core.geotime.store.query.SpatialQuery;
 import mil.nga.giat.geowave.core.geotime.store.query.TemporalConstraintsSet;
+import mil.nga.giat.geowave.core.geotime.store.statistics.BoundingBoxDataStatistics;
+import mil.nga.giat.geowave.core.geotime.store.statistics.TimeRangeDataStatistics;
 import mil.nga.giat.geowave.core.index.ByteArrayId;
+import mil.nga.giat.geowave.core.index.Mergeable;
 import mil.nga.giat.geowave.core.index.StringUtils;
 import mil.nga.giat.geowave.core.index.dimension.NumericDimensionDefinition;
 import mil.nga.giat.geowave.core.store.CloseableIterator;
 import mil.nga.giat.geowave.core.store.CloseableIteratorWrapper;
 import mil.nga.giat.geowave.core.store.adapter.statistics.DataStatistics;
+import mil.nga.giat.geowave.core.store.adapter.statistics.DuplicateEntryCount;
+import mil.nga.giat.geowave.core.store.adapter.statistics.NumericRangeDataStatistics;
 import mil.nga.giat.geowave.core.store.index.Index;
 import mil.nga.giat.geowave.core.store.index.PrimaryIndex;
 import mil.nga.giat.geowave.core.store.query.BasicQuery;
 import mil.nga.giat.geowave.core.store.query.BasicQuery.Constraints;
 import mil.nga.giat.geowave.core.store.query.DataIdQuery;
 import mil.nga.giat.geowave.core.store.query.QueryOptions;
+import mil.nga.giat.geowave.core.store.query.aggregate.Aggregation;
+import mil.nga.giat.geowave.core.store.query.aggregate.DataStatisticsAggregation;
 
 /**
  * This class wraps a geotools data store as well as one for statistics (for
@@ -159,26 +167,10 @@ public class GeoWaveFeatureReader implements
 		final List<CloseableIterator<SimpleFeature>> results = new ArrayList<CloseableIterator<SimpleFeature>>();
 		final Map<ByteArrayId, DataStatistics<SimpleFeature>> statsMap = transaction.getDataStatistics();
 
-		final Constraints timeConstraints = QueryIndexHelper.composeTimeBoundedConstraints(
-				components.getAdapter().getType(),
-				components.getAdapter().getTimeDescriptors(),
-				statsMap,
-				timeBounds);
-
-		final GeoConstraintsWrapper geoConstraints = QueryIndexHelper.composeGeometricConstraints(
-				getFeatureType(),
-				transaction.getDataStatistics(),
-				jtsBounds);
-
-		/**
-		 * NOTE: query to an index that requires a constraint and the constraint
-		 * is missing equates to a full table scan. @see BasicQuery
-		 */
-
 		final BasicQuery query = composeQuery(
-				geoConstraints,
-				timeConstraints);
-		query.setExact(timeBounds.isExact());
+				jtsBounds,
+				timeBounds,
+				statsMap);
 
 		try (CloseableIterator<Index<?, ?>> indexIt = getComponents().getIndices(
 				statsMap,
@@ -213,6 +205,134 @@ public class GeoWaveFeatureReader implements
 						Iterators.concat(results.iterator())));
 	}
 
+	/**
+	 * @return true unless the duplicate entry count statistic of the index
+	 *         shows that no feature is stored in more than one row
+	 */
+	private static boolean hasDuplicates(
+			final Map<ByteArrayId, DataStatistics<SimpleFeature>> statsMap,
+			final PrimaryIndex index ) {
+		final DataStatistics<SimpleFeature> duplicates = statsMap.get(DuplicateEntryCount.composeId(index.getId()));
+		return !(duplicates instanceof DuplicateEntryCount)
+				|| ((DuplicateEntryCount<SimpleFeature>) duplicates).isAnyEntryHaveDuplicates();
+	}
+
+	/**
+	 * Duplicates are only removed within each tablet or region, so an
+	 * aggregation run within the data store sees a feature once for each of
+	 * its rows. That is only correct if the aggregation is idempotent or if no
+	 * feature in the index is stored in more than one row.
+	 * 
+	 * @return true if aggregating the rows of the index gives the same result
+	 *         as aggregating its features
+	 */
+	static boolean canAggregateRows(
+			final Aggregation<?, ?, SimpleFeature> aggregation,
+			final Map<ByteArrayId, DataStatistics<SimpleFeature>> statsMap,
+			final PrimaryIndex index ) {
+		return isIdempotent(aggregation) || !hasDuplicates(
+				statsMap,
+				index);
+	}
+
+	/**
+	 * @return true if the result of the aggregation does not change when an
+	 *         entry is aggregated more than once, which holds for the
+	 *         statistics that keep extremes or a distinct count
+	 */
+	private static boolean isIdempotent(
+			final Aggregation<?, ?, SimpleFeature> aggregation ) {
+		if (!(aggregation instanceof DataStatisticsAggregation)) {
+			return false;
+		}
+		final DataStatistics<SimpleFeature> statistics = ((DataStatisticsAggregation<SimpleFeature>) aggregation)
+				.getParameters();
+		return (statistics instanceof BoundingBoxDataStatistics) || (statistics instanceof TimeRangeDataStatistics)
+				|| (statistics instanceof NumericRangeDataStatistics) || (statistics instanceof FeatureHyperLogLogStatistics);
+	}
+
+	/**
+	 * Runs an aggregation over the features matching the bounds and filter
+	 * within the data store, so that only the merged result is returned.
+	 * Changes in the transaction that are not yet flushed are not included.
+	 * 
+	 * @return the aggregation result, or null if the data store did not
+	 *         aggregate the features
+	 */
+	public Mergeable aggregate(
+			final Geometry jtsBounds,
+			final TemporalConstraintsSet timeBounds,
+			final Filter filter,
+			final Aggregation<?, ?, SimpleFeature> aggregation ) {
+		final Map<ByteArrayId, DataStatistics<SimpleFeature>> statsMap = transaction.getDataStatistics();
+		final BasicQuery query = composeQuery(
+				jtsBounds,
+				timeBounds,
+				statsMap);
+		PrimaryIndex index = null;
+		try (CloseableIterator<Index<?, ?>> indexIt = getComponents().getIndices(
+				statsMap,
+				query)) {
+			// every index contains every feature, so aggregating more than one
+			// would count features repeatedly
+			if (indexIt.hasNext()) {
+				index = (PrimaryIndex) indexIt.next();
+			}
+		}
+		catch (final IOException e) {
+			LOGGER.warn(
+					"unable to close index iterator for query",
+					e);
+		}
+		if (index == null) {
+			return null;
+		}
+		if (!canAggregateRows(
+				aggregation,
+				statsMap,
+				index)) {
+			return null;
+		}
+		final QueryOptions queryOptions = new QueryOptions(
+				components.getAdapter(),
+				index,
+				transaction.composeAuthorizations());
+		queryOptions.setAggregation(
+				aggregation,
+				components.getAdapter());
+		Mergeable result = null;
+		try (CloseableIterator<Object> it = components.getDataStore().query(
+				queryOptions,
+				CQLQuery.createOptimalQuery(
+						filter,
+						components.getAdapter(),
+						index,
+						query))) {
+			while (it.hasNext()) {
+				final Object next = it.next();
+				if (next == null) {
+					continue;
+				}
+				if (!(next instanceof Mergeable)) {
+					// the data store returned the features themselves
+					return null;
+				}
+				if (result == null) {
+					result = (Mergeable) next;
+				}
+				else {
+					result.merge((Mergeable) next);
+				}
+			}
+		}
+		catch (final IOException e) {
+			LOGGER.warn(
+					"unable to close aggregation query",
+					e);
+		}
+		return result;
+	}
+
 	protected static boolean hasAtLeastSpatial(
 			final PrimaryIndex index ) {
 		if ((index == null) || (index.getIndexStrategy() == null)
@@ -620,6 +740,33 @@ public class GeoWaveFeatureReader implements
 				transaction.getDataStatistics());
 	}
 
+	private BasicQuery composeQuery(
+			final Geometry jtsBounds,
+			final TemporalConstraintsSet timeBounds,
+			final Map<ByteArrayId, DataStatistics<SimpleFeature>> statsMap ) {
+		final Constraints timeConstraints = QueryIndexHelper.composeTimeBoundedConstraints(
+				components.getAdapter().getType(),
+				components.getAdapter().getTimeDescriptors(),
+				statsMap,
+				timeBounds);
+
+		final GeoConstraintsWrapper geoConstraints = QueryIndexHelper.composeGeometricConstraints(
+				getFeatureType(),
+				statsMap,
+				jtsBounds);
+
+		/**
+		 * NOTE: query to an index that requires a constraint and the constraint
+		 * is missing equates to a full table scan. @see BasicQuery
+		 */
+
+		final BasicQuery query = composeQuery(
+				geoConstraints,
+				timeConstraints);
+		query.setExact(timeBounds.isExact());
+		return query;
+	}
+
 	private BasicQuery composeQuery(
 			final GeoConstraintsWrapper geoConstraints,
 			final Constraints temporalConstraints ) {
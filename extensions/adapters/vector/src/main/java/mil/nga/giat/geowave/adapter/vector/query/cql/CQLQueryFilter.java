@@ -2,9 +2,13 @@ package mil.nga.giat.geowave.adapter.vector.query.cql;
 
 import java.net.MalformedURLException;
 import java.nio.ByteBuffer;
+import java.util.HashSet;
+import java.util.Set;
 
+import mil.nga.giat.geowave.adapter.vector.FeatureDataAdapter;
 import mil.nga.giat.geowave.adapter.vector.GeotoolsFeatureDataAdapter;
 import mil.nga.giat.geowave.adapter.vector.util.FeatureDataUtils;
+import mil.nga.giat.geowave.core.index.ByteArrayId;
 import mil.nga.giat.geowave.core.index.PersistenceUtils;
 import mil.nga.giat.geowave.core.index.StringUtils;
 import mil.nga.giat.geowave.core.store.adapter.AbstractAdapterPersistenceEncoding;
@@ -17,6 +21,7 @@ import mil.nga.giat.geowave.core.store.index.CommonIndexModel;
 import mil.nga.giat.geowave.core.store.index.PrimaryIndex;
 
 import org.apache.log4j.Logger;
+import org.geotools.data.DataUtilities;
 import org.geotools.filter.text.cql2.CQLException;
 import org.geotools.filter.text.ecql.ECQL;
 import org.opengis.feature.simple.SimpleFeature;
@@ -28,6 +33,7 @@ public class CQLQueryFilter implements
 	private final static Logger LOGGER = Logger.getLogger(CQLQueryFilter.class);
 	private GeotoolsFeatureDataAdapter adapter;
 	private Filter filter;
+	private Set<ByteArrayId> filterFieldIds = null;
 
 	protected CQLQueryFilter() {
 		super();
@@ -65,8 +71,23 @@ public class CQLQueryFilter implements
 					final PersistentDataset<Object> existingExtValues = ((AbstractAdapterPersistenceEncoding) persistenceEncoding)
 							.getAdapterExtendedData();
 					if (existingExtValues != null) {
-						for (final PersistentValue<Object> val : existingExtValues.getValues()) {
-							adapterExtendedValues.addValue(val);
+						if (adapter instanceof FeatureDataAdapter) {
+							// each attribute is its own field, so only the
+							// attributes the filter references need to be
+							// deserialized to evaluate it
+							for (final ByteArrayId fieldId : getFilterFieldIds()) {
+								final Object value = existingExtValues.getValue(fieldId);
+								if (value != null) {
+									adapterExtendedValues.addValue(new PersistentValue<Object>(
+											fieldId,
+											value));
+								}
+							}
+						}
+						else {
+							for (final PersistentValue<Object> val : existingExtValues.getValues()) {
+								adapterExtendedValues.addValue(val);
+							}
 						}
 					}
 				}
@@ -100,6 +121,20 @@ public class CQLQueryFilter implements
 		return true;
 	}
 
+	private Set<ByteArrayId> getFilterFieldIds() {
+		if (filterFieldIds == null) {
+			final Set<ByteArrayId> fieldIds = new HashSet<ByteArrayId>();
+			for (final String attribute : DataUtilities.attributeNames(
+					filter,
+					adapter.getType())) {
+				fieldIds.add(new ByteArrayId(
+						attribute));
+			}
+			filterFieldIds = fieldIds;
+		}
+		return filterFieldIds;
+	}
+
 	@Override
 	public byte[] toBinary() {
 		byte[] filterBytes;
@@ -136,6 +171,7 @@ public class CQLQueryFilter implements
 					"Unable to initialize GeoTools class loader",
 					e);
 		}
+		filterFieldIds = null;
 		final ByteBuffer buf = ByteBuffer.wrap(bytes);
 		final int filterBytesLength = buf.getInt();
 		final int adapterBytesLength = bytes.length - filterBytesLength - 4;
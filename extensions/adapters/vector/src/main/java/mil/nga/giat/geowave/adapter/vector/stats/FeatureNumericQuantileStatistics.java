@@ -0,0 +1,235 @@
+package mil.nga.giat.geowave.adapter.vector.stats;
+
+import java.nio.ByteBuffer;
+import java.text.MessageFormat;
+import java.util.Date;
+
+import mil.nga.giat.geowave.core.index.ByteArrayId;
+import mil.nga.giat.geowave.core.index.Mergeable;
+import mil.nga.giat.geowave.core.store.DataStoreEntryInfo;
+import mil.nga.giat.geowave.core.store.adapter.statistics.AbstractDataStatistics;
+import mil.nga.giat.geowave.core.store.adapter.statistics.DataStatistics;
+import mil.nga.giat.geowave.core.store.adapter.statistics.histogram.NumericHistogram;
+import mil.nga.giat.geowave.core.store.adapter.statistics.histogram.NumericHistogramFactory;
+import mil.nga.giat.geowave.core.store.adapter.statistics.histogram.TDigestNumericHistogram.TDigestNumericHistogramFactory;
+
+import org.opengis.feature.simple.SimpleFeature;
+
+/**
+ * Quantiles and CDF over a numeric attribute from a t-digest. Unlike
+ * {@link FeatureFixedBinNumericStatistics} the digest needs no range and is
+ * accurate at the extremes, and unlike {@link FeatureNumericHistogramStatistics}
+ * it stays a few kilobytes in size however widely spread the values are, which
+ * keeps ingest and merges cheap.
+ *
+ * The default number of bins is 128.
+ *
+ */
+public class FeatureNumericQuantileStatistics extends
+		AbstractDataStatistics<SimpleFeature> implements
+		FeatureStatistic
+{
+	public static final String STATS_TYPE = "ATT_QUANTILE";
+	private static final NumericHistogramFactory HistFactory = new TDigestNumericHistogramFactory();
+	private static final int DEFAULT_BINS = 128;
+	private int bins = DEFAULT_BINS;
+	private NumericHistogram histogram = HistFactory.create(DEFAULT_BINS);
+
+	protected FeatureNumericQuantileStatistics() {
+		super();
+	}
+
+	public FeatureNumericQuantileStatistics(
+			final ByteArrayId dataAdapterId,
+			final String fieldName ) {
+		this(
+				dataAdapterId,
+				fieldName,
+				DEFAULT_BINS);
+	}
+
+	public FeatureNumericQuantileStatistics(
+			final ByteArrayId dataAdapterId,
+			final String fieldName,
+			final int bins ) {
+		super(
+				dataAdapterId,
+				composeId(
+						STATS_TYPE,
+						fieldName));
+		this.bins = bins;
+		histogram = HistFactory.create(bins);
+	}
+
+	public static final ByteArrayId composeId(
+			final String fieldName ) {
+		return composeId(
+				STATS_TYPE,
+				fieldName);
+	}
+
+	@Override
+	public String getFieldName() {
+		return decomposeNameFromId(getStatisticsId());
+	}
+
+	@Override
+	public DataStatistics<SimpleFeature> duplicate() {
+		return new FeatureNumericQuantileStatistics(
+				dataAdapterId,
+				getFieldName(),
+				bins);
+	}
+
+	public double[] quantile(
+			final int bins ) {
+		return histogram.quantile(bins);
+	}
+
+	public double cdf(
+			final double val ) {
+		return histogram.cdf(val);
+	}
+
+	public double quantile(
+			final double percentage ) {
+		return histogram.quantile(percentage);
+	}
+
+	public double percentPopulationOverRange(
+			final double start,
+			final double stop ) {
+		return cdf(stop) - cdf(start);
+	}
+
+	public long totalSampleSize() {
+		return histogram.getTotalCount();
+	}
+
+	public long[] count(
+			final int bins ) {
+		return histogram.count(bins);
+	}
+
+	@Override
+	public void merge(
+			final Mergeable mergeable ) {
+		if (mergeable instanceof FeatureNumericQuantileStatistics) {
+			histogram.merge(((FeatureNumericQuantileStatistics) mergeable).histogram);
+		}
+	}
+
+	@Override
+	public byte[] toBinary() {
+		final ByteBuffer buffer = super.binaryBuffer(histogram.bufferSize() + 4);
+		buffer.putInt(bins);
+		histogram.toBinary(buffer);
+		final byte result[] = new byte[buffer.position()];
+		buffer.rewind();
+		buffer.get(result);
+		return result;
+	}
+
+	@Override
+	public void fromBinary(
+			final byte[] bytes ) {
+		final ByteBuffer buffer = super.binaryBuffer(bytes);
+		bins = buffer.getInt();
+		histogram = HistFactory.create(bins);
+		histogram.fromBinary(buffer);
+	}
+
+	@Override
+	public void entryIngested(
+			final DataStoreEntryInfo entryInfo,
+			final SimpleFeature entry ) {
+		final Object o = entry.getAttribute(getFieldName());
+		if (o == null) {
+			return;
+		}
+		if (o instanceof Date)
+			histogram.add(((Date) o).getTime());
+		else if (o instanceof Number) histogram.add(((Number) o).doubleValue());
+	}
+
+	@Override
+	public String toString() {
+		final StringBuffer buffer = new StringBuffer();
+		buffer.append(
+				"quantiles[adapter=").append(
+				super.getDataAdapterId().getString());
+		buffer.append(
+				", field=").append(
+				getFieldName());
+		final MessageFormat mf = new MessageFormat(
+				"{0,number,#.######}");
+		buffer.append(", range={");
+		buffer.append(
+				mf.format(new Object[] {
+					Double.valueOf(histogram.getMinValue())
+				})).append(
+				' ');
+		buffer.append(mf.format(new Object[] {
+			Double.valueOf(histogram.getMaxValue())
+		}));
+		buffer.append("}, bins={");
+		for (final double v : quantile(10)) {
+			buffer.append(
+					mf.format(new Object[] {
+						Double.valueOf(v)
+					})).append(
+					' ');
+		}
+		buffer.deleteCharAt(buffer.length() - 1);
+		buffer.append("}, counts={");
+		for (final long v : count(10)) {
+			buffer.append(
+					mf.format(new Object[] {
+						Long.valueOf(v)
+					})).append(
+					' ');
+		}
+		buffer.deleteCharAt(buffer.length() - 1);
+		buffer.append("}]");
+		return buffer.toString();
+	}
+
+	public static class FeatureNumericQuantileConfig implements
+			StatsConfig<SimpleFeature>
+	{
+		/**
+		 *
+		 */
+		private static final long serialVersionUID = 6309383518148391565L;
+		private int bins = DEFAULT_BINS;
+
+		public FeatureNumericQuantileConfig() {
+
+		}
+
+		public FeatureNumericQuantileConfig(
+				final int bins ) {
+			super();
+			this.bins = bins;
+		}
+
+		public int getBins() {
+			return bins;
+		}
+
+		public void setBins(
+				final int bins ) {
+			this.bins = bins;
+		}
+
+		@Override
+		public DataStatistics<SimpleFeature> create(
+				final ByteArrayId dataAdapterId,
+				final String fieldName ) {
+			return new FeatureNumericQuantileStatistics(
+					dataAdapterId,
+					fieldName,
+					bins);
+		}
+	}
+}
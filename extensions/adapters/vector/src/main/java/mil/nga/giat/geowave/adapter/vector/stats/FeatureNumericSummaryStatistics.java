@@ -0,0 +1,240 @@
+package mil.nga.giat.geowave.adapter.vector.stats;
+
+import java.nio.ByteBuffer;
+import java.util.Date;
+
+import mil.nga.giat.geowave.core.index.ByteArrayId;
+import mil.nga.giat.geowave.core.index.Mergeable;
+import mil.nga.giat.geowave.core.store.DataStoreEntryInfo;
+import mil.nga.giat.geowave.core.store.adapter.statistics.AbstractDataStatistics;
+import mil.nga.giat.geowave.core.store.adapter.statistics.DataStatistics;
+
+import org.opengis.feature.simple.SimpleFeature;
+
+/**
+ * Count, minimum, maximum, sum, mean and variance of a numeric attribute. The
+ * mean and variance are accumulated with the parallel form of Welford's
+ * algorithm so partial results from separate tablets merge exactly.
+ *
+ */
+public class FeatureNumericSummaryStatistics extends
+		AbstractDataStatistics<SimpleFeature> implements
+		FeatureStatistic
+{
+	public static final String STATS_TYPE = "ATT_SUMMARY";
+
+	private long count = 0;
+	private double min = Double.MAX_VALUE;
+	private double max = -Double.MAX_VALUE;
+	private double sum = 0;
+	private double mean = 0;
+	// the sum of the squared differences from the mean
+	private double m2 = 0;
+
+	protected FeatureNumericSummaryStatistics() {
+		super();
+	}
+
+	public FeatureNumericSummaryStatistics(
+			final ByteArrayId dataAdapterId,
+			final String fieldName ) {
+		super(
+				dataAdapterId,
+				composeId(
+						STATS_TYPE,
+						fieldName));
+	}
+
+	public static final ByteArrayId composeId(
+			final String fieldName ) {
+		return composeId(
+				STATS_TYPE,
+				fieldName);
+	}
+
+	@Override
+	public String getFieldName() {
+		return decomposeNameFromId(getStatisticsId());
+	}
+
+	@Override
+	public DataStatistics<SimpleFeature> duplicate() {
+		return new FeatureNumericSummaryStatistics(
+				dataAdapterId,
+				getFieldName());
+	}
+
+	public boolean isSet() {
+		return count > 0;
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	public double getMin() {
+		return min;
+	}
+
+	public double getMax() {
+		return max;
+	}
+
+	public double getSum() {
+		return sum;
+	}
+
+	public double getMean() {
+		return mean;
+	}
+
+	/**
+	 *
+	 * @return the population variance of the values
+	 */
+	public double getVariance() {
+		return (count > 0) ? m2 / count : 0;
+	}
+
+	public double getStandardDeviation() {
+		return Math.sqrt(getVariance());
+	}
+
+	@Override
+	public void merge(
+			final Mergeable mergeable ) {
+		if (mergeable instanceof FeatureNumericSummaryStatistics) {
+			final FeatureNumericSummaryStatistics stats = (FeatureNumericSummaryStatistics) mergeable;
+			if (!stats.isSet()) {
+				return;
+			}
+			if (!isSet()) {
+				count = stats.count;
+				min = stats.min;
+				max = stats.max;
+				sum = stats.sum;
+				mean = stats.mean;
+				m2 = stats.m2;
+				return;
+			}
+			final long totalCount = count + stats.count;
+			final double delta = stats.mean - mean;
+			mean += (delta * stats.count) / totalCount;
+			m2 += stats.m2 + ((((delta * delta) * count) * stats.count) / totalCount);
+			count = totalCount;
+			min = Math.min(
+					min,
+					stats.min);
+			max = Math.max(
+					max,
+					stats.max);
+			sum += stats.sum;
+		}
+	}
+
+	@Override
+	public byte[] toBinary() {
+		final ByteBuffer buffer = super.binaryBuffer(48);
+		buffer.putLong(count);
+		buffer.putDouble(min);
+		buffer.putDouble(max);
+		buffer.putDouble(sum);
+		buffer.putDouble(mean);
+		buffer.putDouble(m2);
+		return buffer.array();
+	}
+
+	@Override
+	public void fromBinary(
+			final byte[] bytes ) {
+		final ByteBuffer buffer = super.binaryBuffer(bytes);
+		count = buffer.getLong();
+		min = buffer.getDouble();
+		max = buffer.getDouble();
+		sum = buffer.getDouble();
+		mean = buffer.getDouble();
+		m2 = buffer.getDouble();
+	}
+
+	@Override
+	public void entryIngested(
+			final DataStoreEntryInfo entryInfo,
+			final SimpleFeature entry ) {
+		final Object o = entry.getAttribute(getFieldName());
+		final double value;
+		if (o instanceof Date) {
+			value = ((Date) o).getTime();
+		}
+		else if (o instanceof Number) {
+			value = ((Number) o).doubleValue();
+		}
+		else {
+			return;
+		}
+		count++;
+		final double delta = value - mean;
+		mean += delta / count;
+		m2 += delta * (value - mean);
+		sum += value;
+		min = Math.min(
+				min,
+				value);
+		max = Math.max(
+				max,
+				value);
+	}
+
+	@Override
+	public String toString() {
+		final StringBuffer buffer = new StringBuffer();
+		buffer.append(
+				"summary[adapter=").append(
+				super.getDataAdapterId().getString());
+		buffer.append(
+				", field=").append(
+				getFieldName());
+		if (isSet()) {
+			buffer.append(
+					", count=").append(
+					count);
+			buffer.append(
+					", min=").append(
+					min);
+			buffer.append(
+					", max=").append(
+					max);
+			buffer.append(
+					", sum=").append(
+					sum);
+			buffer.append(
+					", mean=").append(
+					mean);
+			buffer.append(
+					", stddev=").append(
+					getStandardDeviation());
+		}
+		else {
+			buffer.append(", No Values");
+		}
+		buffer.append("]");
+		return buffer.toString();
+	}
+
+	public static class FeatureNumericSummaryConfig implements
+			StatsConfig<SimpleFeature>
+	{
+		/**
+		 *
+		 */
+		private static final long serialVersionUID = -3142856312465928472L;
+
+		@Override
+		public DataStatistics<SimpleFeature> create(
+				final ByteArrayId dataAdapterId,
+				final String fieldName ) {
+			return new FeatureNumericSummaryStatistics(
+					dataAdapterId,
+					fieldName);
+		}
+	}
+}
@@ -0,0 +1,360 @@
+package mil.nga.giat.geowave.adapter.vector.stats;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import mil.nga.giat.geowave.core.index.ByteArrayId;
+import mil.nga.giat.geowave.core.index.Mergeable;
+import mil.nga.giat.geowave.core.index.StringUtils;
+import mil.nga.giat.geowave.core.store.DataStoreEntryInfo;
+import mil.nga.giat.geowave.core.store.adapter.statistics.AbstractDataStatistics;
+import mil.nga.giat.geowave.core.store.adapter.statistics.DataStatistics;
+
+import org.opengis.feature.simple.SimpleFeature;
+
+/**
+ * The most frequent values of an attribute, tracked with the Space-Saving
+ * algorithm. A fixed number of counters is kept, several times the number of
+ * values requested, and when a new value arrives with every counter in use it
+ * replaces the least frequent value and inherits its count as the error bound.
+ * Counts are exact for values that were never evicted and otherwise
+ * overestimate by at most the recorded error.
+ *
+ * The default is the top 10 values from 100 counters.
+ *
+ */
+public class FeatureTopKStatistics extends
+		AbstractDataStatistics<SimpleFeature> implements
+		FeatureStatistic
+{
+	public static final String STATS_TYPE = "ATT_TOPK";
+	private static final int DEFAULT_K = 10;
+	private static final int COUNTERS_PER_VALUE = 10;
+
+	private int k = DEFAULT_K;
+	private int capacity = DEFAULT_K * COUNTERS_PER_VALUE;
+	private Map<String, Counter> counters = new HashMap<String, Counter>();
+	private TreeSet<Counter> orderedCounters = new TreeSet<Counter>(
+			new CounterComparator());
+
+	protected FeatureTopKStatistics() {
+		super();
+	}
+
+	public FeatureTopKStatistics(
+			final ByteArrayId dataAdapterId,
+			final String fieldName ) {
+		this(
+				dataAdapterId,
+				fieldName,
+				DEFAULT_K);
+	}
+
+	public FeatureTopKStatistics(
+			final ByteArrayId dataAdapterId,
+			final String fieldName,
+			final int k ) {
+		super(
+				dataAdapterId,
+				composeId(
+						STATS_TYPE,
+						fieldName));
+		this.k = k;
+		capacity = k * COUNTERS_PER_VALUE;
+	}
+
+	public static final ByteArrayId composeId(
+			final String fieldName ) {
+		return composeId(
+				STATS_TYPE,
+				fieldName);
+	}
+
+	@Override
+	public String getFieldName() {
+		return decomposeNameFromId(getStatisticsId());
+	}
+
+	@Override
+	public DataStatistics<SimpleFeature> duplicate() {
+		return new FeatureTopKStatistics(
+				dataAdapterId,
+				getFieldName(),
+				k);
+	}
+
+	/**
+	 *
+	 * @return up to k of the most frequent values and their estimated counts,
+	 *         most frequent first
+	 */
+	public Map<String, Long> getTopK() {
+		final Map<String, Long> topK = new LinkedHashMap<String, Long>();
+		final Iterator<Counter> it = orderedCounters.descendingIterator();
+		while (it.hasNext() && (topK.size() < k)) {
+			final Counter counter = it.next();
+			topK.put(
+					counter.value,
+					counter.count);
+		}
+		return topK;
+	}
+
+	/**
+	 *
+	 * @param value
+	 *            the attribute value, as a string
+	 * @return the maximum amount the count of the value may be overestimated,
+	 *         or -1 if the value is not tracked
+	 */
+	public long getError(
+			final String value ) {
+		final Counter counter = counters.get(value);
+		return (counter == null) ? -1 : counter.error;
+	}
+
+	private void offer(
+			final String value,
+			final long count,
+			final long error ) {
+		Counter counter = counters.get(value);
+		if (counter != null) {
+			orderedCounters.remove(counter);
+			counter.count += count;
+			counter.error += error;
+		}
+		else if (counters.size() < capacity) {
+			counter = new Counter(
+					value,
+					count,
+					error);
+			counters.put(
+					value,
+					counter);
+		}
+		else {
+			// replace the least frequent value, which bounds the error
+			counter = orderedCounters.pollFirst();
+			counters.remove(counter.value);
+			counter = new Counter(
+					value,
+					counter.count + count,
+					counter.count + error);
+			counters.put(
+					value,
+					counter);
+		}
+		orderedCounters.add(counter);
+	}
+
+	/**
+	 * @return the count a value that is not tracked may have had, which is the
+	 *         least count once every counter is in use
+	 */
+	private long getMinCount() {
+		if ((counters.size() < capacity) || orderedCounters.isEmpty()) {
+			return 0;
+		}
+		return orderedCounters.first().count;
+	}
+
+	@Override
+	public void merge(
+			final Mergeable mergeable ) {
+		if (mergeable instanceof FeatureTopKStatistics) {
+			final FeatureTopKStatistics stats = (FeatureTopKStatistics) mergeable;
+			// a value tracked by only one side may have been evicted from the
+			// other side with up to that side's least count, so it is added
+			// to both the count and the error to keep the error bound
+			final long minCount = getMinCount();
+			final long otherMinCount = stats.getMinCount();
+			final TreeSet<Counter> mergedCounters = new TreeSet<Counter>(
+					new CounterComparator());
+			for (final Counter counter : counters.values()) {
+				if (!stats.counters.containsKey(counter.value)) {
+					counter.count += otherMinCount;
+					counter.error += otherMinCount;
+				}
+			}
+			for (final Counter counter : stats.counters.values()) {
+				final Counter existing = counters.get(counter.value);
+				if (existing != null) {
+					existing.count += counter.count;
+					existing.error += counter.error;
+				}
+				else {
+					counters.put(
+							counter.value,
+							new Counter(
+									counter.value,
+									counter.count + minCount,
+									counter.error + minCount));
+				}
+			}
+			mergedCounters.addAll(counters.values());
+			orderedCounters = mergedCounters;
+			// keep only the most frequent values
+			while (counters.size() > capacity) {
+				counters.remove(orderedCounters.pollFirst().value);
+			}
+		}
+	}
+
+	@Override
+	public byte[] toBinary() {
+		final List<byte[]> values = new ArrayList<byte[]>(
+				counters.size());
+		int size = 12;
+		for (final Counter counter : orderedCounters) {
+			final byte[] value = StringUtils.stringToBinary(counter.value);
+			values.add(value);
+			size += 20 + value.length;
+		}
+		final ByteBuffer buffer = super.binaryBuffer(size);
+		buffer.putInt(k);
+		buffer.putInt(capacity);
+		buffer.putInt(values.size());
+		int i = 0;
+		for (final Counter counter : orderedCounters) {
+			final byte[] value = values.get(i++);
+			buffer.putInt(value.length);
+			buffer.put(value);
+			buffer.putLong(counter.count);
+			buffer.putLong(counter.error);
+		}
+		return buffer.array();
+	}
+
+	@Override
+	public void fromBinary(
+			final byte[] bytes ) {
+		final ByteBuffer buffer = super.binaryBuffer(bytes);
+		k = buffer.getInt();
+		capacity = buffer.getInt();
+		final int size = buffer.getInt();
+		counters = new HashMap<String, Counter>();
+		orderedCounters = new TreeSet<Counter>(
+				new CounterComparator());
+		for (int i = 0; i < size; i++) {
+			final byte[] value = new byte[buffer.getInt()];
+			buffer.get(value);
+			final Counter counter = new Counter(
+					StringUtils.stringFromBinary(value),
+					buffer.getLong(),
+					buffer.getLong());
+			counters.put(
+					counter.value,
+					counter);
+			orderedCounters.add(counter);
+		}
+	}
+
+	@Override
+	public void entryIngested(
+			final DataStoreEntryInfo entryInfo,
+			final SimpleFeature entry ) {
+		final Object o = entry.getAttribute(getFieldName());
+		if (o == null) {
+			return;
+		}
+		offer(
+				o.toString(),
+				1,
+				0);
+	}
+
+	@Override
+	public String toString() {
+		final StringBuffer buffer = new StringBuffer();
+		buffer.append(
+				"topk[adapter=").append(
+				super.getDataAdapterId().getString());
+		buffer.append(
+				", field=").append(
+				getFieldName());
+		buffer.append(
+				", values=").append(
+				getTopK());
+		buffer.append("]");
+		return buffer.toString();
+	}
+
+	private static class Counter
+	{
+		private final String value;
+		private long count;
+		private long error;
+
+		private Counter(
+				final String value,
+				final long count,
+				final long error ) {
+			this.value = value;
+			this.count = count;
+			this.error = error;
+		}
+	}
+
+	private static class CounterComparator implements
+			Comparator<Counter>,
+			java.io.Serializable
+	{
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public int compare(
+				final Counter o1,
+				final Counter o2 ) {
+			if (o1.count != o2.count) {
+				return (o1.count < o2.count) ? -1 : 1;
+			}
+			return o1.value.compareTo(o2.value);
+		}
+	}
+
+	public static class FeatureTopKConfig implements
+			StatsConfig<SimpleFeature>
+	{
+		/**
+		 *
+		 */
+		private static final long serialVersionUID = 4117563285047221830L;
+		private int k = DEFAULT_K;
+
+		public FeatureTopKConfig() {
+
+		}
+
+		public FeatureTopKConfig(
+				final int k ) {
+			super();
+			this.k = k;
+		}
+
+		public int getK() {
+			return k;
+		}
+
+		public void setK(
+				final int k ) {
+			this.k = k;
+		}
+
+		@Override
+		public DataStatistics<SimpleFeature> create(
+				final ByteArrayId dataAdapterId,
+				final String fieldName ) {
+			return new FeatureTopKStatistics(
+					dataAdapterId,
+					fieldName,
+					k);
+		}
+	}
+}
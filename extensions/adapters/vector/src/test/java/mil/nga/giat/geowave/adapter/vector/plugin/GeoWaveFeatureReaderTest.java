@@ -8,6 +8,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.UUID;
 
@@ -35,7 +36,15 @@ import com.vividsolutions.jts.geom.GeometryFactory;
 import com.vividsolutions.jts.geom.PrecisionModel;
 
 import mil.nga.giat.geowave.adapter.vector.BaseDataStoreTest;
+import mil.nga.giat.geowave.adapter.vector.stats.FeatureBoundingBoxStatistics;
+import mil.nga.giat.geowave.adapter.vector.stats.FeatureNumericSummaryStatistics;
+import mil.nga.giat.geowave.adapter.vector.stats.FeatureTopKStatistics;
 import mil.nga.giat.geowave.adapter.vector.utils.DateUtilities;
+import mil.nga.giat.geowave.core.index.ByteArrayId;
+import mil.nga.giat.geowave.core.store.adapter.statistics.DataStatistics;
+import mil.nga.giat.geowave.core.store.index.PrimaryIndex;
+import mil.nga.giat.geowave.core.store.query.aggregate.CountAggregation;
+import mil.nga.giat.geowave.core.store.query.aggregate.DataStatisticsAggregation;
 
 public class GeoWaveFeatureReaderTest extends
 		BaseDataStoreTest
@@ -270,6 +279,99 @@ public class GeoWaveFeatureReaderTest extends
 
 	}
 
+	@Test
+	public void testAggregationOfMultiRowFeature()
+			throws IllegalArgumentException,
+			NoSuchElementException,
+			IOException {
+		GeoWaveFeatureReader reader = unwrapDelegatingFeatureReader(dataStore.getFeatureReader(
+				query,
+				Transaction.AUTO_COMMIT));
+		final PrimaryIndex index = reader.getComponents().getAdapterIndices()[0];
+		final ByteArrayId adapterId = reader.getComponents().getAdapter().getAdapterId();
+		// every point is stored in a single row
+		assertTrue(GeoWaveFeatureReader.canAggregateRows(
+				new DataStatisticsAggregation<SimpleFeature>(
+						new FeatureNumericSummaryStatistics(
+								adapterId,
+								"pop")),
+				reader.getTransaction().getDataStatistics(),
+				index));
+		reader.close();
+
+		// a polygon across both axes is stored in several rows
+		final Transaction transaction = new DefaultTransaction();
+		final FeatureWriter<SimpleFeatureType, SimpleFeature> writer = dataStore.getFeatureWriterAppend(
+				type.getTypeName(),
+				transaction);
+		final SimpleFeature newFeature = writer.next();
+		newFeature.setAttribute(
+				"pop",
+				Long.valueOf(102));
+		newFeature.setAttribute(
+				"pid",
+				"c" + UUID.randomUUID().toString());
+		newFeature.setAttribute(
+				"start",
+				stime);
+		newFeature.setAttribute(
+				"geometry",
+				factory.createPolygon(new Coordinate[] {
+					new Coordinate(
+							-100,
+							-50),
+					new Coordinate(
+							100,
+							-50),
+					new Coordinate(
+							100,
+							50),
+					new Coordinate(
+							-100,
+							50),
+					new Coordinate(
+							-100,
+							-50)
+				}));
+		writer.write();
+		writer.close();
+		transaction.commit();
+		transaction.close();
+
+		reader = unwrapDelegatingFeatureReader(dataStore.getFeatureReader(
+				query,
+				Transaction.AUTO_COMMIT));
+		final Map<ByteArrayId, DataStatistics<SimpleFeature>> statsMap = reader.getTransaction().getDataStatistics();
+		// aggregating the rows would include the polygon more than once
+		assertFalse(GeoWaveFeatureReader.canAggregateRows(
+				new CountAggregation<SimpleFeature>(),
+				statsMap,
+				index));
+		assertFalse(GeoWaveFeatureReader.canAggregateRows(
+				new DataStatisticsAggregation<SimpleFeature>(
+						new FeatureNumericSummaryStatistics(
+								adapterId,
+								"pop")),
+				statsMap,
+				index));
+		assertFalse(GeoWaveFeatureReader.canAggregateRows(
+				new DataStatisticsAggregation<SimpleFeature>(
+						new FeatureTopKStatistics(
+								adapterId,
+								"pid")),
+				statsMap,
+				index));
+		// the bounds are the same however many times the polygon is included
+		assertTrue(GeoWaveFeatureReader.canAggregateRows(
+				new DataStatisticsAggregation<SimpleFeature>(
+						new FeatureBoundingBoxStatistics(
+								adapterId,
+								"geometry")),
+				statsMap,
+				index));
+		reader.close();
+	}
+
 	private GeoWaveFeatureReader unwrapDelegatingFeatureReader(
 			final FeatureReader<SimpleFeatureType, SimpleFeature> reader ) {
 		// GeoTools uses decorator pattern to wrap FeatureReaders
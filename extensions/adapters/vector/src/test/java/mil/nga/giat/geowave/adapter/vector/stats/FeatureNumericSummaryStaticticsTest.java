@@ -0,0 +1,85 @@
+package mil.nga.giat.geowave.adapter.vector.stats;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.UUID;
+
+import mil.nga.giat.geowave.core.index.ByteArrayId;
+
+import org.geotools.data.DataUtilities;
+import org.geotools.feature.SchemaException;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.junit.Before;
+import org.junit.Test;
+import org.opengis.feature.simple.SimpleFeature;
+import org.opengis.feature.simple.SimpleFeatureType;
+
+public class FeatureNumericSummaryStaticticsTest
+{
+	private SimpleFeatureType schema;
+
+	@Before
+	public void setup()
+			throws SchemaException {
+		schema = DataUtilities.createType(
+				"sp.geostuff",
+				"geometry:Geometry:srid=4326,pop:java.lang.Long");
+	}
+
+	private SimpleFeature create(
+			final long pop ) {
+		return SimpleFeatureBuilder.build(
+				schema,
+				new Object[] {
+					null,
+					Long.valueOf(pop)
+				},
+				UUID.randomUUID().toString());
+	}
+
+	@Test
+	public void test() {
+		final FeatureNumericSummaryStatistics stat = new FeatureNumericSummaryStatistics(
+				new ByteArrayId(
+						"sp.geostuff"),
+				"pop");
+		final FeatureNumericSummaryStatistics stat2 = new FeatureNumericSummaryStatistics(
+				new ByteArrayId(
+						"sp.geostuff"),
+				"pop");
+
+		for (long i = 1; i <= 100; i++) {
+			(i < 30 ? stat : stat2).entryIngested(
+					null,
+					create(i));
+		}
+
+		stat.merge(stat2);
+		final FeatureNumericSummaryStatistics copy = new FeatureNumericSummaryStatistics();
+		copy.fromBinary(stat.toBinary());
+
+		assertEquals(
+				100,
+				copy.getCount());
+		assertEquals(
+				1,
+				copy.getMin(),
+				0);
+		assertEquals(
+				100,
+				copy.getMax(),
+				0);
+		assertEquals(
+				5050,
+				copy.getSum(),
+				0);
+		assertEquals(
+				50.5,
+				copy.getMean(),
+				0.000001);
+		assertEquals(
+				833.25,
+				copy.getVariance(),
+				0.000001);
+	}
+}
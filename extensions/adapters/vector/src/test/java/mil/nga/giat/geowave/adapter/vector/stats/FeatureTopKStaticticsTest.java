@@ -0,0 +1,144 @@
+package mil.nga.giat.geowave.adapter.vector.stats;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import mil.nga.giat.geowave.core.index.ByteArrayId;
+
+import org.geotools.data.DataUtilities;
+import org.geotools.feature.SchemaException;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.junit.Before;
+import org.junit.Test;
+import org.opengis.feature.simple.SimpleFeature;
+import org.opengis.feature.simple.SimpleFeatureType;
+
+public class FeatureTopKStaticticsTest
+{
+	private SimpleFeatureType schema;
+
+	@Before
+	public void setup()
+			throws SchemaException {
+		schema = DataUtilities.createType(
+				"sp.geostuff",
+				"geometry:Geometry:srid=4326,pid:String");
+	}
+
+	private SimpleFeature create(
+			final String pid ) {
+		final SimpleFeature newFeature = SimpleFeatureBuilder.build(
+				schema,
+				new Object[] {
+					null,
+					pid
+				},
+				UUID.randomUUID().toString());
+		return newFeature;
+	}
+
+	@Test
+	public void test() {
+		final FeatureTopKStatistics stat = new FeatureTopKStatistics(
+				new ByteArrayId(
+						"sp.geostuff"),
+				"pid",
+				3);
+		final FeatureTopKStatistics stat2 = new FeatureTopKStatistics(
+				new ByteArrayId(
+						"sp.geostuff"),
+				"pid",
+				3);
+
+		// a few heavy values among many rare ones
+		final Random rnd = new Random(
+				7733);
+		for (int i = 0; i < 20000; i++) {
+			final String pid;
+			final int r = rnd.nextInt(100);
+			if (r < 20) {
+				pid = "a";
+			}
+			else if (r < 35) {
+				pid = "b";
+			}
+			else if (r < 45) {
+				pid = "c";
+			}
+			else {
+				pid = "rare" + rnd.nextInt(5000);
+			}
+			((i % 2) == 0 ? stat : stat2).entryIngested(
+					null,
+					create(pid));
+		}
+
+		stat.merge(stat2);
+		final FeatureTopKStatistics copy = new FeatureTopKStatistics();
+		copy.fromBinary(stat.toBinary());
+
+		final Map<String, Long> topK = copy.getTopK();
+		assertEquals(
+				3,
+				topK.size());
+		final Iterator<String> it = topK.keySet().iterator();
+		assertEquals(
+				"a",
+				it.next());
+		assertEquals(
+				"b",
+				it.next());
+		assertEquals(
+				"c",
+				it.next());
+		// roughly 20% of the values, overestimated by at most the error
+		final long count = topK.get("a");
+		assertTrue(count >= 3600);
+		assertTrue((count - copy.getError("a")) <= 4400);
+		System.out.println(copy.toString());
+	}
+
+	@Test
+	public void testMergeKeepsErrorBound() {
+		final FeatureTopKStatistics stat = new FeatureTopKStatistics(
+				new ByteArrayId(
+						"sp.geostuff"),
+				"pid",
+				1);
+		final FeatureTopKStatistics stat2 = new FeatureTopKStatistics(
+				new ByteArrayId(
+						"sp.geostuff"),
+				"pid",
+				1);
+		for (int i = 0; i < 20; i++) {
+			stat.entryIngested(
+					null,
+					create("a"));
+		}
+		// "a" is evicted from the 10 counters of the second statistic, which
+		// are then left with a least count of 3
+		stat2.entryIngested(
+				null,
+				create("a"));
+		for (int round = 0; round < 3; round++) {
+			for (int i = 0; i < 10; i++) {
+				stat2.entryIngested(
+						null,
+						create("v" + i));
+			}
+		}
+
+		stat.merge(stat2);
+		final long count = stat.getTopK().get(
+				"a");
+		// the estimate never undercounts the 21 values and overestimates by
+		// at most the error
+		assertTrue(count >= 21);
+		assertTrue((count - stat.getError("a")) <= 21);
+	}
+}
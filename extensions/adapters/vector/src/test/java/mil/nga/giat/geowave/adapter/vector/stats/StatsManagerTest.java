@@ -14,6 +14,7 @@ import mil.nga.giat.geowave.adapter.vector.stats.FeatureCountMinSketchStatistics
 import mil.nga.giat.geowave.adapter.vector.stats.FeatureFixedBinNumericStatistics.FeatureFixedBinConfig;
 import mil.nga.giat.geowave.adapter.vector.stats.FeatureHyperLogLogStatistics.FeatureHyperLogLogConfig;
 import mil.nga.giat.geowave.adapter.vector.stats.FeatureNumericHistogramStatistics.FeatureNumericHistogramConfig;
+import mil.nga.giat.geowave.adapter.vector.stats.FeatureNumericQuantileStatistics.FeatureNumericQuantileConfig;
 import mil.nga.giat.geowave.adapter.vector.stats.StatsConfigurationCollection.SimpleFeatureStatsConfigurationCollection;
 import mil.nga.giat.geowave.adapter.vector.utils.SimpleFeatureUserDataConfigurationSet;
 import mil.nga.giat.geowave.core.index.ByteArrayId;
@@ -131,7 +132,9 @@ public class StatsManagerTest
 										0.0,
 										1.0,
 										24),
-								new FeatureNumericHistogramConfig())));
+								new FeatureNumericHistogramConfig(),
+								new FeatureNumericQuantileConfig(
+										64))));
 		schema.getDescriptor(
 				5).getUserData().put(
 				"stats",
@@ -153,7 +156,7 @@ public class StatsManagerTest
 
 		final ByteArrayId[] ids = statsManager.getSupportedStatisticsIds();
 		assertEquals(
-				9,
+				10,
 				ids.length);
 		DataStatistics<SimpleFeature> stat = statsManager.createDataStatistics(
 				dataAdapter,
@@ -163,6 +166,10 @@ public class StatsManagerTest
 				dataAdapter,
 				FeatureNumericHistogramStatistics.composeId("pop"));
 		assertNotNull(stat);
+		stat = statsManager.createDataStatistics(
+				dataAdapter,
+				FeatureNumericQuantileStatistics.composeId("pop"));
+		assertNotNull(stat);
 		stat = statsManager.createDataStatistics(
 				dataAdapter,
 				FeatureHyperLogLogStatistics.composeId("pid"));
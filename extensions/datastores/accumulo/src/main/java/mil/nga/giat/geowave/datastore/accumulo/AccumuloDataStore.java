@@ -23,6 +23,8 @@ import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Range;
 import org.apache.accumulo.core.data.Value;
 import org.apache.accumulo.core.iterators.user.WholeRowIterator;
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.hadoop.io.Text;
 import org.apache.hadoop.mapreduce.InputSplit;
 import org.apache.hadoop.mapreduce.RecordReader;
@@ -50,6 +52,7 @@ import mil.nga.giat.geowave.core.store.adapter.RowMergingDataAdapter;
 import mil.nga.giat.geowave.core.store.adapter.WritableDataAdapter;
 import mil.nga.giat.geowave.core.store.adapter.statistics.DataStatisticsStore;
 import mil.nga.giat.geowave.core.store.adapter.statistics.DuplicateEntryCount;
+import mil.nga.giat.geowave.core.store.adapter.statistics.RowRangeHistogramStatistics;
 import mil.nga.giat.geowave.core.store.data.visibility.DifferingFieldVisibilityEntryCount;
 import mil.nga.giat.geowave.core.store.entities.GeowaveRowId;
 import mil.nga.giat.geowave.core.store.filter.DedupeFilter;
@@ -57,9 +60,13 @@ import mil.nga.giat.geowave.core.store.index.IndexMetaDataSet;
 import mil.nga.giat.geowave.core.store.index.IndexStore;
 import mil.nga.giat.geowave.core.store.index.PrimaryIndex;
 import mil.nga.giat.geowave.core.store.index.SecondaryIndexDataStore;
+import mil.nga.giat.geowave.core.store.memory.MemoryAdapterStore;
 import mil.nga.giat.geowave.core.store.query.DistributableQuery;
 import mil.nga.giat.geowave.core.store.query.Query;
 import mil.nga.giat.geowave.core.store.query.QueryOptions;
+import mil.nga.giat.geowave.core.store.query.aggregate.Aggregation;
+import mil.nga.giat.geowave.core.store.query.aggregate.CountAggregation;
+import mil.nga.giat.geowave.core.store.query.aggregate.CountResult;
 import mil.nga.giat.geowave.datastore.accumulo.index.secondary.AccumuloSecondaryIndexDataStore;
 import mil.nga.giat.geowave.datastore.accumulo.mapreduce.AccumuloSplitsProvider;
 import mil.nga.giat.geowave.datastore.accumulo.mapreduce.GeoWaveAccumuloRecordReader;
@@ -329,13 +336,35 @@ public class AccumuloDataStore extends
 			final DedupeFilter filter,
 			final QueryOptions sanitizedQueryOptions,
 			final AdapterStore tempAdapterStore ) {
+		final AccumuloConstraintsQuery accumuloQuery = createConstraintsQuery(
+				adapterIdsToQuery,
+				index,
+				sanitizedQuery,
+				filter,
+				sanitizedQueryOptions.getAggregation(),
+				sanitizedQueryOptions);
+
+		return accumuloQuery.query(
+				accumuloOperations,
+				tempAdapterStore,
+				sanitizedQueryOptions.getMaxResolutionSubsamplingPerDimension(),
+				sanitizedQueryOptions.getLimit());
+	}
+
+	private AccumuloConstraintsQuery createConstraintsQuery(
+			final List<ByteArrayId> adapterIdsToQuery,
+			final PrimaryIndex index,
+			final Query sanitizedQuery,
+			final DedupeFilter filter,
+			final Pair<DataAdapter<?>, Aggregation<?, ?, ?>> aggregation,
+			final QueryOptions sanitizedQueryOptions ) {
 		final AccumuloConstraintsQuery accumuloQuery = new AccumuloConstraintsQuery(
 				adapterIdsToQuery,
 				index,
 				sanitizedQuery,
 				filter,
 				sanitizedQueryOptions.getScanCallback(),
-				sanitizedQueryOptions.getAggregation(),
+				aggregation,
 				sanitizedQueryOptions.getFieldIdsAdapterPair(),
 				IndexMetaDataSet.getIndexMetadata(
 						index,
@@ -347,18 +376,85 @@ public class AccumuloDataStore extends
 						adapterIdsToQuery,
 						statisticsStore,
 						sanitizedQueryOptions.getAuthorizations()),
+				RowRangeHistogramStatistics.getRangeStats(
+						index,
+						adapterIdsToQuery,
+						statisticsStore,
+						sanitizedQueryOptions.getAuthorizations()),
 				DifferingFieldVisibilityEntryCount.getVisibilityCounts(
 						index,
 						adapterIdsToQuery,
 						statisticsStore,
 						sanitizedQueryOptions.getAuthorizations()),
 				sanitizedQueryOptions.getAuthorizations());
+		accumuloQuery.setQueryMetrics(sanitizedQueryOptions.getQueryMetrics());
+		accumuloQuery.setMaxScanRanges(sanitizedQueryOptions.getMaxScanRanges());
+		return accumuloQuery;
+	}
 
-		return accumuloQuery.query(
+	/**
+	 * The matching entries are first counted with an aggregation so the count
+	 * statistic can be updated, and then deleted with a batch deleter using the
+	 * same ranges and server side filters. Only indices without duplicated
+	 * entries or entries with differing field visibilities qualify, because
+	 * otherwise the entries have to be de-duplicated or decoded as whole rows
+	 * on the client.
+	 */
+	@Override
+	protected long deleteConstraints(
+			final DataAdapter<Object> adapter,
+			final PrimaryIndex index,
+			final Query query,
+			final QueryOptions queryOptions ) {
+		final List<ByteArrayId> adapterIds = Collections.singletonList(adapter.getAdapterId());
+		final QueryOptions deleteOptions = new QueryOptions();
+		deleteOptions.setAuthorizations(queryOptions.getAuthorizations());
+		deleteOptions.setQueryMetrics(queryOptions.getQueryMetrics());
+		// the dedupe filter is only kept as a client filter if the index may
+		// contain duplicates, in which case the delete is not supported
+		final AccumuloConstraintsQuery deleteQuery = createConstraintsQuery(
+				adapterIds,
+				index,
+				query,
+				new DedupeFilter(),
+				null,
+				deleteOptions);
+		if (!deleteQuery.isServerSideDeleteSupported()) {
+			return -1;
+		}
+		long count = 0;
+		try (final CloseableIterator<Object> it = createConstraintsQuery(
+				adapterIds,
+				index,
+				query,
+				null,
+				new ImmutablePair<DataAdapter<?>, Aggregation<?, ?, ?>>(
+						adapter,
+						new CountAggregation<Object>()),
+				deleteOptions).query(
 				accumuloOperations,
-				tempAdapterStore,
-				sanitizedQueryOptions.getMaxResolutionSubsamplingPerDimension(),
-				sanitizedQueryOptions.getLimit());
+				new MemoryAdapterStore(
+						new DataAdapter[] {
+							adapter
+						}),
+				null,
+				null)) {
+			while (it.hasNext()) {
+				final Object result = it.next();
+				if ((result instanceof CountResult) && ((CountResult) result).isSet()) {
+					count += ((CountResult) result).getCount();
+				}
+			}
+		}
+		catch (final IOException e) {
+			LOGGER.warn(
+					"Unable to count entries to delete",
+					e);
+		}
+		if (!deleteQuery.delete(accumuloOperations)) {
+			return -1;
+		}
+		return count;
 	}
 
 	@Override
@@ -379,6 +475,7 @@ public class AccumuloDataStore extends
 						statisticsStore,
 						sanitizedQueryOptions.getAuthorizations()),
 				sanitizedQueryOptions.getAuthorizations());
+		prefixQuery.setQueryMetrics(sanitizedQueryOptions.getQueryMetrics());
 		return prefixQuery.query(
 				accumuloOperations,
 				sanitizedQueryOptions.getMaxResolutionSubsamplingPerDimension(),
@@ -400,6 +497,7 @@ public class AccumuloDataStore extends
 				(ScanCallback<Object>) sanitizedQueryOptions.getScanCallback(),
 				filter,
 				sanitizedQueryOptions.getAuthorizations());
+		q.setQueryMetrics(sanitizedQueryOptions.getQueryMetrics());
 
 		return q.query(
 				accumuloOperations,
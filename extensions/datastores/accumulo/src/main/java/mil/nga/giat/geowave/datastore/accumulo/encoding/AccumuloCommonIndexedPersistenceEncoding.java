@@ -5,8 +5,8 @@ import java.util.List;
 import mil.nga.giat.geowave.core.index.ByteArrayId;
 import mil.nga.giat.geowave.core.store.adapter.AbstractAdapterPersistenceEncoding;
 import mil.nga.giat.geowave.core.store.adapter.DataAdapter;
+import mil.nga.giat.geowave.core.store.data.LazyPersistentValue;
 import mil.nga.giat.geowave.core.store.data.PersistentDataset;
-import mil.nga.giat.geowave.core.store.data.PersistentValue;
 import mil.nga.giat.geowave.core.store.data.field.FieldReader;
 import mil.nga.giat.geowave.core.store.index.CommonIndexModel;
 import mil.nga.giat.geowave.core.store.index.CommonIndexValue;
@@ -53,10 +53,10 @@ public class AccumuloCommonIndexedPersistenceEncoding extends
 						model,
 						field.getFieldPosition());
 				final FieldReader<Object> reader = adapter.getReader(fieldId);
-				final Object value = reader.readField(field.getValue());
-				adapterExtendedData.addValue(new PersistentValue<Object>(
+				adapterExtendedData.addValue(new LazyPersistentValue<Object>(
 						fieldId,
-						value));
+						field.getValue(),
+						reader));
 			}
 		}
 	}
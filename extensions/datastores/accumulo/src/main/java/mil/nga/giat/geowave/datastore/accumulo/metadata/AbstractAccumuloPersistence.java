@@ -201,6 +201,13 @@ abstract public class AbstractAccumuloPersistence<T extends Persistable> extends
 		if (cacheResult != null) {
 			return (T) cacheResult;
 		}
+		if (isObjectMissingFromCache(
+				primaryId,
+				secondaryId,
+				authorizations)) {
+			return null;
+		}
+		final long startTime = System.nanoTime();
 		try {
 			final BatchScanner scanner = getScanner(
 					primaryId,
@@ -212,6 +219,10 @@ abstract public class AbstractAccumuloPersistence<T extends Persistable> extends
 					LOGGER.warn("Object '" + getCombinedId(
 							primaryId,
 							secondaryId).getString() + "' not found");
+					addMissingObjectToCache(
+							primaryId,
+							secondaryId,
+							authorizations);
 					return null;
 				}
 				final Entry<Key, Value> entry = it.next();
@@ -219,6 +230,7 @@ abstract public class AbstractAccumuloPersistence<T extends Persistable> extends
 			}
 			finally {
 				scanner.close();
+				recordCacheLoad(System.nanoTime() - startTime);
 			}
 		}
 		catch (final TableNotFoundException e) {
@@ -231,6 +243,7 @@ abstract public class AbstractAccumuloPersistence<T extends Persistable> extends
 		return null;
 	}
 
+	@Override
 	protected CloseableIterator<T> getObjects(
 			final String... authorizations ) {
 		try {
@@ -381,6 +394,12 @@ abstract public class AbstractAccumuloPersistence<T extends Persistable> extends
 				secondaryId) != null) {
 			return true;
 		}
+		if (isObjectMissingFromCache(
+				primaryId,
+				secondaryId)) {
+			return false;
+		}
+		final long startTime = System.nanoTime();
 		try {
 			final BatchScanner scanner = getScanner(
 					primaryId,
@@ -393,12 +412,16 @@ abstract public class AbstractAccumuloPersistence<T extends Persistable> extends
 					return (entryToValue(it.next()) != null);
 				}
 				else {
+					addMissingObjectToCache(
+							primaryId,
+							secondaryId);
 					return false;
 				}
 
 			}
 			finally {
 				scanner.close();
+				recordCacheLoad(System.nanoTime() - startTime);
 			}
 		}
 		catch (final TableNotFoundException e) {
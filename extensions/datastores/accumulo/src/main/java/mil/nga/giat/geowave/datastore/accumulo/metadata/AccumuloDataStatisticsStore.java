@@ -73,7 +73,11 @@ public class AccumuloDataStatisticsStore extends
 			final ByteArrayId primaryId,
 			final ByteArrayId secondaryId,
 			final DataStatistics<?> object ) {
-		// don't use the cache at all for now
+		// don't use the cache at all for now, other than to forget that the
+		// statistic was missing
+		removeMissingObjectFromCache(
+				primaryId,
+				secondaryId);
 
 		// TODO consider adding a setting to use the cache for statistics, but
 		// because it could change with each new entry, it seems that there
@@ -32,6 +32,12 @@ public class AccumuloOptions implements
 	@Parameter(names = "--enableBlockCache", hidden = true, arity = 1)
 	protected boolean enableBlockCache = true;
 
+	@Parameter(names = "--preloadMetadata", hidden = true, arity = 1)
+	protected boolean preloadMetadata = false;
+
+	@Parameter(names = "--serverSideDelete", hidden = true, arity = 1)
+	protected boolean serverSideDelete = false;
+
 	public boolean isPersistDataStatistics() {
 		return persistDataStatistics;
 	}
@@ -94,4 +100,22 @@ public class AccumuloOptions implements
 			boolean enableBlockCache ) {
 		this.enableBlockCache = enableBlockCache;
 	}
+
+	public boolean isPreloadMetadata() {
+		return preloadMetadata;
+	}
+
+	public void setPreloadMetadata(
+			final boolean preloadMetadata ) {
+		this.preloadMetadata = preloadMetadata;
+	}
+
+	public boolean isServerSideDelete() {
+		return serverSideDelete;
+	}
+
+	public void setServerSideDelete(
+			final boolean serverSideDelete ) {
+		this.serverSideDelete = serverSideDelete;
+	}
 }
@@ -51,16 +51,18 @@ abstract public class AbstractAccumuloRowQuery<T> extends
 			return null;
 		}
 		addScanIteratorSettings(scanner);
+		final AccumuloEntryIteratorWrapper it = new AccumuloEntryIteratorWrapper(
+				useWholeRowIterator(),
+				adapterStore,
+				index,
+				scanner.iterator(),
+				null,
+				this.scanCallback);
+		it.setQueryMetrics(queryMetrics);
 		return new CloseableIteratorWrapper<T>(
 				new ScannerClosableWrapper(
 						scanner),
-				new AccumuloEntryIteratorWrapper(
-						useWholeRowIterator(),
-						adapterStore,
-						index,
-						scanner.iterator(),
-						null,
-						this.scanCallback));
+				it);
 	}
 
 	protected void addScanIteratorSettings(
@@ -24,6 +24,7 @@ import mil.nga.giat.geowave.core.store.ScanCallback;
 import mil.nga.giat.geowave.core.store.adapter.AdapterStore;
 import mil.nga.giat.geowave.core.store.adapter.DataAdapter;
 import mil.nga.giat.geowave.core.store.adapter.statistics.DuplicateEntryCount;
+import mil.nga.giat.geowave.core.store.adapter.statistics.RowRangeHistogramStatistics;
 import mil.nga.giat.geowave.core.store.data.visibility.DifferingFieldVisibilityEntryCount;
 import mil.nga.giat.geowave.core.store.filter.DedupeFilter;
 import mil.nga.giat.geowave.core.store.filter.DistributableFilterList;
@@ -55,6 +56,7 @@ public class AccumuloConstraintsQuery extends
 			final Pair<List<String>, DataAdapter<?>> fieldIdsAdapterPair,
 			final IndexMetaData[] indexMetaData,
 			final DuplicateEntryCount duplicateCounts,
+			final RowRangeHistogramStatistics<?> rangeStatistics,
 			final DifferingFieldVisibilityEntryCount visibilityCounts,
 			final String[] authorizations ) {
 		this(
@@ -68,6 +70,7 @@ public class AccumuloConstraintsQuery extends
 				fieldIdsAdapterPair,
 				indexMetaData,
 				duplicateCounts,
+				rangeStatistics,
 				visibilityCounts,
 				authorizations);
 	}
@@ -83,6 +86,7 @@ public class AccumuloConstraintsQuery extends
 			final Pair<List<String>, DataAdapter<?>> fieldIdsAdapterPair,
 			final IndexMetaData[] indexMetaData,
 			final DuplicateEntryCount duplicateCounts,
+			final RowRangeHistogramStatistics<?> rangeStatistics,
 			final DifferingFieldVisibilityEntryCount visibilityCounts,
 			final String[] authorizations ) {
 
@@ -102,6 +106,7 @@ public class AccumuloConstraintsQuery extends
 				queryFilters,
 				clientDedupeFilter,
 				duplicateCounts,
+				rangeStatistics,
 				this);
 
 		queryFiltersEnabled = true;
@@ -218,6 +223,16 @@ public class AccumuloConstraintsQuery extends
 		this.queryFiltersEnabled = queryFiltersEnabled;
 	}
 
+	/**
+	 * @param maxScanRanges
+	 *            the maximum number of ranges to scan, if <= 0 the number of
+	 *            ranges is not bounded
+	 */
+	public void setMaxScanRanges(
+			final int maxScanRanges ) {
+		base.setMaxScanRanges(maxScanRanges);
+	}
+
 	@Override
 	protected Iterator initIterator(
 			final AdapterStore adapterStore,
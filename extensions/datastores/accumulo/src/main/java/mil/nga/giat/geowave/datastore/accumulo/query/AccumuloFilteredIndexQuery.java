@@ -4,8 +4,12 @@ import java.io.IOException;
 import java.util.Iterator;
 import java.util.List;
 
+import org.apache.accumulo.core.client.BatchDeleter;
+import org.apache.accumulo.core.client.MutationsRejectedException;
 import org.apache.accumulo.core.client.ScannerBase;
+import org.apache.accumulo.core.client.TableNotFoundException;
 import org.apache.commons.lang3.tuple.Pair;
+import org.apache.hadoop.io.Text;
 import org.apache.log4j.Logger;
 
 import com.google.common.collect.Iterators;
@@ -24,6 +28,7 @@ import mil.nga.giat.geowave.core.store.index.PrimaryIndex;
 import mil.nga.giat.geowave.core.store.query.FilteredIndexQuery;
 import mil.nga.giat.geowave.datastore.accumulo.AccumuloOperations;
 import mil.nga.giat.geowave.datastore.accumulo.util.AccumuloEntryIteratorWrapper;
+import mil.nga.giat.geowave.datastore.accumulo.util.AccumuloUtils;
 import mil.nga.giat.geowave.datastore.accumulo.util.ScannerClosableWrapper;
 
 public abstract class AccumuloFilteredIndexQuery extends
@@ -105,10 +110,63 @@ public abstract class AccumuloFilteredIndexQuery extends
 				it);
 	}
 
+	/**
+	 *
+	 * @return true if every filter of this query can be applied server side to
+	 *         each key individually, so that the keys it matches can be deleted
+	 *         in place
+	 */
+	public boolean isServerSideDeleteSupported() {
+		return !isAggregation() && !useWholeRowIterator() && (fieldIdsAdapterPair == null)
+				&& ((clientFilters == null) || clientFilters.isEmpty());
+	}
+
+	/**
+	 * Delete the rows matching this query with a batch deleter, the ranges and
+	 * filters are applied by the tablet servers and only the keys of the
+	 * matching rows are returned to be deleted
+	 *
+	 * @return true if the delete succeeded
+	 */
+	public boolean delete(
+			final AccumuloOperations accumuloOperations ) {
+		if (!isServerSideDeleteSupported()) {
+			return false;
+		}
+		final String tableName = StringUtils.stringFromBinary(index.getId().getBytes());
+		BatchDeleter deleter = null;
+		try {
+			deleter = accumuloOperations.createBatchDeleter(
+					tableName,
+					getAdditionalAuthorizations());
+			deleter.setRanges(AccumuloUtils.byteArrayRangesToAccumuloRanges(getRanges()));
+			if ((adapterIds != null) && !adapterIds.isEmpty()) {
+				for (final ByteArrayId adapterId : adapterIds) {
+					deleter.fetchColumnFamily(new Text(
+							adapterId.getBytes()));
+				}
+			}
+			addScanIteratorSettings(deleter);
+			deleter.delete();
+			return true;
+		}
+		catch (final TableNotFoundException | MutationsRejectedException e) {
+			LOGGER.warn(
+					"Unable to delete rows from table [" + tableName + "].",
+					e);
+			return false;
+		}
+		finally {
+			if (deleter != null) {
+				deleter.close();
+			}
+		}
+	}
+
 	protected Iterator initIterator(
 			final AdapterStore adapterStore,
 			final ScannerBase scanner ) {
-		return new AccumuloEntryIteratorWrapper(
+		final AccumuloEntryIteratorWrapper it = new AccumuloEntryIteratorWrapper(
 				useWholeRowIterator(),
 				adapterStore,
 				index,
@@ -117,6 +175,8 @@ public abstract class AccumuloFilteredIndexQuery extends
 						: new FilterList<QueryFilter>(
 								clientFilters),
 				scanCallback);
+		it.setQueryMetrics(queryMetrics);
+		return it;
 	}
 
 }
@@ -19,6 +19,7 @@ import mil.nga.giat.geowave.core.index.StringUtils;
 import mil.nga.giat.geowave.core.store.adapter.DataAdapter;
 import mil.nga.giat.geowave.core.store.data.visibility.DifferingFieldVisibilityEntryCount;
 import mil.nga.giat.geowave.core.store.index.PrimaryIndex;
+import mil.nga.giat.geowave.core.store.query.QueryMetrics;
 import mil.nga.giat.geowave.datastore.accumulo.AccumuloOperations;
 import mil.nga.giat.geowave.datastore.accumulo.util.AccumuloUtils;
 
@@ -34,6 +35,7 @@ abstract public class AccumuloQuery
 	protected final PrimaryIndex index;
 	protected final Pair<List<String>, DataAdapter<?>> fieldIdsAdapterPair;
 	protected final DifferingFieldVisibilityEntryCount visibilityCounts;
+	protected QueryMetrics queryMetrics = null;
 
 	private final String[] authorizations;
 
@@ -64,6 +66,11 @@ abstract public class AccumuloQuery
 
 	abstract protected List<ByteArrayRange> getRanges();
 
+	public void setQueryMetrics(
+			final QueryMetrics queryMetrics ) {
+		this.queryMetrics = queryMetrics;
+	}
+
 	protected boolean isAggregation() {
 		return false;
 	}
@@ -76,7 +83,13 @@ abstract public class AccumuloQuery
 			final AccumuloOperations accumuloOperations,
 			final double[] maxResolutionSubsamplingPerDimension,
 			final Integer limit ) {
+		final long startNanos = System.nanoTime();
 		final List<ByteArrayRange> ranges = getRanges();
+		if (queryMetrics != null) {
+			queryMetrics.rangesDecomposed(
+					(ranges == null) ? 0 : ranges.size(),
+					System.nanoTime() - startNanos);
+		}
 		final String tableName = StringUtils.stringFromBinary(index.getId().getBytes());
 		ScannerBase scanner;
 		try {
@@ -40,6 +40,7 @@ public class AccumuloRowIdsQuery<T> extends
 				null,
 				null,
 				null,
+				null,
 				authorizations);
 		this.rows = rows;
 	}
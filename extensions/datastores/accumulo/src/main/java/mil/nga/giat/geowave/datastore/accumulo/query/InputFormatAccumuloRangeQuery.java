@@ -73,6 +73,7 @@ public class InputFormatAccumuloRangeQuery extends
 				null,
 				null,
 				null,
+				null,
 				queryOptions.getAuthorizations());
 
 		this.accumuloRange = accumuloRange;
@@ -56,6 +56,7 @@ import mil.nga.giat.geowave.core.store.adapter.IndexedAdapterPersistenceEncoding
 import mil.nga.giat.geowave.core.store.adapter.RowMergingDataAdapter;
 import mil.nga.giat.geowave.core.store.adapter.RowMergingDataAdapter.RowTransform;
 import mil.nga.giat.geowave.core.store.adapter.WritableDataAdapter;
+import mil.nga.giat.geowave.core.store.data.LazyPersistentValue;
 import mil.nga.giat.geowave.core.store.data.PersistentDataset;
 import mil.nga.giat.geowave.core.store.data.PersistentValue;
 import mil.nga.giat.geowave.core.store.data.VisibilityWriter;
@@ -318,10 +319,12 @@ public class AccumuloUtils
 				else {
 					final FieldReader<?> extFieldReader = adapter.getReader(fieldId);
 					if (extFieldReader != null) {
-						final Object value = extFieldReader.readField(fieldInfo.getValue());
-						final PersistentValue<Object> val = new PersistentValue<Object>(
+						// extended fields are only deserialized when they are
+						// read, so rows rejected by the client filter skip it
+						final PersistentValue<Object> val = new LazyPersistentValue<Object>(
 								fieldId,
-								value);
+								fieldInfo.getValue(),
+								extFieldReader);
 						extendedData.addValue(val);
 						fieldInfoList.add(DataStoreUtils.getFieldInfo(
 								val,
@@ -1129,6 +1132,7 @@ public class AccumuloUtils
 					null,
 					null,
 					null,
+					null,
 					new String[0]);
 			final CloseableIterator<?> iterator = accumuloQuery.query(
 					operations,
@@ -1180,6 +1184,7 @@ public class AccumuloUtils
 					null,
 					null,
 					null,
+					null,
 					new String[0]);
 			final CloseableIterator<?> iterator = accumuloQuery.query(
 					operations,
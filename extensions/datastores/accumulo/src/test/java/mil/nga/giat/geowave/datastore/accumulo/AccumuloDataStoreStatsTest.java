@@ -44,6 +44,7 @@ import mil.nga.giat.geowave.core.store.index.PrimaryIndex;
 import mil.nga.giat.geowave.core.store.query.DataIdQuery;
 import mil.nga.giat.geowave.core.store.query.EverythingQuery;
 import mil.nga.giat.geowave.core.store.query.QueryOptions;
+import mil.nga.giat.geowave.core.store.query.aggregate.DataStatisticsAggregation;
 import mil.nga.giat.geowave.datastore.accumulo.index.secondary.AccumuloSecondaryIndexDataStore;
 import mil.nga.giat.geowave.datastore.accumulo.metadata.AccumuloAdapterIndexMappingStore;
 import mil.nga.giat.geowave.datastore.accumulo.metadata.AccumuloAdapterStore;
@@ -261,6 +262,29 @@ public class AccumuloDataStoreStatsTest
 					count);
 		}
 
+		// compute the bounds of the query results within the tablet servers
+		final QueryOptions aggregationOptions = new QueryOptions(
+				adapter,
+				index,
+				-1,
+				null,
+				new String[] {
+					"aaa",
+					"bbb"
+				});
+		aggregationOptions.setAggregation(
+				new DataStatisticsAggregation<TestGeometry>(
+						((TestGeometryAdapter) adapter).createDataStatistics(BoundingBoxDataStatistics.STATS_ID)),
+				adapter);
+		try (CloseableIterator<?> it1 = mockDataStore.query(
+				aggregationOptions,
+				query)) {
+			assertTrue(it1.hasNext());
+			final BoundingBoxDataStatistics<?> queryBounds = (BoundingBoxDataStatistics<?>) it1.next();
+			assertTrue((queryBounds.getMinX() == 25) && (queryBounds.getMaxX() == 27) && (queryBounds.getMinY() == 32)
+					&& (queryBounds.getMaxY() == 32));
+		}
+
 		CountDataStatistics<?> countStats = (CountDataStatistics<?>) statsStore.getDataStatistics(
 				adapter.getAdapterId(),
 				CountDataStatistics.STATS_ID,
@@ -11,6 +11,7 @@ import java.util.Collections;
 import java.util.List;
 
 import mil.nga.giat.geowave.core.geotime.ingest.SpatialDimensionalityTypeProvider;
+import mil.nga.giat.geowave.core.geotime.ingest.SpatialTemporalDimensionalityTypeProvider;
 import mil.nga.giat.geowave.core.geotime.store.dimension.GeometryWrapper;
 import mil.nga.giat.geowave.core.index.ByteArrayId;
 import mil.nga.giat.geowave.core.index.StringUtils;
@@ -632,6 +633,45 @@ public class AccumuloOptionsTest
 
 	}
 
+	@Test
+	public void testMetadataCache() {
+		final PrimaryIndex index = new SpatialDimensionalityTypeProvider().createPrimaryIndex();
+		indexStore.configureCache(
+				100,
+				0,
+				60000);
+		// create the metadata table
+		indexStore.addIndex(new SpatialTemporalDimensionalityTypeProvider().createPrimaryIndex());
+
+		// the miss is cached until the index is added
+		assertFalse(indexStore.indexExists(index.getId()));
+		assertFalse(indexStore.indexExists(index.getId()));
+		assertEquals(
+				1,
+				indexStore.getCacheLoadCount());
+		indexStore.addIndex(index);
+		assertTrue(indexStore.indexExists(index.getId()));
+		assertEquals(
+				1,
+				indexStore.getCacheLoadCount());
+
+		// a preloaded store answers lookups from its cache
+		final AccumuloIndexStore preloadedStore = new AccumuloIndexStore(
+				accumuloOperations);
+		preloadedStore.preload();
+		final long loadCount = preloadedStore.getCacheLoadCount();
+		assertEquals(
+				index.getId(),
+				preloadedStore.getIndex(
+						index.getId()).getId());
+		assertEquals(
+				loadCount,
+				preloadedStore.getCacheLoadCount());
+		assertEquals(
+				1,
+				preloadedStore.getCacheHitCount());
+	}
+
 	private static class TestGeometry
 	{
 		private final Geometry geom;
@@ -0,0 +1,149 @@
+package mil.nga.giat.geowave.datastore.accumulo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+
+import org.apache.accumulo.core.client.AccumuloException;
+import org.apache.accumulo.core.client.AccumuloSecurityException;
+import org.apache.accumulo.core.client.Connector;
+import org.apache.accumulo.core.client.mock.MockInstance;
+import org.apache.accumulo.core.client.security.tokens.PasswordToken;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.vividsolutions.jts.geom.Coordinate;
+import com.vividsolutions.jts.geom.Envelope;
+import com.vividsolutions.jts.geom.GeometryFactory;
+
+import mil.nga.giat.geowave.core.geotime.GeometryUtils;
+import mil.nga.giat.geowave.core.geotime.ingest.SpatialDimensionalityTypeProvider;
+import mil.nga.giat.geowave.core.geotime.store.query.SpatialQuery;
+import mil.nga.giat.geowave.core.store.CloseableIterator;
+import mil.nga.giat.geowave.core.store.DataStore;
+import mil.nga.giat.geowave.core.store.IndexWriter;
+import mil.nga.giat.geowave.core.store.adapter.WritableDataAdapter;
+import mil.nga.giat.geowave.core.store.adapter.statistics.CountDataStatistics;
+import mil.nga.giat.geowave.core.store.adapter.statistics.DataStatisticsStore;
+import mil.nga.giat.geowave.core.store.index.PrimaryIndex;
+import mil.nga.giat.geowave.core.store.query.QueryOptions;
+import mil.nga.giat.geowave.datastore.accumulo.AccumuloDataStoreStatsTest.TestGeometry;
+import mil.nga.giat.geowave.datastore.accumulo.AccumuloDataStoreStatsTest.TestGeometryAdapter;
+import mil.nga.giat.geowave.datastore.accumulo.metadata.AccumuloDataStatisticsStore;
+import mil.nga.giat.geowave.datastore.accumulo.operations.config.AccumuloOptions;
+
+public class ServerSideDeleteTest
+{
+	private final MockInstance mockInstance = new MockInstance();
+	private Connector mockConnector = null;
+	private BasicAccumuloOperations operations;
+	private DataStore mockDataStore;
+	private WritableDataAdapter<TestGeometry> adapter;
+	private DataStatisticsStore statsStore;
+	protected AccumuloOptions options = new AccumuloOptions();
+
+	private static final PrimaryIndex index = new SpatialDimensionalityTypeProvider().createPrimaryIndex();
+
+	@Before
+	public void setUp()
+			throws IOException {
+
+		try {
+			mockConnector = mockInstance.getConnector(
+					"root",
+					new PasswordToken(
+							new byte[0]));
+
+			operations = new BasicAccumuloOperations(
+					mockConnector);
+		}
+		catch (AccumuloException | AccumuloSecurityException e) {
+			e.printStackTrace();
+		}
+
+		options.setServerSideDelete(true);
+		mockDataStore = new AccumuloDataStore(
+				operations,
+				options);
+
+		statsStore = new AccumuloDataStatisticsStore(
+				operations);
+
+		adapter = new TestGeometryAdapter();
+		final GeometryFactory factory = new GeometryFactory();
+
+		try (IndexWriter indexWriter = mockDataStore.createWriter(
+				adapter,
+				index)) {
+			indexWriter.write(new TestGeometry(
+					factory.createPoint(new Coordinate(
+							25,
+							32)),
+					"test_pt_1"));
+			indexWriter.write(new TestGeometry(
+					factory.createPoint(new Coordinate(
+							26,
+							33)),
+					"test_pt_2"));
+			indexWriter.write(new TestGeometry(
+					factory.createPoint(new Coordinate(
+							40,
+							40)),
+					"test_pt_3"));
+		}
+	}
+
+	@Test
+	public void testDeleteByConstraints()
+			throws IOException {
+		CountDataStatistics<?> countStats = (CountDataStatistics<?>) statsStore.getDataStatistics(
+				adapter.getAdapterId(),
+				CountDataStatistics.STATS_ID);
+		assertEquals(
+				3,
+				countStats.getCount());
+
+		final SpatialQuery query = new SpatialQuery(
+				GeometryUtils.GEOMETRY_FACTORY.toGeometry(new Envelope(
+						24,
+						28,
+						30,
+						35)));
+		assertTrue(mockDataStore.delete(
+				new QueryOptions(
+						adapter,
+						index),
+				query));
+
+		try (CloseableIterator<?> it = mockDataStore.query(
+				new QueryOptions(
+						adapter,
+						index),
+				query)) {
+			assertTrue(!it.hasNext());
+		}
+		int remaining = 0;
+		try (CloseableIterator<?> it = mockDataStore.query(
+				new QueryOptions(
+						adapter,
+						index),
+				null)) {
+			while (it.hasNext()) {
+				it.next();
+				remaining++;
+			}
+		}
+		assertEquals(
+				1,
+				remaining);
+
+		// the count is decremented once by the number of entries deleted
+		countStats = (CountDataStatistics<?>) statsStore.getDataStatistics(
+				adapter.getAdapterId(),
+				CountDataStatistics.STATS_ID);
+		assertEquals(
+				1,
+				countStats.getCount());
+	}
+}
@@ -40,6 +40,7 @@ import mil.nga.giat.geowave.core.store.adapter.DataAdapter;
 import mil.nga.giat.geowave.core.store.adapter.WritableDataAdapter;
 import mil.nga.giat.geowave.core.store.adapter.statistics.DataStatisticsStore;
 import mil.nga.giat.geowave.core.store.adapter.statistics.DuplicateEntryCount;
+import mil.nga.giat.geowave.core.store.adapter.statistics.RowRangeHistogramStatistics;
 import mil.nga.giat.geowave.core.store.filter.DedupeFilter;
 import mil.nga.giat.geowave.core.store.index.IndexMetaDataSet;
 import mil.nga.giat.geowave.core.store.index.IndexStore;
@@ -310,7 +311,15 @@ public class HBaseDataStore extends
 						adapterIdsToQuery,
 						statisticsStore,
 						sanitizedQueryOptions.getAuthorizations()),
+				RowRangeHistogramStatistics.getRangeStats(
+						index,
+						adapterIdsToQuery,
+						statisticsStore,
+						sanitizedQueryOptions.getAuthorizations()),
 				sanitizedQueryOptions.getAuthorizations());
+		hbaseQuery.setQueryMetrics(sanitizedQueryOptions.getQueryMetrics());
+		hbaseQuery.setMaxScanRanges(sanitizedQueryOptions.getMaxScanRanges());
+		hbaseQuery.setOptions(options);
 
 		return hbaseQuery.query(
 				operations,
@@ -333,6 +342,7 @@ public class HBaseDataStore extends
 				(ScanCallback<Object>) sanitizedQueryOptions.getScanCallback(),
 				sanitizedQueryOptions.getLimit(),
 				sanitizedQueryOptions.getAuthorizations());
+		prefixQuery.setQueryMetrics(sanitizedQueryOptions.getQueryMetrics());
 		return prefixQuery.query(
 				operations,
 				// TODO support subsampling
@@ -355,6 +365,7 @@ public class HBaseDataStore extends
 				(ScanCallback<Object>) sanitizedQueryOptions.getScanCallback(),
 				filter,
 				sanitizedQueryOptions.getAuthorizations());
+		q.setQueryMetrics(sanitizedQueryOptions.getQueryMetrics());
 
 		return q.query(
 				operations,
@@ -503,10 +514,11 @@ public class HBaseDataStore extends
 				}
 			}
 
-			altIdxWriter = operations.createWriter(
+			altIdxWriter = operations.createBufferedWriter(
 					altIdxTableName,
 					adapter.getAdapterId().getString(),
-					hbaseOptions.isCreateTable());
+					hbaseOptions.isCreateTable(),
+					hbaseOptions);
 		}
 
 		@Override
@@ -530,7 +542,9 @@ public class HBaseDataStore extends
 
 		@Override
 		public void flush() {
-			// HBase writer does not require/support flush
+			if (altIdxWriter != null) {
+				altIdxWriter.flush();
+			}
 		}
 
 	}
@@ -23,6 +23,7 @@ import mil.nga.giat.geowave.core.store.index.PrimaryIndex;
 import mil.nga.giat.geowave.datastore.hbase.io.HBaseWriter;
 import mil.nga.giat.geowave.datastore.hbase.operations.BasicHBaseOperations;
 import mil.nga.giat.geowave.datastore.hbase.operations.config.HBaseOptions;
+import mil.nga.giat.geowave.datastore.hbase.query.HBaseConstraintsQuery;
 import mil.nga.giat.geowave.datastore.hbase.util.HBaseUtils;
 
 public class HBaseIndexWriter<T> extends
@@ -80,10 +81,19 @@ public class HBaseIndexWriter<T> extends
 	private synchronized void ensureOpen() {
 		if (writer == null) {
 			try {
-				writer = operations.createWriter(
-						StringUtils.stringFromBinary(index.getId().getBytes()),
+				final String tableName = StringUtils.stringFromBinary(index.getId().getBytes());
+				writer = operations.createBufferedWriter(
+						tableName,
 						adapter.getAdapterId().getString(),
-						options.isCreateTable());
+						options.isCreateTable(),
+						options);
+				if (options.isEnableCoprocessors()) {
+					// a table created before coprocessors were enabled doesn't
+					// have it yet, it is never added from the query path
+					operations.addCoprocessor(
+							tableName,
+							HBaseConstraintsQuery.AGGREGATION_ENDPOINT);
+				}
 			}
 			catch (final IOException e) {
 				LOGGER.error(
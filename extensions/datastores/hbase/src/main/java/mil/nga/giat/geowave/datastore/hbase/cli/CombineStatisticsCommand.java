@@ -20,6 +20,7 @@ import mil.nga.giat.geowave.core.store.adapter.statistics.DataStatistics;
 import mil.nga.giat.geowave.core.store.adapter.statistics.DataStatisticsStore;
 import mil.nga.giat.geowave.core.store.operations.remote.options.DataStorePluginOptions;
 import mil.nga.giat.geowave.core.store.operations.remote.options.StoreLoader;
+import mil.nga.giat.geowave.datastore.hbase.metadata.HBaseDataStatisticsStore;
 
 @GeowaveOperation(name = "combinestats", parentOperation = HBaseSection.class)
 @Parameters(commandDescription = "Combine all statistics in HBase namespace")
@@ -64,8 +65,18 @@ public class CombineStatisticsCommand extends
 			inputStoreOptions = inputStoreLoader.getDataStorePlugin();
 		}
 
-		// Get all statistics, remove all statistics, then re-add
 		DataStatisticsStore store = inputStoreOptions.createDataStatisticsStore();
+		if (store instanceof HBaseDataStatisticsStore) {
+			// merge the rows of each statistic in place
+			if (!((HBaseDataStatisticsStore) store).compactStatistics(new ByteArrayId(
+					adapterId))) {
+				throw new ParameterException(
+						"Unable to combine statistics of adapter: " + adapterId);
+			}
+			return;
+		}
+
+		// Get all statistics, remove all statistics, then re-add
 		CloseableIterator<DataStatistics<?>> stats = store.getDataStatistics(new ByteArrayId(
 				adapterId));
 
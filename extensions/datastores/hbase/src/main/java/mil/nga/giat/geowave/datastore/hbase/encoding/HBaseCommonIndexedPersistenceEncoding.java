@@ -0,0 +1,53 @@
+package mil.nga.giat.geowave.datastore.hbase.encoding;
+
+import mil.nga.giat.geowave.core.index.ByteArrayId;
+import mil.nga.giat.geowave.core.store.adapter.AbstractAdapterPersistenceEncoding;
+import mil.nga.giat.geowave.core.store.adapter.DataAdapter;
+import mil.nga.giat.geowave.core.store.data.LazyPersistentValue;
+import mil.nga.giat.geowave.core.store.data.PersistentDataset;
+import mil.nga.giat.geowave.core.store.data.PersistentValue;
+import mil.nga.giat.geowave.core.store.data.field.FieldReader;
+import mil.nga.giat.geowave.core.store.index.CommonIndexModel;
+import mil.nga.giat.geowave.core.store.index.CommonIndexValue;
+
+/**
+ * Consults adapter to lookup field readers based on the fieldIds of the columns
+ * that are not part of the common index model when converting unknown data to
+ * adapter extended values
+ */
+public class HBaseCommonIndexedPersistenceEncoding extends
+		AbstractAdapterPersistenceEncoding
+{
+
+	public HBaseCommonIndexedPersistenceEncoding(
+			final ByteArrayId adapterId,
+			final ByteArrayId dataId,
+			final ByteArrayId indexInsertionId,
+			final int duplicateCount,
+			final PersistentDataset<CommonIndexValue> commonData,
+			final PersistentDataset<byte[]> unknownData ) {
+		super(
+				adapterId,
+				dataId,
+				indexInsertionId,
+				duplicateCount,
+				commonData,
+				unknownData,
+				new PersistentDataset<Object>());
+	}
+
+	@Override
+	public void convertUnknownValues(
+			final DataAdapter<?> adapter,
+			final CommonIndexModel model ) {
+		for (final PersistentValue<byte[]> value : getUnknownData().getValues()) {
+			final FieldReader<Object> reader = adapter.getReader(value.getId());
+			if (reader != null) {
+				adapterExtendedData.addValue(new LazyPersistentValue<Object>(
+						value.getId(),
+						value.getValue(),
+						reader));
+			}
+		}
+	}
+}
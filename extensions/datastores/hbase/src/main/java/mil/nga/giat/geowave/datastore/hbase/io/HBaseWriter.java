@@ -1,25 +1,47 @@
 package mil.nga.giat.geowave.datastore.hbase.io;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.hadoop.hbase.HColumnDescriptor;
 import org.apache.hadoop.hbase.HTableDescriptor;
 import org.apache.hadoop.hbase.TableName;
 import org.apache.hadoop.hbase.client.Admin;
+import org.apache.hadoop.hbase.client.BufferedMutator;
+import org.apache.hadoop.hbase.client.BufferedMutatorParams;
+import org.apache.hadoop.hbase.client.Connection;
 import org.apache.hadoop.hbase.client.Delete;
+import org.apache.hadoop.hbase.client.Mutation;
+import org.apache.hadoop.hbase.client.RetriesExhaustedWithDetailsException;
 import org.apache.hadoop.hbase.client.RowMutations;
 import org.apache.hadoop.hbase.client.Table;
 import org.apache.log4j.Logger;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
 import mil.nga.giat.geowave.core.store.Writer;
 import mil.nga.giat.geowave.datastore.hbase.operations.BasicHBaseOperations;
 
 /**
  * Functionality similar to <code> BatchWriterWrapper </code>
  *
- * This class directly writes to the HBase table instead of using any existing
- * Writer API provided by HBase.
+ * When it is created with a buffered mutator, the mutations are buffered
+ * client-side and sent to the region servers in batches, either when the buffer
+ * is full, when the writer is flushed or closed, or periodically if a flush
+ * interval is given. Otherwise this class directly writes each row to the HBase
+ * table.
+ *
+ * A buffered mutation that fails is reported asynchronously, so the failure is
+ * rethrown from the next write, flush, or close of this writer.
  *
  */
 public class HBaseWriter implements
@@ -27,21 +49,144 @@ public class HBaseWriter implements
 {
 
 	private final static Logger LOGGER = Logger.getLogger(HBaseWriter.class);
+	private static ScheduledExecutorService flushExecutor;
+
 	private final Table table;
 	private final Admin admin;
+	private final BufferedMutator mutator;
+	private final ExecutorService mutatorPool;
+	private final ScheduledFuture<?> periodicFlush;
+	private final Set<String> verifiedColumnFamilies = new HashSet<String>();
+	private final AtomicReference<RetriesExhaustedWithDetailsException> failure = new AtomicReference<RetriesExhaustedWithDetailsException>();
 
 	public HBaseWriter(
 			final Admin admin,
 			final Table table ) {
 		this.admin = admin;
 		this.table = table;
+		mutator = null;
+		mutatorPool = null;
+		periodicFlush = null;
+	}
+
+	/**
+	 *
+	 * @param connection
+	 *            the connection used to create the buffered mutator
+	 * @param admin
+	 *            the admin used to add column families to the table
+	 * @param table
+	 *            the table to write to
+	 * @param writeBufferSize
+	 *            the size in bytes of the client-side buffer, that is sent to
+	 *            the region servers when it is full
+	 * @param writeThreads
+	 *            the maximum number of requests that are sent to the region
+	 *            servers at once
+	 * @param flushIntervalMillis
+	 *            the interval at which buffered mutations are sent even if the
+	 *            buffer is not full, or 0 to only send them when the buffer is
+	 *            full or the writer is flushed
+	 * @throws IOException
+	 */
+	public HBaseWriter(
+			final Connection connection,
+			final Admin admin,
+			final Table table,
+			final long writeBufferSize,
+			final int writeThreads,
+			final long flushIntervalMillis )
+			throws IOException {
+		this.admin = admin;
+		this.table = table;
+		mutatorPool = Executors.newFixedThreadPool(
+				Math.max(
+						1,
+						writeThreads),
+				new ThreadFactoryBuilder().setDaemon(
+						true).setNameFormat(
+						"hbase-write-" + table.getName().getNameAsString() + "-%d").build());
+		final BufferedMutatorParams params = new BufferedMutatorParams(
+				table.getName()).writeBufferSize(
+				writeBufferSize).pool(
+				mutatorPool).listener(
+				new BufferedMutator.ExceptionListener() {
+					@Override
+					public void onException(
+							final RetriesExhaustedWithDetailsException exception,
+							final BufferedMutator mutator ) {
+						LOGGER.error(
+								"Unable to write " + exception.getNumExceptions() + " mutations.",
+								exception);
+						// the first failure is kept until it is rethrown
+						failure.compareAndSet(
+								null,
+								exception);
+					}
+				});
+		mutator = connection.getBufferedMutator(params);
+		if (flushIntervalMillis > 0) {
+			periodicFlush = getFlushExecutor().scheduleWithFixedDelay(
+					new Runnable() {
+						@Override
+						public void run() {
+							// a failure is left for the next call to this
+							// writer to rethrow
+							try {
+								mutator.flush();
+							}
+							catch (final IOException e) {
+								LOGGER.error(
+										"Unable to flush buffered mutator.",
+										e);
+							}
+						}
+					},
+					flushIntervalMillis,
+					flushIntervalMillis,
+					TimeUnit.MILLISECONDS);
+		}
+		else {
+			periodicFlush = null;
+		}
+	}
+
+	private static synchronized ScheduledExecutorService getFlushExecutor() {
+		if (flushExecutor == null) {
+			flushExecutor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setDaemon(
+					true).setNameFormat(
+					"hbase-write-flush-%d").build());
+		}
+		return flushExecutor;
+	}
+
+	/**
+	 * Rethrows a failure of a buffered mutation that was sent since the last
+	 * call to this method
+	 */
+	private void checkFailure() {
+		final RetriesExhaustedWithDetailsException exception = failure.getAndSet(null);
+		if (exception != null) {
+			throw new RuntimeException(
+					"Unable to write " + exception.getNumExceptions() + " buffered mutations",
+					exception);
+		}
 	}
 
 	@Override
 	public void write(
 			final RowMutations rowMutation ) {
+		checkFailure();
 		try {
-			table.mutateRow(rowMutation);
+			if (mutator != null) {
+				// the mutations of a row are no longer applied atomically,
+				// which is fine for ingest because they are all puts
+				mutator.mutate(new ArrayList<Mutation>(
+						rowMutation.getMutations()));
+			}
+			else {
+				table.mutateRow(rowMutation);
+			}
 		}
 		catch (final IOException e) {
 			LOGGER.error(
@@ -59,7 +204,24 @@ public class HBaseWriter implements
 	}
 
 	@Override
-	public void close() {}
+	public void close() {
+		if (periodicFlush != null) {
+			periodicFlush.cancel(false);
+		}
+		if (mutator != null) {
+			try {
+				// closing the mutator sends any remaining mutations
+				mutator.close();
+			}
+			catch (final IOException e) {
+				LOGGER.error(
+						"Unable to close buffered mutator.",
+						e);
+			}
+			mutatorPool.shutdown();
+			checkFailure();
+		}
+	}
 
 	public void write(
 			final Iterable<RowMutations> iterable,
@@ -93,6 +255,12 @@ public class HBaseWriter implements
 			final TableName name,
 			final String columnFamilyName )
 			throws IOException {
+		// the column family only needs to be verified once for each writer
+		synchronized (verifiedColumnFamilies) {
+			if (verifiedColumnFamilies.contains(columnFamilyName)) {
+				return;
+			}
+		}
 		final HColumnDescriptor cfDesciptor = new HColumnDescriptor(
 				columnFamilyName);
 		synchronized (BasicHBaseOperations.ADMIN_MUTEX) {
@@ -122,6 +290,9 @@ public class HBaseWriter implements
 					// Enable table once done
 					admin.enableTable(name);
 				}
+				synchronized (verifiedColumnFamilies) {
+					verifiedColumnFamilies.add(columnFamilyName);
+				}
 			}
 			else {
 				LOGGER.warn("Table " + name.getNameAsString()
@@ -133,24 +304,55 @@ public class HBaseWriter implements
 	public void delete(
 			final Iterable<RowMutations> iterable )
 			throws IOException {
+		// deletes are applied immediately rather than buffered
+		flushBeforeDelete();
 		for (final RowMutations rowMutation : iterable) {
-			write(rowMutation);
+			table.mutateRow(rowMutation);
 		}
 	}
 
 	public void delete(
 			final Delete delete )
 			throws IOException {
+		flushBeforeDelete();
 		table.delete(delete);
 	}
 
 	public void delete(
 			final List<Delete> deletes )
 			throws IOException {
+		flushBeforeDelete();
 		table.delete(deletes);
 	}
 
+	/**
+	 * Deletes bypass the buffered mutator, so any buffered puts are sent first
+	 * or they could be applied after the delete and bring the rows back
+	 */
+	private void flushBeforeDelete()
+			throws IOException {
+		if (mutator != null) {
+			mutator.flush();
+			final RetriesExhaustedWithDetailsException exception = failure.getAndSet(null);
+			if (exception != null) {
+				throw exception;
+			}
+		}
+	}
+
 	@Override
-	public void flush() {}
+	public void flush() {
+		if (mutator != null) {
+			try {
+				mutator.flush();
+			}
+			catch (final IOException e) {
+				LOGGER.error(
+						"Unable to flush buffered mutator.",
+						e);
+			}
+			checkFailure();
+		}
+	}
 
 }
@@ -51,10 +51,17 @@ public abstract class AbstractHBasePersistence<T extends Persistable> extends
 		if (cacheResult != null) {
 			return (T) cacheResult;
 		}
+		if (isObjectMissingFromCache(
+				primaryId,
+				secondaryId,
+				authorizations)) {
+			return null;
+		}
 		final Scan scanner = getScanner(
 				primaryId,
 				secondaryId,
 				authorizations);
+		final long startTime = System.nanoTime();
 		try {
 			final Iterator<Result> it = operations.getScannedResults(
 					scanner,
@@ -67,6 +74,10 @@ public abstract class AbstractHBasePersistence<T extends Persistable> extends
 				LOGGER.warn("Object '" + getCombinedId(
 						primaryId,
 						secondaryId).getString() + "' not found");
+				addMissingObjectToCache(
+						primaryId,
+						secondaryId,
+						authorizations);
 				return null;
 			}
 			return iter.next();
@@ -78,6 +89,9 @@ public abstract class AbstractHBasePersistence<T extends Persistable> extends
 							secondaryId).getString() + "'",
 					e);
 		}
+		finally {
+			recordCacheLoad(System.nanoTime() - startTime);
+		}
 		return null;
 	}
 
@@ -138,6 +152,7 @@ public abstract class AbstractHBasePersistence<T extends Persistable> extends
 		return scanner;
 	}
 
+	@Override
 	protected CloseableIterator<T> getObjects(
 			final String... authorizations ) {
 		try {
@@ -264,6 +279,12 @@ public abstract class AbstractHBasePersistence<T extends Persistable> extends
 				secondaryId) != null) {
 			return true;
 		}
+		if (isObjectMissingFromCache(
+				primaryId,
+				secondaryId)) {
+			return false;
+		}
+		final long startTime = System.nanoTime();
 		try {
 			final Scan scanner = getScanner(
 					primaryId,
@@ -279,6 +300,9 @@ public abstract class AbstractHBasePersistence<T extends Persistable> extends
 				return iter.next() != null;
 			}
 			else {
+				addMissingObjectToCache(
+						primaryId,
+						secondaryId);
 				return false;
 			}
 		}
@@ -289,6 +313,9 @@ public abstract class AbstractHBasePersistence<T extends Persistable> extends
 							secondaryId) + "'",
 					e);
 		}
+		finally {
+			recordCacheLoad(System.nanoTime() - startTime);
+		}
 		return false;
 	}
 
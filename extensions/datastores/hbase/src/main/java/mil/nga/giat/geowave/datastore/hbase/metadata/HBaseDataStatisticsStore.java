@@ -1,18 +1,43 @@
 package mil.nga.giat.geowave.datastore.hbase.metadata;
 
+import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang.NotImplementedException;
 import org.apache.hadoop.hbase.Cell;
 import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.client.Delete;
+import org.apache.hadoop.hbase.client.Put;
 import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
 import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.client.Table;
 import org.apache.log4j.Level;
 import org.apache.log4j.Logger;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
 import mil.nga.giat.geowave.core.index.ByteArrayId;
+import mil.nga.giat.geowave.core.index.PersistenceUtils;
 import mil.nga.giat.geowave.core.store.CloseableIterator;
 import mil.nga.giat.geowave.core.store.adapter.statistics.DataStatistics;
 import mil.nga.giat.geowave.core.store.adapter.statistics.DataStatisticsStore;
@@ -26,6 +51,25 @@ public class HBaseDataStatisticsStore extends
 
 	private static final String STATISTICS_CF = "STATS";
 	private final static Logger LOGGER = Logger.getLogger(HBaseDataStatisticsStore.class);
+	// the null byte and UUID appended to the statistics id of each row
+	private static final int ROW_SUFFIX_LENGTH = 17;
+	/**
+	 * Rows of a statistic are merged once they are this much older than its
+	 * newest row, which leaves time for rows that are still being written to
+	 * become visible to the compaction
+	 */
+	public static final long COMPACTION_GRACE_PERIOD_MILLIS = 60000;
+	/**
+	 * Rows written this recently are never merged, whatever the grace period,
+	 * because a row can be given its timestamp before a scan and only become
+	 * visible after it. Merging up to such a row's timestamp would hide it from
+	 * readers and the next compaction would delete it.
+	 */
+	public static final long MIN_COMPACTION_GRACE_PERIOD_MILLIS = 1000;
+	// when each statistic, by adapter and statistics id, was last scheduled
+	// for compaction by this store
+	private final ConcurrentMap<List<ByteArrayId>, Long> compactionsScheduled = new ConcurrentHashMap<List<ByteArrayId>, Long>();
+	private ExecutorService compactionExecutor;
 
 	public HBaseDataStatisticsStore(
 			final BasicHBaseOperations operations ) {
@@ -33,14 +77,78 @@ public class HBaseDataStatisticsStore extends
 				operations);
 	}
 
+	/**
+	 * Writes the statistic as its compacted row with a timestamp newer than any
+	 * of its rows, so that readers ignore the rows it replaces, and then
+	 * deletes those rows. A compaction that read the replaced rows can no
+	 * longer write the compacted row because it has changed.
+	 */
 	@Override
 	public void setStatistics(
 			final DataStatistics<?> statistics ) {
-		removeStatistics(
-				statistics.getDataAdapterId(),
-				statistics.getStatisticsId());
-		addObject(statistics);
-
+		final ByteArrayId adapterId = statistics.getDataAdapterId();
+		final ByteArrayId statisticsId = statistics.getStatisticsId();
+		final byte[] columnFamily = toBytes(STATISTICS_CF);
+		final byte[] columnQualifier = toBytes(getColumnQualifier(adapterId));
+		final byte[] compactedRowId = getCompactedRowId(statisticsId.getBytes());
+		final List<Cell> cells;
+		try {
+			cells = getLatestCells(
+					adapterId,
+					statisticsId);
+		}
+		catch (final IOException e) {
+			LOGGER.error(
+					"Unable to read statistic '" + statisticsId.getString() + "' to replace it",
+					e);
+			return;
+		}
+		long newestTimestamp = Long.MIN_VALUE;
+		final List<Delete> deletes = new ArrayList<Delete>();
+		for (final Cell cell : cells) {
+			newestTimestamp = Math.max(
+					newestTimestamp,
+					cell.getTimestamp());
+			if (!Arrays.equals(
+					CellUtil.cloneRow(cell),
+					compactedRowId)) {
+				deletes.add(new Delete(
+						CellUtil.cloneRow(cell)).addColumns(
+						columnFamily,
+						columnQualifier,
+						cell.getTimestamp()));
+			}
+		}
+		final Put put = new Put(
+				compactedRowId);
+		if (cells.isEmpty()) {
+			put.addColumn(
+					columnFamily,
+					columnQualifier,
+					PersistenceUtils.toBinary(statistics));
+		}
+		else {
+			put.addColumn(
+					columnFamily,
+					columnQualifier,
+					newestTimestamp + 1,
+					PersistenceUtils.toBinary(statistics));
+		}
+		addObjectToCache(
+				statisticsId,
+				adapterId,
+				statistics);
+		try (final Table table = operations.getTable(getTablename())) {
+			table.put(put);
+			if (!deletes.isEmpty()) {
+				table.delete(deletes);
+			}
+		}
+		catch (final IOException e) {
+			LOGGER.error(
+					"Unable to replace statistic '" + statisticsId.getString() + "'",
+					e);
+		}
 	}
 
 	@Override
@@ -180,15 +288,331 @@ public class HBaseDataStatisticsStore extends
 				resultIterator);
 	}
 
+	/**
+	 * Merges all of the rows of every statistic of an adapter into the
+	 * compacted row of each statistic. This waits out the minimum grace period
+	 * first, so that every row written before it was called is merged.
+	 *
+	 * @param adapterId
+	 *            the adapter of the statistics
+	 * @return true if every statistic was compacted
+	 */
+	public boolean compactStatistics(
+			final ByteArrayId adapterId ) {
+		try {
+			Thread.sleep(MIN_COMPACTION_GRACE_PERIOD_MILLIS);
+		}
+		catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+		final Set<ByteArrayId> statisticsIds = new LinkedHashSet<ByteArrayId>();
+		try (CloseableIterator<DataStatistics<?>> it = getDataStatistics(adapterId)) {
+			while (it.hasNext()) {
+				statisticsIds.add(it.next().getStatisticsId());
+			}
+		}
+		catch (final IOException e) {
+			LOGGER.warn(
+					"Unable to read statistics of adapter '" + adapterId.getString() + "'",
+					e);
+			return false;
+		}
+		boolean success = true;
+		for (final ByteArrayId statisticsId : statisticsIds) {
+			success &= compactStatistics(
+					adapterId,
+					statisticsId,
+					0);
+		}
+		return success;
+	}
+
+	/**
+	 * Merges all of the rows of a statistic into its compacted row, so that
+	 * reading the statistic is a single row lookup. Only rows written at least
+	 * the given period before the newest row of the statistic, and at least
+	 * {@link #MIN_COMPACTION_GRACE_PERIOD_MILLIS} before now, are merged, so
+	 * that rows still being written are left for a later compaction. The
+	 * compacted row is written with the timestamp of the newest row merged into
+	 * it and only replaces the compacted row that was read, so readers ignore
+	 * any row that is already merged and concurrent compactions of the same
+	 * statistic can't both succeed.
+	 *
+	 * @param adapterId
+	 *            the adapter of the statistic
+	 * @param statisticsId
+	 *            the statistic
+	 * @param gracePeriodMillis
+	 *            how much older than the newest row of the statistic a row must
+	 *            be to be merged
+	 * @return true if the statistic was compacted or had nothing to compact,
+	 *         false if another compaction changed it first
+	 */
+	public boolean compactStatistics(
+			final ByteArrayId adapterId,
+			final ByteArrayId statisticsId,
+			final long gracePeriodMillis ) {
+		final byte[] columnFamily = toBytes(STATISTICS_CF);
+		final byte[] columnQualifier = toBytes(getColumnQualifier(adapterId));
+		final byte[] compactedRowId = getCompactedRowId(statisticsId.getBytes());
+		Cell compactedCell = null;
+		final List<Cell> partialCells = new ArrayList<Cell>();
+		long newestTimestamp = Long.MIN_VALUE;
+		try {
+			for (final Cell cell : getLatestCells(
+					adapterId,
+					statisticsId)) {
+				if (Arrays.equals(
+						CellUtil.cloneRow(cell),
+						compactedRowId)) {
+					compactedCell = cell;
+				}
+				else {
+					partialCells.add(cell);
+				}
+				newestTimestamp = Math.max(
+						newestTimestamp,
+						cell.getTimestamp());
+			}
+		}
+		catch (final IOException e) {
+			LOGGER.warn(
+					"Unable to read statistic '" + statisticsId.getString() + "' to compact it",
+					e);
+			return false;
+		}
+
+		final long compactedTimestamp = (compactedCell == null) ? Long.MIN_VALUE : compactedCell.getTimestamp();
+		final long cutoff = Math.min(
+				newestTimestamp - gracePeriodMillis,
+				System.currentTimeMillis() - MIN_COMPACTION_GRACE_PERIOD_MILLIS);
+		// the cached statistic includes every row, so the rows are read without
+		// the caching entryToValue
+		DataStatistics<?> merged = (compactedCell == null) ? null : fromCell(compactedCell);
+		long mergedTimestamp = compactedTimestamp;
+		final List<Delete> deletes = new ArrayList<Delete>();
+		for (final Cell cell : partialCells) {
+			if (cell.getTimestamp() <= compactedTimestamp) {
+				// this row was merged by a compaction that couldn't delete it
+			}
+			else if (cell.getTimestamp() <= cutoff) {
+				final DataStatistics<?> partial = fromCell(cell);
+				if (merged == null) {
+					merged = partial;
+				}
+				else {
+					merged.merge(partial);
+				}
+				mergedTimestamp = Math.max(
+						mergedTimestamp,
+						cell.getTimestamp());
+			}
+			else {
+				continue;
+			}
+			deletes.add(new Delete(
+					CellUtil.cloneRow(cell)).addColumns(
+					columnFamily,
+					columnQualifier,
+					cell.getTimestamp()));
+		}
+		if (deletes.isEmpty()) {
+			return true;
+		}
+		try (final Table table = operations.getTable(getTablename())) {
+			if (mergedTimestamp > compactedTimestamp) {
+				final Put put = new Put(
+						compactedRowId);
+				put.addColumn(
+						columnFamily,
+						columnQualifier,
+						mergedTimestamp,
+						PersistenceUtils.toBinary(merged));
+				final boolean replaced = replaceCompactedRow(
+						table,
+						compactedRowId,
+						columnFamily,
+						columnQualifier,
+						(compactedCell == null) ? null : CellUtil.cloneValue(compactedCell),
+						put);
+				deleteObjectFromCache(
+						statisticsId,
+						adapterId);
+				if (!replaced) {
+					return false;
+				}
+			}
+			table.delete(deletes);
+			deleteObjectFromCache(
+					statisticsId,
+					adapterId);
+		}
+		catch (final IOException e) {
+			LOGGER.warn(
+					"Unable to compact statistic '" + statisticsId.getString() + "'",
+					e);
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * @return the latest cell of each of the rows of the statistic, including
+	 *         its compacted row
+	 */
+	private List<Cell> getLatestCells(
+			final ByteArrayId adapterId,
+			final ByteArrayId statisticsId )
+			throws IOException {
+		final byte[] columnFamily = toBytes(STATISTICS_CF);
+		final byte[] columnQualifier = toBytes(getColumnQualifier(adapterId));
+		final List<Cell> cells = new ArrayList<Cell>();
+		try (final ResultScanner results = operations.getScannedResults(
+				getScanner(
+						statisticsId,
+						adapterId),
+				getTablename())) {
+			for (final Result result : results) {
+				if (!Arrays.equals(
+						getStatisticsId(result.getRow()),
+						statisticsId.getBytes())) {
+					continue;
+				}
+				final Cell cell = result.getColumnLatestCell(
+						columnFamily,
+						columnQualifier);
+				if (cell != null) {
+					cells.add(cell);
+				}
+			}
+		}
+		return cells;
+	}
+
+	/**
+	 * Writes the compacted row of a statistic only if it still has the value
+	 * that was merged
+	 *
+	 * @param expectedValue
+	 *            the value of the compacted row that was read, or null if there
+	 *            was no compacted row
+	 * @return true if the compacted row was written
+	 */
+	protected boolean replaceCompactedRow(
+			final Table table,
+			final byte[] compactedRowId,
+			final byte[] columnFamily,
+			final byte[] columnQualifier,
+			final byte[] expectedValue,
+			final Put put )
+			throws IOException {
+		return table.checkAndPut(
+				compactedRowId,
+				columnFamily,
+				columnQualifier,
+				expectedValue,
+				put);
+	}
+
+	private DataStatistics<?> fromCell(
+			final Cell cell ) {
+		final DataStatistics<?> stats = PersistenceUtils.fromBinary(
+				CellUtil.cloneValue(cell),
+				DataStatistics.class);
+		if (stats != null) {
+			stats.setDataAdapterId(new ByteArrayId(
+					CellUtil.cloneQualifier(cell)));
+		}
+		return stats;
+	}
+
+	private void scheduleCompaction(
+			final ByteArrayId adapterId,
+			final ByteArrayId statisticsId ) {
+		final List<ByteArrayId> key = Arrays.asList(
+				adapterId,
+				statisticsId);
+		final long now = System.currentTimeMillis();
+		final Long lastScheduled = compactionsScheduled.get(key);
+		if ((lastScheduled != null) && ((now - lastScheduled) < COMPACTION_GRACE_PERIOD_MILLIS)) {
+			return;
+		}
+		// only one reader schedules the compaction
+		final boolean claimed = (lastScheduled == null) ? (compactionsScheduled.putIfAbsent(
+				key,
+				now) == null) : compactionsScheduled.replace(
+				key,
+				lastScheduled,
+				now);
+		if (!claimed) {
+			return;
+		}
+		getCompactionExecutor().execute(
+				new Runnable() {
+					@Override
+					public void run() {
+						compactStatistics(
+								adapterId,
+								statisticsId,
+								COMPACTION_GRACE_PERIOD_MILLIS);
+					}
+				});
+	}
+
+	/**
+	 * The compactions of this store run one at a time on a thread that exits
+	 * once it has been idle for the grace period, so an unused store doesn't
+	 * keep a thread
+	 */
+	private synchronized ExecutorService getCompactionExecutor() {
+		if (compactionExecutor == null) {
+			final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+					1,
+					1,
+					COMPACTION_GRACE_PERIOD_MILLIS,
+					TimeUnit.MILLISECONDS,
+					new LinkedBlockingQueue<Runnable>(),
+					new ThreadFactoryBuilder().setDaemon(
+							true).setNameFormat(
+							"hbase-stats-compaction-%d").build());
+			executor.allowCoreThreadTimeOut(true);
+			compactionExecutor = executor;
+		}
+		return compactionExecutor;
+	}
+
+	private static byte[] getStatisticsId(
+			final byte[] rowId ) {
+		if (rowId.length < ROW_SUFFIX_LENGTH) {
+			return rowId;
+		}
+		return Arrays.copyOf(
+				rowId,
+				rowId.length - ROW_SUFFIX_LENGTH);
+	}
+
+	private static byte[] getCompactedRowId(
+			final byte[] statisticsId ) {
+		// a random UUID always has its version bits set, so the suffix of
+		// zeros never collides with a row written by getRowId
+		return Arrays.copyOf(
+				statisticsId,
+				statisticsId.length + ROW_SUFFIX_LENGTH);
+	}
+
 	/**
 	 * A special version of NativeIteratorWrapper (defined in the parent) which
-	 * will combine records that have the same dataid & statsId
+	 * will combine records that have the same dataid & statsId. Rows that are
+	 * older than the compacted row of a statistic are already merged into it
+	 * and are skipped.
 	 */
 	private class StatisticsNativeIteratorWrapper implements
 			Iterator<DataStatistics<?>>
 	{
 		final private Iterator<Result> it;
-		private DataStatistics<?> nextVal = null;
+		private Result nextRow = null;
+		private final LinkedList<DataStatistics<?>> nextValues = new LinkedList<DataStatistics<?>>();
 
 		public StatisticsNativeIteratorWrapper(
 				final Iterator<Result> resultIterator ) {
@@ -197,46 +621,104 @@ public class HBaseDataStatisticsStore extends
 
 		@Override
 		public boolean hasNext() {
-			return (nextVal != null) || it.hasNext();
+			if (nextValues.isEmpty()) {
+				readNextStatistic();
+			}
+			return !nextValues.isEmpty();
 		}
 
 		@Override
 		public DataStatistics<?> next() {
-			DataStatistics<?> currentStatistics = nextVal;
-			nextVal = null;
-			while (it.hasNext()) {
-				final Cell cell = it.next().listCells().get(
-						0);
-
-				// This entryToValue function has the side effect of adding the
-				// object to the cache.
-				// We need to make sure to add the merged version of the stat at
-				// the end of this
-				// function, before it is returned.
-				final DataStatistics<?> statEntry = entryToValue(cell);
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			return nextValues.removeFirst();
+		}
 
-				if (currentStatistics == null) {
-					currentStatistics = statEntry;
+		/**
+		 * Reads all of the rows that share the next statistics id, which may
+		 * hold the statistics of several adapters
+		 */
+		private void readNextStatistic() {
+			if ((nextRow == null) && it.hasNext()) {
+				nextRow = it.next();
+			}
+			if (nextRow == null) {
+				return;
+			}
+			final byte[] statisticsId = getStatisticsId(nextRow.getRow());
+			final byte[] compactedRowId = getCompactedRowId(statisticsId);
+			final Map<ByteArrayId, List<Cell>> cellsPerAdapter = new LinkedHashMap<ByteArrayId, List<Cell>>();
+			final Map<ByteArrayId, Cell> compactedCells = new HashMap<ByteArrayId, Cell>();
+			while (nextRow != null) {
+				if (!Arrays.equals(
+						statisticsId,
+						getStatisticsId(nextRow.getRow()))) {
+					break;
 				}
-				else {
-					if (statEntry.getStatisticsId().equals(
-							currentStatistics.getStatisticsId()) && statEntry.getDataAdapterId().equals(
-							currentStatistics.getDataAdapterId())) {
-						currentStatistics.merge(statEntry);
+				final boolean compacted = Arrays.equals(
+						nextRow.getRow(),
+						compactedRowId);
+				for (final Cell cell : nextRow.rawCells()) {
+					final ByteArrayId adapterId = new ByteArrayId(
+							CellUtil.cloneQualifier(cell));
+					if (compacted) {
+						compactedCells.put(
+								adapterId,
+								cell);
 					}
-					else {
-						nextVal = statEntry;
-						break;
+					List<Cell> cells = cellsPerAdapter.get(adapterId);
+					if (cells == null) {
+						cells = new ArrayList<Cell>();
+						cellsPerAdapter.put(
+								adapterId,
+								cells);
 					}
+					cells.add(cell);
 				}
+				nextRow = it.hasNext() ? it.next() : null;
 			}
 
-			// Add this entry to cache (see comment above)
-			addObjectToCache(
-					getPrimaryId(currentStatistics),
-					getSecondaryId(currentStatistics),
-					currentStatistics);
-			return currentStatistics;
+			for (final Entry<ByteArrayId, List<Cell>> entry : cellsPerAdapter.entrySet()) {
+				final Cell compactedCell = compactedCells.get(entry.getKey());
+				final long compactedTimestamp = (compactedCell == null) ? Long.MIN_VALUE : compactedCell.getTimestamp();
+				DataStatistics<?> currentStatistics = null;
+				for (final Cell cell : entry.getValue()) {
+					if ((cell != compactedCell) && (cell.getTimestamp() <= compactedTimestamp)) {
+						continue;
+					}
+					// This entryToValue function has the side effect of
+					// adding the object to the cache. We need to make sure to
+					// add the merged version of the stat at the end of this
+					// function, before it is returned.
+					final DataStatistics<?> statEntry = entryToValue(cell);
+					if (statEntry == null) {
+						continue;
+					}
+					if (currentStatistics == null) {
+						currentStatistics = statEntry;
+					}
+					else {
+						currentStatistics.merge(statEntry);
+					}
+				}
+				if (currentStatistics == null) {
+					continue;
+				}
+				if (entry.getValue().size() > 1) {
+					// the statistic is spread over several rows
+					scheduleCompaction(
+							entry.getKey(),
+							currentStatistics.getStatisticsId());
+				}
+
+				// Add this entry to cache (see comment above)
+				addObjectToCache(
+						getPrimaryId(currentStatistics),
+						getSecondaryId(currentStatistics),
+						currentStatistics);
+				nextValues.add(currentStatistics);
+			}
 		}
 
 		@Override
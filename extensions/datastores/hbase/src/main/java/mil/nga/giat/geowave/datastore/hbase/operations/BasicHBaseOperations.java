@@ -2,11 +2,15 @@ package mil.nga.giat.geowave.datastore.hbase.operations;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.hadoop.hbase.HColumnDescriptor;
 import org.apache.hadoop.hbase.HTableDescriptor;
 import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Admin;
 import org.apache.hadoop.hbase.client.Connection;
 import org.apache.hadoop.hbase.client.RegionLocator;
 import org.apache.hadoop.hbase.client.Result;
@@ -20,7 +24,9 @@ import org.apache.log4j.Logger;
 import mil.nga.giat.geowave.core.index.ByteArrayId;
 import mil.nga.giat.geowave.core.store.DataStoreOperations;
 import mil.nga.giat.geowave.datastore.hbase.io.HBaseWriter;
+import mil.nga.giat.geowave.datastore.hbase.operations.config.HBaseOptions;
 import mil.nga.giat.geowave.datastore.hbase.operations.config.HBaseRequiredOptions;
+import mil.nga.giat.geowave.datastore.hbase.query.HBaseConstraintsQuery;
 import mil.nga.giat.geowave.datastore.hbase.util.ConnectionPool;
 import mil.nga.giat.geowave.datastore.hbase.util.HBaseUtils;
 
@@ -34,6 +40,10 @@ public class BasicHBaseOperations implements
 
 	private final Connection conn;
 	private final String tableNamespace;
+	// the coprocessors known to be loaded on each table, so that the table
+	// descriptor is only checked until the coprocessor is found
+	private final Set<String> verifiedCoprocessors = Collections
+			.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
 
 	public BasicHBaseOperations(
 			final String zookeeperInstances,
@@ -94,17 +104,79 @@ public class BasicHBaseOperations implements
 			final String columnFamily,
 			final boolean createTable )
 			throws IOException {
+		return createWriter(
+				sTableName,
+				columnFamily,
+				createTable,
+				new String[0]);
+	}
+
+	private HBaseWriter createWriter(
+			final String sTableName,
+			final String columnFamily,
+			final boolean createTable,
+			final String[] coprocessors )
+			throws IOException {
 		final TableName tName = getTableName(getQualifiedTableName(sTableName));
 		Table table = null;
 		table = getTable(
 				createTable,
 				columnFamily,
-				tName);
+				tName,
+				coprocessors);
 		return new HBaseWriter(
 				conn.getAdmin(),
 				table);
 	}
 
+	/**
+	 * Creates a writer that buffers its mutations client-side and sends them to
+	 * the region servers in batches
+	 *
+	 * @param sTableName
+	 *            the unqualified table name
+	 * @param columnFamily
+	 *            the column family the writer writes to
+	 * @param createTable
+	 *            whether the table is created if it does not exist
+	 * @param options
+	 *            the options for the size of the buffer, the number of
+	 *            concurrent requests and the flush interval, and whether a
+	 *            created table loads the GeoWave coprocessors
+	 * @return the writer
+	 * @throws IOException
+	 */
+	public HBaseWriter createBufferedWriter(
+			final String sTableName,
+			final String columnFamily,
+			final boolean createTable,
+			final HBaseOptions options )
+			throws IOException {
+		final String[] coprocessors = options.isEnableCoprocessors() ? new String[] {
+			HBaseConstraintsQuery.AGGREGATION_ENDPOINT
+		} : new String[0];
+		if (options.getWriteBufferSize() <= 0) {
+			return createWriter(
+					sTableName,
+					columnFamily,
+					createTable,
+					coprocessors);
+		}
+		final TableName tName = getTableName(getQualifiedTableName(sTableName));
+		final Table table = getTable(
+				createTable,
+				columnFamily,
+				tName,
+				coprocessors);
+		return new HBaseWriter(
+				conn,
+				conn.getAdmin(),
+				table,
+				options.getWriteBufferSize(),
+				options.getWriteThreads(),
+				options.getWriteFlushInterval());
+	}
+
 	/*
 	 * private Table getTable( final boolean create, TableName name ) throws
 	 * IOException { return getTable( create, DEFAULT_COLUMN_FAMILY, name); }
@@ -113,7 +185,8 @@ public class BasicHBaseOperations implements
 	private Table getTable(
 			final boolean create,
 			final String columnFamily,
-			final TableName name )
+			final TableName name,
+			final String... coprocessors )
 			throws IOException {
 		Table table;
 		synchronized (ADMIN_MUTEX) {
@@ -123,6 +196,9 @@ public class BasicHBaseOperations implements
 						name);
 				desc.addFamily(new HColumnDescriptor(
 						columnFamily));
+				for (final String coprocessor : coprocessors) {
+					desc.addCoprocessor(coprocessor);
+				}
 				conn.getAdmin().createTable(
 						desc);
 			}
@@ -222,6 +298,87 @@ public class BasicHBaseOperations implements
 
 	}
 
+	public Table getTable(
+			final String tableName )
+			throws IOException {
+		return conn.getTable(getTableName(getQualifiedTableName(tableName)));
+	}
+
+	/**
+	 * Checks whether the coprocessor is loaded on the table without changing
+	 * the table. Only a loaded coprocessor is cached, so a table that is
+	 * changed later is checked again.
+	 *
+	 * @param tableName
+	 *            the unqualified table name
+	 * @param coprocessorClassName
+	 *            the class name of the coprocessor
+	 * @return true if the coprocessor is loaded on the table
+	 */
+	public boolean hasCoprocessor(
+			final String tableName,
+			final String coprocessorClassName ) {
+		final TableName tName = getTableName(getQualifiedTableName(tableName));
+		final String key = tName.getNameAsString() + "/" + coprocessorClassName;
+		if (verifiedCoprocessors.contains(key)) {
+			return true;
+		}
+		try {
+			final HTableDescriptor descriptor = conn.getAdmin().getTableDescriptor(
+					tName);
+			if (descriptor.hasCoprocessor(coprocessorClassName)) {
+				verifiedCoprocessors.add(key);
+				return true;
+			}
+		}
+		catch (final IOException e) {
+			LOGGER.warn(
+					"Unable to check coprocessor '" + coprocessorClassName + "' on table '" + tName + "'",
+					e);
+		}
+		return false;
+	}
+
+	/**
+	 * Loads the coprocessor on an existing table if it is not already loaded,
+	 * tables created with coprocessors enabled already have it
+	 *
+	 * @param tableName
+	 *            the unqualified table name
+	 * @param coprocessorClassName
+	 *            the class name of the coprocessor
+	 * @return true if the coprocessor is loaded on the table
+	 */
+	public boolean addCoprocessor(
+			final String tableName,
+			final String coprocessorClassName ) {
+		if (hasCoprocessor(
+				tableName,
+				coprocessorClassName)) {
+			return true;
+		}
+		final TableName tName = getTableName(getQualifiedTableName(tableName));
+		try {
+			synchronized (ADMIN_MUTEX) {
+				final Admin admin = conn.getAdmin();
+				final HTableDescriptor descriptor = admin.getTableDescriptor(tName);
+				if (!descriptor.hasCoprocessor(coprocessorClassName)) {
+					descriptor.addCoprocessor(coprocessorClassName);
+					admin.modifyTable(
+							tName,
+							descriptor);
+				}
+			}
+			return true;
+		}
+		catch (final IOException e) {
+			LOGGER.warn(
+					"Unable to load coprocessor '" + coprocessorClassName + "' on table '" + tName + "'",
+					e);
+		}
+		return false;
+	}
+
 	public RegionLocator getRegionLocator(
 			final String tableName )
 			throws IOException {
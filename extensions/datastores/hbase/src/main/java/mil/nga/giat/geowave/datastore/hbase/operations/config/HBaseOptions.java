@@ -28,6 +28,33 @@ public class HBaseOptions implements
 	@Parameter(names = "--enableBlockCache", hidden = true, arity = 1)
 	protected boolean enableBlockCache = true;
 
+	@Parameter(names = "--preloadMetadata", hidden = true, arity = 1)
+	protected boolean preloadMetadata = false;
+
+	@Parameter(names = "--scanThreads", hidden = true)
+	protected int scanThreads = 16;
+
+	@Parameter(names = "--scanQueueSize", hidden = true)
+	protected int scanQueueSize = 1000;
+
+	@Parameter(names = "--orderedScanResults", hidden = true, arity = 1)
+	protected boolean orderedScanResults = false;
+
+	@Parameter(names = "--groupRangesByRegion", hidden = true, arity = 1)
+	protected boolean groupRangesByRegion = true;
+
+	@Parameter(names = "--enableCoprocessors", hidden = true, arity = 1)
+	protected boolean enableCoprocessors = false;
+
+	@Parameter(names = "--writeBufferSize", hidden = true)
+	protected long writeBufferSize = 8 * 1024 * 1024;
+
+	@Parameter(names = "--writeThreads", hidden = true)
+	protected int writeThreads = 8;
+
+	@Parameter(names = "--writeFlushInterval", hidden = true)
+	protected long writeFlushInterval = 1000;
+
 	public boolean isPersistDataStatistics() {
 		return persistDataStatistics;
 	}
@@ -90,4 +117,125 @@ public class HBaseOptions implements
 			boolean enableBlockCache ) {
 		this.enableBlockCache = enableBlockCache;
 	}
+
+	public boolean isPreloadMetadata() {
+		return preloadMetadata;
+	}
+
+	public void setPreloadMetadata(
+			final boolean preloadMetadata ) {
+		this.preloadMetadata = preloadMetadata;
+	}
+
+	public boolean isServerSideDelete() {
+		// HBase always deletes by scanning the matching entries
+		return false;
+	}
+
+	/**
+	 * @return the maximum number of scans a single query runs at once, a value
+	 *         of 1 runs the scans one after another
+	 */
+	public int getScanThreads() {
+		return scanThreads;
+	}
+
+	public void setScanThreads(
+			final int scanThreads ) {
+		this.scanThreads = scanThreads;
+	}
+
+	/**
+	 * @return the maximum number of results buffered ahead of the client when
+	 *         unordered scans are run at once
+	 */
+	public int getScanQueueSize() {
+		return scanQueueSize;
+	}
+
+	public void setScanQueueSize(
+			final int scanQueueSize ) {
+		this.scanQueueSize = scanQueueSize;
+	}
+
+	/**
+	 * @return true if the results of the scans of a query should be returned in
+	 *         the order of their ranges, otherwise results are returned as soon
+	 *         as any scan produces them
+	 */
+	public boolean isOrderedScanResults() {
+		return orderedScanResults;
+	}
+
+	public void setOrderedScanResults(
+			final boolean orderedScanResults ) {
+		this.orderedScanResults = orderedScanResults;
+	}
+
+	/**
+	 * @return true if the ranges of a query that fall in the same region should
+	 *         be read with a single scan
+	 */
+	public boolean isGroupRangesByRegion() {
+		return groupRangesByRegion;
+	}
+
+	public void setGroupRangesByRegion(
+			final boolean groupRangesByRegion ) {
+		this.groupRangesByRegion = groupRangesByRegion;
+	}
+
+	/**
+	 * @return true if aggregations are run within each region by the GeoWave
+	 *         coprocessor, which requires the GeoWave jar on the classpath of
+	 *         the region servers
+	 */
+	public boolean isEnableCoprocessors() {
+		return enableCoprocessors;
+	}
+
+	public void setEnableCoprocessors(
+			final boolean enableCoprocessors ) {
+		this.enableCoprocessors = enableCoprocessors;
+	}
+
+	/**
+	 * @return the size in bytes of the client-side buffer of each index writer,
+	 *         a value of 0 or less writes each row as it is ingested
+	 */
+	public long getWriteBufferSize() {
+		return writeBufferSize;
+	}
+
+	public void setWriteBufferSize(
+			final long writeBufferSize ) {
+		this.writeBufferSize = writeBufferSize;
+	}
+
+	/**
+	 * @return the maximum number of write requests each index writer sends to
+	 *         the region servers at once
+	 */
+	public int getWriteThreads() {
+		return writeThreads;
+	}
+
+	public void setWriteThreads(
+			final int writeThreads ) {
+		this.writeThreads = writeThreads;
+	}
+
+	/**
+	 * @return the interval in milliseconds at which buffered writes are sent
+	 *         even if the buffer is not full, a value of 0 or less only sends
+	 *         them when the buffer is full or the writer is flushed
+	 */
+	public long getWriteFlushInterval() {
+		return writeFlushInterval;
+	}
+
+	public void setWriteFlushInterval(
+			final long writeFlushInterval ) {
+		this.writeFlushInterval = writeFlushInterval;
+	}
 }
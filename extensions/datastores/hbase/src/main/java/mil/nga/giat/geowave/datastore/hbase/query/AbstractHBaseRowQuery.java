@@ -52,14 +52,16 @@ abstract public class AbstractHBaseRowQuery<T> extends
 		 * getScanner( accumuloOperations, getScannerLimit());
 		 * addScanIteratorSettings(scanner);
 		 */
+		final HBaseEntryIteratorWrapper it = new HBaseEntryIteratorWrapper(
+				adapterStore,
+				index,
+				results.iterator(),
+				null);
+		it.setQueryMetrics(queryMetrics);
 		return new CloseableIteratorWrapper<T>(
 				new ScannerClosableWrapper(
 						results),
-				new HBaseEntryIteratorWrapper(
-						adapterStore,
-						index,
-						results.iterator(),
-						null));
+				it);
 	}
 
 	abstract protected Integer getScannerLimit();
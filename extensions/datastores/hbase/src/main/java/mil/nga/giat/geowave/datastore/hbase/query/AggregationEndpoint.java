@@ -0,0 +1,238 @@
+package mil.nga.giat.geowave.datastore.hbase.query;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.Coprocessor;
+import org.apache.hadoop.hbase.CoprocessorEnvironment;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.coprocessor.CoprocessorException;
+import org.apache.hadoop.hbase.coprocessor.CoprocessorService;
+import org.apache.hadoop.hbase.coprocessor.RegionCoprocessorEnvironment;
+import org.apache.hadoop.hbase.exceptions.DeserializationException;
+import org.apache.hadoop.hbase.filter.FilterList;
+import org.apache.hadoop.hbase.filter.MultiRowRangeFilter;
+import org.apache.hadoop.hbase.protobuf.ResponseConverter;
+import org.apache.hadoop.hbase.regionserver.InternalScanner;
+import org.apache.hadoop.hbase.util.ByteStringer;
+import org.apache.log4j.Logger;
+
+import com.google.protobuf.RpcCallback;
+import com.google.protobuf.RpcController;
+import com.google.protobuf.Service;
+
+import mil.nga.giat.geowave.core.index.Mergeable;
+import mil.nga.giat.geowave.core.index.Persistable;
+import mil.nga.giat.geowave.core.index.PersistenceUtils;
+import mil.nga.giat.geowave.core.store.adapter.DataAdapter;
+import mil.nga.giat.geowave.core.store.adapter.IndexedAdapterPersistenceEncoding;
+import mil.nga.giat.geowave.core.store.data.PersistentDataset;
+import mil.nga.giat.geowave.core.store.filter.DistributableQueryFilter;
+import mil.nga.giat.geowave.core.store.index.CommonIndexModel;
+import mil.nga.giat.geowave.core.store.index.PrimaryIndex;
+import mil.nga.giat.geowave.core.store.query.aggregate.Aggregation;
+import mil.nga.giat.geowave.datastore.hbase.encoding.HBaseCommonIndexedPersistenceEncoding;
+import mil.nga.giat.geowave.datastore.hbase.query.generated.AggregationProtos;
+
+/**
+ * This is the HBase equivalent of the Accumulo aggregation iterator. It is an
+ * endpoint coprocessor that scans the rows of the query within a single region,
+ * applies the distributable query filters, decodes each row using the adapter
+ * and aggregates it, returning only the partial result of the region to be
+ * merged by the client. The GeoWave jar must be on the classpath of the region
+ * servers and this coprocessor must be loaded on the table.
+ */
+public class AggregationEndpoint extends
+		AggregationProtos.AggregationService implements
+		Coprocessor,
+		CoprocessorService
+{
+	private final static Logger LOGGER = Logger.getLogger(AggregationEndpoint.class);
+
+	private RegionCoprocessorEnvironment env;
+
+	@Override
+	public void start(
+			final CoprocessorEnvironment env )
+			throws IOException {
+		if (env instanceof RegionCoprocessorEnvironment) {
+			this.env = (RegionCoprocessorEnvironment) env;
+		}
+		else {
+			throw new CoprocessorException(
+					"Must be loaded on a table region!");
+		}
+	}
+
+	@Override
+	public void stop(
+			final CoprocessorEnvironment env )
+			throws IOException {
+		// nothing to do
+	}
+
+	@Override
+	public Service getService() {
+		return this;
+	}
+
+	@Override
+	public void aggregate(
+			final RpcController controller,
+			final AggregationProtos.AggregationRequest request,
+			final RpcCallback<AggregationProtos.AggregationResponse> done ) {
+		AggregationProtos.AggregationResponse response = null;
+		try {
+			final Aggregation aggregation = PersistenceUtils.classFactory(
+					request.getAggregation().getName(),
+					Aggregation.class);
+			if (request.getAggregation().hasParams()) {
+				aggregation.setParameters(PersistenceUtils.fromBinary(
+						request.getAggregation().getParams().toByteArray(),
+						Persistable.class));
+			}
+			final DataAdapter<?> adapter = PersistenceUtils.fromBinary(
+					request.getAdapter().toByteArray(),
+					DataAdapter.class);
+			final CommonIndexModel model = PersistenceUtils.fromBinary(
+					request.getModel().toByteArray(),
+					CommonIndexModel.class);
+			DistributableQueryFilter filter = null;
+			if (request.hasFilter()) {
+				filter = PersistenceUtils.fromBinary(
+						request.getFilter().toByteArray(),
+						DistributableQueryFilter.class);
+			}
+			MultiRowRangeFilter rangeFilter = null;
+			if (request.hasRangeFilter()) {
+				rangeFilter = MultiRowRangeFilter.parseFrom(request.getRangeFilter().toByteArray());
+			}
+
+			final Mergeable result = aggregate(
+					aggregation,
+					adapter,
+					model,
+					filter,
+					rangeFilter);
+
+			final AggregationProtos.AggregationResponse.Builder responseBuilder = AggregationProtos.AggregationResponse
+					.newBuilder();
+			if (result != null) {
+				responseBuilder.setValue(ByteStringer.wrap(PersistenceUtils.toBinary(result)));
+			}
+			response = responseBuilder.build();
+		}
+		catch (final IOException e) {
+			ResponseConverter.setControllerException(
+					controller,
+					e);
+		}
+		catch (final DeserializationException e) {
+			ResponseConverter.setControllerException(
+					controller,
+					new IOException(
+							e));
+		}
+		catch (final RuntimeException e) {
+			LOGGER.error(
+					"Unable to aggregate region " + env.getRegionInfo().getRegionNameAsString(),
+					e);
+			ResponseConverter.setControllerException(
+					controller,
+					new IOException(
+							e));
+		}
+
+		done.run(response);
+	}
+
+	/**
+	 * Aggregates the rows of this region that are within the ranges and are
+	 * accepted by the filter
+	 *
+	 * @return the aggregation of the rows of this region, or null if there were
+	 *         no rows to aggregate
+	 */
+	private Mergeable aggregate(
+			final Aggregation aggregation,
+			final DataAdapter<?> adapter,
+			final CommonIndexModel model,
+			final DistributableQueryFilter filter,
+			final MultiRowRangeFilter rangeFilter )
+			throws IOException {
+		final Scan scan = new Scan();
+		scan.addFamily(adapter.getAdapterId().getBytes());
+		final FilterList filterList = new FilterList();
+		if (rangeFilter != null) {
+			filterList.addFilter(rangeFilter);
+		}
+		if (filter != null) {
+			filterList.addFilter(new HBaseDistributableFilter(
+					filter,
+					model));
+		}
+		if (!filterList.getFilters().isEmpty()) {
+			scan.setFilter(filterList);
+		}
+		// because we know the adapter doesn't use the numeric index strategy
+		// and only the common index model to decode the entry, we pass along a
+		// null strategy to eliminate the necessity to send a serialization of
+		// the strategy in the request
+		final PrimaryIndex index = new PrimaryIndex(
+				null,
+				model);
+
+		aggregation.clearResult();
+		boolean aggregated = false;
+		final InternalScanner scanner = env.getRegion().getScanner(
+				scan);
+		try {
+			final List<Cell> cells = new ArrayList<Cell>();
+			boolean hasMore;
+			do {
+				hasMore = scanner.next(cells);
+				if (!cells.isEmpty()) {
+					final Object row = decodeRow(
+							cells,
+							adapter,
+							index);
+					if (row != null) {
+						aggregation.aggregate(row);
+						aggregated = true;
+					}
+					cells.clear();
+				}
+			}
+			while (hasMore);
+		}
+		finally {
+			scanner.close();
+		}
+		return aggregated ? aggregation.getResult() : null;
+	}
+
+	private static Object decodeRow(
+			final List<Cell> cells,
+			final DataAdapter<?> adapter,
+			final PrimaryIndex index ) {
+		final HBaseCommonIndexedPersistenceEncoding persistenceEncoding = HBaseDistributableFilter.getEncoding(
+				cells,
+				index.getIndexModel());
+		persistenceEncoding.convertUnknownValues(
+				adapter,
+				index.getIndexModel());
+		final IndexedAdapterPersistenceEncoding encoding = new IndexedAdapterPersistenceEncoding(
+				persistenceEncoding.getAdapterId(),
+				persistenceEncoding.getDataId(),
+				persistenceEncoding.getIndexInsertionId(),
+				persistenceEncoding.getDuplicateCount(),
+				persistenceEncoding.getCommonData(),
+				new PersistentDataset<byte[]>(),
+				persistenceEncoding.getAdapterExtendedData());
+		return adapter.decode(
+				encoding,
+				index);
+	}
+}
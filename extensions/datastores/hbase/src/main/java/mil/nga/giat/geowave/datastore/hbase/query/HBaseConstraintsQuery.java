@@ -4,16 +4,29 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.commons.lang3.tuple.Pair;
+import org.apache.hadoop.hbase.HConstants;
+import org.apache.hadoop.hbase.client.Table;
+import org.apache.hadoop.hbase.client.coprocessor.Batch;
 import org.apache.hadoop.hbase.filter.Filter;
+import org.apache.hadoop.hbase.filter.MultiRowRangeFilter;
+import org.apache.hadoop.hbase.filter.MultiRowRangeFilter.RowRange;
+import org.apache.hadoop.hbase.ipc.BlockingRpcCallback;
+import org.apache.hadoop.hbase.ipc.ServerRpcController;
+import org.apache.hadoop.hbase.util.ByteStringer;
 import org.apache.log4j.Logger;
 
 import com.google.common.collect.Iterators;
+import com.google.protobuf.ByteString;
 
 import mil.nga.giat.geowave.core.index.ByteArrayId;
 import mil.nga.giat.geowave.core.index.ByteArrayRange;
 import mil.nga.giat.geowave.core.index.IndexMetaData;
+import mil.nga.giat.geowave.core.index.Mergeable;
+import mil.nga.giat.geowave.core.index.PersistenceUtils;
+import mil.nga.giat.geowave.core.index.StringUtils;
 import mil.nga.giat.geowave.core.index.sfc.data.MultiDimensionalNumericData;
 import mil.nga.giat.geowave.core.store.CloseableIterator;
 import mil.nga.giat.geowave.core.store.CloseableIterator.Wrapper;
@@ -21,20 +34,28 @@ import mil.nga.giat.geowave.core.store.ScanCallback;
 import mil.nga.giat.geowave.core.store.adapter.AdapterStore;
 import mil.nga.giat.geowave.core.store.adapter.DataAdapter;
 import mil.nga.giat.geowave.core.store.adapter.statistics.DuplicateEntryCount;
+import mil.nga.giat.geowave.core.store.adapter.statistics.RowRangeHistogramStatistics;
 import mil.nga.giat.geowave.core.store.filter.DedupeFilter;
+import mil.nga.giat.geowave.core.store.filter.DistributableFilterList;
+import mil.nga.giat.geowave.core.store.filter.DistributableQueryFilter;
 import mil.nga.giat.geowave.core.store.filter.QueryFilter;
 import mil.nga.giat.geowave.core.store.index.PrimaryIndex;
 import mil.nga.giat.geowave.core.store.query.ConstraintsQuery;
 import mil.nga.giat.geowave.core.store.query.Query;
 import mil.nga.giat.geowave.core.store.query.aggregate.Aggregation;
 import mil.nga.giat.geowave.datastore.hbase.operations.BasicHBaseOperations;
+import mil.nga.giat.geowave.datastore.hbase.query.generated.AggregationProtos;
 
 public class HBaseConstraintsQuery extends
 		HBaseFilteredIndexQuery
 {
 	protected final ConstraintsQuery base;
+	private boolean queryFiltersEnabled = true;
 
 	private final static Logger LOGGER = Logger.getLogger(HBaseConstraintsQuery.class);
+	// referenced by name because the endpoint depends on hbase-server, which
+	// clients don't necessarily have on their classpath
+	public static final String AGGREGATION_ENDPOINT = "mil.nga.giat.geowave.datastore.hbase.query.AggregationEndpoint";
 
 	public HBaseConstraintsQuery(
 			final List<ByteArrayId> adapterIds,
@@ -45,6 +66,7 @@ public class HBaseConstraintsQuery extends
 			final Pair<DataAdapter<?>, Aggregation<?, ?, ?>> aggregation,
 			final IndexMetaData[] indexMetaData,
 			final DuplicateEntryCount duplicateCounts,
+			final RowRangeHistogramStatistics<?> rangeStatistics,
 			final String[] authorizations ) {
 		this(
 				adapterIds,
@@ -56,6 +78,7 @@ public class HBaseConstraintsQuery extends
 				aggregation,
 				indexMetaData,
 				duplicateCounts,
+				rangeStatistics,
 				authorizations);
 	}
 
@@ -69,6 +92,7 @@ public class HBaseConstraintsQuery extends
 			final Pair<DataAdapter<?>, Aggregation<?, ?, ?>> aggregation,
 			final IndexMetaData[] indexMetaData,
 			final DuplicateEntryCount duplicateCounts,
+			final RowRangeHistogramStatistics<?> rangeStatistics,
 			final String[] authorizations ) {
 
 		super(
@@ -85,6 +109,7 @@ public class HBaseConstraintsQuery extends
 				queryFilters,
 				clientDedupeFilter,
 				duplicateCounts,
+				rangeStatistics,
 				this);
 
 		if (isAggregation()) {
@@ -103,12 +128,43 @@ public class HBaseConstraintsQuery extends
 		return base.getRanges();
 	}
 
+	public boolean isQueryFiltersEnabled() {
+		return queryFiltersEnabled;
+	}
+
+	/**
+	 * 
+	 * @param queryFiltersEnabled
+	 *            whether the distributable query filters are evaluated by the
+	 *            region servers, otherwise they are evaluated on the client
+	 */
+	public void setQueryFiltersEnabled(
+			final boolean queryFiltersEnabled ) {
+		this.queryFiltersEnabled = queryFiltersEnabled;
+	}
+
+	/**
+	 * @param maxScanRanges
+	 *            the maximum number of ranges to scan, if <= 0 the number of
+	 *            ranges is not bounded
+	 */
+	public void setMaxScanRanges(
+			final int maxScanRanges ) {
+		base.setMaxScanRanges(maxScanRanges);
+	}
+
+	private boolean hasServerSideFilters() {
+		return queryFiltersEnabled && (base.distributableFilters != null) && !base.distributableFilters.isEmpty();
+	}
+
 	@Override
 	protected List<QueryFilter> getAllFiltersList() {
 		final List<QueryFilter> filters = super.getAllFiltersList();
-		for (final QueryFilter distributable : base.distributableFilters) {
-			if (!filters.contains(distributable)) {
-				filters.add(distributable);
+		if (!hasServerSideFilters() && (base.distributableFilters != null)) {
+			for (final QueryFilter distributable : base.distributableFilters) {
+				if (!filters.contains(distributable)) {
+					filters.add(distributable);
+				}
 			}
 		}
 		return filters;
@@ -116,7 +172,21 @@ public class HBaseConstraintsQuery extends
 
 	@Override
 	protected List<Filter> getDistributableFilter() {
-		return new ArrayList<Filter>();
+		final List<Filter> filters = new ArrayList<Filter>();
+		if (hasServerSideFilters()) {
+			final DistributableQueryFilter filter;
+			if (base.distributableFilters.size() > 1) {
+				filter = new DistributableFilterList(
+						base.distributableFilters);
+			}
+			else {
+				filter = base.distributableFilters.get(0);
+			}
+			filters.add(new HBaseDistributableFilter(
+					filter,
+					index.getIndexModel()));
+		}
+		return filters;
 	}
 
 	@Override
@@ -124,13 +194,25 @@ public class HBaseConstraintsQuery extends
 			final BasicHBaseOperations operations,
 			final AdapterStore adapterStore,
 			final Integer limit ) {
+		if (isAggregation() && isCoprocessorAggregation()) {
+			final String tableName = StringUtils.stringFromBinary(index.getId().getBytes());
+			if (operations.hasCoprocessor(
+					tableName,
+					AGGREGATION_ENDPOINT)) {
+				final CloseableIterator<Object> result = aggregateWithCoprocessor(
+						operations,
+						tableName);
+				if (result != null) {
+					return result;
+				}
+			}
+		}
 		final CloseableIterator<Object> it = super.query(
 				operations,
 				adapterStore,
 				limit);
 		if (isAggregation() && (it != null) && it.hasNext()) {
-			// TODO implement aggregation as a co-processor on the server side,
-			// but for now simply aggregate client-side here
+			// without the coprocessor every row is aggregated client-side
 
 			final Aggregation aggregationFunction = base.aggregation.getRight();
 			synchronized (aggregationFunction) {
@@ -154,11 +236,151 @@ public class HBaseConstraintsQuery extends
 						Iterators.singletonIterator(aggregationFunction.getResult()));
 			}
 		}
-		else {
-			return super.query(
-					operations,
-					adapterStore,
-					limit);
+		return it;
+	}
+
+	private boolean isCoprocessorAggregation() {
+		// the coprocessor scans the region directly so it can't apply
+		// visibility labels, queries with authorizations are aggregated
+		// client-side
+		return (options != null) && options.isEnableCoprocessors()
+				&& ((authorizations == null) || (authorizations.length == 0));
+	}
+
+	/**
+	 * @return the merged aggregation of every region, or null if the
+	 *         coprocessor could not aggregate and the rows must be aggregated
+	 *         client-side
+	 */
+	@SuppressWarnings("rawtypes")
+	private CloseableIterator<Object> aggregateWithCoprocessor(
+			final BasicHBaseOperations operations,
+			final String tableName ) {
+		try {
+			if (!operations.tableExists(tableName)) {
+				LOGGER.warn("Table does not exist " + tableName);
+				return new CloseableIterator.Empty();
+			}
+		}
+		catch (final IOException e) {
+			LOGGER.warn(
+					"Unable to check if " + tableName + " table exists, aggregating client-side",
+					e);
+			return null;
+		}
+		final Aggregation aggregation = base.aggregation.getRight();
+		final AggregationProtos.AggregationType.Builder aggregationBuilder = AggregationProtos.AggregationType
+				.newBuilder();
+		aggregationBuilder.setName(aggregation.getClass().getName());
+		if (aggregation.getParameters() != null) {
+			aggregationBuilder.setParams(ByteStringer.wrap(PersistenceUtils.toBinary(aggregation.getParameters())));
+		}
+		final AggregationProtos.AggregationRequest.Builder requestBuilder = AggregationProtos.AggregationRequest
+				.newBuilder();
+		requestBuilder.setAggregation(aggregationBuilder.build());
+		requestBuilder.setAdapter(ByteStringer.wrap(PersistenceUtils.toBinary(base.aggregation.getLeft())));
+		requestBuilder.setModel(ByteStringer.wrap(PersistenceUtils.toBinary(index.getIndexModel())));
+		if ((base.distributableFilters != null) && !base.distributableFilters.isEmpty()) {
+			final DistributableQueryFilter filter;
+			if (base.distributableFilters.size() > 1) {
+				filter = new DistributableFilterList(
+						base.distributableFilters);
+			}
+			else {
+				filter = base.distributableFilters.get(0);
+			}
+			requestBuilder.setFilter(ByteStringer.wrap(PersistenceUtils.toBinary(filter)));
+		}
+
+		// only the regions that overlap the ranges are called
+		byte[] startRow = HConstants.EMPTY_START_ROW;
+		byte[] stopRow = HConstants.EMPTY_END_ROW;
+		final List<ByteArrayRange> ranges = getRanges();
+		if ((ranges != null) && !ranges.isEmpty()) {
+			final List<RowRange> rowRanges = new ArrayList<RowRange>();
+			for (final ByteArrayRange range : ranges) {
+				if (range.getStart() == null) {
+					rowRanges.clear();
+					break;
+				}
+				rowRanges.add(new RowRange(
+						range.getStart().getBytes(),
+						true,
+						getStopRow(range),
+						false));
+			}
+			if (!rowRanges.isEmpty()) {
+				final MultiRowRangeFilter rangeFilter;
+				try {
+					rangeFilter = new MultiRowRangeFilter(
+							rowRanges);
+				}
+				catch (final IOException e) {
+					LOGGER.warn(
+							"Unable to filter aggregation by row ranges, aggregating client-side",
+							e);
+					return null;
+				}
+				// the filter sorts and merges the ranges
+				final List<RowRange> sortedRanges = rangeFilter.getRowRanges();
+				startRow = sortedRanges.get(
+						0).getStartRow();
+				stopRow = sortedRanges.get(
+						sortedRanges.size() - 1).getStopRow();
+				requestBuilder.setRangeFilter(ByteStringer.wrap(rangeFilter.toByteArray()));
+			}
+		}
+		final AggregationProtos.AggregationRequest request = requestBuilder.build();
+
+		Mergeable mergedAggregationResult = null;
+		try (Table table = operations.getTable(tableName)) {
+			final Map<byte[], ByteString> results = table.coprocessorService(
+					AggregationProtos.AggregationService.class,
+					startRow,
+					stopRow,
+					new Batch.Call<AggregationProtos.AggregationService, ByteString>() {
+						@Override
+						public ByteString call(
+								final AggregationProtos.AggregationService service )
+								throws IOException {
+							final ServerRpcController controller = new ServerRpcController();
+							final BlockingRpcCallback<AggregationProtos.AggregationResponse> rpcCallback = new BlockingRpcCallback<AggregationProtos.AggregationResponse>();
+							service.aggregate(
+									controller,
+									request,
+									rpcCallback);
+							if (controller.failedOnException()) {
+								throw controller.getFailedOn();
+							}
+							final AggregationProtos.AggregationResponse response = rpcCallback.get();
+							return ((response != null) && response.hasValue()) ? response.getValue() : null;
+						}
+					});
+			for (final ByteString value : results.values()) {
+				if (value != null) {
+					final Mergeable regionResult = PersistenceUtils.fromBinary(
+							value.toByteArray(),
+							Mergeable.class);
+					if (mergedAggregationResult == null) {
+						mergedAggregationResult = regionResult;
+					}
+					else {
+						mergedAggregationResult.merge(regionResult);
+					}
+				}
+			}
+		}
+		catch (final Throwable e) {
+			// a failed endpoint must not look like an empty result
+			LOGGER.warn(
+					"Unable to aggregate with the coprocessor on table " + tableName + ", aggregating client-side",
+					e);
+			return null;
+		}
+		if (mergedAggregationResult == null) {
+			return new CloseableIterator.Empty();
 		}
+		return new Wrapper(
+				Iterators.singletonIterator(mergedAggregationResult));
 	}
 }
@@ -0,0 +1,174 @@
+package mil.nga.giat.geowave.datastore.hbase.query;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.exceptions.DeserializationException;
+import org.apache.hadoop.hbase.filter.Filter;
+import org.apache.hadoop.hbase.filter.FilterBase;
+import org.apache.hadoop.hbase.util.ByteStringer;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+
+import mil.nga.giat.geowave.core.index.ByteArrayId;
+import mil.nga.giat.geowave.core.index.PersistenceUtils;
+import mil.nga.giat.geowave.core.store.data.PersistentDataset;
+import mil.nga.giat.geowave.core.store.data.PersistentValue;
+import mil.nga.giat.geowave.core.store.data.field.FieldReader;
+import mil.nga.giat.geowave.core.store.entities.GeowaveRowId;
+import mil.nga.giat.geowave.core.store.filter.DistributableQueryFilter;
+import mil.nga.giat.geowave.core.store.index.CommonIndexModel;
+import mil.nga.giat.geowave.core.store.index.CommonIndexValue;
+import mil.nga.giat.geowave.datastore.hbase.encoding.HBaseCommonIndexedPersistenceEncoding;
+import mil.nga.giat.geowave.datastore.hbase.query.generated.FilterProtos;
+
+/**
+ * This is the HBase equivalent of the Accumulo query filter iterator. It is
+ * evaluated on the region server during the scan and applies the distributable
+ * GeoWave query filters to each row, using the common index model to read the
+ * indexed fields, so that rows that do not match the query are never sent to
+ * the client. As with any custom filter, the GeoWave jar must be on the
+ * classpath of the region servers.
+ */
+public class HBaseDistributableFilter extends
+		FilterBase
+{
+	private final DistributableQueryFilter filter;
+	private final CommonIndexModel model;
+	private boolean filterRow = false;
+
+	public HBaseDistributableFilter(
+			final DistributableQueryFilter filter,
+			final CommonIndexModel model ) {
+		if (filter == null) {
+			throw new IllegalArgumentException(
+					"'filter' must be set for " + HBaseDistributableFilter.class.getName());
+		}
+		if (model == null) {
+			throw new IllegalArgumentException(
+					"'model' must be set for " + HBaseDistributableFilter.class.getName());
+		}
+		this.filter = filter;
+		this.model = model;
+	}
+
+	@Override
+	public ReturnCode filterKeyValue(
+			final Cell v )
+			throws IOException {
+		// the filter is applied once all of the cells of the row are read
+		return ReturnCode.INCLUDE;
+	}
+
+	@Override
+	public boolean hasFilterRow() {
+		return true;
+	}
+
+	@Override
+	public void filterRowCells(
+			final List<Cell> cells )
+			throws IOException {
+		if (!cells.isEmpty()) {
+			filterRow = !accept(cells);
+		}
+	}
+
+	@Override
+	public boolean filterRow()
+			throws IOException {
+		return filterRow;
+	}
+
+	@Override
+	public void reset()
+			throws IOException {
+		filterRow = false;
+	}
+
+	private boolean accept(
+			final List<Cell> cells ) {
+		return filter.accept(
+				model,
+				getEncoding(
+						cells,
+						model));
+	}
+
+	/**
+	 * Builds the persistence encoding of a row from its cells, reading the
+	 * fields of the common index model and leaving the extended fields unread
+	 * until they are needed
+	 *
+	 * @param cells
+	 *            all of the cells of a single row
+	 * @param model
+	 *            the common index model
+	 * @return the persistence encoding of the row
+	 */
+	public static HBaseCommonIndexedPersistenceEncoding getEncoding(
+			final List<Cell> cells,
+			final CommonIndexModel model ) {
+		final PersistentDataset<CommonIndexValue> commonData = new PersistentDataset<CommonIndexValue>();
+		final PersistentDataset<byte[]> unknownData = new PersistentDataset<byte[]>();
+		for (final Cell cell : cells) {
+			final ByteArrayId fieldId = new ByteArrayId(
+					CellUtil.cloneQualifier(cell));
+			final FieldReader<? extends CommonIndexValue> reader = model.getReader(fieldId);
+			final byte[] value = CellUtil.cloneValue(cell);
+			if (reader != null) {
+				commonData.addValue(new PersistentValue<CommonIndexValue>(
+						fieldId,
+						reader.readField(value)));
+			}
+			else {
+				unknownData.addValue(new PersistentValue<byte[]>(
+						fieldId,
+						value));
+			}
+		}
+		final Cell firstCell = cells.get(0);
+		final GeowaveRowId rowId = new GeowaveRowId(
+				CellUtil.cloneRow(firstCell));
+		return new HBaseCommonIndexedPersistenceEncoding(
+				new ByteArrayId(
+						CellUtil.cloneFamily(firstCell)),
+				new ByteArrayId(
+						rowId.getDataId()),
+				new ByteArrayId(
+						rowId.getInsertionId()),
+				rowId.getNumberOfDuplicates(),
+				commonData,
+				unknownData);
+	}
+
+	public static Filter parseFrom(
+			final byte[] pbBytes )
+			throws DeserializationException {
+		final FilterProtos.DistributableFilter proto;
+		try {
+			proto = FilterProtos.DistributableFilter.parseFrom(pbBytes);
+		}
+		catch (final InvalidProtocolBufferException e) {
+			throw new DeserializationException(
+					e);
+		}
+		return new HBaseDistributableFilter(
+				PersistenceUtils.fromBinary(
+						proto.getFilter().toByteArray(),
+						DistributableQueryFilter.class),
+				PersistenceUtils.fromBinary(
+						proto.getModel().toByteArray(),
+						CommonIndexModel.class));
+	}
+
+	@Override
+	public byte[] toByteArray() {
+		final FilterProtos.DistributableFilter.Builder builder = FilterProtos.DistributableFilter.newBuilder();
+		builder.setFilter(ByteStringer.wrap(PersistenceUtils.toBinary(filter)));
+		builder.setModel(ByteStringer.wrap(PersistenceUtils.toBinary(model)));
+		return builder.build().toByteArray();
+	}
+}
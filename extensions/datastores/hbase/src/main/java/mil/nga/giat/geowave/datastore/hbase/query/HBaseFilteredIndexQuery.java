@@ -1,5 +1,6 @@
 package mil.nga.giat.geowave.datastore.hbase.query;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -9,11 +10,14 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 
+import org.apache.hadoop.hbase.client.RegionLocator;
 import org.apache.hadoop.hbase.client.Result;
-import org.apache.hadoop.hbase.client.ResultScanner;
 import org.apache.hadoop.hbase.client.Scan;
 import org.apache.hadoop.hbase.filter.Filter;
 import org.apache.hadoop.hbase.filter.FilterList;
+import org.apache.hadoop.hbase.filter.MultiRowRangeFilter;
+import org.apache.hadoop.hbase.filter.MultiRowRangeFilter.RowRange;
+import org.apache.hadoop.hbase.util.Bytes;
 import org.apache.log4j.Logger;
 
 import com.google.common.collect.Iterators;
@@ -23,6 +27,7 @@ import mil.nga.giat.geowave.core.index.ByteArrayRange;
 import mil.nga.giat.geowave.core.index.StringUtils;
 import mil.nga.giat.geowave.core.store.CloseableIterator;
 import mil.nga.giat.geowave.core.store.CloseableIteratorWrapper;
+import mil.nga.giat.geowave.core.store.ParallelMergeIterator;
 import mil.nga.giat.geowave.core.store.ScanCallback;
 import mil.nga.giat.geowave.core.store.adapter.AdapterStore;
 import mil.nga.giat.geowave.core.store.adapter.DataAdapter;
@@ -33,8 +38,9 @@ import mil.nga.giat.geowave.core.store.index.PrimaryIndex;
 import mil.nga.giat.geowave.core.store.query.FilteredIndexQuery;
 import mil.nga.giat.geowave.datastore.hbase.operations.BasicHBaseOperations;
 import mil.nga.giat.geowave.datastore.hbase.util.HBaseEntryIteratorWrapper;
+import mil.nga.giat.geowave.datastore.hbase.util.HBaseScanIterator;
 import mil.nga.giat.geowave.datastore.hbase.util.HBaseUtils;
-import mil.nga.giat.geowave.datastore.hbase.util.HBaseUtils.MultiScannerClosableWrapper;
+import mil.nga.giat.geowave.datastore.hbase.util.OrderedParallelScanIterator;
 
 public abstract class HBaseFilteredIndexQuery extends
 		HBaseQuery implements
@@ -121,58 +127,85 @@ public abstract class HBaseFilteredIndexQuery extends
 		}
 
 		final List<Scan> scanners = getScanners(
+				operations,
+				tableName,
 				limit,
 				distributableFilters,
 				adapters);
 
-		final List<Iterator<Result>> resultsIterators = new ArrayList<Iterator<Result>>();
-		final List<ResultScanner> results = new ArrayList<ResultScanner>();
+		final CloseableIterator<Result> results = getScanResults(
+				operations,
+				tableName,
+				scanners);
 
-		// TODO Consider parallelization as list of scanners can be long and
-		// getScannedResults might be slow?
-		for (final Scan scanner : scanners) {
-			try {
-				final ResultScanner rs = operations.getScannedResults(
-						scanner,
-						tableName,
-						authorizations);
-
-				if (rs != null) {
-					results.add(rs);
-					final Iterator<Result> it = rs.iterator();
-					if (it.hasNext()) {
-						resultsIterators.add(it);
-					}
-				}
-			}
-			catch (final IOException e) {
-				LOGGER.warn("Could not get the results from scanner " + e);
-			}
-		}
+		Iterator it = initIterator(
+				adapterStore,
+				results);
 
-		if (results.iterator().hasNext()) {
-			Iterator it = initIterator(
-					adapterStore,
-					Iterators.concat(resultsIterators.iterator()));
+		if ((limit != null) && (limit > 0)) {
+			it = Iterators.limit(
+					it,
+					limit);
+		}
+		return new CloseableIteratorWrapper(
+				results,
+				it);
+	}
 
-			if ((limit != null) && (limit > 0)) {
-				it = Iterators.limit(
-						it,
-						limit);
-			}
-			return new CloseableIteratorWrapper(
-					new MultiScannerClosableWrapper(
-							results),
-					it);
+	/**
+	 * Run the scans one at a time, or concurrently if the options allow it
+	 */
+	protected CloseableIterator<Result> getScanResults(
+			final BasicHBaseOperations operations,
+			final String tableName,
+			final List<Scan> scanners ) {
+		final List<HBaseScanIterator> scans = new ArrayList<HBaseScanIterator>(
+				scanners.size());
+		for (final Scan scanner : scanners) {
+			scans.add(new HBaseScanIterator(
+					operations,
+					scanner,
+					tableName,
+					authorizations));
 		}
 
-		LOGGER.error("Results were empty");
-		return new CloseableIterator.Empty();
+		final CloseableIterator<Result> results;
+		final int scanThreads = (options == null) ? 1 : options.getScanThreads();
+		if ((scanThreads <= 1) || (scans.size() <= 1)) {
+			results = new CloseableIteratorWrapper<Result>(
+					new Closeable() {
+						@Override
+						public void close() {
+							for (final HBaseScanIterator scan : scans) {
+								scan.close();
+							}
+						}
+					},
+					Iterators.concat(scans.iterator()));
+		}
+		else if (options.isOrderedScanResults()) {
+			results = new OrderedParallelScanIterator(
+					scans,
+					scanThreads);
+		}
+		else {
+			// behaves like a batch scanner, results are returned from
+			// whichever scan produces them first
+			results = new ParallelMergeIterator<Result>(
+					new ArrayList<CloseableIterator<Result>>(
+							scans),
+					scanThreads,
+					options.getScanQueueSize(),
+					null);
+		}
+		return results;
 	}
 
 	protected abstract List<Filter> getDistributableFilter();
 
 	protected List<Scan> getScanners(
+			final BasicHBaseOperations operations,
+			final String tableName,
 			final Integer limit,
 			final List<Filter> distributableFilters,
 			final CloseableIterator<DataAdapter<?>> adapters ) {
@@ -183,56 +216,208 @@ public abstract class HBaseFilteredIndexQuery extends
 				filterList.addFilter(filter);
 			}
 		}
+		final long startNanos = System.nanoTime();
 		List<ByteArrayRange> ranges = getRanges();
+		if (queryMetrics != null) {
+			queryMetrics.rangesDecomposed(
+					(ranges == null) ? 0 : ranges.size(),
+					System.nanoTime() - startNanos);
+		}
 		if ((ranges == null) || ranges.isEmpty()) {
 			ranges = Collections.singletonList(new ByteArrayRange(
 					null,
 					null));
 		}
-		final List<Scan> scanners = new ArrayList<Scan>();
-		if ((ranges != null) && (ranges.size() > 0)) {
-
+		final List<List<ByteArrayRange>> rangeGroups;
+		if ((options != null) && options.isGroupRangesByRegion() && (ranges.size() > 1)) {
+			rangeGroups = groupRangesByRegion(
+					operations,
+					tableName,
+					ranges);
+		}
+		else {
+			rangeGroups = new ArrayList<List<ByteArrayRange>>();
 			for (final ByteArrayRange range : ranges) {
+				rangeGroups.add(Collections.singletonList(range));
+			}
+		}
+		final List<Scan> scanners = new ArrayList<Scan>();
+		for (final List<ByteArrayRange> rangeGroup : rangeGroups) {
 
-				final Scan scanner = new Scan();
+			final Scan scanner = new Scan();
 
-				if ((adapterIds != null) && !adapterIds.isEmpty()) {
-					for (final ByteArrayId adapterId : adapterIds) {
-						scanner.addFamily(adapterId.getBytes());
-					}
+			if ((adapterIds != null) && !adapterIds.isEmpty()) {
+				for (final ByteArrayId adapterId : adapterIds) {
+					scanner.addFamily(adapterId.getBytes());
 				}
+			}
 
+			final ByteArrayRange range = rangeGroup.get(0);
+			if (rangeGroup.size() > 1) {
+				// one scan covers every range in the group and the rows
+				// between the ranges are skipped by the region server
+				final List<RowRange> rowRanges = new ArrayList<RowRange>();
+				for (final ByteArrayRange r : rangeGroup) {
+					rowRanges.add(new RowRange(
+							r.getStart().getBytes(),
+							true,
+							getStopRow(r),
+							false));
+				}
+				scanner.setStartRow(range.getStart().getBytes());
+				scanner.setStopRow(getGroupStopRow(rangeGroup));
+				final FilterList groupFilterList = new FilterList();
+				try {
+					groupFilterList.addFilter(new MultiRowRangeFilter(
+							rowRanges));
+				}
+				catch (final IOException e) {
+					LOGGER.warn(
+							"Unable to filter scan by row ranges",
+							e);
+				}
+				if (filterList != null) {
+					groupFilterList.addFilter(filterList);
+				}
+				scanner.setFilter(groupFilterList);
+			}
+			else {
 				if (range.getStart() != null) {
 					scanner.setStartRow(range.getStart().getBytes());
-					if (!range.isSingleValue()) {
-						scanner.setStopRow(HBaseUtils.getNextPrefix(range.getEnd().getBytes()));
-					}
-					else {
-						scanner.setStopRow(HBaseUtils.getNextPrefix(range.getStart().getBytes()));
-					}
+					scanner.setStopRow(getStopRow(range));
 				}
 
 				scanner.setFilter(filterList);
+			}
 
-				// a subset of fieldIds is being requested
-				if ((fieldIds != null) && !fieldIds.isEmpty()) {
-					// configure scanner to fetch only the fieldIds specified
-					handleSubsetOfFieldIds(
-							scanner,
-							adapters);
-				}
-
-				if ((limit != null) && (limit > 0) && (limit < scanner.getBatch())) {
-					scanner.setBatch(limit);
-				}
+			// a subset of fieldIds is being requested
+			if ((fieldIds != null) && !fieldIds.isEmpty()) {
+				// configure scanner to fetch only the fieldIds specified
+				handleSubsetOfFieldIds(
+						scanner,
+						adapters);
+			}
 
-				scanners.add(scanner);
+			if ((limit != null) && (limit > 0) && (limit < scanner.getBatch())) {
+				scanner.setBatch(limit);
 			}
+
+			scanners.add(scanner);
 		}
 
 		return scanners;
 	}
 
+	protected static byte[] getStopRow(
+			final ByteArrayRange range ) {
+		if (!range.isSingleValue()) {
+			return HBaseUtils.getNextPrefix(range.getEnd().getBytes());
+		}
+		else {
+			return HBaseUtils.getNextPrefix(range.getStart().getBytes());
+		}
+	}
+
+	/**
+	 * The ranges of a group are sorted by their start, but an earlier range can
+	 * still end after the last one, so the scan stops at the greatest stop row
+	 * of any range in the group
+	 */
+	protected static byte[] getGroupStopRow(
+			final List<ByteArrayRange> rangeGroup ) {
+		byte[] stopRow = null;
+		for (final ByteArrayRange range : rangeGroup) {
+			final byte[] rangeStopRow = getStopRow(range);
+			if ((stopRow == null) || (Bytes.compareTo(
+					rangeStopRow,
+					stopRow) > 0)) {
+				stopRow = rangeStopRow;
+			}
+		}
+		return stopRow;
+	}
+
+	/**
+	 * Group the ranges by the region that contains the start of each range, in
+	 * row order. Ranges without bounds are scanned on their own. The region
+	 * boundaries only affect how many scans are used, if a region has split or
+	 * moved the scan of a group still reads every range in it.
+	 */
+	private List<List<ByteArrayRange>> groupRangesByRegion(
+			final BasicHBaseOperations operations,
+			final String tableName,
+			final List<ByteArrayRange> ranges ) {
+		final List<List<ByteArrayRange>> rangeGroups = new ArrayList<List<ByteArrayRange>>();
+		boolean bounded = true;
+		for (final ByteArrayRange range : ranges) {
+			if ((range.getStart() == null) || (range.getEnd() == null)) {
+				bounded = false;
+				break;
+			}
+		}
+		byte[][] startKeys = null;
+		if (bounded) {
+			try (RegionLocator locator = operations.getRegionLocator(tableName)) {
+				startKeys = locator.getStartKeys();
+			}
+			catch (final IOException e) {
+				LOGGER.warn(
+						"Unable to get the regions of table '" + tableName + "', ranges will be scanned separately",
+						e);
+			}
+		}
+		if (startKeys == null) {
+			for (final ByteArrayRange range : ranges) {
+				rangeGroups.add(Collections.singletonList(range));
+			}
+			return rangeGroups;
+		}
+		final List<ByteArrayRange> sortedRanges = new ArrayList<ByteArrayRange>(
+				ranges);
+		Collections.sort(sortedRanges);
+		List<ByteArrayRange> currentGroup = null;
+		int currentRegion = -1;
+		for (final ByteArrayRange range : sortedRanges) {
+			if (getStopRow(range).length == 0) {
+				// the range is unbounded at the end of the table
+				rangeGroups.add(Collections.singletonList(range));
+				currentGroup = null;
+				continue;
+			}
+			final int region = getRegionIndex(
+					startKeys,
+					range.getStart().getBytes());
+			if ((currentGroup == null) || (region != currentRegion)) {
+				currentGroup = new ArrayList<ByteArrayRange>();
+				rangeGroups.add(currentGroup);
+				currentRegion = region;
+			}
+			currentGroup.add(range);
+		}
+		return rangeGroups;
+	}
+
+	private static int getRegionIndex(
+			final byte[][] startKeys,
+			final byte[] row ) {
+		int low = 0;
+		int high = startKeys.length - 1;
+		int region = 0;
+		while (low <= high) {
+			final int mid = (low + high) >>> 1;
+			if (Bytes.compareTo(
+					startKeys[mid],
+					row) <= 0) {
+				region = mid;
+				low = mid + 1;
+			}
+			else {
+				high = mid - 1;
+			}
+		}
+		return region;
+	}
+
 	private void handleSubsetOfFieldIds(
 			final Scan scanner,
 			final CloseableIterator<DataAdapter<?>> dataAdapters ) {
@@ -273,12 +458,10 @@ public abstract class HBaseFilteredIndexQuery extends
 	protected Iterator initIterator(
 			final AdapterStore adapterStore,
 			final Iterator<Result> resultsIterator ) {
-		// TODO Since currently we are not supporting server side
-		// iterator/coprocessors, we also cannot run
-		// server side filters and hence they have to run on clients itself. So
-		// need to add server side filters also in list of client filters.
+		// distributable filters that are not evaluated by the region servers
+		// are added to the list of client filters
 		final List<QueryFilter> filters = getAllFiltersList();
-		return new HBaseEntryIteratorWrapper(
+		final HBaseEntryIteratorWrapper it = new HBaseEntryIteratorWrapper(
 				adapterStore,
 				index,
 				resultsIterator,
@@ -286,11 +469,13 @@ public abstract class HBaseFilteredIndexQuery extends
 						: new mil.nga.giat.geowave.core.store.filter.FilterList<QueryFilter>(
 								filters),
 				scanCallback);
+		it.setQueryMetrics(queryMetrics);
+		return it;
 	}
 
 	protected List<QueryFilter> getAllFiltersList() {
-		// This method is so that it can be overridden to also add distributed
-		// filter list
+		// This method is so that it can be overridden to also add distributable
+		// filters that are not run on the region servers
 		final List<QueryFilter> filters = new ArrayList<QueryFilter>();
 		filters.addAll(clientFilters);
 		return filters;
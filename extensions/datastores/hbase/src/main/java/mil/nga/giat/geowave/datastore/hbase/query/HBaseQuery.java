@@ -7,6 +7,8 @@ import org.apache.log4j.Logger;
 import mil.nga.giat.geowave.core.index.ByteArrayId;
 import mil.nga.giat.geowave.core.index.ByteArrayRange;
 import mil.nga.giat.geowave.core.store.index.PrimaryIndex;
+import mil.nga.giat.geowave.core.store.query.QueryMetrics;
+import mil.nga.giat.geowave.datastore.hbase.operations.config.HBaseOptions;
 
 abstract public class HBaseQuery
 {
@@ -16,6 +18,8 @@ abstract public class HBaseQuery
 	protected final PrimaryIndex index;
 
 	protected final String[] authorizations;
+	protected QueryMetrics queryMetrics = null;
+	protected HBaseOptions options = null;
 
 	public HBaseQuery(
 			final PrimaryIndex index,
@@ -39,6 +43,21 @@ abstract public class HBaseQuery
 		return authorizations;
 	}
 
+	public void setQueryMetrics(
+			final QueryMetrics queryMetrics ) {
+		this.queryMetrics = queryMetrics;
+	}
+
+	/**
+	 * @param options
+	 *            the data store options that determine how the scans of this
+	 *            query are run, if not set the scans are run one at a time
+	 */
+	public void setOptions(
+			final HBaseOptions options ) {
+		this.options = options;
+	}
+
 	abstract protected List<ByteArrayRange> getRanges();
 
 }
@@ -35,6 +35,7 @@ public class HBaseRowIdsQuery<T> extends
 				null,
 				null,
 				null,
+				null,
 				authorizations);
 		this.rows = rows;
 	}
@@ -19,6 +19,7 @@ import mil.nga.giat.geowave.core.store.filter.DedupeFilter;
 import mil.nga.giat.geowave.core.store.filter.QueryFilter;
 import mil.nga.giat.geowave.core.store.index.PrimaryIndex;
 import mil.nga.giat.geowave.core.store.query.QueryOptions;
+import mil.nga.giat.geowave.datastore.hbase.operations.BasicHBaseOperations;
 import mil.nga.giat.geowave.datastore.hbase.util.HBaseInputFormatIteratorWrapper;
 import mil.nga.giat.geowave.datastore.hbase.util.HBaseUtils;
 
@@ -71,6 +72,7 @@ public class InputFormatHBaseRangeQuery extends
 				null,
 				null,
 				null,
+				null,
 				queryOptions.getAuthorizations());
 
 		this.range = range;
@@ -79,6 +81,8 @@ public class InputFormatHBaseRangeQuery extends
 
 	@Override
 	protected List<Scan> getScanners(
+			final BasicHBaseOperations operations,
+			final String tableName,
 			final Integer limit,
 			final List<Filter> distributableFilters,
 			final CloseableIterator<DataAdapter<?>> adapters ) {
@@ -446,9 +446,7 @@ public final class FilterProtos
 			}
 
 			private void maybeForceBuilderInitialization() {
-				// if
-				// (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders)
-				// {}
+				if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {}
 			}
 
 			private static Builder create() {
@@ -660,8 +658,655 @@ public final class FilterProtos
 		// @@protoc_insertion_point(class_scope:SingleEntryFilter)
 	}
 
+	public interface DistributableFilterOrBuilder extends
+			com.google.protobuf.MessageOrBuilder
+	{
+
+		// required bytes filter = 1;
+		/**
+		 * <code>required bytes filter = 1;</code>
+		 */
+		boolean hasFilter();
+
+		/**
+		 * <code>required bytes filter = 1;</code>
+		 */
+		com.google.protobuf.ByteString getFilter();
+
+		// required bytes model = 2;
+		/**
+		 * <code>required bytes model = 2;</code>
+		 */
+		boolean hasModel();
+
+		/**
+		 * <code>required bytes model = 2;</code>
+		 */
+		com.google.protobuf.ByteString getModel();
+	}
+
+	/**
+	 * Protobuf type {@code DistributableFilter}
+	 */
+	public static final class DistributableFilter extends
+			com.google.protobuf.GeneratedMessage implements
+			DistributableFilterOrBuilder
+	{
+		// Use DistributableFilter.newBuilder() to construct.
+		private DistributableFilter(
+				com.google.protobuf.GeneratedMessage.Builder<?> builder ) {
+			super(
+					builder);
+			this.unknownFields = builder.getUnknownFields();
+		}
+
+		private DistributableFilter(
+				boolean noInit ) {
+			this.unknownFields = com.google.protobuf.UnknownFieldSet.getDefaultInstance();
+		}
+
+		private static final DistributableFilter defaultInstance;
+
+		public static DistributableFilter getDefaultInstance() {
+			return defaultInstance;
+		}
+
+		public DistributableFilter getDefaultInstanceForType() {
+			return defaultInstance;
+		}
+
+		private final com.google.protobuf.UnknownFieldSet unknownFields;
+
+		@java.lang.Override
+		public final com.google.protobuf.UnknownFieldSet getUnknownFields() {
+			return this.unknownFields;
+		}
+
+		private DistributableFilter(
+				com.google.protobuf.CodedInputStream input,
+				com.google.protobuf.ExtensionRegistryLite extensionRegistry )
+				throws com.google.protobuf.InvalidProtocolBufferException {
+			initFields();
+			int mutable_bitField0_ = 0;
+			com.google.protobuf.UnknownFieldSet.Builder unknownFields = com.google.protobuf.UnknownFieldSet
+					.newBuilder();
+			try {
+				boolean done = false;
+				while (!done) {
+					int tag = input.readTag();
+					switch (tag) {
+						case 0:
+							done = true;
+							break;
+						default: {
+							if (!parseUnknownField(
+									input,
+									unknownFields,
+									extensionRegistry,
+									tag)) {
+								done = true;
+							}
+							break;
+						}
+						case 10: {
+							bitField0_ |= 0x00000001;
+							filter_ = input.readBytes();
+							break;
+						}
+						case 18: {
+							bitField0_ |= 0x00000002;
+							model_ = input.readBytes();
+							break;
+						}
+					}
+				}
+			}
+			catch (com.google.protobuf.InvalidProtocolBufferException e) {
+				throw e.setUnfinishedMessage(this);
+			}
+			catch (java.io.IOException e) {
+				throw new com.google.protobuf.InvalidProtocolBufferException(
+						e.getMessage()).setUnfinishedMessage(this);
+			}
+			finally {
+				this.unknownFields = unknownFields.build();
+				makeExtensionsImmutable();
+			}
+		}
+
+		public static final com.google.protobuf.Descriptors.Descriptor getDescriptor() {
+			return mil.nga.giat.geowave.datastore.hbase.query.generated.FilterProtos.internal_static_DistributableFilter_descriptor;
+		}
+
+		protected com.google.protobuf.GeneratedMessage.FieldAccessorTable internalGetFieldAccessorTable() {
+			return mil.nga.giat.geowave.datastore.hbase.query.generated.FilterProtos.internal_static_DistributableFilter_fieldAccessorTable
+					.ensureFieldAccessorsInitialized(
+							mil.nga.giat.geowave.datastore.hbase.query.generated.FilterProtos.DistributableFilter.class,
+							mil.nga.giat.geowave.datastore.hbase.query.generated.FilterProtos.DistributableFilter.Builder.class);
+		}
+
+		public static com.google.protobuf.Parser<DistributableFilter> PARSER = new com.google.protobuf.AbstractParser<DistributableFilter>() {
+			public DistributableFilter parsePartialFrom(
+					com.google.protobuf.CodedInputStream input,
+					com.google.protobuf.ExtensionRegistryLite extensionRegistry )
+					throws com.google.protobuf.InvalidProtocolBufferException {
+				return new DistributableFilter(
+						input,
+						extensionRegistry);
+			}
+		};
+
+		@java.lang.Override
+		public com.google.protobuf.Parser<DistributableFilter> getParserForType() {
+			return PARSER;
+		}
+
+		private int bitField0_;
+		// required bytes filter = 1;
+		public static final int FILTER_FIELD_NUMBER = 1;
+		private com.google.protobuf.ByteString filter_;
+
+		/**
+		 * <code>required bytes filter = 1;</code>
+		 */
+		public boolean hasFilter() {
+			return ((bitField0_ & 0x00000001) == 0x00000001);
+		}
+
+		/**
+		 * <code>required bytes filter = 1;</code>
+		 */
+		public com.google.protobuf.ByteString getFilter() {
+			return filter_;
+		}
+
+		// required bytes model = 2;
+		public static final int MODEL_FIELD_NUMBER = 2;
+		private com.google.protobuf.ByteString model_;
+
+		/**
+		 * <code>required bytes model = 2;</code>
+		 */
+		public boolean hasModel() {
+			return ((bitField0_ & 0x00000002) == 0x00000002);
+		}
+
+		/**
+		 * <code>required bytes model = 2;</code>
+		 */
+		public com.google.protobuf.ByteString getModel() {
+			return model_;
+		}
+
+		private void initFields() {
+			filter_ = com.google.protobuf.ByteString.EMPTY;
+			model_ = com.google.protobuf.ByteString.EMPTY;
+		}
+
+		private byte memoizedIsInitialized = -1;
+
+		public final boolean isInitialized() {
+			byte isInitialized = memoizedIsInitialized;
+			if (isInitialized != -1) return isInitialized == 1;
+
+			if (!hasFilter()) {
+				memoizedIsInitialized = 0;
+				return false;
+			}
+			if (!hasModel()) {
+				memoizedIsInitialized = 0;
+				return false;
+			}
+			memoizedIsInitialized = 1;
+			return true;
+		}
+
+		public void writeTo(
+				com.google.protobuf.CodedOutputStream output )
+				throws java.io.IOException {
+			getSerializedSize();
+			if (((bitField0_ & 0x00000001) == 0x00000001)) {
+				output.writeBytes(
+						1,
+						filter_);
+			}
+			if (((bitField0_ & 0x00000002) == 0x00000002)) {
+				output.writeBytes(
+						2,
+						model_);
+			}
+			getUnknownFields().writeTo(
+					output);
+		}
+
+		private int memoizedSerializedSize = -1;
+
+		public int getSerializedSize() {
+			int size = memoizedSerializedSize;
+			if (size != -1) return size;
+
+			size = 0;
+			if (((bitField0_ & 0x00000001) == 0x00000001)) {
+				size += com.google.protobuf.CodedOutputStream.computeBytesSize(
+						1,
+						filter_);
+			}
+			if (((bitField0_ & 0x00000002) == 0x00000002)) {
+				size += com.google.protobuf.CodedOutputStream.computeBytesSize(
+						2,
+						model_);
+			}
+			size += getUnknownFields().getSerializedSize();
+			memoizedSerializedSize = size;
+			return size;
+		}
+
+		private static final long serialVersionUID = 0L;
+
+		@java.lang.Override
+		protected java.lang.Object writeReplace()
+				throws java.io.ObjectStreamException {
+			return super.writeReplace();
+		}
+
+		@java.lang.Override
+		public boolean equals(
+				final java.lang.Object obj ) {
+			if (obj == this) {
+				return true;
+			}
+			if (!(obj instanceof mil.nga.giat.geowave.datastore.hbase.query.generated.FilterProtos.DistributableFilter)) {
+				return super.equals(obj);
+			}
+			mil.nga.giat.geowave.datastore.hbase.query.generated.FilterProtos.DistributableFilter other = (mil.nga.giat.geowave.datastore.hbase.query.generated.FilterProtos.DistributableFilter) obj;
+
+			boolean result = true;
+			result = result && (hasFilter() == other.hasFilter());
+			if (hasFilter()) {
+				result = result && getFilter().equals(
+						other.getFilter());
+			}
+			result = result && (hasModel() == other.hasModel());
+			if (hasModel()) {
+				result = result && getModel().equals(
+						other.getModel());
+			}
+			result = result && getUnknownFields().equals(
+					other.getUnknownFields());
+			return result;
+		}
+
+		private int memoizedHashCode = 0;
+
+		@java.lang.Override
+		public int hashCode() {
+			if (memoizedHashCode != 0) {
+				return memoizedHashCode;
+			}
+			int hash = 41;
+			hash = (19 * hash) + getDescriptorForType().hashCode();
+			if (hasFilter()) {
+				hash = (37 * hash) + FILTER_FIELD_NUMBER;
+				hash = (53 * hash) + getFilter().hashCode();
+			}
+			if (hasModel()) {
+				hash = (37 * hash) + MODEL_FIELD_NUMBER;
+				hash = (53 * hash) + getModel().hashCode();
+			}
+			hash = (29 * hash) + getUnknownFields().hashCode();
+			memoizedHashCode = hash;
+			return hash;
+		}
+
+		public static mil.nga.giat.geowave.datastore.hbase.query.generated.FilterProtos.DistributableFilter parseFrom(
+				com.google.protobuf.ByteString data )
+				throws com.google.protobuf.InvalidProtocolBufferException {
+			return PARSER.parseFrom(data);
+		}
+
+		public static mil.nga.giat.geowave.datastore.hbase.query.generated.FilterProtos.DistributableFilter parseFrom(
+				com.google.protobuf.ByteString data,
+				com.google.protobuf.ExtensionRegistryLite extensionRegistry )
+				throws com.google.protobuf.InvalidProtocolBufferException {
+			return PARSER.parseFrom(
+					data,
+					extensionRegistry);
+		}
+
+		public static mil.nga.giat.geowave.datastore.hbase.query.generated.FilterProtos.DistributableFilter parseFrom(
+				byte[] data )
+				throws com.google.protobuf.InvalidProtocolBufferException {
+			return PARSER.parseFrom(data);
+		}
+
+		public static mil.nga.giat.geowave.datastore.hbase.query.generated.FilterProtos.DistributableFilter parseFrom(
+				byte[] data,
+				com.google.protobuf.ExtensionRegistryLite extensionRegistry )
+				throws com.google.protobuf.InvalidProtocolBufferException {
+			return PARSER.parseFrom(
+					data,
+					extensionRegistry);
+		}
+
+		public static mil.nga.giat.geowave.datastore.hbase.query.generated.FilterProtos.DistributableFilter parseFrom(
+				java.io.InputStream input )
+				throws java.io.IOException {
+			return PARSER.parseFrom(input);
+		}
+
+		public static mil.nga.giat.geowave.datastore.hbase.query.generated.FilterProtos.DistributableFilter parseFrom(
+				java.io.InputStream input,
+				com.google.protobuf.ExtensionRegistryLite extensionRegistry )
+				throws java.io.IOException {
+			return PARSER.parseFrom(
+					input,
+					extensionRegistry);
+		}
+
+		public static mil.nga.giat.geowave.datastore.hbase.query.generated.FilterProtos.DistributableFilter parseDelimitedFrom(
+				java.io.InputStream input )
+				throws java.io.IOException {
+			return PARSER.parseDelimitedFrom(input);
+		}
+
+		public static mil.nga.giat.geowave.datastore.hbase.query.generated.FilterProtos.DistributableFilter parseDelimitedFrom(
+				java.io.InputStream input,
+				com.google.protobuf.ExtensionRegistryLite extensionRegistry )
+				throws java.io.IOException {
+			return PARSER.parseDelimitedFrom(
+					input,
+					extensionRegistry);
+		}
+
+		public static mil.nga.giat.geowave.datastore.hbase.query.generated.FilterProtos.DistributableFilter parseFrom(
+				com.google.protobuf.CodedInputStream input )
+				throws java.io.IOException {
+			return PARSER.parseFrom(input);
+		}
+
+		public static mil.nga.giat.geowave.datastore.hbase.query.generated.FilterProtos.DistributableFilter parseFrom(
+				com.google.protobuf.CodedInputStream input,
+				com.google.protobuf.ExtensionRegistryLite extensionRegistry )
+				throws java.io.IOException {
+			return PARSER.parseFrom(
+					input,
+					extensionRegistry);
+		}
+
+		public static Builder newBuilder() {
+			return Builder.create();
+		}
+
+		public Builder newBuilderForType() {
+			return newBuilder();
+		}
+
+		public static Builder newBuilder(
+				mil.nga.giat.geowave.datastore.hbase.query.generated.FilterProtos.DistributableFilter prototype ) {
+			return newBuilder().mergeFrom(
+					prototype);
+		}
+
+		public Builder toBuilder() {
+			return newBuilder(this);
+		}
+
+		@java.lang.Override
+		protected Builder newBuilderForType(
+				com.google.protobuf.GeneratedMessage.BuilderParent parent ) {
+			Builder builder = new Builder(
+					parent);
+			return builder;
+		}
+
+		/**
+		 * Protobuf type {@code DistributableFilter}
+		 */
+		public static final class Builder extends
+				com.google.protobuf.GeneratedMessage.Builder<Builder> implements
+				mil.nga.giat.geowave.datastore.hbase.query.generated.FilterProtos.DistributableFilterOrBuilder
+		{
+			public static final com.google.protobuf.Descriptors.Descriptor getDescriptor() {
+				return mil.nga.giat.geowave.datastore.hbase.query.generated.FilterProtos.internal_static_DistributableFilter_descriptor;
+			}
+
+			protected com.google.protobuf.GeneratedMessage.FieldAccessorTable internalGetFieldAccessorTable() {
+				return mil.nga.giat.geowave.datastore.hbase.query.generated.FilterProtos.internal_static_DistributableFilter_fieldAccessorTable
+						.ensureFieldAccessorsInitialized(
+								mil.nga.giat.geowave.datastore.hbase.query.generated.FilterProtos.DistributableFilter.class,
+								mil.nga.giat.geowave.datastore.hbase.query.generated.FilterProtos.DistributableFilter.Builder.class);
+			}
+
+			// Construct using
+			// mil.nga.giat.geowave.datastore.hbase.query.generated.FilterProtos.DistributableFilter.newBuilder()
+			private Builder() {
+				maybeForceBuilderInitialization();
+			}
+
+			private Builder(
+					com.google.protobuf.GeneratedMessage.BuilderParent parent ) {
+				super(
+						parent);
+				maybeForceBuilderInitialization();
+			}
+
+			private void maybeForceBuilderInitialization() {
+				if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {}
+			}
+
+			private static Builder create() {
+				return new Builder();
+			}
+
+			public Builder clear() {
+				super.clear();
+				filter_ = com.google.protobuf.ByteString.EMPTY;
+				bitField0_ = (bitField0_ & ~0x00000001);
+				model_ = com.google.protobuf.ByteString.EMPTY;
+				bitField0_ = (bitField0_ & ~0x00000002);
+				return this;
+			}
+
+			public Builder clone() {
+				return create().mergeFrom(
+						buildPartial());
+			}
+
+			public com.google.protobuf.Descriptors.Descriptor getDescriptorForType() {
+				return mil.nga.giat.geowave.datastore.hbase.query.generated.FilterProtos.internal_static_DistributableFilter_descriptor;
+			}
+
+			public mil.nga.giat.geowave.datastore.hbase.query.generated.FilterProtos.DistributableFilter getDefaultInstanceForType() {
+				return mil.nga.giat.geowave.datastore.hbase.query.generated.FilterProtos.DistributableFilter
+						.getDefaultInstance();
+			}
+
+			public mil.nga.giat.geowave.datastore.hbase.query.generated.FilterProtos.DistributableFilter build() {
+				mil.nga.giat.geowave.datastore.hbase.query.generated.FilterProtos.DistributableFilter result = buildPartial();
+				if (!result.isInitialized()) {
+					throw newUninitializedMessageException(result);
+				}
+				return result;
+			}
+
+			public mil.nga.giat.geowave.datastore.hbase.query.generated.FilterProtos.DistributableFilter buildPartial() {
+				mil.nga.giat.geowave.datastore.hbase.query.generated.FilterProtos.DistributableFilter result = new mil.nga.giat.geowave.datastore.hbase.query.generated.FilterProtos.DistributableFilter(
+						this);
+				int from_bitField0_ = bitField0_;
+				int to_bitField0_ = 0;
+				if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
+					to_bitField0_ |= 0x00000001;
+				}
+				result.filter_ = filter_;
+				if (((from_bitField0_ & 0x00000002) == 0x00000002)) {
+					to_bitField0_ |= 0x00000002;
+				}
+				result.model_ = model_;
+				result.bitField0_ = to_bitField0_;
+				onBuilt();
+				return result;
+			}
+
+			public Builder mergeFrom(
+					com.google.protobuf.Message other ) {
+				if (other instanceof mil.nga.giat.geowave.datastore.hbase.query.generated.FilterProtos.DistributableFilter) {
+					return mergeFrom((mil.nga.giat.geowave.datastore.hbase.query.generated.FilterProtos.DistributableFilter) other);
+				}
+				else {
+					super.mergeFrom(other);
+					return this;
+				}
+			}
+
+			public Builder mergeFrom(
+					mil.nga.giat.geowave.datastore.hbase.query.generated.FilterProtos.DistributableFilter other ) {
+				if (other == mil.nga.giat.geowave.datastore.hbase.query.generated.FilterProtos.DistributableFilter
+						.getDefaultInstance()) return this;
+				if (other.hasFilter()) {
+					setFilter(other.getFilter());
+				}
+				if (other.hasModel()) {
+					setModel(other.getModel());
+				}
+				this.mergeUnknownFields(other.getUnknownFields());
+				return this;
+			}
+
+			public final boolean isInitialized() {
+				if (!hasFilter()) {
+
+					return false;
+				}
+				if (!hasModel()) {
+
+					return false;
+				}
+				return true;
+			}
+
+			public Builder mergeFrom(
+					com.google.protobuf.CodedInputStream input,
+					com.google.protobuf.ExtensionRegistryLite extensionRegistry )
+					throws java.io.IOException {
+				mil.nga.giat.geowave.datastore.hbase.query.generated.FilterProtos.DistributableFilter parsedMessage = null;
+				try {
+					parsedMessage = PARSER.parsePartialFrom(
+							input,
+							extensionRegistry);
+				}
+				catch (com.google.protobuf.InvalidProtocolBufferException e) {
+					parsedMessage = (mil.nga.giat.geowave.datastore.hbase.query.generated.FilterProtos.DistributableFilter) e
+							.getUnfinishedMessage();
+					throw e;
+				}
+				finally {
+					if (parsedMessage != null) {
+						mergeFrom(parsedMessage);
+					}
+				}
+				return this;
+			}
+
+			private int bitField0_;
+
+			// required bytes filter = 1;
+			private com.google.protobuf.ByteString filter_ = com.google.protobuf.ByteString.EMPTY;
+
+			/**
+			 * <code>required bytes filter = 1;</code>
+			 */
+			public boolean hasFilter() {
+				return ((bitField0_ & 0x00000001) == 0x00000001);
+			}
+
+			/**
+			 * <code>required bytes filter = 1;</code>
+			 */
+			public com.google.protobuf.ByteString getFilter() {
+				return filter_;
+			}
+
+			/**
+			 * <code>required bytes filter = 1;</code>
+			 */
+			public Builder setFilter(
+					com.google.protobuf.ByteString value ) {
+				if (value == null) {
+					throw new NullPointerException();
+				}
+				bitField0_ |= 0x00000001;
+				filter_ = value;
+				onChanged();
+				return this;
+			}
+
+			/**
+			 * <code>required bytes filter = 1;</code>
+			 */
+			public Builder clearFilter() {
+				bitField0_ = (bitField0_ & ~0x00000001);
+				filter_ = getDefaultInstance().getFilter();
+				onChanged();
+				return this;
+			}
+
+			// required bytes model = 2;
+			private com.google.protobuf.ByteString model_ = com.google.protobuf.ByteString.EMPTY;
+
+			/**
+			 * <code>required bytes model = 2;</code>
+			 */
+			public boolean hasModel() {
+				return ((bitField0_ & 0x00000002) == 0x00000002);
+			}
+
+			/**
+			 * <code>required bytes model = 2;</code>
+			 */
+			public com.google.protobuf.ByteString getModel() {
+				return model_;
+			}
+
+			/**
+			 * <code>required bytes model = 2;</code>
+			 */
+			public Builder setModel(
+					com.google.protobuf.ByteString value ) {
+				if (value == null) {
+					throw new NullPointerException();
+				}
+				bitField0_ |= 0x00000002;
+				model_ = value;
+				onChanged();
+				return this;
+			}
+
+			/**
+			 * <code>required bytes model = 2;</code>
+			 */
+			public Builder clearModel() {
+				bitField0_ = (bitField0_ & ~0x00000002);
+				model_ = getDefaultInstance().getModel();
+				onChanged();
+				return this;
+			}
+
+			// @@protoc_insertion_point(builder_scope:DistributableFilter)
+		}
+
+		static {
+			defaultInstance = new DistributableFilter(
+					true);
+			defaultInstance.initFields();
+		}
+
+		// @@protoc_insertion_point(class_scope:DistributableFilter)
+	}
+
 	private static com.google.protobuf.Descriptors.Descriptor internal_static_SingleEntryFilter_descriptor;
 	private static com.google.protobuf.GeneratedMessage.FieldAccessorTable internal_static_SingleEntryFilter_fieldAccessorTable;
+	private static com.google.protobuf.Descriptors.Descriptor internal_static_DistributableFilter_descriptor;
+	private static com.google.protobuf.GeneratedMessage.FieldAccessorTable internal_static_DistributableFilter_fieldAccessorTable;
 
 	public static com.google.protobuf.Descriptors.FileDescriptor getDescriptor() {
 		return descriptor;
@@ -672,8 +1317,9 @@ public final class FilterProtos
 		java.lang.String[] descriptorData = {
 			"\n!protobuf/SingleEntryFilters.proto\"6\n\021S"
 					+ "ingleEntryFilter\022\021\n\tadapterId\030\001 \002(\014\022\016\n\006d"
-					+ "ataId\030\002 \002(\014BL\n4mil.nga.giat.geowave.data"
-					+ "store.hbase.query.generatedB\014FilterProto" + "sH\001\210\001\001\240\001\001"
+					+ "ataId\030\002 \002(\014\"4\n\023DistributableFilter\022\016\n\006fi"
+					+ "lter\030\001 \002(\014\022\r\n\005model\030\002 \002(\014BL\n4mil.nga.gia"
+					+ "t.geowave.datastore.hbase.query.generate" + "dB\014FilterProtosH\001\210\001\001\240\001\001"
 		};
 		com.google.protobuf.Descriptors.FileDescriptor.InternalDescriptorAssigner assigner = new com.google.protobuf.Descriptors.FileDescriptor.InternalDescriptorAssigner() {
 			public com.google.protobuf.ExtensionRegistry assignDescriptors(
@@ -687,6 +1333,14 @@ public final class FilterProtos
 							"AdapterId",
 							"DataId",
 						});
+				internal_static_DistributableFilter_descriptor = getDescriptor().getMessageTypes().get(
+						1);
+				internal_static_DistributableFilter_fieldAccessorTable = new com.google.protobuf.GeneratedMessage.FieldAccessorTable(
+						internal_static_DistributableFilter_descriptor,
+						new java.lang.String[] {
+							"Filter",
+							"Model",
+						});
 				return null;
 			}
 		};
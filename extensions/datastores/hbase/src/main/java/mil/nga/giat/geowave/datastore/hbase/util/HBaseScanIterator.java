@@ -0,0 +1,95 @@
+package mil.nga.giat.geowave.datastore.hbase.util;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.log4j.Logger;
+
+import mil.nga.giat.geowave.core.store.CloseableIterator;
+import mil.nga.giat.geowave.datastore.hbase.operations.BasicHBaseOperations;
+
+/**
+ * Iterates on the results of a single scan. The scanner is not opened until the
+ * results are first requested, so that the cost of opening it is paid by
+ * whichever thread consumes the results.
+ */
+public class HBaseScanIterator implements
+		CloseableIterator<Result>
+{
+	private final static Logger LOGGER = Logger.getLogger(HBaseScanIterator.class);
+
+	private final BasicHBaseOperations operations;
+	private final Scan scan;
+	private final String tableName;
+	private final String[] authorizations;
+	private ResultScanner scanner = null;
+	private Iterator<Result> results = null;
+	private boolean closed = false;
+
+	public HBaseScanIterator(
+			final BasicHBaseOperations operations,
+			final Scan scan,
+			final String tableName,
+			final String... authorizations ) {
+		this.operations = operations;
+		this.scan = scan;
+		this.tableName = tableName;
+		this.authorizations = authorizations;
+	}
+
+	private synchronized Iterator<Result> getResults() {
+		if ((results == null) && !closed) {
+			try {
+				scanner = operations.getScannedResults(
+						scan,
+						tableName,
+						authorizations);
+			}
+			catch (final IOException e) {
+				LOGGER.warn(
+						"Could not get the results from scanner",
+						e);
+			}
+			if (scanner == null) {
+				results = new CloseableIterator.Empty<Result>();
+			}
+			else {
+				results = scanner.iterator();
+			}
+		}
+		return results;
+	}
+
+	@Override
+	public boolean hasNext() {
+		final Iterator<Result> it = getResults();
+		return (it != null) && it.hasNext();
+	}
+
+	@Override
+	public Result next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		return results.next();
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException(
+				"Remove is not supported on scan results");
+	}
+
+	@Override
+	public synchronized void close() {
+		closed = true;
+		if (scanner != null) {
+			scanner.close();
+			scanner = null;
+		}
+	}
+}
@@ -33,6 +33,7 @@ import mil.nga.giat.geowave.core.store.adapter.AdapterStore;
 import mil.nga.giat.geowave.core.store.adapter.DataAdapter;
 import mil.nga.giat.geowave.core.store.adapter.IndexedAdapterPersistenceEncoding;
 import mil.nga.giat.geowave.core.store.adapter.WritableDataAdapter;
+import mil.nga.giat.geowave.core.store.data.LazyPersistentValue;
 import mil.nga.giat.geowave.core.store.data.PersistentDataset;
 import mil.nga.giat.geowave.core.store.data.PersistentValue;
 import mil.nga.giat.geowave.core.store.data.VisibilityWriter;
@@ -370,10 +371,12 @@ public class HBaseUtils
 							byteValue));
 					continue;
 				}
-				final Object value = extFieldReader.readField(byteValue);
-				final PersistentValue<Object> val = new PersistentValue<Object>(
+				// extended fields are only deserialized when they are read,
+				// so rows rejected by the client filter skip it
+				final PersistentValue<Object> val = new LazyPersistentValue<Object>(
 						fieldId,
-						value);
+						byteValue,
+						extFieldReader);
 				extendedData.addValue(val);
 				fieldInfoList.add(getFieldInfo(
 						val,
@@ -0,0 +1,162 @@
+package mil.nga.giat.geowave.datastore.hbase.util;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.log4j.Logger;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import mil.nga.giat.geowave.core.store.CloseableIterator;
+
+/**
+ * Returns the results of several scans in the order the scans are given, while
+ * the scans ahead of the one being consumed are opened concurrently. Opening a
+ * scanner fetches its first batch of results, so up to the given number of
+ * scans are set up and buffered ahead of the consumer rather than one after
+ * another.
+ */
+public class OrderedParallelScanIterator implements
+		CloseableIterator<Result>
+{
+	private final static Logger LOGGER = Logger.getLogger(OrderedParallelScanIterator.class);
+	private static ExecutorService sharedExecutor;
+
+	private final List<HBaseScanIterator> scans;
+	private final LinkedList<Future<Boolean>> pending = new LinkedList<Future<Boolean>>();
+	private final int parallelism;
+	private int nextToSubmit = 0;
+	private int current = -1;
+	private boolean closed = false;
+
+	/**
+	 *
+	 * @param scans
+	 *            the scans, in the order their results are returned
+	 * @param parallelism
+	 *            the maximum number of scans opened ahead of the consumer
+	 */
+	public OrderedParallelScanIterator(
+			final List<HBaseScanIterator> scans,
+			final int parallelism ) {
+		this.scans = new ArrayList<HBaseScanIterator>(
+				scans);
+		this.parallelism = Math.max(
+				1,
+				parallelism);
+		submitAhead();
+	}
+
+	private static synchronized ExecutorService getSharedExecutor() {
+		if (sharedExecutor == null) {
+			sharedExecutor = Executors.newCachedThreadPool(new ThreadFactoryBuilder().setDaemon(
+					true).setNameFormat(
+					"hbase-scan-%d").build());
+		}
+		return sharedExecutor;
+	}
+
+	private void submitAhead() {
+		while ((pending.size() < parallelism) && (nextToSubmit < scans.size())) {
+			final HBaseScanIterator scan = scans.get(nextToSubmit++);
+			pending.add(getSharedExecutor().submit(
+					new Callable<Boolean>() {
+						@Override
+						public Boolean call() {
+							return scan.hasNext();
+						}
+					}));
+		}
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (closed) {
+			return false;
+		}
+		while (true) {
+			if ((current >= 0) && scans.get(
+					current).hasNext()) {
+				return true;
+			}
+			if (current >= 0) {
+				scans.get(
+						current).close();
+			}
+			if (pending.isEmpty()) {
+				return false;
+			}
+			// wait for the next scan to be opened before moving on to it
+			final Future<Boolean> next = pending.removeFirst();
+			current++;
+			submitAhead();
+			try {
+				next.get();
+			}
+			catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException(
+						"Interrupted while waiting for scan results",
+						e);
+			}
+			catch (final ExecutionException e) {
+				LOGGER.warn(
+						"Unable to open scanner",
+						e);
+			}
+		}
+	}
+
+	@Override
+	public Result next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		return scans.get(
+				current).next();
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException(
+				"Remove is not supported on scan results");
+	}
+
+	@Override
+	public void close()
+			throws IOException {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		// let the scans that are being opened finish so that every scanner
+		// can be closed
+		for (final Future<Boolean> future : pending) {
+			try {
+				future.get();
+			}
+			catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				break;
+			}
+			catch (final ExecutionException e) {
+				LOGGER.warn(
+						"Unable to open scanner",
+						e);
+			}
+		}
+		pending.clear();
+		for (final HBaseScanIterator scan : scans) {
+			scan.close();
+		}
+	}
+}
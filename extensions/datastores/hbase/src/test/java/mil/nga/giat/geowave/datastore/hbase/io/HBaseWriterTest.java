@@ -0,0 +1,205 @@
+package mil.nga.giat.geowave.datastore.hbase.io;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.BufferedMutator;
+import org.apache.hadoop.hbase.client.BufferedMutatorParams;
+import org.apache.hadoop.hbase.client.Connection;
+import org.apache.hadoop.hbase.client.Delete;
+import org.apache.hadoop.hbase.client.Mutation;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.RetriesExhaustedWithDetailsException;
+import org.apache.hadoop.hbase.client.Row;
+import org.apache.hadoop.hbase.client.RowMutations;
+import org.apache.hadoop.hbase.client.Table;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class HBaseWriterTest
+{
+	private static final byte[] ROW = Bytes.toBytes("row");
+
+	private final List<Mutation> mutated = new ArrayList<Mutation>();
+	private final List<Object> deleted = new ArrayList<Object>();
+	private BufferedMutatorParams params;
+	private HBaseWriter writer;
+
+	@Before
+	public void createWriter()
+			throws IOException {
+		final Table table = proxy(
+				Table.class,
+				new InvocationHandler() {
+					@Override
+					public Object invoke(
+							final Object proxy,
+							final Method method,
+							final Object[] args ) {
+						if (method.getName().equals(
+								"getName")) {
+							return TableName.valueOf("test");
+						}
+						if (method.getName().equals(
+								"delete")) {
+							deleted.add(args[0]);
+						}
+						return null;
+					}
+				});
+		final BufferedMutator mutator = proxy(
+				BufferedMutator.class,
+				new InvocationHandler() {
+					@SuppressWarnings("unchecked")
+					@Override
+					public Object invoke(
+							final Object proxy,
+							final Method method,
+							final Object[] args ) {
+						if (method.getName().equals(
+								"mutate")) {
+							mutated.addAll((List<Mutation>) args[0]);
+						}
+						return null;
+					}
+				});
+		final Connection connection = proxy(
+				Connection.class,
+				new InvocationHandler() {
+					@Override
+					public Object invoke(
+							final Object proxy,
+							final Method method,
+							final Object[] args ) {
+						if (method.getName().equals(
+								"getBufferedMutator")) {
+							params = (BufferedMutatorParams) args[0];
+							return mutator;
+						}
+						return null;
+					}
+				});
+		writer = new HBaseWriter(
+				connection,
+				null,
+				table,
+				1024,
+				1,
+				0);
+	}
+
+	@Test
+	public void testFailureRethrownFromWrite()
+			throws IOException {
+		writer.write(createMutation());
+		failBufferedMutation();
+		try {
+			writer.write(createMutation());
+			Assert.fail("a failed buffered mutation should be rethrown");
+		}
+		catch (final RuntimeException e) {
+			Assert.assertTrue(e.getCause() instanceof RetriesExhaustedWithDetailsException);
+		}
+		Assert.assertEquals(
+				1,
+				mutated.size());
+
+		// the failure is only reported once
+		writer.write(createMutation());
+		Assert.assertEquals(
+				2,
+				mutated.size());
+		writer.close();
+	}
+
+	@Test
+	public void testFailureRethrownFromFlush()
+			throws IOException {
+		failBufferedMutation();
+		try {
+			writer.flush();
+			Assert.fail("a failed buffered mutation should be rethrown");
+		}
+		catch (final RuntimeException e) {
+			Assert.assertTrue(e.getCause() instanceof RetriesExhaustedWithDetailsException);
+		}
+		writer.flush();
+		writer.close();
+	}
+
+	@Test
+	public void testFailureRethrownFromClose()
+			throws IOException {
+		failBufferedMutation();
+		try {
+			writer.close();
+			Assert.fail("a failed buffered mutation should be rethrown");
+		}
+		catch (final RuntimeException e) {
+			Assert.assertTrue(e.getCause() instanceof RetriesExhaustedWithDetailsException);
+		}
+	}
+
+	@Test
+	public void testFailureRethrownBeforeDelete()
+			throws IOException {
+		failBufferedMutation();
+		try {
+			writer.delete(new Delete(
+					ROW));
+			Assert.fail("a failed buffered mutation should be rethrown");
+		}
+		catch (final RetriesExhaustedWithDetailsException e) {
+			// the delete is not applied after the puts before it failed
+		}
+		Assert.assertTrue(deleted.isEmpty());
+		writer.close();
+	}
+
+	private void failBufferedMutation()
+			throws IOException {
+		final Put put = new Put(
+				ROW);
+		params.getListener().onException(
+				new RetriesExhaustedWithDetailsException(
+						Collections.<Throwable> singletonList(new IOException(
+								"test")),
+						Collections.<Row> singletonList(put),
+						Collections.singletonList("localhost:16020")),
+				null);
+	}
+
+	private static RowMutations createMutation()
+			throws IOException {
+		final RowMutations rowMutations = new RowMutations(
+				ROW);
+		final Put put = new Put(
+				ROW);
+		put.addColumn(
+				Bytes.toBytes("f"),
+				Bytes.toBytes("q"),
+				Bytes.toBytes("v"));
+		rowMutations.add(put);
+		return rowMutations;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T proxy(
+			final Class<T> type,
+			final InvocationHandler handler ) {
+		return (T) Proxy.newProxyInstance(
+				HBaseWriterTest.class.getClassLoader(),
+				new Class<?>[] {
+					type
+				},
+				handler);
+	}
+}
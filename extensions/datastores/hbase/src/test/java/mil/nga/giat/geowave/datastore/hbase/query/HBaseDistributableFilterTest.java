@@ -0,0 +1,240 @@
+package mil.nga.giat.geowave.datastore.hbase.query;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.KeyValue;
+import org.apache.hadoop.hbase.exceptions.DeserializationException;
+import org.apache.hadoop.hbase.filter.Filter;
+import org.apache.hadoop.hbase.filter.Filter.ReturnCode;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.vividsolutions.jts.geom.Coordinate;
+
+import mil.nga.giat.geowave.core.geotime.GeometryUtils;
+import mil.nga.giat.geowave.core.geotime.ingest.SpatialDimensionalityTypeProvider;
+import mil.nga.giat.geowave.core.geotime.store.dimension.GeometryAdapter;
+import mil.nga.giat.geowave.core.geotime.store.dimension.GeometryWrapper;
+import mil.nga.giat.geowave.core.index.ByteArrayId;
+import mil.nga.giat.geowave.core.index.sfc.data.BasicNumericDataset;
+import mil.nga.giat.geowave.core.index.sfc.data.NumericData;
+import mil.nga.giat.geowave.core.index.sfc.data.NumericRange;
+import mil.nga.giat.geowave.core.store.data.field.FieldWriter;
+import mil.nga.giat.geowave.core.store.dimension.NumericDimensionField;
+import mil.nga.giat.geowave.core.store.entities.GeowaveRowId;
+import mil.nga.giat.geowave.core.store.filter.BasicQueryFilter;
+import mil.nga.giat.geowave.core.store.filter.DataIdQueryFilter;
+import mil.nga.giat.geowave.core.store.index.BasicIndexModel;
+import mil.nga.giat.geowave.core.store.index.CommonIndexModel;
+import mil.nga.giat.geowave.core.store.index.CommonIndexValue;
+import mil.nga.giat.geowave.core.store.index.PrimaryIndex;
+
+public class HBaseDistributableFilterTest
+{
+	private static final ByteArrayId ADAPTER_ID = new ByteArrayId(
+			"adapter");
+	private static final byte[] INSERTION_ID = Bytes.toBytes("insertion");
+
+	@Test
+	public void testSerializationRoundTrip()
+			throws IOException,
+			DeserializationException {
+		final HBaseDistributableFilter filter = createDataIdFilter();
+		final byte[] bytes = filter.toByteArray();
+		final Filter parsed = HBaseDistributableFilter.parseFrom(bytes);
+		Assert.assertTrue(parsed instanceof HBaseDistributableFilter);
+		Assert.assertArrayEquals(
+				bytes,
+				parsed.toByteArray());
+
+		// the filter evaluated by the region server accepts the same rows
+		Assert.assertFalse(filterRow(
+				parsed,
+				createRow(
+						"1",
+						"a",
+						"b")));
+		Assert.assertTrue(filterRow(
+				parsed,
+				createRow(
+						"2",
+						"a",
+						"b")));
+	}
+
+	@Test(expected = DeserializationException.class)
+	public void testParseInvalidBytes()
+			throws DeserializationException {
+		HBaseDistributableFilter.parseFrom(new byte[] {
+			(byte) 0xff,
+			(byte) 0xff
+		});
+	}
+
+	@Test
+	public void testFilterMultiCellRows()
+			throws IOException {
+		final HBaseDistributableFilter filter = createDataIdFilter();
+		Assert.assertTrue(filter.hasFilterRow());
+
+		// every cell is included until the whole row is read
+		final List<Cell> rejectedRow = createRow(
+				"2",
+				"a",
+				"b",
+				"c");
+		for (final Cell cell : rejectedRow) {
+			Assert.assertEquals(
+					ReturnCode.INCLUDE,
+					filter.filterKeyValue(cell));
+		}
+		filter.filterRowCells(rejectedRow);
+		Assert.assertTrue(filter.filterRow());
+
+		// the decision for one row doesn't carry over to the next
+		filter.reset();
+		Assert.assertFalse(filter.filterRow());
+		Assert.assertFalse(filterRow(
+				filter,
+				createRow(
+						"1",
+						"a",
+						"b",
+						"c")));
+		Assert.assertTrue(filterRow(
+				filter,
+				createRow(
+						"2",
+						"a")));
+		Assert.assertFalse(filterRow(
+				filter,
+				createRow(
+						"1",
+						"a")));
+
+		// a row without cells is left as it is
+		filter.reset();
+		filter.filterRowCells(Collections.<Cell> emptyList());
+		Assert.assertFalse(filter.filterRow());
+	}
+
+	@Test
+	public void testFilterOnCommonIndexFields()
+			throws IOException {
+		final PrimaryIndex index = new SpatialDimensionalityTypeProvider().createPrimaryIndex();
+		final CommonIndexModel model = index.getIndexModel();
+		final HBaseDistributableFilter filter = new HBaseDistributableFilter(
+				new BasicQueryFilter(
+						new BasicNumericDataset(
+								new NumericData[] {
+									new NumericRange(
+											-10,
+											10),
+									new NumericRange(
+											-10,
+											10)
+								}),
+						model.getDimensions()),
+				model);
+
+		Assert.assertFalse(filterRow(
+				filter,
+				createGeometryRow(
+						model,
+						"1",
+						5,
+						5)));
+		Assert.assertTrue(filterRow(
+				filter,
+				createGeometryRow(
+						model,
+						"2",
+						50,
+						5)));
+	}
+
+	private static HBaseDistributableFilter createDataIdFilter() {
+		return new HBaseDistributableFilter(
+				new DataIdQueryFilter(
+						ADAPTER_ID,
+						Arrays.asList(new ByteArrayId(
+								"1"))),
+				new BasicIndexModel(
+						new NumericDimensionField[0]));
+	}
+
+	/**
+	 * Applies the filter to a row the way the region server does
+	 *
+	 * @return whether the row is filtered out
+	 */
+	private static boolean filterRow(
+			final Filter filter,
+			final List<Cell> cells )
+			throws IOException {
+		filter.reset();
+		for (final Cell cell : cells) {
+			filter.filterKeyValue(cell);
+		}
+		filter.filterRowCells(new ArrayList<Cell>(
+				cells));
+		return filter.filterRow();
+	}
+
+	private static byte[] getRowId(
+			final String dataId ) {
+		return new GeowaveRowId(
+				INSERTION_ID,
+				Bytes.toBytes(dataId),
+				ADAPTER_ID.getBytes(),
+				0).getRowId();
+	}
+
+	private static List<Cell> createRow(
+			final String dataId,
+			final String... qualifiers ) {
+		final byte[] rowId = getRowId(dataId);
+		final List<Cell> cells = new ArrayList<Cell>();
+		for (final String qualifier : qualifiers) {
+			cells.add(new KeyValue(
+					rowId,
+					ADAPTER_ID.getBytes(),
+					Bytes.toBytes(qualifier),
+					Bytes.toBytes("value")));
+		}
+		return cells;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<Cell> createGeometryRow(
+			final CommonIndexModel model,
+			final String dataId,
+			final double x,
+			final double y ) {
+		final ByteArrayId fieldId = GeometryAdapter.DEFAULT_GEOMETRY_FIELD_ID;
+		final FieldWriter<?, CommonIndexValue> writer = (FieldWriter<?, CommonIndexValue>) model.getWriter(fieldId);
+		final byte[] rowId = getRowId(dataId);
+		final List<Cell> cells = new ArrayList<Cell>();
+		cells.add(new KeyValue(
+				rowId,
+				ADAPTER_ID.getBytes(),
+				fieldId.getBytes(),
+				writer.writeField(new GeometryWrapper(
+						GeometryUtils.GEOMETRY_FACTORY.createPoint(new Coordinate(
+								x,
+								y))))));
+		// a field outside of the common index model is kept unread
+		cells.add(new KeyValue(
+				rowId,
+				ADAPTER_ID.getBytes(),
+				Bytes.toBytes("name"),
+				Bytes.toBytes("value")));
+		return cells;
+	}
+}
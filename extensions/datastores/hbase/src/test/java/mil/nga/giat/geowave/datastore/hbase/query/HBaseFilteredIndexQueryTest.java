@@ -0,0 +1,297 @@
+package mil.nga.giat.geowave.datastore.hbase.query;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.KeyValue;
+import org.apache.hadoop.hbase.client.Connection;
+import org.apache.hadoop.hbase.client.RegionLocator;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.filter.Filter;
+import org.apache.hadoop.hbase.filter.Filter.ReturnCode;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.Assert;
+import org.junit.Test;
+
+import mil.nga.giat.geowave.core.index.ByteArrayId;
+import mil.nga.giat.geowave.core.index.ByteArrayRange;
+import mil.nga.giat.geowave.core.store.CloseableIterator;
+import mil.nga.giat.geowave.datastore.hbase.operations.BasicHBaseOperations;
+import mil.nga.giat.geowave.datastore.hbase.operations.config.HBaseOptions;
+
+public class HBaseFilteredIndexQueryTest
+{
+	private static final String TABLE_NAME = "test";
+	private static final byte[] FAMILY = Bytes.toBytes("f");
+	private static final byte[][] REGION_START_KEYS = new byte[][] {
+		new byte[0],
+		Bytes.toBytes("g")
+	};
+
+	// the first range ends after the second, which starts later but ends
+	// earlier, the third range is in another region
+	private static final List<ByteArrayRange> RANGES = Arrays.asList(
+			new ByteArrayRange(
+					new ByteArrayId(
+							"b"),
+					new ByteArrayId(
+							"e")),
+			new ByteArrayRange(
+					new ByteArrayId(
+							"c"),
+					new ByteArrayId(
+							"c5")),
+			new ByteArrayRange(
+					new ByteArrayId(
+							"h1"),
+					new ByteArrayId(
+							"h3")));
+
+	@Test
+	public void testGroupStopRow() {
+		Assert.assertArrayEquals(
+				Bytes.toBytes("f"),
+				HBaseFilteredIndexQuery.getGroupStopRow(RANGES.subList(
+						0,
+						2)));
+	}
+
+	@Test
+	public void testGroupedScan()
+			throws IOException {
+		final HBaseOptions options = new HBaseOptions();
+		options.setScanThreads(1);
+		final List<String> rows = query(options);
+		Assert.assertEquals(
+				getExpectedRows(),
+				rows);
+	}
+
+	@Test
+	public void testParallelScan()
+			throws IOException {
+		final HBaseOptions options = new HBaseOptions();
+		options.setScanThreads(4);
+		options.setOrderedScanResults(false);
+		final List<String> rows = query(options);
+		Assert.assertEquals(
+				getExpectedRows().size(),
+				rows.size());
+		Assert.assertEquals(
+				new HashSet<String>(
+						getExpectedRows()),
+				new HashSet<String>(
+						rows));
+	}
+
+	@Test
+	public void testOrderedParallelScan()
+			throws IOException {
+		final HBaseOptions options = new HBaseOptions();
+		options.setScanThreads(4);
+		options.setOrderedScanResults(true);
+		Assert.assertEquals(
+				getExpectedRows(),
+				query(options));
+	}
+
+	private static List<String> query(
+			final HBaseOptions options )
+			throws IOException {
+		final BasicHBaseOperations operations = new InMemoryOperations();
+		final RangesQuery query = new RangesQuery();
+		query.setOptions(options);
+		final List<Scan> scans = query.getScanners(
+				operations,
+				TABLE_NAME,
+				null,
+				null,
+				null);
+		// one scan for each region
+		Assert.assertEquals(
+				2,
+				scans.size());
+		final List<String> rows = new ArrayList<String>();
+		try (CloseableIterator<Result> results = query.getScanResults(
+				operations,
+				TABLE_NAME,
+				scans)) {
+			while (results.hasNext()) {
+				rows.add(Bytes.toString(results.next().getRow()));
+			}
+		}
+		return rows;
+	}
+
+	private static List<String> getAllRows() {
+		final List<String> rows = new ArrayList<String>();
+		for (char c = 'a'; c <= 'j'; c++) {
+			for (int i = 0; i < 10; i++) {
+				rows.add(c + Integer.toString(i));
+			}
+		}
+		return rows;
+	}
+
+	private static List<String> getExpectedRows() {
+		final List<String> rows = new ArrayList<String>();
+		for (final String row : getAllRows()) {
+			final char c = row.charAt(0);
+			if (((c >= 'b') && (c <= 'e')) || (row.compareTo("h1") >= 0 && row.compareTo("h3") <= 0)) {
+				rows.add(row);
+			}
+		}
+		return rows;
+	}
+
+	private static class RangesQuery extends
+			HBaseFilteredIndexQuery
+	{
+		public RangesQuery() {
+			super(
+					null,
+					null,
+					null);
+		}
+
+		@Override
+		protected List<ByteArrayRange> getRanges() {
+			return new ArrayList<ByteArrayRange>(
+					RANGES);
+		}
+
+		@Override
+		protected List<Filter> getDistributableFilter() {
+			return null;
+		}
+	}
+
+	/**
+	 * Scans the rows of getAllRows(), applying the scan's bounds and filter to
+	 * each row in order the same way a region server would
+	 */
+	private static class InMemoryOperations extends
+			BasicHBaseOperations
+	{
+		public InMemoryOperations() {
+			super(
+					(Connection) null);
+		}
+
+		@Override
+		public RegionLocator getRegionLocator(
+				final String tableName ) {
+			return (RegionLocator) Proxy.newProxyInstance(
+					RegionLocator.class.getClassLoader(),
+					new Class<?>[] {
+						RegionLocator.class
+					},
+					new InvocationHandler() {
+						@Override
+						public Object invoke(
+								final Object proxy,
+								final Method method,
+								final Object[] args ) {
+							if (method.getName().equals(
+									"getStartKeys")) {
+								return REGION_START_KEYS;
+							}
+							return null;
+						}
+					});
+		}
+
+		@Override
+		public ResultScanner getScannedResults(
+				final Scan scan,
+				final String tableName,
+				final String... authorizations )
+				throws IOException {
+			final List<Result> results = new ArrayList<Result>();
+			final Filter filter = scan.getFilter();
+			for (final String row : getAllRows()) {
+				final byte[] rowBytes = Bytes.toBytes(row);
+				if ((scan.getStartRow().length > 0) && (Bytes.compareTo(
+						rowBytes,
+						scan.getStartRow()) < 0)) {
+					continue;
+				}
+				if ((scan.getStopRow().length > 0) && (Bytes.compareTo(
+						rowBytes,
+						scan.getStopRow()) >= 0)) {
+					break;
+				}
+				final Cell cell = new KeyValue(
+						rowBytes,
+						FAMILY,
+						FAMILY,
+						rowBytes);
+				if (filter != null) {
+					filter.reset();
+					if (filter.filterAllRemaining()) {
+						break;
+					}
+					if (filter.filterRowKey(
+							rowBytes,
+							0,
+							rowBytes.length)) {
+						continue;
+					}
+					final ReturnCode code = filter.filterKeyValue(cell);
+					if ((code != ReturnCode.INCLUDE) && (code != ReturnCode.INCLUDE_AND_NEXT_COL)) {
+						continue;
+					}
+				}
+				results.add(Result.create(new Cell[] {
+					cell
+				}));
+			}
+			return new ListResultScanner(
+					results);
+		}
+	}
+
+	private static class ListResultScanner implements
+			ResultScanner
+	{
+		private final Iterator<Result> results;
+
+		public ListResultScanner(
+				final List<Result> results ) {
+			this.results = results.iterator();
+		}
+
+		@Override
+		public Iterator<Result> iterator() {
+			return results;
+		}
+
+		@Override
+		public Result next() {
+			return results.hasNext() ? results.next() : null;
+		}
+
+		@Override
+		public Result[] next(
+				final int nbRows ) {
+			final List<Result> next = new ArrayList<Result>();
+			while ((next.size() < nbRows) && results.hasNext()) {
+				next.add(results.next());
+			}
+			return next.toArray(new Result[next.size()]);
+		}
+
+		@Override
+		public void close() {}
+	}
+}
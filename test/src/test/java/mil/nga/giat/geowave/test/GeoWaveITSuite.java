@@ -22,6 +22,8 @@ import mil.nga.giat.geowave.test.service.GeoServerIT;
 import mil.nga.giat.geowave.test.service.GeoWaveIngestGeoserverIT;
 import mil.nga.giat.geowave.test.service.GeoWaveServicesIT;
 import mil.nga.giat.geowave.test.store.DataStatisticsStoreIT;
+import mil.nga.giat.geowave.test.store.HBaseBufferedWriteIT;
+import mil.nga.giat.geowave.test.store.HBaseStatisticsCompactionIT;
 
 @RunWith(GeoWaveITSuiteRunner.class)
 @SuiteClasses({
@@ -44,6 +46,8 @@ import mil.nga.giat.geowave.test.store.DataStatisticsStoreIT;
 	PolygonDataIdQueryIT.class,
 	ConfigCacheIT.class,
 	DataStatisticsStoreIT.class,
+	HBaseBufferedWriteIT.class,
+	HBaseStatisticsCompactionIT.class,
 })
 public class GeoWaveITSuite
 {
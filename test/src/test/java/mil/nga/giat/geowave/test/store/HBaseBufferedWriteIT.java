@@ -0,0 +1,187 @@
+package mil.nga.giat.geowave.test.store;
+
+import java.io.IOException;
+
+import org.geotools.data.DataUtilities;
+import org.geotools.feature.SchemaException;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.opengis.feature.simple.SimpleFeatureType;
+
+import com.vividsolutions.jts.geom.Coordinate;
+
+import mil.nga.giat.geowave.adapter.vector.FeatureDataAdapter;
+import mil.nga.giat.geowave.core.geotime.GeometryUtils;
+import mil.nga.giat.geowave.core.store.CloseableIterator;
+import mil.nga.giat.geowave.core.store.IndexWriter;
+import mil.nga.giat.geowave.core.store.operations.remote.options.DataStorePluginOptions;
+import mil.nga.giat.geowave.core.store.query.QueryOptions;
+import mil.nga.giat.geowave.datastore.hbase.operations.config.HBaseOptions;
+import mil.nga.giat.geowave.datastore.hbase.operations.config.HBaseRequiredOptions;
+import mil.nga.giat.geowave.test.GeoWaveITRunner;
+import mil.nga.giat.geowave.test.TestUtils;
+import mil.nga.giat.geowave.test.annotation.GeoWaveTestStore;
+import mil.nga.giat.geowave.test.annotation.GeoWaveTestStore.GeoWaveStoreType;
+
+/**
+ * Tests when rows written to HBase become visible, either as they are written
+ * or once the rows buffered client-side are sent to the region servers.
+ */
+@RunWith(GeoWaveITRunner.class)
+public class HBaseBufferedWriteIT
+{
+	private static final String GEOMETRY_ATTRIBUTE = "geometry";
+	private static final int NUM_FEATURES = 1000;
+	private static final long MAX_FLUSH_WAIT_MILLIS = 30000;
+	private static SimpleFeatureType simpleFeatureType;
+	private static FeatureDataAdapter dataAdapter;
+
+	@GeoWaveTestStore({
+		GeoWaveStoreType.HBASE
+	})
+	protected DataStorePluginOptions dataStore;
+
+	@BeforeClass
+	public static void setupData()
+			throws SchemaException {
+		simpleFeatureType = DataUtilities.createType(
+				"buffered",
+				GEOMETRY_ATTRIBUTE + ":Point");
+		dataAdapter = new FeatureDataAdapter(
+				simpleFeatureType);
+	}
+
+	@After
+	public void deleteData()
+			throws IOException {
+		TestUtils.deleteAll(dataStore);
+		// restore the default write options
+		((HBaseRequiredOptions) dataStore.getFactoryOptions()).setAdditionalOptions(new HBaseOptions());
+	}
+
+	@Test
+	public void testUnbufferedWrites()
+			throws IOException {
+		getOptions().setWriteBufferSize(0);
+		try (IndexWriter<?> writer = write()) {
+			Assert.assertEquals(
+					NUM_FEATURES,
+					count());
+		}
+		Assert.assertEquals(
+				NUM_FEATURES,
+				count());
+	}
+
+	@Test
+	public void testBufferedWritesVisibleAfterFlush()
+			throws IOException {
+		final HBaseOptions options = getOptions();
+		// the buffer holds every feature so nothing is sent until a flush
+		options.setWriteBufferSize(8 * 1024 * 1024);
+		options.setWriteThreads(4);
+		options.setWriteFlushInterval(0);
+		try (IndexWriter<?> writer = write()) {
+			Assert.assertEquals(
+					0,
+					count());
+			writer.flush();
+			Assert.assertEquals(
+					NUM_FEATURES,
+					count());
+		}
+		Assert.assertEquals(
+				NUM_FEATURES,
+				count());
+	}
+
+	@Test
+	public void testBufferedWritesVisibleAfterClose()
+			throws IOException {
+		final HBaseOptions options = getOptions();
+		options.setWriteBufferSize(8 * 1024 * 1024);
+		options.setWriteFlushInterval(0);
+		try (IndexWriter<?> writer = write()) {
+			Assert.assertEquals(
+					0,
+					count());
+		}
+		Assert.assertEquals(
+				NUM_FEATURES,
+				count());
+	}
+
+	@Test
+	public void testPeriodicFlush()
+			throws IOException,
+			InterruptedException {
+		final HBaseOptions options = getOptions();
+		options.setWriteBufferSize(8 * 1024 * 1024);
+		options.setWriteFlushInterval(500);
+		try (IndexWriter<?> writer = write()) {
+			// the features are sent without flushing or closing the writer
+			final long deadline = System.currentTimeMillis() + MAX_FLUSH_WAIT_MILLIS;
+			int count = count();
+			while ((count < NUM_FEATURES) && (System.currentTimeMillis() < deadline)) {
+				Thread.sleep(100);
+				count = count();
+			}
+			Assert.assertEquals(
+					NUM_FEATURES,
+					count);
+		}
+	}
+
+	private HBaseOptions getOptions() {
+		final HBaseRequiredOptions requiredOptions = (HBaseRequiredOptions) dataStore.getFactoryOptions();
+		if (requiredOptions.getAdditionalOptions() == null) {
+			requiredOptions.setAdditionalOptions(new HBaseOptions());
+		}
+		return requiredOptions.getAdditionalOptions();
+	}
+
+	/**
+	 * @return the writer the features were written with, left open for the
+	 *         caller to flush and close
+	 */
+	@SuppressWarnings({
+		"unchecked",
+		"rawtypes"
+	})
+	private IndexWriter<?> write() {
+		final SimpleFeatureBuilder builder = new SimpleFeatureBuilder(
+				simpleFeatureType);
+		final IndexWriter writer = dataStore.createDataStore().createWriter(
+				dataAdapter,
+				TestUtils.DEFAULT_SPATIAL_INDEX);
+		for (int i = 0; i < NUM_FEATURES; i++) {
+			builder.set(
+					GEOMETRY_ATTRIBUTE,
+					GeometryUtils.GEOMETRY_FACTORY.createPoint(new Coordinate(
+							((i % 360) - 180) + 0.5,
+							(((i / 360) % 180) - 90) + 0.5)));
+			writer.write(builder.buildFeature(Integer.toString(i)));
+		}
+		return writer;
+	}
+
+	private int count()
+			throws IOException {
+		int count = 0;
+		try (CloseableIterator<?> it = dataStore.createDataStore().query(
+				new QueryOptions(
+						dataAdapter,
+						TestUtils.DEFAULT_SPATIAL_INDEX),
+				null)) {
+			while (it.hasNext()) {
+				it.next();
+				count++;
+			}
+		}
+		return count;
+	}
+}
@@ -0,0 +1,432 @@
+package mil.nga.giat.geowave.test.store;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.UUID;
+
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.client.Table;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import mil.nga.giat.geowave.core.index.ByteArrayId;
+import mil.nga.giat.geowave.core.index.PersistenceUtils;
+import mil.nga.giat.geowave.core.store.adapter.statistics.CountDataStatistics;
+import mil.nga.giat.geowave.core.store.operations.remote.options.DataStorePluginOptions;
+import mil.nga.giat.geowave.datastore.hbase.metadata.HBaseDataStatisticsStore;
+import mil.nga.giat.geowave.datastore.hbase.operations.BasicHBaseOperations;
+import mil.nga.giat.geowave.datastore.hbase.operations.config.HBaseRequiredOptions;
+import mil.nga.giat.geowave.datastore.hbase.util.HBaseUtils;
+import mil.nga.giat.geowave.test.GeoWaveITRunner;
+import mil.nga.giat.geowave.test.TestUtils;
+import mil.nga.giat.geowave.test.annotation.GeoWaveTestStore;
+import mil.nga.giat.geowave.test.annotation.GeoWaveTestStore.GeoWaveStoreType;
+
+/**
+ * Tests merging the rows of a statistic into its compacted row. Rows are
+ * written directly where the test needs to control their timestamps.
+ */
+@RunWith(GeoWaveITRunner.class)
+public class HBaseStatisticsCompactionIT
+{
+	private static final String METADATA_TABLE = "GEOWAVE_METADATA";
+	private static final byte[] STATISTICS_CF = new ByteArrayId(
+			"STATS").getBytes();
+
+	@GeoWaveTestStore({
+		GeoWaveStoreType.HBASE
+	})
+	protected DataStorePluginOptions dataStore;
+
+	private BasicHBaseOperations operations;
+
+	@Before
+	public void clean()
+			throws IOException {
+		TestUtils.deleteAll(dataStore);
+		operations = BasicHBaseOperations.createOperations((HBaseRequiredOptions) dataStore.getFactoryOptions());
+	}
+
+	@Test
+	public void testCompactPartialRows()
+			throws IOException {
+		final ByteArrayId adapterId = new ByteArrayId(
+				"compact1");
+		for (int i = 0; i < 3; i++) {
+			new HBaseDataStatisticsStore(
+					operations).incorporateStatistics(createCount(
+					adapterId,
+					3));
+		}
+		final ByteArrayId statisticsId = createCount(
+				adapterId,
+				0).getStatisticsId();
+		Assert.assertEquals(
+				3,
+				countRows(
+						statisticsId,
+						adapterId));
+
+		// this waits until the rows that were just written can be merged
+		Assert.assertTrue(new HBaseDataStatisticsStore(
+				operations).compactStatistics(adapterId));
+
+		Assert.assertEquals(
+				1,
+				countRows(
+						statisticsId,
+						adapterId));
+		Assert.assertEquals(
+				9,
+				readCount(
+						adapterId,
+						statisticsId));
+	}
+
+	@Test
+	public void testRecentRowsSurvive()
+			throws IOException {
+		final ByteArrayId adapterId = new ByteArrayId(
+				"compact6");
+		final ByteArrayId statisticsId = createCount(
+				adapterId,
+				0).getStatisticsId();
+		final long now = System.currentTimeMillis();
+		writePartialRow(
+				adapterId,
+				3,
+				now - 2000);
+		writePartialRow(
+				adapterId,
+				3,
+				now);
+
+		// even without a grace period a row written within the last second
+		// may not be visible to every scan yet, so it isn't merged
+		Assert.assertTrue(new HBaseDataStatisticsStore(
+				operations).compactStatistics(
+				adapterId,
+				statisticsId,
+				0));
+		Assert.assertEquals(
+				2,
+				countRows(
+						statisticsId,
+						adapterId));
+		Assert.assertEquals(
+				6,
+				readCount(
+						adapterId,
+						statisticsId));
+	}
+
+	@Test
+	public void testReadersSkipMergedRows()
+			throws IOException {
+		final ByteArrayId adapterId = new ByteArrayId(
+				"compact2");
+		final ByteArrayId statisticsId = createCount(
+				adapterId,
+				0).getStatisticsId();
+		final long now = System.currentTimeMillis();
+		writePartialRow(
+				adapterId,
+				3,
+				now - 2000);
+		writePartialRow(
+				adapterId,
+				3,
+				now - 1000);
+		Assert.assertTrue(new HBaseDataStatisticsStore(
+				operations).compactStatistics(
+				adapterId,
+				statisticsId,
+				0));
+
+		// a row already merged into the compacted row, as left behind by a
+		// compaction that failed to delete it, is ignored by readers
+		writePartialRow(
+				adapterId,
+				3,
+				now - 1000);
+		Assert.assertEquals(
+				2,
+				countRows(
+						statisticsId,
+						adapterId));
+		Assert.assertEquals(
+				6,
+				readCount(
+						adapterId,
+						statisticsId));
+
+		// a newer row is not
+		writePartialRow(
+				adapterId,
+				3,
+				now - 999);
+		Assert.assertEquals(
+				9,
+				readCount(
+						adapterId,
+						statisticsId));
+	}
+
+	@Test
+	public void testRowsWithinGracePeriodSurvive()
+			throws IOException {
+		final ByteArrayId adapterId = new ByteArrayId(
+				"compact3");
+		final ByteArrayId statisticsId = createCount(
+				adapterId,
+				0).getStatisticsId();
+		final long now = System.currentTimeMillis();
+		writePartialRow(
+				adapterId,
+				3,
+				now - 120000);
+		writePartialRow(
+				adapterId,
+				3,
+				now - 90000);
+		writePartialRow(
+				adapterId,
+				3,
+				now);
+
+		Assert.assertTrue(new HBaseDataStatisticsStore(
+				operations).compactStatistics(
+				adapterId,
+				statisticsId,
+				60000));
+
+		// the two older rows are merged, the newest is left for a later
+		// compaction
+		Assert.assertEquals(
+				2,
+				countRows(
+						statisticsId,
+						adapterId));
+		Assert.assertEquals(
+				9,
+				readCount(
+						adapterId,
+						statisticsId));
+	}
+
+	@Test
+	public void testLosingCompaction()
+			throws IOException {
+		final ByteArrayId adapterId = new ByteArrayId(
+				"compact4");
+		final ByteArrayId statisticsId = createCount(
+				adapterId,
+				0).getStatisticsId();
+		final long now = System.currentTimeMillis();
+		writePartialRow(
+				adapterId,
+				3,
+				now - 2000);
+		writePartialRow(
+				adapterId,
+				3,
+				now - 1000);
+
+		// another compaction writes the compacted row after this one read it
+		final HBaseDataStatisticsStore store = new HBaseDataStatisticsStore(
+				operations) {
+			@Override
+			protected boolean replaceCompactedRow(
+					final Table table,
+					final byte[] compactedRowId,
+					final byte[] columnFamily,
+					final byte[] columnQualifier,
+					final byte[] expectedValue,
+					final Put put )
+					throws IOException {
+				final Put concurrentPut = new Put(
+						compactedRowId);
+				concurrentPut.addColumn(
+						columnFamily,
+						columnQualifier,
+						now - 2000,
+						PersistenceUtils.toBinary(createCount(
+								adapterId,
+								3)));
+				table.put(concurrentPut);
+				return super.replaceCompactedRow(
+						table,
+						compactedRowId,
+						columnFamily,
+						columnQualifier,
+						expectedValue,
+						put);
+			}
+		};
+		Assert.assertFalse(store.compactStatistics(
+				adapterId,
+				statisticsId,
+				0));
+
+		// the rows that lost are left in place rather than deleted
+		Assert.assertEquals(
+				3,
+				countRows(
+						statisticsId,
+						adapterId));
+		Assert.assertEquals(
+				6,
+				readCount(
+						adapterId,
+						statisticsId));
+	}
+
+	@Test
+	public void testSetDuringCompaction()
+			throws IOException {
+		final ByteArrayId adapterId = new ByteArrayId(
+				"compact5");
+		final ByteArrayId statisticsId = createCount(
+				adapterId,
+				0).getStatisticsId();
+		final long now = System.currentTimeMillis();
+		writePartialRow(
+				adapterId,
+				3,
+				now - 2000);
+		writePartialRow(
+				adapterId,
+				3,
+				now - 1000);
+
+		// the statistic is replaced after the compaction read its rows
+		final HBaseDataStatisticsStore store = new HBaseDataStatisticsStore(
+				operations) {
+			@Override
+			protected boolean replaceCompactedRow(
+					final Table table,
+					final byte[] compactedRowId,
+					final byte[] columnFamily,
+					final byte[] columnQualifier,
+					final byte[] expectedValue,
+					final Put put )
+					throws IOException {
+				new HBaseDataStatisticsStore(
+						operations).setStatistics(createCount(
+						adapterId,
+						5));
+				return super.replaceCompactedRow(
+						table,
+						compactedRowId,
+						columnFamily,
+						columnQualifier,
+						expectedValue,
+						put);
+			}
+		};
+		Assert.assertFalse(store.compactStatistics(
+				adapterId,
+				statisticsId,
+				0));
+
+		// the replaced rows don't come back
+		Assert.assertEquals(
+				1,
+				countRows(
+						statisticsId,
+						adapterId));
+		Assert.assertEquals(
+				5,
+				readCount(
+						adapterId,
+						statisticsId));
+	}
+
+	private static CountDataStatistics<String> createCount(
+			final ByteArrayId adapterId,
+			final int count ) {
+		final CountDataStatistics<String> stat = new CountDataStatistics<String>(
+				adapterId);
+		for (int i = 0; i < count; i++) {
+			stat.entryIngested(
+					null,
+					null);
+		}
+		return stat;
+	}
+
+	/**
+	 * Writes a row the same way incorporating a statistic does, but with the
+	 * given timestamp
+	 */
+	private void writePartialRow(
+			final ByteArrayId adapterId,
+			final int count,
+			final long timestamp )
+			throws IOException {
+		final CountDataStatistics<String> stat = createCount(
+				adapterId,
+				count);
+		final byte[] statisticsId = stat.getStatisticsId().getBytes();
+		final UUID uuid = UUID.randomUUID();
+		final ByteBuffer rowId = ByteBuffer.allocate(statisticsId.length + 17);
+		rowId.put(statisticsId);
+		rowId.put((byte) 0);
+		rowId.putLong(uuid.getMostSignificantBits());
+		rowId.putLong(uuid.getLeastSignificantBits());
+		final Put put = new Put(
+				rowId.array());
+		put.addColumn(
+				STATISTICS_CF,
+				adapterId.getBytes(),
+				timestamp,
+				PersistenceUtils.toBinary(stat));
+		try (Table table = operations.getTable(METADATA_TABLE)) {
+			table.put(put);
+		}
+	}
+
+	private long readCount(
+			final ByteArrayId adapterId,
+			final ByteArrayId statisticsId ) {
+		// a new store so that the statistic is not read from the cache
+		final CountDataStatistics<?> stat = (CountDataStatistics<?>) new HBaseDataStatisticsStore(
+				operations).getDataStatistics(
+				adapterId,
+				statisticsId);
+		Assert.assertNotNull(stat);
+		return stat.getCount();
+	}
+
+	private int countRows(
+			final ByteArrayId statisticsId,
+			final ByteArrayId adapterId )
+			throws IOException {
+		final Scan scan = new Scan();
+		scan.setStartRow(statisticsId.getBytes());
+		scan.setStopRow(HBaseUtils.getNextPrefix(Arrays.copyOf(
+				statisticsId.getBytes(),
+				statisticsId.getLength() + 1)));
+		scan.addColumn(
+				STATISTICS_CF,
+				adapterId.getBytes());
+		int count = 0;
+		try (ResultScanner rs = operations.getScannedResults(
+				scan,
+				METADATA_TABLE)) {
+			final Iterator<Result> res = rs.iterator();
+			while (res.hasNext()) {
+				res.next();
+				count++;
+			}
+		}
+		return count;
+	}
+}